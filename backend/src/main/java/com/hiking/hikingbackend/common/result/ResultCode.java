@@ -205,6 +205,11 @@ public enum ResultCode {
      */
     ROUTE_IN_USE(4002, "路线已被使用，无法删除"),
 
+    /**
+     * 路线文件无法解析
+     */
+    ROUTE_FILE_INVALID(4003, "路线文件格式错误，仅支持GPX和KML"),
+
     // ========== 签到相关错误 (5001-5999) ==========
 
     /**
@@ -227,6 +232,11 @@ public enum ResultCode {
      */
     ACTIVITY_NOT_STARTED(5004, "活动未开始，无法签到"),
 
+    /**
+     * SOS求助繁忙
+     */
+    SOS_BUSY(5005, "求助请求过多，请立即拨打救援电话"),
+
     // ========== 评价相关错误 (6001-6999) ==========
 
     /**
@@ -0,0 +1,354 @@
+package com.hiking.hikingbackend.common.utils;
+
+/**
+ * 批量地理距离计算内核
+ * <p>
+ * 面向轨迹统计、地理围栏、附近搜索等高频调用场景：
+ * <ul>
+ *   <li>输入使用结构数组（纬度数组 + 经度数组，单位：度），输出写入调用方提供的数组，计算过程不产生对象</li>
+ *   <li>短距离（10公里以内）使用等距柱状投影快速计算，长距离或高纬度回退到Haversine公式（asin形式）</li>
+ *   <li>半径过滤先做纬度/经度包围盒预判，再比较距离平方，避免开方和反三角函数</li>
+ * </ul>
+ * 与 {@link GeoUtils#calculateDistance(double, double, double, double)} 使用同一地球半径，
+ * 快速路径在10公里内与Haversine结果的相对误差小于1e-5。
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public final class GeoDistanceKernel {
+
+    /**
+     * 地球半径（米）
+     */
+    private static final double EARTH_RADIUS = 6371000;
+
+    /**
+     * 度转弧度系数
+     */
+    private static final double DEG_TO_RAD = Math.PI / 180;
+
+    /**
+     * 快速路径适用的最大距离（米）
+     */
+    private static final double FAST_PATH_LIMIT = 10000;
+
+    /**
+     * 快速路径适用的最大距离（弧度平方）
+     */
+    private static final double FAST_PATH_LIMIT_RAD2 = (FAST_PATH_LIMIT / EARTH_RADIUS) * (FAST_PATH_LIMIT / EARTH_RADIUS);
+
+    /**
+     * 快速路径适用的最大纬度，更高纬度经线收敛过快
+     */
+    private static final double FAST_PATH_MAX_LAT = 80 * DEG_TO_RAD;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private GeoDistanceKernel() {
+    }
+
+    /**
+     * 计算两点之间的距离
+     *
+     * @param lat1 第一点的纬度（度）
+     * @param lng1 第一点的经度（度）
+     * @param lat2 第二点的纬度（度）
+     * @param lng2 第二点的经度（度）
+     * @return 两点之间的距离（米）
+     */
+    public static double distance(double lat1, double lng1, double lat2, double lng2) {
+        double lat1Rad = lat1 * DEG_TO_RAD;
+        return distanceRad(lat1Rad, Math.sin(lat1Rad), Math.cos(lat1Rad), lng1, lat2, lng2);
+    }
+
+    /**
+     * 计算一个点到多个点的距离
+     *
+     * @param lat    起点纬度（度）
+     * @param lng    起点经度（度）
+     * @param lats   目标点纬度数组（度）
+     * @param lngs   目标点经度数组（度）
+     * @param count  参与计算的点数（从下标0开始）
+     * @param result 距离输出数组（米），长度不小于 count
+     */
+    public static void distances(double lat, double lng, double[] lats, double[] lngs, int count, double[] result) {
+        checkLength(lats, lngs, count);
+        checkLength(result, count);
+        double latRad = lat * DEG_TO_RAD;
+        double sinLat = Math.sin(latRad);
+        double cosLat = Math.cos(latRad);
+        for (int i = 0; i < count; i++) {
+            result[i] = distanceRad(latRad, sinLat, cosLat, lng, lats[i], lngs[i]);
+        }
+    }
+
+    /**
+     * 计算两组点之间的距离矩阵
+     * <p>
+     * 结果按行优先存储：result[i * countB + j] 为 A 组第 i 点到 B 组第 j 点的距离
+     *
+     * @param latsA  A组纬度数组（度）
+     * @param lngsA  A组经度数组（度）
+     * @param countA A组点数
+     * @param latsB  B组纬度数组（度）
+     * @param lngsB  B组经度数组（度）
+     * @param countB B组点数
+     * @param result 距离输出数组（米），长度不小于 countA * countB
+     */
+    public static void distanceMatrix(double[] latsA, double[] lngsA, int countA,
+                                      double[] latsB, double[] lngsB, int countB, double[] result) {
+        checkLength(latsA, lngsA, countA);
+        checkLength(latsB, lngsB, countB);
+        checkLength(result, countA * countB);
+        for (int i = 0; i < countA; i++) {
+            double latRad = latsA[i] * DEG_TO_RAD;
+            double sinLat = Math.sin(latRad);
+            double cosLat = Math.cos(latRad);
+            double lng = lngsA[i];
+            int offset = i * countB;
+            for (int j = 0; j < countB; j++) {
+                result[offset + j] = distanceRad(latRad, sinLat, cosLat, lng, latsB[j], lngsB[j]);
+            }
+        }
+    }
+
+    /**
+     * 计算折线相邻两点之间的距离
+     *
+     * @param lats   折线纬度数组（度）
+     * @param lngs   折线经度数组（度）
+     * @param count  折线点数
+     * @param result 输出数组，result[i] 为第 i 点到第 i+1 点的距离（米），长度不小于 count - 1
+     * @return 折线总长度（米）
+     */
+    public static double segmentDistances(double[] lats, double[] lngs, int count, double[] result) {
+        checkLength(lats, lngs, count);
+        if (count < 2) {
+            return 0;
+        }
+        checkLength(result, count - 1);
+        double total = 0;
+        double latRad = lats[0] * DEG_TO_RAD;
+        double sinLat = Math.sin(latRad);
+        double cosLat = Math.cos(latRad);
+        for (int i = 1; i < count; i++) {
+            double d = distanceRad(latRad, sinLat, cosLat, lngs[i - 1], lats[i], lngs[i]);
+            result[i - 1] = d;
+            total += d;
+            latRad = lats[i] * DEG_TO_RAD;
+            sinLat = Math.sin(latRad);
+            cosLat = Math.cos(latRad);
+        }
+        return total;
+    }
+
+    /**
+     * 筛选半径范围内的点
+     *
+     * @param lat     中心点纬度（度）
+     * @param lng     中心点经度（度）
+     * @param lats    候选点纬度数组（度）
+     * @param lngs    候选点经度数组（度）
+     * @param count   候选点数
+     * @param radius  半径（米）
+     * @param indexes 命中点下标输出数组，长度不小于 count
+     * @return 命中点数量，indexes 前该数量个元素有效
+     */
+    public static int withinRadius(double lat, double lng, double[] lats, double[] lngs, int count,
+                                   double radius, int[] indexes) {
+        checkLength(lats, lngs, count);
+        if (indexes.length < count) {
+            throw new IllegalArgumentException("输出数组长度不足");
+        }
+        RadiusFilter filter = new RadiusFilter(lat, lng, radius);
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (filter.test(lats[i], lngs[i])) {
+                indexes[hits++] = i;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 统计半径范围内的点数量
+     *
+     * @param lat    中心点纬度（度）
+     * @param lng    中心点经度（度）
+     * @param lats   候选点纬度数组（度）
+     * @param lngs   候选点经度数组（度）
+     * @param count  候选点数
+     * @param radius 半径（米）
+     * @return 命中点数量
+     */
+    public static int countWithinRadius(double lat, double lng, double[] lats, double[] lngs, int count,
+                                        double radius) {
+        checkLength(lats, lngs, count);
+        RadiusFilter filter = new RadiusFilter(lat, lng, radius);
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (filter.test(lats[i], lngs[i])) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 判断点是否在半径范围内（单点版本）
+     *
+     * @param lat       中心点纬度（度）
+     * @param lng       中心点经度（度）
+     * @param targetLat 目标点纬度（度）
+     * @param targetLng 目标点经度（度）
+     * @param radius    半径（米）
+     * @return true在范围内，false不在范围内
+     */
+    public static boolean isWithinRadius(double lat, double lng, double targetLat, double targetLng, double radius) {
+        return new RadiusFilter(lat, lng, radius).test(targetLat, targetLng);
+    }
+
+    /**
+     * 查找距离最近的点
+     *
+     * @param lat   中心点纬度（度）
+     * @param lng   中心点经度（度）
+     * @param lats  候选点纬度数组（度）
+     * @param lngs  候选点经度数组（度）
+     * @param count 候选点数
+     * @return 最近点下标，count 为0时返回-1
+     */
+    public static int nearest(double lat, double lng, double[] lats, double[] lngs, int count) {
+        checkLength(lats, lngs, count);
+        double latRad = lat * DEG_TO_RAD;
+        double sinLat = Math.sin(latRad);
+        double cosLat = Math.cos(latRad);
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            double d = distanceRad(latRad, sinLat, cosLat, lng, lats[i], lngs[i]);
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 单点距离计算，起点三角函数由调用方预先计算
+     */
+    private static double distanceRad(double lat1Rad, double sinLat1, double cosLat1,
+                                      double lng1, double lat2, double lng2) {
+        double dLat = lat2 * DEG_TO_RAD - lat1Rad;
+        double dLng = normalizeLng(lng2 - lng1) * DEG_TO_RAD;
+
+        if (Math.abs(lat1Rad) < FAST_PATH_MAX_LAT) {
+            // 中点纬度余弦：cos(lat1 + h) 在 h 很小时展开，避免逐点调用 Math.cos
+            double h = dLat * 0.5;
+            double cosMid = cosLat1 * (1 - h * h * 0.5) - sinLat1 * h;
+            double x = dLng * cosMid;
+            double d2 = x * x + dLat * dLat;
+            if (d2 <= FAST_PATH_LIMIT_RAD2) {
+                return EARTH_RADIUS * Math.sqrt(d2);
+            }
+        }
+        return haversine(lat1Rad, cosLat1, dLat, dLng);
+    }
+
+    /**
+     * Haversine公式（asin形式，比atan2少一次开方）
+     */
+    private static double haversine(double lat1Rad, double cosLat1, double dLat, double dLng) {
+        double sinHalfLat = Math.sin(dLat * 0.5);
+        double sinHalfLng = Math.sin(dLng * 0.5);
+        double a = sinHalfLat * sinHalfLat + cosLat1 * Math.cos(lat1Rad + dLat) * sinHalfLng * sinHalfLng;
+        return 2 * EARTH_RADIUS * Math.asin(Math.sqrt(Math.min(1, a)));
+    }
+
+    /**
+     * 经度差规范化到 [-180, 180]
+     */
+    private static double normalizeLng(double dLng) {
+        if (dLng > 180) {
+            return dLng - 360;
+        }
+        if (dLng < -180) {
+            return dLng + 360;
+        }
+        return dLng;
+    }
+
+    private static void checkLength(double[] lats, double[] lngs, int count) {
+        if (count < 0 || lats.length < count || lngs.length < count) {
+            throw new IllegalArgumentException("坐标数组长度不足");
+        }
+    }
+
+    private static void checkLength(double[] result, int count) {
+        if (result.length < count) {
+            throw new IllegalArgumentException("输出数组长度不足");
+        }
+    }
+
+    /**
+     * 半径过滤器
+     * <p>
+     * 预先计算中心点三角函数和包围盒，逐点判断时：
+     * <ol>
+     *   <li>纬度差超出半径直接排除</li>
+     *   <li>经度差超出包围盒直接排除（高纬度不做经度预判）</li>
+     *   <li>短半径比较等距柱状投影距离平方，长半径比较Haversine中间量 a 与 sin²(r/2R)</li>
+     * </ol>
+     */
+    private static final class RadiusFilter {
+
+        private final double latRad;
+        private final double sinLat;
+        private final double cosLat;
+        private final double lng;
+        private final double maxDLat;
+        private final double maxDLng;
+        private final boolean fastPath;
+        private final double radiusRad2;
+        private final double maxHaversine;
+
+        RadiusFilter(double lat, double lng, double radius) {
+            this.latRad = lat * DEG_TO_RAD;
+            this.sinLat = Math.sin(latRad);
+            this.cosLat = Math.cos(latRad);
+            this.lng = lng;
+
+            double radiusRad = radius / EARTH_RADIUS;
+            this.maxDLat = radiusRad;
+            // 包围盒经度半宽取覆盖范围内纬度余弦最小处，跨极点时不做经度预判
+            double farLat = Math.abs(latRad) + radiusRad;
+            this.maxDLng = farLat < FAST_PATH_MAX_LAT ? radiusRad / Math.cos(farLat) : Double.MAX_VALUE;
+            this.fastPath = radius <= FAST_PATH_LIMIT && Math.abs(latRad) < FAST_PATH_MAX_LAT;
+            this.radiusRad2 = radiusRad * radiusRad;
+            double s = Math.sin(Math.min(Math.PI, radiusRad) * 0.5);
+            this.maxHaversine = s * s;
+        }
+
+        boolean test(double targetLat, double targetLng) {
+            double dLat = targetLat * DEG_TO_RAD - latRad;
+            if (Math.abs(dLat) > maxDLat) {
+                return false;
+            }
+            double dLng = normalizeLng(targetLng - lng) * DEG_TO_RAD;
+            if (Math.abs(dLng) > maxDLng) {
+                return false;
+            }
+            if (fastPath) {
+                double h = dLat * 0.5;
+                double x = dLng * (cosLat * (1 - h * h * 0.5) - sinLat * h);
+                return x * x + dLat * dLat <= radiusRad2;
+            }
+            double sinHalfLat = Math.sin(dLat * 0.5);
+            double sinHalfLng = Math.sin(dLng * 0.5);
+            double a = sinHalfLat * sinHalfLat + cosLat * Math.cos(latRad + dLat) * sinHalfLng * sinHalfLng;
+            return a <= maxHaversine;
+        }
+    }
+}
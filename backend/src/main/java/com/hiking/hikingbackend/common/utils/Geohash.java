@@ -0,0 +1,164 @@
+package com.hiking.hikingbackend.common.utils;
+
+import java.util.Arrays;
+
+/**
+ * Geohash 编码工具类
+ * <p>
+ * 经纬度交替二分，每 5 位编码为一个 base32 字符；前缀相同即落在同一网格内，
+ * 因此“某区域内”可以转为索引上的前缀范围扫描（LIKE 'wx4%'）。
+ * 与 MySQL ST_GeoHash 结果一致，常用精度：
+ * <ul>
+ *   <li>4 位：约 39km × 20km</li>
+ *   <li>5 位：约 4.9km × 4.9km</li>
+ *   <li>6 位：约 1.2km × 0.6km</li>
+ *   <li>8 位：约 38m × 19m</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public final class Geohash {
+
+    /**
+     * base32 字符表（去掉 a、i、l、o）
+     */
+    public static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    /**
+     * 存储精度
+     */
+    public static final int STORE_PRECISION = 8;
+
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length(); i++) {
+            DECODE[BASE32.charAt(i)] = i;
+        }
+    }
+
+    private Geohash() {
+    }
+
+    /**
+     * 编码
+     *
+     * @param lat       纬度
+     * @param lng       经度
+     * @param precision 字符数（1-12）
+     * @return Geohash
+     */
+    public static String encode(double lat, double lng, int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("Geohash精度必须在1-12之间");
+        }
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+        StringBuilder sb = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int value = 0;
+        while (sb.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    value = (value << 1) | 1;
+                    minLng = mid;
+                } else {
+                    value <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                sb.append(BASE32.charAt(value));
+                bit = 0;
+                value = 0;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 网格中心点
+     *
+     * @param geohash Geohash
+     * @return {纬度, 经度}
+     */
+    public static double[] center(String geohash) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < geohash.length(); i++) {
+            int value = DECODE[geohash.charAt(i)];
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                boolean set = (value & mask) != 0;
+                if (evenBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (set) {
+                        minLng = mid;
+                    } else {
+                        maxLng = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[]{(minLat + maxLat) / 2, (minLng + maxLng) / 2};
+    }
+
+    /**
+     * 规范化查询用的前缀（去空白、转小写）
+     *
+     * @param prefix 前缀
+     * @return 规范化后的前缀，不合法或超过存储精度时返回null
+     */
+    public static String normalizePrefix(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        String normalized = prefix.trim().toLowerCase();
+        return normalized.length() <= STORE_PRECISION && isValid(normalized) ? normalized : null;
+    }
+
+    /**
+     * 是否为合法的 Geohash（小写 base32，1-12 位）
+     *
+     * @param geohash 待校验字符串
+     * @return true合法
+     */
+    public static boolean isValid(String geohash) {
+        if (geohash == null || geohash.isEmpty() || geohash.length() > 12) {
+            return false;
+        }
+        for (int i = 0; i < geohash.length(); i++) {
+            char c = geohash.charAt(i);
+            if (c >= 128 || DECODE[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package com.hiking.hikingbackend.common.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geohash 前缀计数索引（地区分面）
+ * <p>
+ * 由数据库按最细精度 GROUP BY 得到的网格计数构建，向上逐级累加出每个前缀的数量，
+ * 查询某个前缀下一级的各子网格计数只需 32 次哈希查找。
+ * 条目总数超过上限时从最细一级开始整级丢弃，内存占用有界。构建后不可变，可并发查询
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public final class GeohashFacetIndex {
+
+    private static final GeohashFacetIndex EMPTY = new GeohashFacetIndex(Collections.emptyMap(), 0, 0);
+
+    private final Map<String, Integer> counts;
+
+    private final int precision;
+
+    private final int total;
+
+    private GeohashFacetIndex(Map<String, Integer> counts, int precision, int total) {
+        this.counts = counts;
+        this.precision = precision;
+        this.total = total;
+    }
+
+    /**
+     * 空索引
+     *
+     * @return 空索引
+     */
+    public static GeohashFacetIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 由网格计数构建
+     *
+     * @param cells      网格计数（Geohash 长度相同）
+     * @param maxEntries 最大条目数
+     * @return 索引
+     */
+    public static GeohashFacetIndex build(List<Cell> cells, int maxEntries) {
+        int precision = 0;
+        for (Cell cell : cells) {
+            precision = Math.max(precision, cell.getGeohash().length());
+        }
+        if (precision == 0) {
+            return EMPTY;
+        }
+
+        // 1. 逐级累加：levels[p] 为长度 p 的前缀计数
+        List<Map<String, Integer>> levels = new ArrayList<>(precision + 1);
+        for (int p = 0; p <= precision; p++) {
+            levels.add(new HashMap<>());
+        }
+        int total = 0;
+        for (Cell cell : cells) {
+            String geohash = cell.getGeohash();
+            total += cell.getCount();
+            for (int p = 1; p <= geohash.length(); p++) {
+                levels.get(p).merge(geohash.substring(0, p), cell.getCount(), Integer::sum);
+            }
+        }
+
+        // 2. 超出上限时从最细一级丢弃
+        int size = 0;
+        for (Map<String, Integer> level : levels) {
+            size += level.size();
+        }
+        while (size > maxEntries && precision > 1) {
+            size -= levels.get(precision).size();
+            precision--;
+        }
+
+        Map<String, Integer> counts = new HashMap<>(size * 4 / 3 + 1);
+        for (int p = 1; p <= precision; p++) {
+            counts.putAll(levels.get(p));
+        }
+        return new GeohashFacetIndex(counts, precision, total);
+    }
+
+    /**
+     * 前缀下的数量
+     *
+     * @param prefix 前缀，空串表示全部
+     * @return 数量，前缀超出索引精度时返回-1
+     */
+    public int count(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return total;
+        }
+        if (prefix.length() > precision) {
+            return -1;
+        }
+        return counts.getOrDefault(prefix, 0);
+    }
+
+    /**
+     * 前缀下一级的各子网格计数（按数量降序）
+     *
+     * @param prefix 前缀，空串表示顶级网格
+     * @return 子网格计数，前缀已达索引精度时为空
+     */
+    public List<Cell> children(String prefix) {
+        String parent = prefix != null ? prefix : "";
+        if (parent.length() >= precision) {
+            return Collections.emptyList();
+        }
+        List<Cell> result = new ArrayList<>();
+        for (int i = 0; i < Geohash.BASE32.length(); i++) {
+            String child = parent + Geohash.BASE32.charAt(i);
+            Integer count = counts.get(child);
+            if (count != null) {
+                result.add(new Cell(child, count));
+            }
+        }
+        result.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+        return result;
+    }
+
+    /**
+     * 索引精度（最细前缀长度）
+     *
+     * @return 精度
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * 条目数
+     *
+     * @return 条目数
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * 网格计数
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+
+        private String geohash;
+
+        private Integer count;
+    }
+}
@@ -0,0 +1,129 @@
+package com.hiking.hikingbackend.common.utils;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * GPX 1.1 流式写入器
+ * <p>
+ * 基于 StAX 逐点写出，不在内存中保留已写出的点。用法：
+ * {@code start → beginTrack → point* → end}，或以 {@code beginRoute} 写出航线（rtept）
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class GpxWriter {
+
+    private static final String NAMESPACE = "http://www.topografix.com/GPX/1/1";
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newInstance();
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ISO_INSTANT;
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    private final XMLStreamWriter writer;
+
+    private String pointElement;
+
+    public GpxWriter(OutputStream out) throws XMLStreamException {
+        this.writer = FACTORY.createXMLStreamWriter(out, "UTF-8");
+    }
+
+    /**
+     * 写出文档头和元数据
+     *
+     * @param name 文件名称
+     * @throws XMLStreamException 写出失败
+     */
+    public void start(String name) throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("gpx");
+        writer.writeDefaultNamespace(NAMESPACE);
+        writer.writeAttribute("version", "1.1");
+        writer.writeAttribute("creator", "hiking-system");
+        writer.writeStartElement("metadata");
+        writeText("name", name);
+        writer.writeEndElement();
+    }
+
+    /**
+     * 开始一条轨迹（trk/trkseg/trkpt）
+     *
+     * @param name 轨迹名称
+     * @throws XMLStreamException 写出失败
+     */
+    public void beginTrack(String name) throws XMLStreamException {
+        writer.writeStartElement("trk");
+        writeText("name", name);
+        writer.writeStartElement("trkseg");
+        pointElement = "trkpt";
+    }
+
+    /**
+     * 开始一条航线（rte/rtept）
+     *
+     * @param name 航线名称
+     * @throws XMLStreamException 写出失败
+     */
+    public void beginRoute(String name) throws XMLStreamException {
+        writer.writeStartElement("rte");
+        writeText("name", name);
+        pointElement = "rtept";
+    }
+
+    /**
+     * 写出一个点
+     *
+     * @param lat       纬度
+     * @param lng       经度
+     * @param elevation 海拔（米），可为null
+     * @param time      时间（东八区），可为null
+     * @throws XMLStreamException 写出失败
+     */
+    public void point(BigDecimal lat, BigDecimal lng, Integer elevation, LocalDateTime time) throws XMLStreamException {
+        writer.writeStartElement(pointElement);
+        writer.writeAttribute("lat", lat.toPlainString());
+        writer.writeAttribute("lon", lng.toPlainString());
+        if (elevation != null) {
+            writeText("ele", elevation.toString());
+        }
+        if (time != null) {
+            writeText("time", UTC_FORMAT.format(time.atZone(ZONE).toInstant()));
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * 结束轨迹/航线和文档
+     *
+     * @throws XMLStreamException 写出失败
+     */
+    public void end() throws XMLStreamException {
+        if ("trkpt".equals(pointElement)) {
+            writer.writeEndElement();
+            writer.writeEndElement();
+        } else if ("rtept".equals(pointElement)) {
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+    }
+
+    private void writeText(String element, String text) throws XMLStreamException {
+        if (text == null) {
+            return;
+        }
+        writer.writeStartElement(element);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+}
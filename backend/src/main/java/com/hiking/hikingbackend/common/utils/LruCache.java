@@ -0,0 +1,192 @@
+package com.hiking.hikingbackend.common.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 带过期时间的LRU缓存
+ * <p>
+ * 基于访问顺序的 LinkedHashMap，超出容量时淘汰最久未访问的条目；
+ * 条目写入后超过过期时间视为不存在。所有方法均加锁，加载函数在锁外执行
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class LruCache<K, V> {
+
+    private final int capacity;
+
+    private final long ttlMillis;
+
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * 创建缓存
+     *
+     * @param capacity  最大条目数
+     * @param ttlMillis 过期时间（毫秒），小于等于0表示不过期
+     */
+    public LruCache(int capacity, long ttlMillis) {
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.map = new LinkedHashMap<>(Math.min(capacity, 1024) * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存值
+     *
+     * @param key 键
+     * @return 值，不存在或已过期时返回null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.isExpired()) {
+            map.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * 获取缓存值，不存在时调用加载函数并写入缓存
+     * <p>
+     * 加载函数在锁外执行，并发未命中时可能重复加载
+     *
+     * @param key    键
+     * @param loader 加载函数，返回null时不缓存
+     * @return 值
+     */
+    public V computeIfAbsent(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key   键
+     * @param value 值
+     */
+    public synchronized void put(K key, V value) {
+        long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        map.put(key, new Entry<>(value, expireAt));
+    }
+
+    /**
+     * 移除缓存
+     *
+     * @param key 键
+     * @return 被移除的值，不存在时返回null
+     */
+    public synchronized V remove(K key) {
+        Entry<V> entry = map.remove(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * 移除满足条件的键
+     *
+     * @param predicate 条件
+     * @return 被移除的键
+     */
+    public synchronized List<K> removeIf(Predicate<K> predicate) {
+        List<K> removed = new ArrayList<>();
+        Iterator<K> iterator = map.keySet().iterator();
+        while (iterator.hasNext()) {
+            K key = iterator.next();
+            if (predicate.test(key)) {
+                iterator.remove();
+                removed.add(key);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 当前所有键的快照（含已过期未清理的键）
+     *
+     * @return 键列表
+     */
+    public synchronized List<K> keys() {
+        return new ArrayList<>(map.keySet());
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    /**
+     * 当前条目数
+     *
+     * @return 条目数
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * 命中次数
+     *
+     * @return 命中次数
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * 未命中次数
+     *
+     * @return 未命中次数
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long expireAt;
+
+        Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expireAt;
+        }
+    }
+}
@@ -6,6 +6,11 @@
  *   <li>JwtUtil - JWT工具类</li>
  *   <li>PasswordUtil - 密码加密工具类</li>
  *   <li>WebUtil - Web工具类</li>
+ *   <li>GeoDistanceKernel - 批量地理距离计算内核</li>
+ *   <li>LruCache - 带过期时间的LRU缓存</li>
+ *   <li>GpxWriter - GPX流式写入器</li>
+ *   <li>Geohash - Geohash编码</li>
+ *   <li>GeohashFacetIndex - Geohash前缀计数索引</li>
  *   <li>其他工具类</li>
  * </ul>
  *
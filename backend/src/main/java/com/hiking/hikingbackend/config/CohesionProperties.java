@@ -0,0 +1,54 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 队伍紧凑度监控配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.cohesion 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.cohesion")
+public class CohesionProperties {
+
+    /**
+     * 重算间隔（毫秒）
+     */
+    private long tickMillis = 10000;
+
+    /**
+     * 落后中位数的阈值（米）
+     */
+    private double behindThreshold = 800;
+
+    /**
+     * 领先中位数的阈值（米）
+     */
+    private double aheadThreshold = 1500;
+
+    /**
+     * 落后收队（组织者）的容差（米），超过即视为掉队到收队之后
+     */
+    private double sweeperTolerance = 100;
+
+    /**
+     * 偏离路线距离（米），超过后不参与进度排名
+     */
+    private double offRouteDistance = 300;
+
+    /**
+     * 位置过期时间（秒），超过后视为信号丢失
+     */
+    private int staleSeconds = 600;
+
+    /**
+     * 监控状态空闲淘汰时间（分钟）
+     */
+    private int idleEvictMinutes = 120;
+}
@@ -0,0 +1,29 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 文件导出配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.export 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.export")
+public class ExportProperties {
+
+    /**
+     * 导出文件缓存目录
+     */
+    private String cacheDir = "./data/export-cache";
+
+    /**
+     * 导出文件保留时间（分钟），期间同一版本的数据重复下载、断点续传直接使用已生成的文件
+     */
+    private int cacheTtlMinutes = 60;
+}
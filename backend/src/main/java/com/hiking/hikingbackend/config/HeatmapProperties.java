@@ -0,0 +1,49 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 轨迹热力图配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.heatmap 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.heatmap")
+public class HeatmapProperties {
+
+    /**
+     * 最小聚合缩放级别
+     */
+    private int minZoom = 8;
+
+    /**
+     * 最大聚合缩放级别（不超过18）
+     */
+    private int maxZoom = 16;
+
+    /**
+     * 每个瓦片的网格边长（单元格数，须为2的幂）
+     */
+    private int gridSize = 64;
+
+    /**
+     * 瓦片缓存最大条目数
+     */
+    private int cacheSize = 2000;
+
+    /**
+     * 瓦片缓存过期时间（分钟）
+     */
+    private int cacheTtlMinutes = 60;
+
+    /**
+     * 启动时预热的最大缩放级别（该级别及以下的瓦片全部加载到缓存）
+     */
+    private int warmMaxZoom = 10;
+}
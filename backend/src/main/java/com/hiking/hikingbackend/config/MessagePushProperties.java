@@ -0,0 +1,59 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 消息实时推送配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.message-push 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.message-push")
+public class MessagePushProperties {
+
+    /**
+     * 本节点最大连接数，超出时拒绝新连接（客户端回退为轮询）
+     */
+    private int maxConnections = 50000;
+
+    /**
+     * 单个用户最大连接数（多设备），超出时关闭最早的连接
+     */
+    private int maxConnectionsPerUser = 5;
+
+    /**
+     * 连接超时时间（分钟），超时后由客户端自动重连
+     */
+    private long timeoutMinutes = 30;
+
+    /**
+     * 心跳间隔（毫秒），用于保持代理连接和清理已断开的连接
+     */
+    private long heartbeatMillis = 25000;
+
+    /**
+     * 推送任务队列容量（未读数查询等准备工作），队列满时丢弃推送（客户端下次拉取时补齐）
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * 发送线程数，每个连接同一时刻只占用一个发送线程
+     */
+    private int senderThreads = 4;
+
+    /**
+     * 单个连接最大待发事件数，超出时视为慢连接并关闭
+     */
+    private int maxPendingPerConnection = 100;
+
+    /**
+     * 单次写出超过该时长（毫秒）的连接视为慢连接并关闭
+     */
+    private long slowSendMillis = 5000;
+}
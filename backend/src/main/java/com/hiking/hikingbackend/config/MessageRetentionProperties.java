@@ -0,0 +1,71 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 消息保留配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.message-retention 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.message-retention")
+public class MessageRetentionProperties {
+
+    /**
+     * 过期消息处理方式
+     */
+    public enum Mode {
+        /**
+         * 迁移到 message_archive 后从消息表删除
+         */
+        ARCHIVE,
+        /**
+         * 直接删除
+         */
+        DELETE
+    }
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 过期消息处理方式
+     */
+    private Mode mode = Mode.ARCHIVE;
+
+    /**
+     * 各消息类型的保留天数（已读且创建时间早于该天数的消息视为过期）
+     */
+    private Map<Integer, Integer> ttlDays = new HashMap<>(Map.of(1, 90, 2, 90, 3, 60, 4, 30));
+
+    /**
+     * 未配置类型的保留天数
+     */
+    private int defaultTtlDays = 90;
+
+    /**
+     * 每个主键区间扫描的行数
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 每个区间处理后的暂停时间（毫秒）
+     */
+    private long chunkPauseMillis = 100;
+
+    /**
+     * 单次执行最多处理的区间数
+     */
+    private int maxChunksPerRun = 2000;
+}
@@ -0,0 +1,47 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 站内通知配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.notification 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.notification")
+public class NotificationProperties {
+
+    /**
+     * 通知队列容量，队列满时丢弃新通知并记录错误日志
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * 单条INSERT的最大消息行数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 写入线程每轮最多取出的通知数
+     */
+    private int maxDrain = 200;
+
+    /**
+     * 各消息类型的合并窗口（秒），未配置的类型不合并，且只合并合并键相同的通知；预警通知不应配置
+     */
+    private Map<Integer, Integer> coalesceWindowSeconds = new HashMap<>(Map.of(2, 60, 3, 30));
+
+    /**
+     * 合并缓冲的最大键数，超出时新通知直接写入
+     */
+    private int maxPending = 100000;
+}
@@ -0,0 +1,34 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 地区分面配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.region-facet 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.region-facet")
+public class RegionFacetProperties {
+
+    /**
+     * 分面最细Geohash精度（6位约1.2km×0.6km）
+     */
+    private int precision = 6;
+
+    /**
+     * 单个分面索引的最大条目数，超出时整级丢弃最细精度
+     */
+    private int maxEntries = 20000;
+
+    /**
+     * 分面索引刷新间隔（分钟），路线变更后下次查询立即刷新
+     */
+    private int refreshMinutes = 10;
+}
@@ -0,0 +1,34 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 活动报告配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.report 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.report")
+public class ReportProperties {
+
+    /**
+     * 报告计算并行度，小于等于0时取CPU核数
+     */
+    private int parallelism = 0;
+
+    /**
+     * 报告缓存最大条目数
+     */
+    private int cacheSize = 200;
+
+    /**
+     * 报告缓存过期时间（分钟）
+     */
+    private int cacheTtlMinutes = 30;
+}
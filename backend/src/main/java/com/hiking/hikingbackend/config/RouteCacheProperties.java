@@ -0,0 +1,29 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 路线详情缓存配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.route-cache 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.route-cache")
+public class RouteCacheProperties {
+
+    /**
+     * 路线详情缓存最大条目数
+     */
+    private int detailCacheSize = 1000;
+
+    /**
+     * 路线详情缓存过期时间（分钟），兜底创建者资料、使用次数等未主动失效的变化
+     */
+    private int detailCacheTtlMinutes = 10;
+}
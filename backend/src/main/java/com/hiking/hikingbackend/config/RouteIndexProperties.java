@@ -0,0 +1,39 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 路线空间索引配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.route-index 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.route-index")
+public class RouteIndexProperties {
+
+    /**
+     * R 树节点最大子节点数
+     */
+    private int nodeCapacity = 16;
+
+    /**
+     * 树外增量（新增、修改、移除）累计达到该数量时重建 R 树
+     */
+    private int rebuildThreshold = 256;
+
+    /**
+     * 视口查询默认返回条数
+     */
+    private int defaultLimit = 200;
+
+    /**
+     * 视口查询最大返回条数
+     */
+    private int maxLimit = 500;
+}
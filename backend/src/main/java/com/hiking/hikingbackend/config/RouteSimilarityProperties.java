@@ -0,0 +1,54 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 相似路线检测配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.route-similarity 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.route-similarity")
+public class RouteSimilarityProperties {
+
+    /**
+     * 每条路线的最大采样点数
+     */
+    private int maxSamples = 64;
+
+    /**
+     * 最小采样点距（米）
+     */
+    private double minSpacing = 25;
+
+    /**
+     * 空间哈希网格边长（米）
+     */
+    private double cellSize = 200;
+
+    /**
+     * 候选路线的最小覆盖率（查询路线采样点落在其附近的比例）
+     */
+    private double minCoverage = 0.6;
+
+    /**
+     * 长路线与短路线的最大长度比
+     */
+    private double maxLengthRatio = 1.3;
+
+    /**
+     * 判定为相似的最大离散 Fréchet 距离（米）
+     */
+    private double maxFrechetDistance = 150;
+
+    /**
+     * 单条路线检测时的最大候选路线数
+     */
+    private int candidateLimit = 500;
+}
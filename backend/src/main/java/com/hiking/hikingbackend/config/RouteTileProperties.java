@@ -0,0 +1,74 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 路线矢量瓦片配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.route-tile 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.route-tile")
+public class RouteTileProperties {
+
+    /**
+     * 最小缩放级别
+     */
+    private int minZoom = 0;
+
+    /**
+     * 最大缩放级别
+     */
+    private int maxZoom = 18;
+
+    /**
+     * 瓦片坐标范围（MVT extent）
+     */
+    private int extent = 4096;
+
+    /**
+     * 裁剪缓冲区（瓦片坐标单位），避免线条在瓦片边界处断开
+     */
+    private int buffer = 64;
+
+    /**
+     * 抽稀容差（瓦片坐标单位）
+     */
+    private double simplifyTolerance = 2.0;
+
+    /**
+     * 外包框长宽都小于该值（瓦片坐标单位）的路线不输出
+     */
+    private int minFeatureSize = 4;
+
+    /**
+     * 单个瓦片最多包含的路线数
+     */
+    private int maxRoutesPerTile = 2000;
+
+    /**
+     * 瓦片内存缓存条数
+     */
+    private int cacheSize = 4096;
+
+    /**
+     * 路线几何内存缓存条数
+     */
+    private int geometryCacheSize = 512;
+
+    /**
+     * 瓦片磁盘缓存目录，为空时不启用
+     */
+    private String diskCacheDir = "";
+
+    /**
+     * 浏览器缓存时间（秒）
+     */
+    private int browserCacheSeconds = 60;
+}
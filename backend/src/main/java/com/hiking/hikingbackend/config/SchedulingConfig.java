@@ -0,0 +1,17 @@
+package com.hiking.hikingbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置类
+ * <p>
+ * 开启 {@code @Scheduled} 支持，调度线程池大小通过 spring.task.scheduling.pool.size 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
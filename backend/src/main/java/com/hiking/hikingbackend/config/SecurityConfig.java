@@ -2,6 +2,7 @@ package com.hiking.hikingbackend.config;
 
 import com.hiking.hikingbackend.security.CustomUserDetailsService;
 import com.hiking.hikingbackend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -109,6 +110,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // ========== 放行公开路径 ==========
 
+                        // 放行异步分派（SSE连接结束时的分派，原请求已通过认证）
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 放行Swagger文档相关路径
                         .requestMatchers("/swagger-ui.html").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
@@ -132,6 +136,9 @@ public class SecurityConfig {
                         .requestMatchers("/routes").permitAll()
                         .requestMatchers("/routes/**").permitAll()
 
+                        // 放行路线矢量瓦片（地图底图叠加层）
+                        .requestMatchers("/tiles/**").permitAll()
+
                         // 放行字典数据（公开接口）
                         .requestMatchers("/dict/data/**").permitAll()
 
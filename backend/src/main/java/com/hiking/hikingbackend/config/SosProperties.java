@@ -0,0 +1,44 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * SOS紧急求助配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.sos 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.sos")
+public class SosProperties {
+
+    /**
+     * 专用线程数
+     */
+    private int threads = 4;
+
+    /**
+     * 等待队列容量，超出后直接拒绝，避免求助请求无限堆积
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 预留数据库连接数（独立连接池，常驻不回收）
+     */
+    private int reservedConnections = 2;
+
+    /**
+     * 获取预留连接的超时时间（毫秒）
+     */
+    private long connectionTimeout = 2000;
+
+    /**
+     * 端到端处理延迟目标（毫秒），超出时告警
+     */
+    private long latencySlo = 500;
+}
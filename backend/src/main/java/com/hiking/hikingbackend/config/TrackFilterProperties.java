@@ -0,0 +1,54 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 轨迹入库过滤配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.track-filter 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.track-filter")
+public class TrackFilterProperties {
+
+    /**
+     * 是否启用过滤
+     */
+    private boolean enabled = true;
+
+    /**
+     * 允许入库的最大定位精度（米），精度值越大定位越差
+     */
+    private int maxAccuracy = 50;
+
+    /**
+     * 静止抖动半径（米），与上一保留点距离小于该值视为原地抖动
+     */
+    private double stationaryRadius = 8;
+
+    /**
+     * 静止状态下的最长保留间隔（秒），保证静止时仍有心跳点
+     */
+    private int stationaryKeepInterval = 60;
+
+    /**
+     * 合理的最大移动速度（米/秒），超过视为漂移点
+     */
+    private double maxPlausibleSpeed = 12.0;
+
+    /**
+     * 连续漂移点上限，超过后认为位置确实发生跳变并接受
+     */
+    private int maxConsecutiveOutliers = 3;
+
+    /**
+     * 过滤状态空闲淘汰时间（分钟）
+     */
+    private int idleEvictMinutes = 120;
+}
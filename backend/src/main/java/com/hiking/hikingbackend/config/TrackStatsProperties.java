@@ -0,0 +1,39 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 轨迹统计配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.track-stats 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.track-stats")
+public class TrackStatsProperties {
+
+    /**
+     * 海拔迟滞阈值（米）
+     */
+    private int elevationHysteresis = 5;
+
+    /**
+     * 判定为移动的最低速度（米/秒）
+     */
+    private double minMovingSpeed = 0.5;
+
+    /**
+     * 相邻两点最大间隔（秒）
+     */
+    private int maxSegmentGap = 300;
+
+    /**
+     * 累加器空闲淘汰时间（分钟）
+     */
+    private int idleEvictMinutes = 120;
+}
@@ -0,0 +1,39 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 轨迹存储配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.track-storage 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.track-storage")
+public class TrackStorageProperties {
+
+    /**
+     * 归档文件根目录
+     */
+    private String archiveDir = "./data/track-archive";
+
+    /**
+     * 热表保留月数，早于该月数的分区归档到本地文件后删除
+     */
+    private int retentionMonths = 6;
+
+    /**
+     * 提前创建的未来月分区数
+     */
+    private int futurePartitions = 3;
+
+    /**
+     * 归档文件每个列块的行数
+     */
+    private int archiveBlockSize = 4096;
+}
@@ -0,0 +1,49 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热度排序配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.trending 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.trending")
+public class TrendingProperties {
+
+    /**
+     * 热度半衰期（小时）。热度分按固定纪元存储在对数空间，修改后已有分数与新事件的权重不再一致，需要重算
+     */
+    private double halfLifeHours = 72;
+
+    /**
+     * 浏览事件权重
+     */
+    private double viewWeight = 1;
+
+    /**
+     * 报名事件权重（同时计入活动和活动使用的路线）
+     */
+    private double registrationWeight = 5;
+
+    /**
+     * 活动完成事件权重（计入活动使用的路线）
+     */
+    private double completionWeight = 10;
+
+    /**
+     * 内存中的热度增量写回数据库的间隔（毫秒）
+     */
+    private long flushMillis = 30000;
+
+    /**
+     * 单条UPDATE语句写回的最大行数
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,49 @@
+package com.hiking.hikingbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 未读消息计数配置属性类
+ * <p>
+ * 从application.yml中读取 hiking.unread-counter 配置
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hiking.unread-counter")
+public class UnreadCounterProperties {
+
+    /**
+     * 缓存的最大用户数
+     */
+    private int cacheSize = 100000;
+
+    /**
+     * 计数过期时间（分钟），过期后下次读取重新统计
+     */
+    private int cacheTtlMinutes = 60;
+
+    /**
+     * 节点间同步间隔（毫秒）：写出本节点变更并失效其他节点变更过的计数
+     */
+    private long syncMillis = 2000;
+
+    /**
+     * 每次同步回看的变更时间窗口（秒），需大于同步间隔，覆盖提交顺序与自增ID顺序不一致的情况
+     */
+    private int syncWindowSeconds = 10;
+
+    /**
+     * 变更记录保留时长（分钟）
+     */
+    private int changeRetentionMinutes = 60;
+
+    /**
+     * 全量对账间隔（毫秒）：按批重新统计所有已缓存用户的未读数
+     */
+    private long reconcileMillis = 600000;
+}
@@ -8,6 +8,7 @@
  *   <li>MyBatis-Plus配置</li>
  *   <li>CORS跨域配置</li>
  *   <li>JWT配置</li>
+ *   <li>定时任务配置</li>
  * </ul>
  *
  * @author hiking-system
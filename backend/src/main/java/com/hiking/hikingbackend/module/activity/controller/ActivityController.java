@@ -11,6 +11,8 @@ import com.hiking.hikingbackend.module.activity.dto.RegistrationCreateDTO;
 import com.hiking.hikingbackend.module.activity.service.ActivityService;
 import com.hiking.hikingbackend.module.activity.vo.ActivityDetailVO;
 import com.hiking.hikingbackend.module.activity.vo.ActivityListVO;
+import com.hiking.hikingbackend.module.route.service.RegionFacetService;
+import com.hiking.hikingbackend.module.route.vo.RegionFacetVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,6 +22,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 活动控制器
  *
@@ -35,19 +39,35 @@ public class ActivityController {
 
     private final ActivityService activityService;
 
+    private final RegionFacetService regionFacetService;
+
     /**
      * 活动列表（公开接口）
      *
      * @param query 查询条件
      * @return 活动列表分页结果
      */
-    @Operation(summary = "活动列表", description = "支持分页、关键词、难度、日期范围筛选，公开接口无需登录")
+    @Operation(summary = "活动列表", description = "支持分页、关键词、难度、起点Geohash前缀、日期范围筛选，公开接口无需登录")
     @GetMapping("/activities")
     public Result<IPage<ActivityListVO>> getActivityList(ActivityQuery query) {
         IPage<ActivityListVO> page = activityService.getActivityList(query);
         return Result.success(page);
     }
 
+    /**
+     * 活动地区分面（公开接口）
+     *
+     * @param prefix Geohash前缀
+     * @return 网格计数
+     */
+    @Operation(summary = "活动地区分面", description = "按起点Geohash逐级统计可见活动数量，prefix为空时返回顶级网格；返回的geohash可直接作为活动列表的geohash参数")
+    @GetMapping("/activities/region-facets")
+    public Result<List<RegionFacetVO>> getActivityRegionFacets(
+            @Parameter(description = "Geohash前缀", example = "wx4") @RequestParam(required = false) String prefix) {
+        List<RegionFacetVO> facets = regionFacetService.getActivityFacets(prefix);
+        return Result.success(facets);
+    }
+
     /**
      * 活动详情（公开接口）
      *
@@ -205,6 +225,29 @@ public class ActivityController {
         return Result.success("取消成功");
     }
 
+    /**
+     * 结束活动（组织者本人接口）
+     * 需要校验：当前用户必须是活动组织者
+     *
+     * @param activityId 活动ID
+     * @return 操作结果
+     */
+    @Operation(summary = "结束活动", description = "结束已发布或进行中的活动，需要登录，仅限活动组织者本人")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PutMapping("/activities/{id}/end")
+    public Result<Void> endActivity(
+            @Parameter(description = "活动ID", required = true, example = "1")
+            @PathVariable("id") Long activityId) {
+        // 获取当前用户ID
+        Long organizerId = SecurityUtils.getCurrentUserId();
+        if (organizerId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        activityService.endActivity(organizerId, activityId);
+        return Result.success("活动已结束");
+    }
+
     /**
      * 我发布的活动（需登录）
      * 获取当前登录用户发布的所有活动
@@ -30,9 +30,15 @@ public class ActivityQuery {
     @Schema(description = "活动开始日期（结束）", example = "2024-12-31")
     private LocalDate endDate;
 
+    @Schema(description = "起点Geohash前缀（1-8位，走索引范围扫描），取值见地区分面接口", example = "wx4e")
+    private String geohash;
+
     @Schema(description = "活动状态：0草稿 1待审核 2已发布 3进行中 4已结束 5已取消 6已驳回", example = "2")
     private Integer status;
 
+    @Schema(description = "排序方式：date按活动日期（默认） trending按热度", example = "trending")
+    private String sortBy;
+
     @Schema(description = "页码", example = "1")
     private Integer pageNum = 1;
 
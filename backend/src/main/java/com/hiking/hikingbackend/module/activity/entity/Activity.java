@@ -64,6 +64,12 @@ public class Activity implements Serializable {
     @TableField("route_id")
     private Long routeId;
 
+    /**
+     * 起点Geohash（取自路线，用于地区前缀筛选）
+     */
+    @TableField("geohash")
+    private String geohash;
+
     /**
      * 活动日期
      */
@@ -189,6 +195,12 @@ public class Activity implements Serializable {
     @TableField("view_count")
     private Integer viewCount;
 
+    /**
+     * 热度分（对数空间，只由热度服务批量累加，不参与实体更新）
+     */
+    @TableField(value = "trending_score", insertStrategy = FieldStrategy.NEVER, updateStrategy = FieldStrategy.NEVER)
+    private Double trendingScore;
+
     /**
      * 创建者ID（插入时自动填充）
      */
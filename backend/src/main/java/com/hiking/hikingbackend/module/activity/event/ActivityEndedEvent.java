@@ -0,0 +1,35 @@
+package com.hiking.hikingbackend.module.activity.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 活动结束事件
+ * <p>
+ * 组织者结束活动时发布，监听方应使用 {@code @TransactionalEventListener}，
+ * 保证只在活动状态变更提交后才执行收尾逻辑
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ActivityEndedEvent {
+
+    /**
+     * 活动ID
+     */
+    private final Long activityId;
+
+    /**
+     * 关联路线ID
+     */
+    private final Long routeId;
+
+    /**
+     * 组织者用户ID
+     */
+    private final Long organizerId;
+}
@@ -0,0 +1,35 @@
+package com.hiking.hikingbackend.module.activity.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 报名成功事件
+ * <p>
+ * 用户报名活动时发布，监听方应使用 {@code @TransactionalEventListener}，
+ * 保证只统计提交成功的报名
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RegistrationCreatedEvent {
+
+    /**
+     * 活动ID
+     */
+    private final Long activityId;
+
+    /**
+     * 活动使用的路线ID，可为空
+     */
+    private final Long routeId;
+
+    /**
+     * 报名用户ID
+     */
+    private final Long userId;
+}
@@ -0,0 +1,13 @@
+/**
+ * 活动事件包
+ * <p>
+ * 活动生命周期事件，供其他模块监听：
+ * <ul>
+ *   <li>ActivityEndedEvent - 活动结束事件</li>
+ *   <li>RegistrationCreatedEvent - 报名成功事件</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.activity.event;
@@ -1,8 +1,14 @@
 package com.hiking.hikingbackend.module.activity.mapper;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.hiking.hikingbackend.common.utils.GeohashFacetIndex;
 import com.hiking.hikingbackend.module.activity.entity.Activity;
+import com.hiking.hikingbackend.module.activity.support.TrendingCounter;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 活动Mapper接口
@@ -12,5 +18,28 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ActivityMapper extends BaseMapper<Activity> {
-}
 
+    /**
+     * 批量累加热度分和浏览次数（不改变更新时间）
+     *
+     * @param list 热度增量
+     * @return 影响行数
+     */
+    @InterceptorIgnore(blockAttack = "true")
+    int updateTrendingBatch(@Param("list") List<TrendingCounter.Delta> list);
+
+    /**
+     * 按Geohash前缀统计可见活动（已发布、进行中、已结束）的数量
+     *
+     * @param precision 前缀长度
+     * @return 网格计数
+     */
+    List<GeohashFacetIndex.Cell> countByGeohash(@Param("precision") int precision);
+
+    /**
+     * 为缺少Geohash的活动从关联路线补齐
+     *
+     * @return 影响行数
+     */
+    int fillMissingGeohash();
+}
@@ -7,6 +7,7 @@
  *   <li>活动查询/搜索</li>
  *   <li>活动详情</li>
  *   <li>活动审核</li>
+ *   <li>路线、活动热度排序</li>
  * </ul>
  *
  * @author hiking-system
@@ -84,6 +84,14 @@ public interface ActivityService {
      */
     void cancelActivity(Long organizerId, Long activityId);
 
+    /**
+     * 结束活动（组织者）
+     *
+     * @param organizerId 组织者用户ID
+     * @param activityId 活动ID
+     */
+    void endActivity(Long organizerId, Long activityId);
+
     /**
      * 报名活动
      *
@@ -0,0 +1,32 @@
+package com.hiking.hikingbackend.module.activity.service;
+
+/**
+ * 路线、活动热度服务接口
+ * <p>
+ * 浏览、报名、活动完成等事件在内存中累计，定时批量写回 trending_score 列，
+ * 列表按该列倒序即为热度排序
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface TrendingService {
+
+    /**
+     * 记录路线浏览
+     *
+     * @param routeId 路线ID
+     */
+    void recordRouteView(Long routeId);
+
+    /**
+     * 记录活动浏览（浏览次数随热度一并写回）
+     *
+     * @param activityId 活动ID
+     */
+    void recordActivityView(Long activityId);
+
+    /**
+     * 将内存中的热度增量写回数据库
+     */
+    void flush();
+}
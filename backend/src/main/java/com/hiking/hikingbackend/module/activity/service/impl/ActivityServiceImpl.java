@@ -5,16 +5,22 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.hiking.hikingbackend.common.exception.BusinessException;
 import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.Geohash;
 import com.hiking.hikingbackend.module.activity.dto.ActivityAuditDTO;
 import com.hiking.hikingbackend.module.activity.dto.ActivityCreateDTO;
 import com.hiking.hikingbackend.module.activity.dto.ActivityQuery;
 import com.hiking.hikingbackend.module.activity.dto.ActivityUpdateDTO;
 import com.hiking.hikingbackend.module.activity.dto.RegistrationCreateDTO;
 import com.hiking.hikingbackend.module.activity.entity.Activity;
+import com.hiking.hikingbackend.module.activity.event.ActivityEndedEvent;
+import com.hiking.hikingbackend.module.activity.event.RegistrationCreatedEvent;
 import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
 import com.hiking.hikingbackend.module.activity.service.ActivityService;
+import com.hiking.hikingbackend.module.activity.service.TrendingService;
 import com.hiking.hikingbackend.module.activity.vo.ActivityDetailVO;
 import com.hiking.hikingbackend.module.activity.vo.ActivityListVO;
+import com.hiking.hikingbackend.module.message.event.NotificationEvent;
+import com.hiking.hikingbackend.module.message.support.NotificationCoalescer;
 import com.hiking.hikingbackend.module.registration.entity.Registration;
 import com.hiking.hikingbackend.module.registration.mapper.RegistrationMapper;
 import com.hiking.hikingbackend.module.route.entity.Route;
@@ -23,8 +29,12 @@ import com.hiking.hikingbackend.module.user.entity.User;
 import com.hiking.hikingbackend.module.user.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
 
 /**
  * 活动服务实现类
@@ -45,6 +55,10 @@ public class ActivityServiceImpl implements ActivityService {
 
     private final RegistrationMapper registrationMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TrendingService trendingService;
+
     private static final int STATUS_DRAFT = 0;      // 草稿
     private static final int STATUS_PENDING = 1;    // 待审核
     private static final int STATUS_PUBLISHED = 2;   // 已发布
@@ -52,6 +66,10 @@ public class ActivityServiceImpl implements ActivityService {
     private static final int STATUS_ENDED = 4;     // 已结束
     private static final int STATUS_CANCELLED = 5;   // 已取消
     private static final int STATUS_REJECTED = 6;   // 已驳回
+    private static final String SORT_TRENDING = "trending"; // 按热度排序
+    private static final int MESSAGE_TYPE_SYSTEM = 1;   // 系统通知
+    private static final int MESSAGE_TYPE_REGISTRATION = 2;  // 报名通知
+    private static final int MESSAGE_TYPE_ACTIVITY = 3;  // 活动通知
 
     /**
      * 活动列表（分页查询）
@@ -81,6 +99,15 @@ public class ActivityServiceImpl implements ActivityService {
             queryWrapper.eq(Activity::getDifficultyLevel, query.getDifficultyLevel());
         }
         
+        // 起点Geohash前缀筛选（索引范围扫描）
+        if (StringUtils.hasText(query.getGeohash())) {
+            String geohash = Geohash.normalizePrefix(query.getGeohash());
+            if (geohash == null) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "Geohash前缀无效：" + query.getGeohash());
+            }
+            queryWrapper.likeRight(Activity::getGeohash, geohash);
+        }
+        
         // 日期范围筛选
         if (query.getStartDate() != null) {
             queryWrapper.ge(Activity::getActivityDate, query.getStartDate());
@@ -89,9 +116,14 @@ public class ActivityServiceImpl implements ActivityService {
             queryWrapper.le(Activity::getActivityDate, query.getEndDate());
         }
         
-        // 按活动日期升序排序
-        queryWrapper.orderByAsc(Activity::getActivityDate)
-                   .orderByDesc(Activity::getCreateTime);
+        // 排序：热度倒序（走 trending_score 索引），默认按活动日期升序
+        if (SORT_TRENDING.equals(query.getSortBy())) {
+            queryWrapper.orderByDesc(Activity::getTrendingScore)
+                       .orderByDesc(Activity::getId);
+        } else {
+            queryWrapper.orderByAsc(Activity::getActivityDate)
+                       .orderByDesc(Activity::getCreateTime);
+        }
         
         // 2. 分页查询
         Page<Activity> page = new Page<>(query.getPageNum(), query.getPageSize());
@@ -109,7 +141,6 @@ public class ActivityServiceImpl implements ActivityService {
      * @return 活动详情
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public ActivityDetailVO getActivityDetail(Long activityId, Long userId) {
         // 1. 查询活动信息
         Activity activity = activityMapper.selectById(activityId);
@@ -117,9 +148,9 @@ public class ActivityServiceImpl implements ActivityService {
             throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
         }
         
-        // 2. 增加浏览次数
+        // 2. 增加浏览次数（计入热度，由热度服务批量写回）
+        trendingService.recordActivityView(activityId);
         activity.setViewCount((activity.getViewCount() == null ? 0 : activity.getViewCount()) + 1);
-        activityMapper.updateById(activity);
         
         // 3. 转换为详情VO
         return convertToDetailVO(activity);
@@ -157,6 +188,7 @@ public class ActivityServiceImpl implements ActivityService {
                 .description(createDTO.getDescription())
                 .organizerId(organizerId)
                 .routeId(createDTO.getRouteId())
+                .geohash(route.getGeohash())
                 .activityDate(createDTO.getActivityDate())
                 .startTime(createDTO.getStartTime())
                 .endTime(createDTO.getEndTime())
@@ -342,6 +374,20 @@ public class ActivityServiceImpl implements ActivityService {
         activity.setAuditTime(java.time.LocalDateTime.now());
         
         activityMapper.updateById(activity);
+
+        // 6. 通知组织者审核结果
+        eventPublisher.publishEvent(NotificationEvent.builder()
+                .userIds(List.of(activity.getOrganizerId()))
+                .title(auditDTO.getApproved() ? "活动审核通过" : "活动被驳回")
+                .content(auditDTO.getApproved()
+                        ? String.format("您创建的活动「%s」已审核通过并发布", activity.getTitle())
+                        : String.format("您创建的活动「%s」被驳回，原因：%s", activity.getTitle(),
+                                auditDTO.getRejectReason() != null ? auditDTO.getRejectReason() : "无"))
+                .messageType(MESSAGE_TYPE_SYSTEM)
+                .relatedId(activity.getId())
+                .relatedType("activity")
+                .senderId(auditorId)
+                .build());
     }
 
     /**
@@ -405,6 +451,56 @@ public class ActivityServiceImpl implements ActivityService {
         activityMapper.updateById(activity);
         
         log.info("取消活动成功，活动ID：{}", activityId);
+
+        // 5. 通知所有有效报名者
+        eventPublisher.publishEvent(NotificationEvent.builder()
+                .audience(NotificationEvent.Audience.ACTIVE_REGISTRANTS)
+                .activityId(activityId)
+                .title("活动已取消")
+                .coalesceKey("activity.cancelled")
+                .content(String.format("您报名的活动「%s」已被组织者取消", activity.getTitle()))
+                .messageType(MESSAGE_TYPE_ACTIVITY)
+                .relatedId(activityId)
+                .relatedType("activity")
+                .senderId(organizerId)
+                .build());
+    }
+
+    /**
+     * 结束活动（组织者）
+     * <p>
+     * 活动结束后发布 {@link ActivityEndedEvent}，由轨迹统计等模块在事务提交后做收尾处理
+     *
+     * @param organizerId 组织者用户ID
+     * @param activityId 活动ID
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void endActivity(Long organizerId, Long activityId) {
+        // 1. 查询活动
+        Activity activity = activityMapper.selectById(activityId);
+        if (activity == null) {
+            throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
+        }
+
+        // 2. 校验权限
+        if (!activity.getOrganizerId().equals(organizerId)) {
+            throw new BusinessException(ResultCode.NOT_ACTIVITY_ORGANIZER);
+        }
+
+        // 3. 校验状态（只有已发布和进行中状态可以结束）
+        if (activity.getStatus() != STATUS_PUBLISHED && activity.getStatus() != STATUS_IN_PROGRESS) {
+            throw new BusinessException(ResultCode.OPERATION_FAILED);
+        }
+
+        // 4. 更新状态为已结束
+        activity.setStatus(STATUS_ENDED);
+        activityMapper.updateById(activity);
+
+        // 5. 发布活动结束事件
+        eventPublisher.publishEvent(new ActivityEndedEvent(activityId, activity.getRouteId(), organizerId));
+
+        log.info("结束活动成功，活动ID：{}", activityId);
     }
 
     /**
@@ -484,6 +580,23 @@ public class ActivityServiceImpl implements ActivityService {
         updateActivity.setCurrentParticipants(currentParticipants + 1);
         activityMapper.updateById(updateActivity);
         
+        // 11. 发布报名成功事件，通知组织者（合并窗口内的多条报名合并为一条摘要）
+        eventPublisher.publishEvent(new RegistrationCreatedEvent(activityId, activity.getRouteId(), userId));
+        User user = userMapper.selectById(userId);
+        String nickname = user != null && user.getNickname() != null ? user.getNickname() : "用户" + userId;
+        eventPublisher.publishEvent(NotificationEvent.builder()
+                .userIds(List.of(activity.getOrganizerId()))
+                .title("新的报名")
+                .coalesceKey("registration.submitted")
+                .content(String.format("%s报名了活动「%s」", nickname, activity.getTitle()))
+                .messageType(MESSAGE_TYPE_REGISTRATION)
+                .relatedId(activityId)
+                .relatedType("activity")
+                .senderId(userId)
+                .digestTitle("新的报名")
+                .digestContent(String.format("活动「%s」新增%s条报名", activity.getTitle(), NotificationCoalescer.COUNT_PLACEHOLDER))
+                .build());
+
         log.info("用户 {} 报名参加活动 {} 成功", userId, activityId);
         
         return registration.getId();
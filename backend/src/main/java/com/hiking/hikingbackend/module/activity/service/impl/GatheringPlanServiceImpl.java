@@ -10,12 +10,15 @@ import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
 import com.hiking.hikingbackend.module.activity.mapper.GatheringPlanMapper;
 import com.hiking.hikingbackend.module.activity.service.GatheringPlanService;
 import com.hiking.hikingbackend.module.activity.vo.GatheringPlanVO;
+import com.hiking.hikingbackend.module.message.event.NotificationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * 集合方案服务实现类
@@ -32,8 +35,12 @@ public class GatheringPlanServiceImpl implements GatheringPlanService {
 
     private final ActivityMapper activityMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     private static final int PUBLISHED = 1; // 已发布
     private static final int NOT_PUBLISHED = 0; // 未发布
+    private static final int MESSAGE_TYPE_ACTIVITY = 3; // 活动通知
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     /**
      * 创建集合方案（组织者）
@@ -176,9 +183,20 @@ public class GatheringPlanServiceImpl implements GatheringPlanService {
 
         log.info("集合方案发布成功，方案ID：{}，发布时间：{}", gatheringPlan.getId(), gatheringPlan.getPublishTime());
 
-        // 5. TODO: 向参与者发送通知（此处需要实现消息通知功能）
-        // 可以调用消息服务，向所有已报名的参与者发送集合方案发布通知
-        log.info("TODO: 向参与者发送集合方案发布通知");
+        // 5. 向已通过报名的参与者发送通知（事务提交后异步批量写入）
+        eventPublisher.publishEvent(NotificationEvent.builder()
+                .audience(NotificationEvent.Audience.APPROVED_PARTICIPANTS)
+                .activityId(activityId)
+                .title("集合方案已发布")
+                .coalesceKey("gathering-plan.published")
+                .content(String.format("活动「%s」的集合方案已发布，集合时间：%s，集合地点：%s",
+                        activity.getTitle(), gatheringPlan.getGatheringTime().format(TIME_FORMATTER),
+                        gatheringPlan.getGatheringAddress()))
+                .messageType(MESSAGE_TYPE_ACTIVITY)
+                .relatedId(activityId)
+                .relatedType("activity")
+                .senderId(organizerId)
+                .build());
     }
 
     /**
@@ -0,0 +1,127 @@
+package com.hiking.hikingbackend.module.activity.service.impl;
+
+import com.hiking.hikingbackend.config.TrendingProperties;
+import com.hiking.hikingbackend.module.activity.event.ActivityEndedEvent;
+import com.hiking.hikingbackend.module.activity.event.RegistrationCreatedEvent;
+import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
+import com.hiking.hikingbackend.module.activity.service.TrendingService;
+import com.hiking.hikingbackend.module.activity.support.TrendingCounter;
+import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 路线、活动热度服务实现类
+ * <p>
+ * 事件只在内存中累加（见 {@link TrendingCounter}），定时按批写回：
+ * <ul>
+ *   <li>路线：浏览、关联活动的报名、关联活动结束（同时累加使用次数）</li>
+ *   <li>活动：浏览（同时累加浏览次数）、报名</li>
+ * </ul>
+ * 写回失败的增量合并回内存等待下次写回，停机前最后写回一次
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingServiceImpl implements TrendingService {
+
+    private final TrendingProperties properties;
+
+    private final RouteMapper routeMapper;
+
+    private final ActivityMapper activityMapper;
+
+    private TrendingCounter routeCounter;
+
+    private TrendingCounter activityCounter;
+
+    @PostConstruct
+    public void init() {
+        routeCounter = new TrendingCounter(properties.getHalfLifeHours());
+        activityCounter = new TrendingCounter(properties.getHalfLifeHours());
+    }
+
+    @Override
+    public void recordRouteView(Long routeId) {
+        routeCounter.record(routeId, properties.getViewWeight(), 0, 0, now());
+    }
+
+    @Override
+    public void recordActivityView(Long activityId) {
+        activityCounter.record(activityId, properties.getViewWeight(), 1, 0, now());
+    }
+
+    /**
+     * 报名提交后累加活动和路线热度
+     *
+     * @param event 报名成功事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRegistrationCreated(RegistrationCreatedEvent event) {
+        long now = now();
+        activityCounter.record(event.getActivityId(), properties.getRegistrationWeight(), 0, 0, now);
+        routeCounter.record(event.getRouteId(), properties.getRegistrationWeight(), 0, 0, now);
+    }
+
+    /**
+     * 活动结束提交后累加路线热度和使用次数
+     *
+     * @param event 活动结束事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onActivityEnded(ActivityEndedEvent event) {
+        routeCounter.record(event.getRouteId(), properties.getCompletionWeight(), 0, 1, now());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${hiking.trending.flush-millis:30000}", initialDelayString = "${hiking.trending.flush-millis:30000}")
+    public void flush() {
+        int routeCount = flush(routeCounter, routeMapper::updateTrendingBatch, "路线");
+        int activityCount = flush(activityCounter, activityMapper::updateTrendingBatch, "活动");
+        if (routeCount > 0 || activityCount > 0) {
+            log.debug("热度写回完成，路线数：{}，活动数：{}", routeCount, activityCount);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 按批写回一个计数器，失败的批次合并回内存
+     *
+     * @return 写回的对象数
+     */
+    private int flush(TrendingCounter counter, Function<List<TrendingCounter.Delta>, Integer> writer, String type) {
+        List<TrendingCounter.Delta> deltas = counter.drain();
+        int written = 0;
+        for (int from = 0; from < deltas.size(); from += properties.getBatchSize()) {
+            List<TrendingCounter.Delta> batch = deltas.subList(from, Math.min(deltas.size(), from + properties.getBatchSize()));
+            try {
+                writer.apply(batch);
+                written += batch.size();
+            } catch (Exception e) {
+                log.error("{}热度写回失败，下次重试，条数：{}", type, batch.size(), e);
+                counter.restore(batch);
+            }
+        }
+        return written;
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
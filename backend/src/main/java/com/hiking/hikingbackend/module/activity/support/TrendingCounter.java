@@ -0,0 +1,162 @@
+package com.hiking.hikingbackend.module.activity.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 热度增量计数器
+ * <p>
+ * 热度分定义为 Σ wᵢ·2^(-(t-tᵢ)/半衰期)。所有对象以相同速率衰减，因此只需存储相对固定纪元的
+ * ln Σ wᵢ·2^((tᵢ-纪元)/半衰期)：排序结果与当前热度一致，衰减不需要改写任何行，
+ * 新事件只在对数空间做加法。本类在内存中按对象ID累加待写回的增量，
+ * 写回时整体取出，失败时原样合并回来。所有方法线程安全
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class TrendingCounter {
+
+    /**
+     * 热度纪元（2024-01-01 00:00 UTC，秒）
+     */
+    private static final long EPOCH_SECONDS = 1704067200L;
+
+    private final double decayPerSecond;
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param halfLifeHours 半衰期（小时）
+     */
+    public TrendingCounter(double halfLifeHours) {
+        this.decayPerSecond = Math.log(2) / (halfLifeHours * 3600);
+    }
+
+    /**
+     * 记录一次事件
+     *
+     * @param id           对象ID
+     * @param weight       权重，小于等于0时只累加计数
+     * @param views        浏览次数增量
+     * @param uses         使用次数增量
+     * @param epochSeconds 事件时间（秒）
+     */
+    public void record(Long id, double weight, int views, int uses, long epochSeconds) {
+        if (id == null) {
+            return;
+        }
+        double logScore = weight > 0
+                ? Math.log(weight) + (epochSeconds - EPOCH_SECONDS) * decayPerSecond
+                : Double.NEGATIVE_INFINITY;
+        pending.compute(id, (key, current) -> {
+            Pending next = current != null ? current : new Pending();
+            next.logScore = logAdd(next.logScore, logScore);
+            next.views += views;
+            next.uses += uses;
+            return next;
+        });
+    }
+
+    /**
+     * 取出全部待写回的增量
+     *
+     * @return 增量列表
+     */
+    public List<Delta> drain() {
+        List<Delta> deltas = new ArrayList<>(pending.size());
+        for (Long id : pending.keySet()) {
+            Pending removed = pending.remove(id);
+            if (removed != null) {
+                deltas.add(new Delta(id,
+                        Double.isInfinite(removed.logScore) ? null : removed.logScore,
+                        removed.views, removed.uses));
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * 将写回失败的增量合并回计数器
+     *
+     * @param deltas 增量列表
+     */
+    public void restore(List<Delta> deltas) {
+        for (Delta delta : deltas) {
+            double logScore = delta.score != null ? delta.score : Double.NEGATIVE_INFINITY;
+            pending.compute(delta.id, (key, current) -> {
+                Pending next = current != null ? current : new Pending();
+                next.logScore = logAdd(next.logScore, logScore);
+                next.views += delta.views;
+                next.uses += delta.uses;
+                return next;
+            });
+        }
+    }
+
+    /**
+     * 待写回的对象数
+     *
+     * @return 对象数
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * 将存储的热度分换算为当前时刻的热度
+     *
+     * @param storedScore  存储的热度分，0或空表示无热度
+     * @param epochSeconds 当前时间（秒）
+     * @return 当前热度
+     */
+    public double currentScore(Double storedScore, long epochSeconds) {
+        if (storedScore == null || storedScore == 0) {
+            return 0;
+        }
+        return Math.exp(storedScore - (epochSeconds - EPOCH_SECONDS) * decayPerSecond);
+    }
+
+    /**
+     * ln(eᵃ + eᵇ)，避免指数溢出
+     */
+    private static double logAdd(double a, double b) {
+        if (Double.isInfinite(a)) {
+            return b;
+        }
+        if (Double.isInfinite(b)) {
+            return a;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    /**
+     * 待写回的增量
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Delta {
+
+        private final Long id;
+
+        /**
+         * 热度分增量（对数空间），只有计数变化时为空
+         */
+        private final Double score;
+
+        private final int views;
+
+        private final int uses;
+    }
+
+    private static class Pending {
+
+        private double logScore = Double.NEGATIVE_INFINITY;
+        private int views;
+        private int uses;
+    }
+}
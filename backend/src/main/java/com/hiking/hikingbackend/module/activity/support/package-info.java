@@ -0,0 +1,12 @@
+/**
+ * 活动模块内存组件包
+ * <p>
+ * 热度排序相关的计算组件：
+ * <ul>
+ *   <li>TrendingCounter - 按时间衰减的热度增量计数</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.activity.support;
@@ -15,8 +15,10 @@ import com.hiking.hikingbackend.module.admin.vo.UserListVO;
 import com.hiking.hikingbackend.module.admin.vo.UserManageVO;
 import com.hiking.hikingbackend.module.admin.vo.UserStatsVO;
 import com.hiking.hikingbackend.module.user.entity.User;
+import com.hiking.hikingbackend.module.user.event.UserStatusChangedEvent;
 import com.hiking.hikingbackend.module.user.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,6 +37,7 @@ public class AdminServiceImpl implements AdminService {
     private final AdminMapper adminMapper;
     private final UserMapper userMapper;
     private final ActivityMapper activityMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public DashboardVO getDashboard() {
@@ -128,6 +131,9 @@ public class AdminServiceImpl implements AdminService {
         if (rows == 0) {
             throw new BusinessException("状态更新失败");
         }
+
+        // 提交后同步已禁用用户缓存（SOS求助认证不查询数据库）
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, status));
     }
     
     @Override
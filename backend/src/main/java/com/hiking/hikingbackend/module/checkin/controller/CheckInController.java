@@ -3,10 +3,19 @@ package com.hiking.hikingbackend.module.checkin.controller;
 import com.hiking.hikingbackend.common.result.Result;
 import com.hiking.hikingbackend.common.utils.SecurityUtils;
 import com.hiking.hikingbackend.module.checkin.dto.CheckInDTO;
+import com.hiking.hikingbackend.module.checkin.dto.SosDTO;
 import com.hiking.hikingbackend.module.checkin.dto.TrackRecordDTO;
+import com.hiking.hikingbackend.module.checkin.service.ActivityReportService;
 import com.hiking.hikingbackend.module.checkin.service.CheckInService;
+import com.hiking.hikingbackend.module.checkin.service.CohesionService;
+import com.hiking.hikingbackend.module.checkin.service.SosService;
+import com.hiking.hikingbackend.module.checkin.service.TrackStatsService;
+import com.hiking.hikingbackend.module.checkin.vo.ActivityReportVO;
 import com.hiking.hikingbackend.module.checkin.vo.CheckInVO;
 import com.hiking.hikingbackend.module.checkin.vo.CheckInProgressVO;
+import com.hiking.hikingbackend.module.checkin.vo.CohesionVO;
+import com.hiking.hikingbackend.module.checkin.vo.SosVO;
+import com.hiking.hikingbackend.module.checkin.vo.TrackStatsVO;
 import com.hiking.hikingbackend.module.route.entity.Checkpoint;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +27,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 签到控制器
@@ -34,6 +44,14 @@ public class CheckInController {
 
     private final CheckInService checkInService;
 
+    private final TrackStatsService trackStatsService;
+
+    private final SosService sosService;
+
+    private final CohesionService cohesionService;
+
+    private final ActivityReportService activityReportService;
+
     /**
      * GPS签到（需登录）
      * 需要校验：用户已登录、已报名且审核通过、活动进行中、在签到范围内
@@ -148,5 +166,121 @@ public class CheckInController {
         List<CheckInProgressVO> participantsStatus = checkInService.getParticipantsCheckInStatus(organizerId, activityId);
         return Result.success(participantsStatus);
     }
-}
 
+    /**
+     * 我的轨迹统计（需登录）
+     * 需要校验：用户已登录
+     *
+     * @param activityId 活动ID
+     * @return 轨迹统计
+     */
+    @Operation(summary = "我的轨迹统计", description = "查询当前用户在指定活动的距离、爬升、移动时间、配速等统计，需要登录")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/activities/{activityId}/track-stats")
+    public Result<TrackStatsVO> getMyTrackStats(
+            @Parameter(description = "活动ID", required = true, example = "1")
+            @PathVariable("activityId") Long activityId) {
+        // 获取当前用户ID
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        TrackStatsVO statsVO = trackStatsService.getStats(userId, activityId);
+        return Result.success(statsVO);
+    }
+
+    /**
+     * 所有参与者轨迹统计（组织者）
+     * 需要校验：当前用户是活动组织者
+     *
+     * @param activityId 活动ID
+     * @return 参与者轨迹统计列表
+     */
+    @Operation(summary = "参与者轨迹统计", description = "查询活动所有参与者的轨迹统计，需要登录，仅限活动组织者")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/activities/{activityId}/participants-track-stats")
+    public Result<List<TrackStatsVO>> getParticipantsTrackStats(
+            @Parameter(description = "活动ID", required = true, example = "1")
+            @PathVariable("activityId") Long activityId) {
+        // 获取当前用户ID
+        Long organizerId = SecurityUtils.getCurrentUserId();
+        if (organizerId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        List<TrackStatsVO> statsList = trackStatsService.getParticipantsStats(organizerId, activityId);
+        return Result.success(statsList);
+    }
+
+    /**
+     * 队伍紧凑度（组织者）
+     * 需要校验：当前用户是活动组织者
+     *
+     * @param activityId 活动ID
+     * @return 参与者沿路线进度排名、掉队/冒进状态
+     */
+    @Operation(summary = "队伍紧凑度", description = "查询参与者沿路线的进度排名及掉队、冒进、落后收队等状态，需要登录，仅限活动组织者")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/activities/{activityId}/cohesion")
+    public Result<CohesionVO> getCohesion(
+            @Parameter(description = "活动ID", required = true, example = "1")
+            @PathVariable("activityId") Long activityId) {
+        // 获取当前用户ID
+        Long organizerId = SecurityUtils.getCurrentUserId();
+        if (organizerId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        CohesionVO cohesionVO = cohesionService.getCohesion(organizerId, activityId);
+        return Result.success(cohesionVO);
+    }
+
+    /**
+     * 活动报告（组织者）
+     * 需要校验：当前用户是活动组织者、活动已结束
+     *
+     * @param activityId 活动ID
+     * @return 参与者签到时间线、迟到、轨迹统计和预警汇总
+     */
+    @Operation(summary = "活动报告", description = "活动结束后生成报告，包含每个参与者的签到时间线、迟到情况、距离爬升和预警记录，需要登录，仅限活动组织者")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/activities/{activityId}/report")
+    public Result<ActivityReportVO> getActivityReport(
+            @Parameter(description = "活动ID", required = true, example = "1")
+            @PathVariable("activityId") Long activityId) {
+        // 获取当前用户ID
+        Long organizerId = SecurityUtils.getCurrentUserId();
+        if (organizerId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        ActivityReportVO report = activityReportService.getReport(organizerId, activityId);
+        return Result.success(report);
+    }
+
+    /**
+     * SOS紧急求助（需登录）
+     * 在专用线程池和预留数据库连接上处理，不与普通请求排队；认证时不查询数据库
+     *
+     * @param activityId 活动ID
+     * @param sosDTO 求助信息（位置、说明），可为空
+     * @return 求助结果
+     */
+    @Operation(summary = "SOS紧急求助", description = "活动参与者或组织者发起紧急求助，立即生成严重级预警并通知组织者，需要登录")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping("/activities/{activityId}/sos")
+    public CompletableFuture<Result<SosVO>> raiseSos(
+            @Parameter(description = "活动ID", required = true, example = "1")
+            @PathVariable("activityId") Long activityId,
+            @Valid @RequestBody(required = false) SosDTO sosDTO) {
+        // 获取当前用户ID
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        return sosService.raise(userId, activityId, sosDTO)
+                .thenApply(sosVO -> Result.success("求助已发出，组织者已收到通知", sosVO));
+    }
+}
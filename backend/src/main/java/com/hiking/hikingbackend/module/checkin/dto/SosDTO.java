@@ -0,0 +1,28 @@
+package com.hiking.hikingbackend.module.checkin.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * SOS紧急求助DTO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Schema(description = "SOS紧急求助")
+public class SosDTO {
+
+    @Schema(description = "当前纬度（无法定位时可为空）", example = "39.9042")
+    private BigDecimal latitude;
+
+    @Schema(description = "当前经度（无法定位时可为空）", example = "116.4074")
+    private BigDecimal longitude;
+
+    @Schema(description = "求助说明", example = "脚踝扭伤，无法行走")
+    @Size(max = 200, message = "求助说明不能超过200个字符")
+    private String description;
+}
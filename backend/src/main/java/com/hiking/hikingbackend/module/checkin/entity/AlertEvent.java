@@ -45,7 +45,7 @@ public class AlertEvent implements Serializable {
     private Long userId;
 
     /**
-     * 预警类型：1偏离路线 2严重偏离 3长时间静止 4超时未签到 5失联
+     * 预警类型：1偏离路线 2严重偏离 3长时间静止 4超时未签到 5失联 6SOS求助
      */
     @TableField("alert_type")
     private Integer alertType;
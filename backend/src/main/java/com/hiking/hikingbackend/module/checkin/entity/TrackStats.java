@@ -0,0 +1,118 @@
+package com.hiking.hikingbackend.module.checkin.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 轨迹统计汇总实体类
+ * <p>
+ * 每个（活动, 用户）一行，由内存累加器定期及活动结束时写入
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("track_stats")
+public class TrackStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 活动ID
+     */
+    @TableField("activity_id")
+    private Long activityId;
+
+    /**
+     * 用户ID
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 累计距离（米）
+     */
+    @TableField("total_distance")
+    private BigDecimal totalDistance;
+
+    /**
+     * 累计爬升（米）
+     */
+    @TableField("elevation_gain")
+    private Integer elevationGain;
+
+    /**
+     * 累计下降（米）
+     */
+    @TableField("elevation_loss")
+    private Integer elevationLoss;
+
+    /**
+     * 移动时间（秒）
+     */
+    @TableField("moving_seconds")
+    private Long movingSeconds;
+
+    /**
+     * 最大速度（km/h）
+     */
+    @TableField("max_speed")
+    private BigDecimal maxSpeed;
+
+    /**
+     * 参与统计的轨迹点数
+     */
+    @TableField("point_count")
+    private Integer pointCount;
+
+    /**
+     * 第一个轨迹点时间
+     */
+    @TableField("first_point_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime firstPointTime;
+
+    /**
+     * 最后一个轨迹点时间
+     */
+    @TableField("last_point_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime lastPointTime;
+
+    /**
+     * 是否已定稿（活动已结束）：0否 1是
+     */
+    @TableField("is_final")
+    private Integer isFinal;
+
+    /**
+     * 创建时间（插入时自动填充）
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间（插入和更新时自动填充）
+     */
+    @TableField(value = "update_time", fill = FieldFill.INSERT_UPDATE)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime updateTime;
+}
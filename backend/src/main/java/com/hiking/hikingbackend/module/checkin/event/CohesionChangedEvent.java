@@ -0,0 +1,37 @@
+package com.hiking.hikingbackend.module.checkin.event;
+
+import com.hiking.hikingbackend.module.checkin.support.CohesionTracker;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 队伍紧凑度变化事件
+ * <p>
+ * 定时重算后有参与者状态变化时发布，实时推送渠道据此向组织者推送
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CohesionChangedEvent {
+
+    /**
+     * 活动ID
+     */
+    private final Long activityId;
+
+    /**
+     * 组织者用户ID
+     */
+    private final Long organizerId;
+
+    /**
+     * 状态变化列表
+     */
+    private final List<CohesionTracker.Transition> transitions;
+}
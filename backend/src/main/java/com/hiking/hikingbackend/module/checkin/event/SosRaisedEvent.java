@@ -0,0 +1,73 @@
+package com.hiking.hikingbackend.module.checkin.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * SOS求助事件
+ * <p>
+ * 预警事件和组织者站内消息写入后，在SOS专用线程上同步发布。
+ * 实时推送渠道监听此事件向组织者推送，监听方不应执行耗时操作或访问主连接池
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SosRaisedEvent {
+
+    /**
+     * 预警事件ID
+     */
+    private final Long alertId;
+
+    /**
+     * 活动ID
+     */
+    private final Long activityId;
+
+    /**
+     * 活动标题
+     */
+    private final String activityTitle;
+
+    /**
+     * 求助用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 求助用户昵称
+     */
+    private final String nickname;
+
+    /**
+     * 组织者用户ID
+     */
+    private final Long organizerId;
+
+    /**
+     * 求助时纬度
+     */
+    private final BigDecimal latitude;
+
+    /**
+     * 求助时经度
+     */
+    private final BigDecimal longitude;
+
+    /**
+     * 求助说明
+     */
+    private final String description;
+
+    /**
+     * 触发时间
+     */
+    private final LocalDateTime triggerTime;
+}
@@ -0,0 +1,24 @@
+package com.hiking.hikingbackend.module.checkin.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 轨迹统计定稿事件
+ * <p>
+ * 活动结束后轨迹统计定稿落库时发布（不在事务内），活动报告据此失效缓存
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TrackStatsFinalizedEvent {
+
+    /**
+     * 活动ID
+     */
+    private final Long activityId;
+}
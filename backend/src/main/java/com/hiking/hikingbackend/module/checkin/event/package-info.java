@@ -0,0 +1,14 @@
+/**
+ * 签到模块事件包
+ * <p>
+ * 签到模块对外发布的应用事件：
+ * <ul>
+ *   <li>SosRaisedEvent - SOS求助已记录</li>
+ *   <li>CohesionChangedEvent - 队伍紧凑度变化</li>
+ *   <li>TrackStatsFinalizedEvent - 轨迹统计已定稿</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.checkin.event;
@@ -3,6 +3,7 @@ package com.hiking.hikingbackend.module.checkin.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.hiking.hikingbackend.module.checkin.entity.AlertEvent;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 预警事件Mapper接口
@@ -12,5 +13,13 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface AlertEventMapper extends BaseMapper<AlertEvent> {
+
+    /**
+     * 查询活动预警的数据版本（行数-处理状态和-最大更新时间），新增预警或处理状态变化时变化
+     *
+     * @param activityId 活动ID
+     * @return 数据版本
+     */
+    String selectActivityAlertVersion(@Param("activityId") Long activityId);
 }
 
@@ -1,8 +1,13 @@
 package com.hiking.hikingbackend.module.checkin.mapper;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.List;
 
 /**
  * 轨迹记录Mapper接口
@@ -12,5 +17,67 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface TrackRecordMapper extends BaseMapper<TrackRecord> {
-}
 
+    /**
+     * 批量插入轨迹记录（单条多值INSERT，按 (活动, 用户, 记录时间) 唯一键忽略重复点）
+     *
+     * @param list 轨迹记录列表
+     * @return 实际插入行数
+     */
+    int insertBatch(@Param("list") List<TrackRecord> list);
+
+    /**
+     * 查询轨迹表当前的分区名称（按分区顺序）
+     *
+     * @return 分区名称列表，表未分区时为空
+     */
+    List<String> selectPartitionNames();
+
+    /**
+     * 从 p_future 中拆分出新的月分区
+     *
+     * @param partitionName 分区名称（pYYYYMM）
+     * @param lessThan      分区上界日期（yyyy-MM-dd）
+     */
+    @InterceptorIgnore(blockAttack = "true")
+    void reorganizeFuturePartition(@Param("partitionName") String partitionName,
+                                   @Param("lessThan") String lessThan);
+
+    /**
+     * 删除分区
+     *
+     * @param partitionName 分区名称（pYYYYMM）
+     */
+    @InterceptorIgnore(blockAttack = "true")
+    void dropPartition(@Param("partitionName") String partitionName);
+
+    /**
+     * 流式读取单个分区的全部轨迹（按活动、用户、时间排序）
+     * <p>
+     * 需在事务内使用，游标关闭前连接不会释放
+     *
+     * @param partitionName 分区名称（pYYYYMM）
+     * @return 轨迹游标
+     */
+    Cursor<TrackRecord> selectPartitionCursor(@Param("partitionName") String partitionName);
+
+    /**
+     * 流式读取用户在活动中的轨迹（按时间排序）
+     * <p>
+     * 需在事务内使用，游标关闭前连接不会释放
+     *
+     * @param activityId 活动ID
+     * @param userId     用户ID
+     * @return 轨迹游标
+     */
+    Cursor<TrackRecord> selectUserTrackCursor(@Param("activityId") Long activityId, @Param("userId") Long userId);
+
+    /**
+     * 查询用户轨迹的数据版本（行数-最大ID），轨迹有新增时变化
+     *
+     * @param activityId 活动ID
+     * @param userId     用户ID
+     * @return 数据版本
+     */
+    String selectUserTrackVersion(@Param("activityId") Long activityId, @Param("userId") Long userId);
+}
@@ -0,0 +1,26 @@
+package com.hiking.hikingbackend.module.checkin.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.hiking.hikingbackend.module.checkin.entity.TrackStats;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 轨迹统计汇总Mapper接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Mapper
+public interface TrackStatsMapper extends BaseMapper<TrackStats> {
+
+    /**
+     * 批量写入统计汇总（按活动ID+用户ID唯一键覆盖）
+     *
+     * @param list 统计汇总列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("list") List<TrackStats> list);
+}
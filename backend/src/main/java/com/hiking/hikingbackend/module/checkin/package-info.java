@@ -7,7 +7,11 @@
  *   <li>用户签到</li>
  *   <li>签到记录查询</li>
  *   <li>轨迹记录</li>
+ *   <li>轨迹统计</li>
+ *   <li>队伍紧凑度监控</li>
+ *   <li>轨迹分区与归档</li>
  *   <li>安全预警</li>
+ *   <li>SOS紧急求助</li>
  * </ul>
  *
  * @author hiking-system
@@ -0,0 +1,418 @@
+package com.hiking.hikingbackend.module.checkin.repository;
+
+import com.hiking.hikingbackend.config.TrackStorageProperties;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 轨迹归档文件存储
+ * <p>
+ * 每个活动每个月一个文件：{archiveDir}/activity-{activityId}/{yyyyMM}.trk.gz。
+ * 文件内按列分块存储，数值列使用差值 + ZigZag + 变长整数编码，整体再做GZIP压缩。
+ * 行按用户ID、记录时间排序写入，块头记录用户ID范围，按用户读取时可跳过无关块。
+ * <pre>
+ * 文件 = "TRK1" 块* 0
+ * 块   = 行数 最小用户ID 最大用户ID 数据长度 数据
+ * 数据 = id列 用户ID列 时间列 纬度列 经度列 海拔列 精度列 速度列 创建时间列
+ * </pre>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackArchiveStore {
+
+    private final TrackStorageProperties trackStorageProperties;
+
+    private static final byte[] MAGIC = "TRK1".getBytes(StandardCharsets.US_ASCII);
+    private static final String FILE_SUFFIX = ".trk.gz";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // 定点数精度，与表字段 DECIMAL 精度一致
+    private static final int COORDINATE_SCALE = 7;
+    private static final int SPEED_SCALE = 2;
+
+    /**
+     * 打开一个活动月份的归档写入器
+     * <p>
+     * 数据先写入临时文件，commit 后原子替换为正式文件；未 commit 直接关闭会丢弃临时文件
+     *
+     * @param activityId 活动ID
+     * @param month      归档月份
+     * @return 写入器
+     * @throws IOException 文件创建失败
+     */
+    public ArchiveWriter openWriter(Long activityId, YearMonth month) throws IOException {
+        Path dir = activityDir(activityId);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(month.format(MONTH_FORMAT) + FILE_SUFFIX);
+        Path temp = Files.createTempFile(dir, month.format(MONTH_FORMAT), ".tmp");
+        return new ArchiveWriter(target, temp, Math.max(64, trackStorageProperties.getArchiveBlockSize()));
+    }
+
+    /**
+     * 活动是否存在归档数据
+     *
+     * @param activityId 活动ID
+     * @return 是否存在
+     */
+    public boolean hasArchive(Long activityId) {
+        return Files.isDirectory(activityDir(activityId));
+    }
+
+    /**
+     * 读取活动的归档轨迹（按月份顺序）
+     *
+     * @param activityId 活动ID
+     * @param userId     用户ID，为空时读取全部用户
+     * @return 轨迹记录列表
+     * @throws UncheckedIOException 归档读取失败（不返回截断的轨迹）
+     */
+    public List<TrackRecord> read(Long activityId, Long userId) {
+        List<TrackRecord> result = new ArrayList<>();
+        forEach(activityId, userId, result::add);
+        return result;
+    }
+
+    /**
+     * 逐条读取活动的归档轨迹（按月份顺序），内存中只保留当前块
+     *
+     * @param activityId 活动ID
+     * @param userId     用户ID，为空时读取全部用户
+     * @param consumer   记录回调
+     * @throws UncheckedIOException 归档读取失败，此时回调可能已收到部分记录，由调用方决定丢弃或重试
+     */
+    public void forEach(Long activityId, Long userId, Consumer<TrackRecord> consumer) {
+        Path dir = activityDir(activityId);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取轨迹归档目录失败，活动ID：" + activityId, e);
+        }
+
+        for (Path file : files) {
+            try {
+                readFile(file, activityId, userId, consumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取轨迹归档文件失败，文件：" + file, e);
+            }
+        }
+    }
+
+    private Path activityDir(Long activityId) {
+        return Paths.get(trackStorageProperties.getArchiveDir(), "activity-" + activityId);
+    }
+
+    private void readFile(Path file, Long activityId, Long userId, Consumer<TrackRecord> out) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), 64 * 1024))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("归档文件格式错误");
+            }
+
+            while (true) {
+                int rows = (int) readVarint(in);
+                if (rows == 0) {
+                    break;
+                }
+                long minUser = readVarint(in);
+                long maxUser = readVarint(in);
+                int length = (int) readVarint(in);
+                if (userId != null && (userId < minUser || userId > maxUser)) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                decodeBlock(new BlockReader(payload), rows, activityId, userId, out);
+            }
+        }
+    }
+
+    private void decodeBlock(BlockReader reader, int rows, Long activityId, Long userId, Consumer<TrackRecord> out) {
+        long[] ids = reader.readDeltaColumn(rows);
+        long[] users = reader.readDeltaColumn(rows);
+        long[] times = reader.readDeltaColumn(rows);
+        long[] lats = reader.readDeltaColumn(rows);
+        long[] lngs = reader.readDeltaColumn(rows);
+        long[] elevations = reader.readNullableColumn(rows);
+        long[] accuracies = reader.readNullableColumn(rows);
+        long[] speeds = reader.readNullableColumn(rows);
+        long[] createOffsets = reader.readNullableColumn(rows);
+
+        for (int i = 0; i < rows; i++) {
+            if (userId != null && users[i] != userId) {
+                continue;
+            }
+            LocalDateTime recordTime = LocalDateTime.ofEpochSecond(times[i], 0, ZoneOffset.UTC);
+            out.accept(TrackRecord.builder()
+                    .id(ids[i])
+                    .userId(users[i])
+                    .activityId(activityId)
+                    .latitude(BigDecimal.valueOf(lats[i], COORDINATE_SCALE))
+                    .longitude(BigDecimal.valueOf(lngs[i], COORDINATE_SCALE))
+                    .elevation(elevations[i] == Long.MIN_VALUE ? null : (int) elevations[i])
+                    .accuracy(accuracies[i] == Long.MIN_VALUE ? null : (int) accuracies[i])
+                    .speed(speeds[i] == Long.MIN_VALUE ? null : BigDecimal.valueOf(speeds[i], SPEED_SCALE))
+                    .recordTime(recordTime)
+                    .createTime(createOffsets[i] == Long.MIN_VALUE ? null : recordTime.plusSeconds(createOffsets[i]))
+                    .build());
+        }
+    }
+
+    private static long unscaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("归档文件不完整");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("变长整数格式错误");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 归档写入器
+     * <p>
+     * 同一写入器内的记录需按用户ID、记录时间有序追加
+     */
+    public static class ArchiveWriter implements Closeable {
+
+        private final Path target;
+        private final Path temp;
+        private final int blockSize;
+        private final OutputStream out;
+        private final ByteArrayOutputStream payload = new ByteArrayOutputStream(64 * 1024);
+
+        private final long[] ids;
+        private final long[] users;
+        private final long[] times;
+        private final long[] lats;
+        private final long[] lngs;
+        private final long[] elevations;
+        private final long[] accuracies;
+        private final long[] speeds;
+        private final long[] createOffsets;
+
+        private int size;
+        private long rowCount;
+        private boolean committed;
+
+        private ArchiveWriter(Path target, Path temp, int blockSize) throws IOException {
+            this.target = target;
+            this.temp = temp;
+            this.blockSize = blockSize;
+            this.ids = new long[blockSize];
+            this.users = new long[blockSize];
+            this.times = new long[blockSize];
+            this.lats = new long[blockSize];
+            this.lngs = new long[blockSize];
+            this.elevations = new long[blockSize];
+            this.accuracies = new long[blockSize];
+            this.speeds = new long[blockSize];
+            this.createOffsets = new long[blockSize];
+            this.out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), 64 * 1024);
+            this.out.write(MAGIC);
+        }
+
+        /**
+         * 追加一条轨迹记录
+         *
+         * @param record 轨迹记录
+         * @throws IOException 写入失败
+         */
+        public void append(TrackRecord record) throws IOException {
+            long time = record.getRecordTime().toEpochSecond(ZoneOffset.UTC);
+            ids[size] = record.getId();
+            users[size] = record.getUserId();
+            times[size] = time;
+            lats[size] = unscaled(record.getLatitude(), COORDINATE_SCALE);
+            lngs[size] = unscaled(record.getLongitude(), COORDINATE_SCALE);
+            elevations[size] = record.getElevation() == null ? Long.MIN_VALUE : record.getElevation();
+            accuracies[size] = record.getAccuracy() == null ? Long.MIN_VALUE : record.getAccuracy();
+            speeds[size] = record.getSpeed() == null ? Long.MIN_VALUE : unscaled(record.getSpeed(), SPEED_SCALE);
+            createOffsets[size] = record.getCreateTime() == null
+                    ? Long.MIN_VALUE : record.getCreateTime().toEpochSecond(ZoneOffset.UTC) - time;
+            size++;
+            rowCount++;
+            if (size == blockSize) {
+                flushBlock();
+            }
+        }
+
+        /**
+         * 已写入行数
+         *
+         * @return 行数
+         */
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * 完成写入并原子替换正式文件
+         *
+         * @throws IOException 写入失败
+         */
+        public void commit() throws IOException {
+            flushBlock();
+            writeVarint(out, 0);
+            out.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed) {
+                return;
+            }
+            try {
+                out.close();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (size == 0) {
+                return;
+            }
+            long minUser = Long.MAX_VALUE;
+            long maxUser = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                minUser = Math.min(minUser, users[i]);
+                maxUser = Math.max(maxUser, users[i]);
+            }
+
+            payload.reset();
+            writeDeltaColumn(ids);
+            writeDeltaColumn(users);
+            writeDeltaColumn(times);
+            writeDeltaColumn(lats);
+            writeDeltaColumn(lngs);
+            writeNullableColumn(elevations);
+            writeNullableColumn(accuracies);
+            writeNullableColumn(speeds);
+            writeNullableColumn(createOffsets);
+
+            writeVarint(out, size);
+            writeVarint(out, minUser);
+            writeVarint(out, maxUser);
+            writeVarint(out, payload.size());
+            payload.writeTo(out);
+            size = 0;
+        }
+
+        private void writeDeltaColumn(long[] column) throws IOException {
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                writeVarint(payload, zigzag(column[i] - previous));
+                previous = column[i];
+            }
+        }
+
+        // 0 表示空值，非空值按 ZigZag + 1 存储
+        private void writeNullableColumn(long[] column) throws IOException {
+            for (int i = 0; i < size; i++) {
+                writeVarint(payload, column[i] == Long.MIN_VALUE ? 0 : zigzag(column[i]) + 1);
+            }
+        }
+    }
+
+    /**
+     * 块数据读取器
+     */
+    private static class BlockReader {
+
+        private final byte[] buf;
+        private int pos;
+
+        BlockReader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        long[] readDeltaColumn(int rows) {
+            long[] column = new long[rows];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                previous += unzigzag(readVarint());
+                column[i] = previous;
+            }
+            return column;
+        }
+
+        long[] readNullableColumn(int rows) {
+            long[] column = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                long raw = readVarint();
+                column[i] = raw == 0 ? Long.MIN_VALUE : unzigzag(raw - 1);
+            }
+            return column;
+        }
+
+        private long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = buf[pos++] & 0xFF;
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalStateException("变长整数格式错误");
+        }
+    }
+}
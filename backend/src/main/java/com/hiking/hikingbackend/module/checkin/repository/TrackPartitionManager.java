@@ -0,0 +1,172 @@
+package com.hiking.hikingbackend.module.checkin.repository;
+
+import com.hiking.hikingbackend.config.TrackStorageProperties;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.mapper.TrackRecordMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * 轨迹表分区维护
+ * <p>
+ * 每天执行一次：
+ * <ol>
+ *   <li>从 p_future 中提前拆分出未来几个月的分区，保证写入始终落在月分区内</li>
+ *   <li>把超过保留期的月分区按活动流式导出为归档文件，成功后删除该分区</li>
+ * </ol>
+ * 热表只保留最近几个月的数据，索引大小和写入延迟不会随历史数据增长。
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrackPartitionManager {
+
+    private final TrackRecordMapper trackRecordMapper;
+
+    private final TrackArchiveStore trackArchiveStore;
+
+    private final TrackStorageProperties trackStorageProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final Pattern MONTH_PARTITION = Pattern.compile("^p\\d{6}$");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 应用启动后执行一次分区维护
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    /**
+     * 每天凌晨维护分区
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void maintain() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<String> partitions = trackRecordMapper.selectPartitionNames();
+            if (!partitions.contains(FUTURE_PARTITION)) {
+                log.warn("轨迹表未按月分区，跳过分区维护");
+                return;
+            }
+            ensureFuturePartitions(partitions);
+            archiveExpiredPartitions(partitions);
+        } catch (Exception e) {
+            log.error("轨迹表分区维护失败", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 创建当前月及未来几个月的分区
+     */
+    private void ensureFuturePartitions(List<String> partitions) {
+        YearMonth latest = partitions.stream()
+                .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                .map(this::toMonth)
+                .max(YearMonth::compareTo)
+                .orElse(null);
+
+        YearMonth last = YearMonth.now().plusMonths(trackStorageProperties.getFuturePartitions());
+        YearMonth month = latest == null ? YearMonth.now() : latest.plusMonths(1);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            String name = toPartitionName(month);
+            trackRecordMapper.reorganizeFuturePartition(name, month.plusMonths(1).atDay(1).toString());
+            log.info("创建轨迹分区：{}", name);
+        }
+    }
+
+    /**
+     * 归档并删除超过保留期的分区
+     */
+    private void archiveExpiredPartitions(List<String> partitions) {
+        YearMonth cutoff = YearMonth.now().minusMonths(trackStorageProperties.getRetentionMonths());
+        for (String name : partitions) {
+            if (!MONTH_PARTITION.matcher(name).matches() || !toMonth(name).isBefore(cutoff)) {
+                continue;
+            }
+            long rows = archivePartition(name);
+            trackRecordMapper.dropPartition(name);
+            log.info("轨迹分区归档完成，分区：{}，行数：{}", name, rows);
+        }
+    }
+
+    /**
+     * 流式读取分区数据，按活动拆分写入归档文件
+     *
+     * @param name 分区名称
+     * @return 归档行数
+     */
+    private long archivePartition(String name) {
+        YearMonth month = toMonth(name);
+        Long total = transactionTemplate.execute(status -> {
+            long count = 0;
+            TrackArchiveStore.ArchiveWriter writer = null;
+            Long currentActivityId = null;
+            try (Cursor<TrackRecord> cursor = trackRecordMapper.selectPartitionCursor(name)) {
+                for (TrackRecord record : cursor) {
+                    if (!Objects.equals(record.getActivityId(), currentActivityId)) {
+                        if (writer != null) {
+                            writer.commit();
+                            writer.close();
+                        }
+                        currentActivityId = record.getActivityId();
+                        writer = trackArchiveStore.openWriter(currentActivityId, month);
+                    }
+                    writer.append(record);
+                    count++;
+                }
+                if (writer != null) {
+                    writer.commit();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("轨迹分区归档失败：" + name, e);
+            } finally {
+                if (writer != null) {
+                    try {
+                        writer.close();
+                    } catch (IOException e) {
+                        log.warn("关闭归档写入器失败，分区：{}", name, e);
+                    }
+                }
+            }
+            return count;
+        });
+        return total == null ? 0 : total;
+    }
+
+    private YearMonth toMonth(String partitionName) {
+        return YearMonth.parse(partitionName.substring(1), MONTH_FORMAT);
+    }
+
+    private String toPartitionName(YearMonth month) {
+        return "p" + month.format(MONTH_FORMAT);
+    }
+}
@@ -0,0 +1,186 @@
+package com.hiking.hikingbackend.module.checkin.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.mapper.TrackRecordMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 轨迹记录存储
+ * <p>
+ * 轨迹写入按月分区的热表，超过保留期的分区由 {@link TrackPartitionManager} 归档到本地文件。
+ * 读取时合并热表与归档数据，调用方无需关心数据所在位置。
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TrackRecordRepository {
+
+    private final TrackRecordMapper trackRecordMapper;
+
+    private final TrackArchiveStore trackArchiveStore;
+
+    // 单条INSERT的最大行数
+    private static final int BATCH_SIZE = 500;
+
+    private static final Comparator<TrackRecord> BY_TIME = Comparator
+            .comparing(TrackRecord::getRecordTime)
+            .thenComparing(TrackRecord::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * 批量写入轨迹记录，已存在的同一时刻轨迹点忽略
+     *
+     * @param records 轨迹记录列表
+     * @return 实际插入行数
+     */
+    public int saveBatch(List<TrackRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+        int inserted = 0;
+        for (int from = 0; from < records.size(); from += BATCH_SIZE) {
+            inserted += trackRecordMapper.insertBatch(records.subList(from, Math.min(from + BATCH_SIZE, records.size())));
+        }
+        return inserted;
+    }
+
+    /**
+     * 查询用户在活动中的轨迹（按时间升序）
+     *
+     * @param userId     用户ID
+     * @param activityId 活动ID
+     * @return 轨迹记录列表
+     */
+    public List<TrackRecord> listByUserAndActivity(Long userId, Long activityId) {
+        LambdaQueryWrapper<TrackRecord> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(TrackRecord::getActivityId, activityId)
+                .eq(TrackRecord::getUserId, userId)
+                .orderByAsc(TrackRecord::getRecordTime);
+        List<TrackRecord> hot = trackRecordMapper.selectList(wrapper);
+        return merge(hot, activityId, userId);
+    }
+
+    /**
+     * 查询活动的全部轨迹（按时间升序）
+     *
+     * @param activityId 活动ID
+     * @return 轨迹记录列表
+     */
+    public List<TrackRecord> listByActivity(Long activityId) {
+        LambdaQueryWrapper<TrackRecord> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(TrackRecord::getActivityId, activityId)
+                .orderByAsc(TrackRecord::getRecordTime);
+        List<TrackRecord> hot = trackRecordMapper.selectList(wrapper);
+        return merge(hot, activityId, null);
+    }
+
+    /**
+     * 查询活动中指定用户的轨迹（按时间升序）
+     *
+     * @param activityId 活动ID
+     * @param userIds    用户ID
+     * @return 轨迹记录列表
+     */
+    public List<TrackRecord> listByActivityAndUsers(Long activityId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (userIds.size() == 1) {
+            return listByUserAndActivity(userIds.iterator().next(), activityId);
+        }
+        LambdaQueryWrapper<TrackRecord> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(TrackRecord::getActivityId, activityId)
+                .in(TrackRecord::getUserId, userIds)
+                .orderByAsc(TrackRecord::getRecordTime);
+        List<TrackRecord> hot = trackRecordMapper.selectList(wrapper);
+        List<TrackRecord> merged = merge(hot, activityId, null);
+        if (merged == hot) {
+            return hot;
+        }
+        // 归档按活动整体读取，只保留指定用户
+        Set<Long> wanted = new HashSet<>(userIds);
+        merged.removeIf(record -> !wanted.contains(record.getUserId()));
+        return merged;
+    }
+
+    /**
+     * 逐条读取用户在活动中的轨迹（按时间升序）：先读归档，再以游标读热表
+     * <p>
+     * 需在事务内调用，游标读完即关闭。分区归档完成到删除之间两边会短暂同时存在同一批数据，
+     * 热表中不晚于最后一条归档记录的行视为重复跳过
+     *
+     * @param userId     用户ID
+     * @param activityId 活动ID
+     * @param consumer   记录回调
+     */
+    public void forEachByUserAndActivity(Long userId, Long activityId, Consumer<TrackRecord> consumer) {
+        LocalDateTime[] lastArchived = {null};
+        trackArchiveStore.forEach(activityId, userId, record -> {
+            lastArchived[0] = record.getRecordTime();
+            consumer.accept(record);
+        });
+        try (Cursor<TrackRecord> cursor = trackRecordMapper.selectUserTrackCursor(activityId, userId)) {
+            for (TrackRecord record : cursor) {
+                if (lastArchived[0] == null || record.getRecordTime().isAfter(lastArchived[0])) {
+                    consumer.accept(record);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 用户轨迹的数据版本，热表有新增或分区被归档时变化
+     *
+     * @param userId     用户ID
+     * @param activityId 活动ID
+     * @return 数据版本
+     */
+    public String getUserTrackVersion(Long userId, Long activityId) {
+        String version = trackRecordMapper.selectUserTrackVersion(activityId, userId);
+        return trackArchiveStore.hasArchive(activityId) ? version + "-a" : version;
+    }
+
+    /**
+     * 合并热表与归档数据
+     * <p>
+     * 分区归档完成到删除之间两边会短暂同时存在同一批数据，按ID去重
+     */
+    private List<TrackRecord> merge(List<TrackRecord> hot, Long activityId, Long userId) {
+        if (!trackArchiveStore.hasArchive(activityId)) {
+            return hot;
+        }
+        List<TrackRecord> archived = trackArchiveStore.read(activityId, userId);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        Set<Long> hotIds = new HashSet<>(hot.size() * 2);
+        for (TrackRecord record : hot) {
+            hotIds.add(record.getId());
+        }
+        List<TrackRecord> result = new ArrayList<>(hot.size() + archived.size());
+        for (TrackRecord record : archived) {
+            if (!hotIds.contains(record.getId())) {
+                result.add(record);
+            }
+        }
+        result.addAll(hot);
+        result.sort(BY_TIME);
+        log.debug("合并归档轨迹，活动ID：{}，热数据：{}，归档数据：{}", activityId, hot.size(), archived.size());
+        return result;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * 签到模块存储层包
+ * <p>
+ * 在 Mapper 之上封装冷热分层的轨迹存储：
+ * <ul>
+ *   <li>TrackRecordRepository - 轨迹读写入口（热表 + 归档透明合并）</li>
+ *   <li>TrackArchiveStore - 本地压缩列式归档文件</li>
+ *   <li>TrackPartitionManager - 月分区维护与过期分区归档</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.checkin.repository;
@@ -0,0 +1,21 @@
+package com.hiking.hikingbackend.module.checkin.service;
+
+import com.hiking.hikingbackend.module.checkin.vo.ActivityReportVO;
+
+/**
+ * 活动报告服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface ActivityReportService {
+
+    /**
+     * 获取活动报告（组织者，活动结束后）
+     *
+     * @param organizerId 组织者ID
+     * @param activityId 活动ID
+     * @return 活动报告
+     */
+    ActivityReportVO getReport(Long organizerId, Long activityId);
+}
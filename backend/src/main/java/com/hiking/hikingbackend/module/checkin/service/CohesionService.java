@@ -0,0 +1,43 @@
+package com.hiking.hikingbackend.module.checkin.service;
+
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.vo.CohesionVO;
+import com.hiking.hikingbackend.module.checkin.vo.ParticipantProgressVO;
+
+import java.util.List;
+
+/**
+ * 队伍紧凑度监控服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface CohesionService {
+
+    /**
+     * 接收参与者已入库的轨迹点（逐点匹配到路线，最新的一个作为当前位置）
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 已入库的轨迹记录
+     */
+    void acceptPositions(Long userId, Long activityId, List<TrackRecord> records);
+
+    /**
+     * 获取活动队伍紧凑度（组织者）
+     *
+     * @param organizerId 组织者ID
+     * @param activityId 活动ID
+     * @return 队伍紧凑度
+     */
+    CohesionVO getCohesion(Long organizerId, Long activityId);
+
+    /**
+     * 获取单个参与者的路线进度（地图匹配得到的连续进度）
+     *
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     * @return 路线进度，活动无可用路线或尚无位置上报时返回null
+     */
+    ParticipantProgressVO getParticipantProgress(Long activityId, Long userId);
+}
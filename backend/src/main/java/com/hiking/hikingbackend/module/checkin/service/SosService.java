@@ -0,0 +1,27 @@
+package com.hiking.hikingbackend.module.checkin.service;
+
+import com.hiking.hikingbackend.module.checkin.dto.SosDTO;
+import com.hiking.hikingbackend.module.checkin.vo.SosVO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SOS紧急求助服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface SosService {
+
+    /**
+     * 发起SOS求助
+     * <p>
+     * 在SOS专用线程池和预留连接上写入严重级预警事件，并通知活动组织者
+     *
+     * @param userId 求助用户ID
+     * @param activityId 活动ID
+     * @param sosDTO 求助信息，可为空
+     * @return 求助结果
+     */
+    CompletableFuture<SosVO> raise(Long userId, Long activityId, SosDTO sosDTO);
+}
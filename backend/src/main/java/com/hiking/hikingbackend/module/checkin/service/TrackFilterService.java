@@ -0,0 +1,43 @@
+package com.hiking.hikingbackend.module.checkin.service;
+
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 轨迹入库过滤服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface TrackFilterService {
+
+    /**
+     * 过滤上报的轨迹点：去重、精度门限、漂移与静止抖动
+     * <p>
+     * 只做判断，不推进过滤器状态；入库事务提交后须调用 {@link #commit} 推进
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 待入库的轨迹记录
+     * @return 保留的轨迹记录（按记录时间升序）
+     */
+    List<TrackRecord> filter(Long userId, Long activityId, List<TrackRecord> records);
+
+    /**
+     * 推进过滤器状态（水位线与上一保留点），在入库事务提交后调用
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 传给 {@link #filter} 的同一批轨迹记录
+     */
+    void commit(Long userId, Long activityId, List<TrackRecord> records);
+
+    /**
+     * 获取累计过滤计数
+     *
+     * @return 过滤结果 -> 点数
+     */
+    Map<String, Long> getCounters();
+}
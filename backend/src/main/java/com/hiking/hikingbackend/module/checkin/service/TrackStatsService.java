@@ -0,0 +1,49 @@
+package com.hiking.hikingbackend.module.checkin.service;
+
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.vo.TrackStatsVO;
+
+import java.util.List;
+
+/**
+ * 轨迹统计服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface TrackStatsService {
+
+    /**
+     * 将已入库的轨迹点输入统计累加器
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 轨迹记录（按记录时间升序）
+     */
+    void accept(Long userId, Long activityId, List<TrackRecord> records);
+
+    /**
+     * 获取参与者轨迹统计
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @return 轨迹统计，无轨迹时各项为0
+     */
+    TrackStatsVO getStats(Long userId, Long activityId);
+
+    /**
+     * 获取活动所有参与者的轨迹统计（组织者）
+     *
+     * @param organizerId 组织者ID
+     * @param activityId 活动ID
+     * @return 轨迹统计列表
+     */
+    List<TrackStatsVO> getParticipantsStats(Long organizerId, Long activityId);
+
+    /**
+     * 活动结束：累加器定稿落库并从内存移除
+     *
+     * @param activityId 活动ID
+     */
+    void finishActivity(Long activityId);
+}
@@ -0,0 +1,383 @@
+package com.hiking.hikingbackend.module.checkin.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.LruCache;
+import com.hiking.hikingbackend.config.ReportProperties;
+import com.hiking.hikingbackend.config.TrackStatsProperties;
+import com.hiking.hikingbackend.module.activity.entity.Activity;
+import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
+import com.hiking.hikingbackend.module.checkin.entity.AlertEvent;
+import com.hiking.hikingbackend.module.checkin.entity.CheckInRecord;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.entity.TrackStats;
+import com.hiking.hikingbackend.module.checkin.event.TrackStatsFinalizedEvent;
+import com.hiking.hikingbackend.module.checkin.mapper.AlertEventMapper;
+import com.hiking.hikingbackend.module.checkin.mapper.CheckInRecordMapper;
+import com.hiking.hikingbackend.module.checkin.mapper.TrackStatsMapper;
+import com.hiking.hikingbackend.module.checkin.repository.TrackRecordRepository;
+import com.hiking.hikingbackend.module.checkin.service.ActivityReportService;
+import com.hiking.hikingbackend.module.checkin.support.TrackStatsAccumulator;
+import com.hiking.hikingbackend.module.checkin.vo.ActivityReportVO;
+import com.hiking.hikingbackend.module.checkin.vo.ParticipantReportVO;
+import com.hiking.hikingbackend.module.checkin.vo.ReportAlertVO;
+import com.hiking.hikingbackend.module.checkin.vo.ReportCheckInVO;
+import com.hiking.hikingbackend.module.registration.entity.Registration;
+import com.hiking.hikingbackend.module.registration.mapper.RegistrationMapper;
+import com.hiking.hikingbackend.module.route.entity.Checkpoint;
+import com.hiking.hikingbackend.module.route.mapper.CheckpointMapper;
+import com.hiking.hikingbackend.module.user.entity.User;
+import com.hiking.hikingbackend.module.user.mapper.UserMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 活动报告服务实现类
+ * <p>
+ * 报告生成分两步：
+ * <ol>
+ *   <li>批量加载：签到点、报名、用户、签到记录、预警、轨迹统计各一次查询，
+ *       只有缺少定稿统计的参与者才额外读取一次其轨迹</li>
+ *   <li>并行计算：在专用 ForkJoinPool 上按参与者并行生成明细，互不共享可变状态</li>
+ * </ol>
+ * 活动结束后数据基本不再变化，生成的报告放入 LRU 缓存：轨迹统计定稿时失效；
+ * 预警在活动结束后仍可能新增（SOS）或被处理，缓存随报告记录预警数据版本，读取时版本变化则重新生成
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityReportServiceImpl implements ActivityReportService {
+
+    private final ReportProperties properties;
+
+    private final TrackStatsProperties trackStatsProperties;
+
+    private final ActivityMapper activityMapper;
+
+    private final CheckpointMapper checkpointMapper;
+
+    private final RegistrationMapper registrationMapper;
+
+    private final UserMapper userMapper;
+
+    private final CheckInRecordMapper checkInRecordMapper;
+
+    private final AlertEventMapper alertEventMapper;
+
+    private final TrackStatsMapper trackStatsMapper;
+
+    private final TrackRecordRepository trackRecordRepository;
+
+    private ForkJoinPool reportPool;
+
+    private LruCache<Long, CachedReport> reportCache;
+
+    /**
+     * 轨迹统计定稿计数，生成期间有定稿发生时不写缓存，避免旧报告覆盖失效
+     */
+    private final AtomicLong finalizedGeneration = new AtomicLong();
+
+    private static final int ACTIVITY_STATUS_ENDED = 4;        // 已结束
+    private static final int REGISTRATION_STATUS_APPROVED = 1; // 已通过
+    private static final int CHECKIN_STATUS_LATE = 2;          // 迟到
+    private static final int STATS_FINAL = 1;                  // 已定稿
+
+    @PostConstruct
+    public void init() {
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        reportPool = new ForkJoinPool(parallelism);
+        reportCache = new LruCache<>(properties.getCacheSize(),
+                Duration.ofMinutes(properties.getCacheTtlMinutes()).toMillis());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        reportPool.shutdown();
+    }
+
+    /**
+     * 获取活动报告
+     *
+     * @param organizerId 组织者ID
+     * @param activityId 活动ID
+     * @return 活动报告
+     */
+    @Override
+    public ActivityReportVO getReport(Long organizerId, Long activityId) {
+        // 1. 校验活动和权限
+        Activity activity = activityMapper.selectById(activityId);
+        if (activity == null) {
+            throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
+        }
+        if (!activity.getOrganizerId().equals(organizerId)) {
+            throw new BusinessException(ResultCode.NOT_ACTIVITY_ORGANIZER);
+        }
+        if (activity.getStatus() != ACTIVITY_STATUS_ENDED) {
+            throw new BusinessException(ResultCode.OPERATION_FAILED.getCode(), "活动结束后才能生成报告");
+        }
+
+        // 2. 优先读取缓存，预警数据版本变化时重新生成
+        String alertVersion = alertEventMapper.selectActivityAlertVersion(activityId);
+        CachedReport cached = reportCache.get(activityId);
+        if (cached != null && cached.alertVersion.equals(alertVersion)) {
+            return cached.report;
+        }
+        long generation = finalizedGeneration.get();
+        ActivityReportVO report = buildReport(activity);
+        synchronized (finalizedGeneration) {
+            if (finalizedGeneration.get() == generation) {
+                reportCache.put(activityId, new CachedReport(report, alertVersion));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * 轨迹统计定稿后失效报告缓存（补算的统计以定稿值为准）
+     *
+     * @param event 轨迹统计定稿事件
+     */
+    @EventListener
+    public void onTrackStatsFinalized(TrackStatsFinalizedEvent event) {
+        synchronized (finalizedGeneration) {
+            finalizedGeneration.incrementAndGet();
+            reportCache.remove(event.getActivityId());
+        }
+    }
+
+    /**
+     * 生成活动报告
+     *
+     * @param activity 活动
+     * @return 活动报告
+     */
+    private ActivityReportVO buildReport(Activity activity) {
+        long startNanos = System.nanoTime();
+        Long activityId = activity.getId();
+
+        // 1. 批量加载
+        LambdaQueryWrapper<Checkpoint> checkpointWrapper = new LambdaQueryWrapper<>();
+        checkpointWrapper.eq(Checkpoint::getRouteId, activity.getRouteId())
+                .orderByAsc(Checkpoint::getSequence);
+        List<Checkpoint> checkpoints = activity.getRouteId() != null
+                ? checkpointMapper.selectList(checkpointWrapper)
+                : List.of();
+
+        LambdaQueryWrapper<Registration> registrationWrapper = new LambdaQueryWrapper<>();
+        registrationWrapper.eq(Registration::getActivityId, activityId)
+                .eq(Registration::getStatus, REGISTRATION_STATUS_APPROVED)
+                .orderByAsc(Registration::getId);
+        List<Long> userIds = registrationMapper.selectList(registrationWrapper).stream()
+                .map(Registration::getUserId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, String> nicknames = userIds.isEmpty() ? Map.of()
+                : userMapper.selectBatchIds(userIds).stream()
+                        .collect(Collectors.toMap(User::getId, u -> u.getNickname() != null ? u.getNickname() : u.getUsername()));
+
+        // 同一签到点保留最早的一次签到
+        LambdaQueryWrapper<CheckInRecord> recordWrapper = new LambdaQueryWrapper<>();
+        recordWrapper.eq(CheckInRecord::getActivityId, activityId)
+                .orderByAsc(CheckInRecord::getCheckInTime);
+        Map<Long, Map<Long, CheckInRecord>> recordsByUser = new HashMap<>();
+        for (CheckInRecord record : checkInRecordMapper.selectList(recordWrapper)) {
+            recordsByUser.computeIfAbsent(record.getUserId(), k -> new HashMap<>())
+                    .putIfAbsent(record.getCheckpointId(), record);
+        }
+
+        LambdaQueryWrapper<AlertEvent> alertWrapper = new LambdaQueryWrapper<>();
+        alertWrapper.eq(AlertEvent::getActivityId, activityId)
+                .orderByAsc(AlertEvent::getTriggerTime);
+        List<AlertEvent> alerts = alertEventMapper.selectList(alertWrapper);
+        Map<Long, List<AlertEvent>> alertsByUser = alerts.stream()
+                .filter(a -> a.getUserId() != null)
+                .collect(Collectors.groupingBy(AlertEvent::getUserId));
+
+        LambdaQueryWrapper<TrackStats> statsWrapper = new LambdaQueryWrapper<>();
+        statsWrapper.eq(TrackStats::getActivityId, activityId);
+        Map<Long, TrackStats> statsByUser = trackStatsMapper.selectList(statsWrapper).stream()
+                .collect(Collectors.toMap(TrackStats::getUserId, s -> s, (a, b) -> a));
+
+        // 缺少定稿统计的参与者从原始轨迹重算，只读取这些参与者的轨迹
+        Map<Long, List<TrackRecord>> tracksByUser = Map.of();
+        List<Long> missingStats = userIds.stream()
+                .filter(userId -> {
+                    TrackStats stats = statsByUser.get(userId);
+                    return stats == null || !Objects.equals(stats.getIsFinal(), STATS_FINAL);
+                })
+                .collect(Collectors.toList());
+        if (!missingStats.isEmpty()) {
+            tracksByUser = trackRecordRepository.listByActivityAndUsers(activityId, missingStats).stream()
+                    .collect(Collectors.groupingBy(TrackRecord::getUserId));
+        }
+
+        // 2. 并行生成参与者明细
+        LocalDateTime startTime = activity.getActivityDate() != null && activity.getStartTime() != null
+                ? LocalDateTime.of(activity.getActivityDate(), activity.getStartTime())
+                : null;
+        Map<Long, List<TrackRecord>> tracks = tracksByUser;
+        List<ParticipantReportVO> participants = reportPool.submit(() -> userIds.parallelStream()
+                .map(userId -> buildParticipant(userId, activityId, nicknames.get(userId), startTime, checkpoints,
+                        recordsByUser.getOrDefault(userId, Map.of()),
+                        alertsByUser.getOrDefault(userId, List.of()),
+                        statsByUser.get(userId),
+                        tracks.get(userId)))
+                .collect(Collectors.toList()))
+                .join();
+
+        // 3. 汇总
+        int completedCount = 0;
+        int lateCount = 0;
+        BigDecimal distanceSum = BigDecimal.ZERO;
+        for (ParticipantReportVO participant : participants) {
+            completedCount += participant.getCompleted();
+            lateCount += (int) participant.getTimeline().stream()
+                    .filter(c -> c.getStatus() != null && c.getStatus() == CHECKIN_STATUS_LATE)
+                    .count();
+            distanceSum = distanceSum.add(participant.getTotalDistance());
+        }
+
+        ActivityReportVO report = ActivityReportVO.builder()
+                .activityId(activityId)
+                .title(activity.getTitle())
+                .startTime(startTime)
+                .participantCount(participants.size())
+                .checkpointCount(checkpoints.size())
+                .completedCount(completedCount)
+                .lateCheckInCount(lateCount)
+                .alertCount(alerts.size())
+                .avgDistance(participants.isEmpty() ? BigDecimal.ZERO
+                        : distanceSum.divide(BigDecimal.valueOf(participants.size()), 2, RoundingMode.HALF_UP))
+                .participants(participants)
+                .generatedTime(LocalDateTime.now())
+                .build();
+
+        log.info("活动报告生成完成，活动ID：{}，参与人数：{}，耗时：{}ms",
+                activityId, participants.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return report;
+    }
+
+    /**
+     * 生成单个参与者明细（仅读取传入的数据，可并行执行）
+     */
+    private ParticipantReportVO buildParticipant(Long userId, Long activityId, String nickname, LocalDateTime startTime,
+                                                 List<Checkpoint> checkpoints, Map<Long, CheckInRecord> records,
+                                                 List<AlertEvent> alerts, TrackStats stats, List<TrackRecord> track) {
+        // 1. 签到时间线与迟到
+        List<ReportCheckInVO> timeline = new ArrayList<>(checkpoints.size());
+        boolean hasRequired = checkpoints.stream().anyMatch(c -> Objects.equals(c.getIsRequired(), 1));
+        boolean completed = true;
+        long totalLate = 0;
+        long maxLate = 0;
+        for (Checkpoint checkpoint : checkpoints) {
+            CheckInRecord record = records.get(checkpoint.getId());
+            LocalDateTime expectedTime = startTime != null && checkpoint.getExpectedArriveMinutes() != null
+                    ? startTime.plusMinutes(checkpoint.getExpectedArriveMinutes())
+                    : null;
+            Long lateMinutes = null;
+            if (record != null && expectedTime != null) {
+                lateMinutes = Math.max(0, Duration.between(expectedTime, record.getCheckInTime()).toMinutes());
+                totalLate += lateMinutes;
+                maxLate = Math.max(maxLate, lateMinutes);
+            }
+            if (record == null && (!hasRequired || Objects.equals(checkpoint.getIsRequired(), 1))) {
+                completed = false;
+            }
+            timeline.add(ReportCheckInVO.builder()
+                    .checkpointId(checkpoint.getId())
+                    .checkpointName(checkpoint.getName())
+                    .sequence(checkpoint.getSequence())
+                    .isRequired(checkpoint.getIsRequired())
+                    .expectedTime(expectedTime)
+                    .checkInTime(record != null ? record.getCheckInTime() : null)
+                    .status(record != null ? record.getStatus() : null)
+                    .lateMinutes(lateMinutes)
+                    .build());
+        }
+
+        // 2. 轨迹统计：优先使用定稿汇总，否则从原始轨迹重算
+        if (stats == null || !Objects.equals(stats.getIsFinal(), STATS_FINAL)) {
+            stats = computeStats(userId, activityId, track, stats);
+        }
+        double distanceMeters = stats.getTotalDistance() != null ? stats.getTotalDistance().doubleValue() : 0;
+
+        // 3. 预警
+        List<ReportAlertVO> alertList = alerts.stream()
+                .map(alert -> ReportAlertVO.builder()
+                        .alertId(alert.getId())
+                        .alertType(alert.getAlertType())
+                        .alertLevel(alert.getAlertLevel())
+                        .description(alert.getDescription())
+                        .triggerTime(alert.getTriggerTime())
+                        .handleStatus(alert.getHandleStatus())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ParticipantReportVO.builder()
+                .userId(userId)
+                .nickname(nickname)
+                .checkedInCount(records.size())
+                .completed(!checkpoints.isEmpty() && completed ? 1 : 0)
+                .totalLateMinutes(totalLate)
+                .maxLateMinutes(maxLate)
+                .totalDistance(BigDecimal.valueOf(distanceMeters / 1000.0).setScale(2, RoundingMode.HALF_UP))
+                .elevationGain(stats.getElevationGain() != null ? stats.getElevationGain() : 0)
+                .elevationLoss(stats.getElevationLoss() != null ? stats.getElevationLoss() : 0)
+                .movingSeconds(stats.getMovingSeconds() != null ? stats.getMovingSeconds() : 0)
+                .timeline(timeline)
+                .alerts(alertList)
+                .build();
+    }
+
+    /**
+     * 从原始轨迹重算统计（轨迹为空时沿用未定稿汇总）
+     */
+    private TrackStats computeStats(Long userId, Long activityId, List<TrackRecord> track, TrackStats fallback) {
+        if (track == null || track.isEmpty()) {
+            return fallback != null ? fallback : TrackStats.builder().activityId(activityId).userId(userId).build();
+        }
+        TrackStatsAccumulator accumulator = new TrackStatsAccumulator(activityId, userId,
+                trackStatsProperties.getElevationHysteresis(), trackStatsProperties.getMinMovingSpeed(),
+                trackStatsProperties.getMaxSegmentGap());
+        for (TrackRecord record : track) {
+            accumulator.accept(record.getLatitude().doubleValue(), record.getLongitude().doubleValue(),
+                    record.getElevation(), record.getRecordTime());
+        }
+        return accumulator.snapshot(STATS_FINAL);
+    }
+
+    /**
+     * 缓存的报告及生成时的预警数据版本
+     */
+    private static final class CachedReport {
+
+        private final ActivityReportVO report;
+
+        private final String alertVersion;
+
+        private CachedReport(ActivityReportVO report, String alertVersion) {
+            this.report = report;
+            this.alertVersion = alertVersion;
+        }
+    }
+}
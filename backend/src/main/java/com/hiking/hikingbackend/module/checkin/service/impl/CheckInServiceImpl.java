@@ -11,10 +11,14 @@ import com.hiking.hikingbackend.module.checkin.dto.TrackRecordDTO;
 import com.hiking.hikingbackend.module.checkin.entity.CheckInRecord;
 import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
 import com.hiking.hikingbackend.module.checkin.mapper.CheckInRecordMapper;
-import com.hiking.hikingbackend.module.checkin.mapper.TrackRecordMapper;
+import com.hiking.hikingbackend.module.checkin.repository.TrackRecordRepository;
 import com.hiking.hikingbackend.module.checkin.service.CheckInService;
+import com.hiking.hikingbackend.module.checkin.service.CohesionService;
+import com.hiking.hikingbackend.module.checkin.service.TrackFilterService;
+import com.hiking.hikingbackend.module.checkin.service.TrackStatsService;
 import com.hiking.hikingbackend.module.checkin.vo.CheckInVO;
 import com.hiking.hikingbackend.module.checkin.vo.CheckInProgressVO;
+import com.hiking.hikingbackend.module.checkin.vo.ParticipantProgressVO;
 import com.hiking.hikingbackend.module.checkin.vo.CheckInStatusVO;
 import com.hiking.hikingbackend.module.registration.entity.Registration;
 import com.hiking.hikingbackend.module.registration.mapper.RegistrationMapper;
@@ -24,9 +28,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -42,7 +50,7 @@ public class CheckInServiceImpl implements CheckInService {
 
     private final CheckInRecordMapper checkInRecordMapper;
 
-    private final TrackRecordMapper trackRecordMapper;
+    private final TrackRecordRepository trackRecordRepository;
 
     private final CheckpointMapper checkpointMapper;
 
@@ -50,6 +58,12 @@ public class CheckInServiceImpl implements CheckInService {
 
     private final RegistrationMapper registrationMapper;
 
+    private final TrackStatsService trackStatsService;
+
+    private final TrackFilterService trackFilterService;
+
+    private final CohesionService cohesionService;
+
     // 报名状态常量
     private static final int REGISTRATION_STATUS_APPROVED = 1;  // 已通过
 
@@ -152,14 +166,18 @@ public class CheckInServiceImpl implements CheckInService {
 
         log.info("开始批量插入轨迹记录，用户ID：{}，记录数：{}", userId, trackRecords.size());
 
-        // 校验活动是否存在
+        // 校验活动是否存在；活动结束后轨迹统计已定稿，不再接收补传
         Long activityId = trackRecords.get(0).getActivityId();
         Activity activity = activityMapper.selectById(activityId);
         if (activity == null) {
             throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
         }
+        if (activity.getStatus() == ACTIVITY_STATUS_ENDED) {
+            throw new BusinessException(ResultCode.ACTIVITY_ENDED);
+        }
 
-        // 转换并插入轨迹记录
+        // 转换轨迹记录
+        List<TrackRecord> received = new ArrayList<>(trackRecords.size());
         for (TrackRecordDTO dto : trackRecords) {
             TrackRecord trackRecord = TrackRecord.builder()
                     .userId(userId)
@@ -171,10 +189,29 @@ public class CheckInServiceImpl implements CheckInService {
                     .speed(dto.getSpeed())
                     .recordTime(dto.getRecordTime())
                     .build();
-            trackRecordMapper.insert(trackRecord);
+            received.add(trackRecord);
+        }
+
+        // 过滤重复、低精度和抖动点后批量插入；
+        // 过滤水位线、轨迹统计和队伍位置均为内存状态，事务提交后再更新，回滚时不留下未入库的点；
+        // 同一批点的并发重试或落到其他节点的重试都能通过过滤，由轨迹表唯一键忽略重复行
+        Map<Long, List<TrackRecord>> recordsByActivity = received.stream()
+                .collect(Collectors.groupingBy(TrackRecord::getActivityId));
+        int insertedCount = 0;
+        for (Map.Entry<Long, List<TrackRecord>> entry : recordsByActivity.entrySet()) {
+            Long groupActivityId = entry.getKey();
+            List<TrackRecord> batch = entry.getValue();
+            List<TrackRecord> kept = trackFilterService.filter(userId, groupActivityId, batch);
+            int inserted = trackRecordRepository.saveBatch(kept);
+            runAfterCommit(() -> {
+                trackFilterService.commit(userId, groupActivityId, batch);
+                trackStatsService.accept(userId, groupActivityId, kept);
+                cohesionService.acceptPositions(userId, groupActivityId, kept);
+            });
+            insertedCount += inserted;
         }
 
-        log.info("批量插入轨迹记录完成，插入数：{}", trackRecords.size());
+        log.info("批量插入轨迹记录完成，上报数：{}，插入数：{}", trackRecords.size(), insertedCount);
     }
 
     /**
@@ -195,12 +232,15 @@ public class CheckInServiceImpl implements CheckInService {
                         .orderByAsc(Checkpoint::getSequence);
         List<Checkpoint> checkpoints = checkpointMapper.selectList(checkpointWrapper);
 
+        ParticipantProgressVO routeProgress = cohesionService.getParticipantProgress(activityId, userId);
+
         if (checkpoints.isEmpty()) {
             return CheckInProgressVO.builder()
                     .activityId(activityId)
                     .totalCheckpoints(0)
                     .checkedInCount(0)
                     .progress(0)
+                    .routeProgress(routeProgress)
                     .checkpointStatusList(List.of())
                     .build();
         }
@@ -243,6 +283,7 @@ public class CheckInServiceImpl implements CheckInService {
                 .totalCheckpoints(totalCount)
                 .checkedInCount(checkedInCount)
                 .progress(progress)
+                .routeProgress(routeProgress)
                 .checkpointStatusList(statusList)
                 .build();
     }
@@ -350,6 +391,22 @@ public class CheckInServiceImpl implements CheckInService {
         };
     }
 
+    /**
+     * 当前事务提交后执行，无事务时立即执行
+     */
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /**
      * 获取签到点类型文本
      */
@@ -0,0 +1,349 @@
+package com.hiking.hikingbackend.module.checkin.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.config.CohesionProperties;
+import com.hiking.hikingbackend.module.activity.entity.Activity;
+import com.hiking.hikingbackend.module.activity.event.ActivityEndedEvent;
+import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.event.CohesionChangedEvent;
+import com.hiking.hikingbackend.module.checkin.service.CohesionService;
+import com.hiking.hikingbackend.module.checkin.support.CohesionTracker;
+import com.hiking.hikingbackend.module.checkin.support.RouteGeometry;
+import com.hiking.hikingbackend.module.checkin.vo.CohesionVO;
+import com.hiking.hikingbackend.module.checkin.vo.ParticipantProgressVO;
+import com.hiking.hikingbackend.module.message.event.NotificationEvent;
+import com.hiking.hikingbackend.module.message.service.NotificationService;
+import com.hiking.hikingbackend.module.route.entity.Checkpoint;
+import com.hiking.hikingbackend.module.route.entity.RoutePoint;
+import com.hiking.hikingbackend.module.route.event.RouteChangedEvent;
+import com.hiking.hikingbackend.module.route.mapper.CheckpointMapper;
+import com.hiking.hikingbackend.module.route.mapper.RoutePointMapper;
+import com.hiking.hikingbackend.module.user.entity.User;
+import com.hiking.hikingbackend.module.user.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 队伍紧凑度监控服务实现类
+ * <p>
+ * 轨迹上报时每个点通过网格索引匹配到路线，更新参与者的进度，不查询 track_record；
+ * 定时任务逐个活动重算进度排名，状态变化时发布 {@link CohesionChangedEvent}，
+ * 并把进入异常状态的参与者汇总成一条预警消息发给组织者
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CohesionServiceImpl implements CohesionService {
+
+    private final CohesionProperties properties;
+
+    private final ActivityMapper activityMapper;
+
+    private final RoutePointMapper routePointMapper;
+
+    private final CheckpointMapper checkpointMapper;
+
+    private final UserMapper userMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final NotificationService notificationService;
+
+    /**
+     * 活动ID -> 跟踪器
+     */
+    private final Map<Long, CohesionTracker> trackers = new ConcurrentHashMap<>();
+
+    /**
+     * 无可用路线的活动ID -> 关联路线ID（避免反复查询），关联路线变更后移除
+     */
+    private final Map<Long, Long> routelessActivities = new ConcurrentHashMap<>();
+
+    /**
+     * 路线变更次数（先计数再清理），加载期间发生过变更时不保留无路线记录
+     */
+    private final AtomicLong routeChanges = new AtomicLong();
+
+    // 消息类型常量
+    private static final int MESSAGE_TYPE_ALERT = 4;  // 预警通知
+    private static final long NO_ROUTE = 0L;          // 活动未关联路线
+
+    /**
+     * 接收参与者已入库的轨迹点，按时间顺序逐点匹配到路线
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 已入库的轨迹记录
+     */
+    @Override
+    public void acceptPositions(Long userId, Long activityId, List<TrackRecord> records) {
+        if (records == null || records.isEmpty() || routelessActivities.containsKey(activityId)) {
+            return;
+        }
+        CohesionTracker tracker = getOrCreateTracker(activityId);
+        if (tracker == null) {
+            return;
+        }
+        List<TrackRecord> ordered = new ArrayList<>(records);
+        ordered.sort(Comparator.comparing(TrackRecord::getRecordTime));
+        for (TrackRecord record : ordered) {
+            tracker.updatePosition(userId, record.getLatitude().doubleValue(), record.getLongitude().doubleValue(),
+                    record.getRecordTime());
+        }
+    }
+
+    /**
+     * 获取活动队伍紧凑度
+     *
+     * @param organizerId 组织者ID
+     * @param activityId 活动ID
+     * @return 队伍紧凑度
+     */
+    @Override
+    public CohesionVO getCohesion(Long organizerId, Long activityId) {
+        // 1. 校验活动与权限
+        Activity activity = activityMapper.selectById(activityId);
+        if (activity == null) {
+            throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
+        }
+        if (!activity.getOrganizerId().equals(organizerId)) {
+            throw new BusinessException(ResultCode.NOT_ACTIVITY_ORGANIZER);
+        }
+
+        // 2. 尚无位置上报时返回空结果
+        CohesionTracker tracker = trackers.get(activityId);
+        if (tracker == null) {
+            return CohesionVO.builder()
+                    .activityId(activityId)
+                    .sweeperId(organizerId)
+                    .abnormalCount(0)
+                    .participants(Collections.emptyList())
+                    .build();
+        }
+
+        // 3. 组装参与者进度
+        List<CohesionTracker.ParticipantSnapshot> snapshots = tracker.snapshot();
+        Map<Long, String> nicknames = loadNicknames(snapshots.stream()
+                .map(CohesionTracker.ParticipantSnapshot::getUserId).collect(Collectors.toSet()));
+        double routeLength = tracker.getRouteLength();
+        List<ParticipantProgressVO> participants = snapshots.stream()
+                .map(snapshot -> convertToProgressVO(snapshot, nicknames.get(snapshot.getUserId()), routeLength))
+                .toList();
+
+        return CohesionVO.builder()
+                .activityId(activityId)
+                .routeLength(meters(routeLength))
+                .medianProgress(meters(tracker.getMedianProgress()))
+                .sweeperId(tracker.getSweeperId())
+                .abnormalCount((int) snapshots.stream().filter(s -> s.getStatus().isAbnormal()).count())
+                .participants(participants)
+                .build();
+    }
+
+    /**
+     * 获取单个参与者的路线进度
+     *
+     * @param activityId 活动ID
+     * @param userId 用户ID
+     * @return 路线进度，活动无可用路线或尚无位置上报时返回null
+     */
+    @Override
+    public ParticipantProgressVO getParticipantProgress(Long activityId, Long userId) {
+        CohesionTracker tracker = trackers.get(activityId);
+        CohesionTracker.ParticipantSnapshot snapshot = tracker != null ? tracker.snapshot(userId) : null;
+        if (snapshot == null) {
+            return null;
+        }
+        return convertToProgressVO(snapshot, null, tracker.getRouteLength());
+    }
+
+    /**
+     * 定时重算所有活动的进度排名，推送状态变化
+     */
+    @Scheduled(fixedDelayString = "${hiking.cohesion.tick-millis:10000}", initialDelayString = "${hiking.cohesion.tick-millis:10000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        long idleThreshold = System.currentTimeMillis() - Duration.ofMinutes(properties.getIdleEvictMinutes()).toMillis();
+
+        for (CohesionTracker tracker : trackers.values()) {
+            if (tracker.getLastTouchedMillis() < idleThreshold) {
+                trackers.remove(tracker.getActivityId(), tracker);
+                continue;
+            }
+            try {
+                List<CohesionTracker.Transition> transitions = tracker.recompute(properties, now);
+                if (!transitions.isEmpty()) {
+                    notifyOrganizer(tracker, transitions);
+                }
+            } catch (Exception e) {
+                log.error("队伍紧凑度重算失败，活动ID：{}", tracker.getActivityId(), e);
+            }
+        }
+    }
+
+    /**
+     * 监听活动结束事件，释放跟踪器
+     *
+     * @param event 活动结束事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onActivityEnded(ActivityEndedEvent event) {
+        trackers.remove(event.getActivityId());
+        routelessActivities.remove(event.getActivityId());
+    }
+
+    /**
+     * 路线变更提交后重新检查关联该路线的无路线活动（补充了点位或签到点时开始监控）
+     *
+     * @param event 路线变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRouteChanged(RouteChangedEvent event) {
+        routeChanges.incrementAndGet();
+        routelessActivities.values().removeIf(routeId -> routeId.equals(event.getRouteId()));
+    }
+
+    /**
+     * 推送状态变化：发布事件；进入异常状态的参与者汇总为一条站内预警消息
+     */
+    private void notifyOrganizer(CohesionTracker tracker, List<CohesionTracker.Transition> transitions) {
+        Long organizerId = tracker.getSweeperId();
+        eventPublisher.publishEvent(new CohesionChangedEvent(tracker.getActivityId(), organizerId, transitions));
+
+        List<CohesionTracker.Transition> alerts = transitions.stream()
+                .filter(t -> t.getTo().isAbnormal())
+                .toList();
+        if (alerts.isEmpty() || organizerId == null) {
+            return;
+        }
+
+        Map<Long, String> nicknames = loadNicknames(alerts.stream()
+                .map(CohesionTracker.Transition::getUserId).collect(Collectors.toSet()));
+        String content = alerts.stream()
+                .map(t -> nicknames.getOrDefault(t.getUserId(), "用户" + t.getUserId()) + "：" + t.getTo().getText())
+                .collect(Collectors.joining("；"));
+
+        // 位置在入库事务提交后才到达这里，此时发布的事务事件不会再被触发，直接投递到通知队列
+        notificationService.submit(NotificationEvent.builder()
+                .userIds(List.of(organizerId))
+                .title("队伍状态提醒")
+                .content(content)
+                .messageType(MESSAGE_TYPE_ALERT)
+                .relatedId(tracker.getActivityId())
+                .relatedType("activity")
+                .build());
+        log.info("队伍状态变化已通知组织者，活动ID：{}，变化数：{}，异常数：{}",
+                tracker.getActivityId(), transitions.size(), alerts.size());
+    }
+
+    /**
+     * 获取跟踪器，不存在时加载活动路线创建；活动无可用路线时返回null
+     */
+    private CohesionTracker getOrCreateTracker(Long activityId) {
+        CohesionTracker tracker = trackers.get(activityId);
+        if (tracker != null) {
+            return tracker;
+        }
+
+        long generation = routeChanges.get();
+        Activity activity = activityMapper.selectById(activityId);
+        RouteGeometry geometry = activity != null ? loadGeometry(activity.getRouteId()) : null;
+        if (geometry == null) {
+            Long routeId = activity != null ? activity.getRouteId() : null;
+            routelessActivities.put(activityId, routeId != null ? routeId : NO_ROUTE);
+            // 加载期间路线发生过变更时撤销记录，下次上报重新加载
+            if (routeChanges.get() != generation) {
+                routelessActivities.remove(activityId);
+            }
+            log.info("活动无可用路线，跳过队伍紧凑度监控，活动ID：{}", activityId);
+            return null;
+        }
+
+        CohesionTracker created = new CohesionTracker(activityId, activity.getOrganizerId(), geometry);
+        CohesionTracker existing = trackers.putIfAbsent(activityId, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 加载路线几何：优先使用路线点位，不足两个点时使用签到点
+     */
+    private RouteGeometry loadGeometry(Long routeId) {
+        if (routeId == null) {
+            return null;
+        }
+
+        LambdaQueryWrapper<RoutePoint> pointWrapper = new LambdaQueryWrapper<>();
+        pointWrapper.eq(RoutePoint::getRouteId, routeId)
+                    .orderByAsc(RoutePoint::getSequence);
+        List<RoutePoint> points = routePointMapper.selectList(pointWrapper);
+        if (points.size() >= 2) {
+            return new RouteGeometry(
+                    points.stream().mapToDouble(p -> p.getLatitude().doubleValue()).toArray(),
+                    points.stream().mapToDouble(p -> p.getLongitude().doubleValue()).toArray());
+        }
+
+        LambdaQueryWrapper<Checkpoint> checkpointWrapper = new LambdaQueryWrapper<>();
+        checkpointWrapper.eq(Checkpoint::getRouteId, routeId)
+                        .orderByAsc(Checkpoint::getSequence);
+        List<Checkpoint> checkpoints = checkpointMapper.selectList(checkpointWrapper);
+        if (checkpoints.size() >= 2) {
+            return new RouteGeometry(
+                    checkpoints.stream().mapToDouble(c -> c.getLatitude().doubleValue()).toArray(),
+                    checkpoints.stream().mapToDouble(c -> c.getLongitude().doubleValue()).toArray());
+        }
+        return null;
+    }
+
+    private ParticipantProgressVO convertToProgressVO(CohesionTracker.ParticipantSnapshot snapshot, String nickname,
+                                                      double routeLength) {
+        return ParticipantProgressVO.builder()
+                .userId(snapshot.getUserId())
+                .nickname(nickname)
+                .rank(snapshot.getRank())
+                .progress(meters(snapshot.getProgress()))
+                .progressPercent(routeLength > 0
+                        ? BigDecimal.valueOf(snapshot.getProgress() * 100 / routeLength).setScale(1, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO)
+                .gapToMedian(meters(snapshot.getGapToMedian()))
+                .offRouteDistance(meters(snapshot.getOffRouteDistance()))
+                .status(snapshot.getStatus().name())
+                .statusText(snapshot.getStatus().getText())
+                .positionTime(snapshot.getPositionTime())
+                .build();
+    }
+
+    private Map<Long, String> loadNicknames(Set<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> nicknames = new HashMap<>();
+        for (User user : userMapper.selectBatchIds(userIds)) {
+            nicknames.put(user.getId(), user.getNickname() != null ? user.getNickname() : user.getUsername());
+        }
+        return nicknames;
+    }
+
+    private BigDecimal meters(double value) {
+        return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,196 @@
+package com.hiking.hikingbackend.module.checkin.service.impl;
+
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.module.checkin.dto.SosDTO;
+import com.hiking.hikingbackend.module.checkin.event.SosRaisedEvent;
+import com.hiking.hikingbackend.module.checkin.service.SosService;
+import com.hiking.hikingbackend.module.checkin.support.SosBulkhead;
+import com.hiking.hikingbackend.module.checkin.support.SosLatencyTracker;
+import com.hiking.hikingbackend.module.checkin.vo.SosVO;
+import com.hiking.hikingbackend.module.message.event.UnreadCountChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SOS紧急求助服务实现类
+ * <p>
+ * 全程运行在 {@link SosBulkhead} 的专用线程和预留连接上，不经过MyBatis和主连接池：
+ * 一次查询完成活动、昵称和报名校验，一个事务写入预警事件和组织者消息，随后发布 {@link SosRaisedEvent}
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SosServiceImpl implements SosService {
+
+    private final SosBulkhead sosBulkhead;
+
+    private final SosLatencyTracker sosLatencyTracker;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 预警常量
+    private static final int ALERT_TYPE_SOS = 6;          // SOS求助
+    private static final int ALERT_LEVEL_SEVERE = 2;      // 严重
+    private static final int HANDLE_STATUS_PENDING = 0;   // 未处理
+
+    // 消息类型常量
+    private static final int MESSAGE_TYPE_ALERT = 4;      // 预警通知
+
+    // 报名状态常量
+    private static final int REGISTRATION_STATUS_APPROVED = 1;  // 已通过
+
+    private static final String DEFAULT_DESCRIPTION = "SOS紧急求助";
+    private static final int MESSAGE_CONTENT_MAX_LENGTH = 512;
+
+    private static final String CONTEXT_SQL =
+            "SELECT a.organizer_id, a.title, "
+            + "(SELECT u.nickname FROM `user` u WHERE u.id = ?) AS nickname, "
+            + "(SELECT COUNT(1) FROM registration r WHERE r.activity_id = a.id AND r.user_id = ? AND r.status = ?) AS registered "
+            + "FROM activity a WHERE a.id = ?";
+
+    private static final String INSERT_ALERT_SQL =
+            "INSERT INTO alert_event (activity_id, user_id, alert_type, alert_level, latitude, longitude, description, "
+            + "trigger_time, handle_status, create_by, create_time, update_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO message (user_id, title, content, message_type, related_id, related_type, is_read, "
+            + "create_by, create_time, update_time) "
+            + "VALUES (?, ?, ?, ?, ?, 'alert', 0, ?, NOW(), NOW())";
+
+    /**
+     * 发起SOS求助
+     *
+     * @param userId 求助用户ID
+     * @param activityId 活动ID
+     * @param sosDTO 求助信息，可为空
+     * @return 求助结果
+     */
+    @Override
+    public CompletableFuture<SosVO> raise(Long userId, Long activityId, SosDTO sosDTO) {
+        long startNanos = System.nanoTime();
+        log.warn("收到SOS求助，用户ID：{}，活动ID：{}", userId, activityId);
+
+        SosDTO request = sosDTO == null ? new SosDTO() : sosDTO;
+        return sosBulkhead.submit(() -> doRaise(userId, activityId, request, startNanos))
+                .whenComplete((vo, ex) -> {
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    sosLatencyTracker.record(millis, ex == null);
+                    if (ex != null) {
+                        log.error("SOS求助处理失败，用户ID：{}，活动ID：{}，耗时：{}ms", userId, activityId, millis, ex);
+                    }
+                });
+    }
+
+    private SosVO doRaise(Long userId, Long activityId, SosDTO request, long startNanos) {
+        JdbcTemplate jdbcTemplate = sosBulkhead.getJdbcTemplate();
+
+        // 1. 一次查询获取活动、昵称和报名状态
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(CONTEXT_SQL,
+                userId, userId, REGISTRATION_STATUS_APPROVED, activityId);
+        if (rows.isEmpty()) {
+            throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
+        }
+        Map<String, Object> context = rows.get(0);
+        Long organizerId = ((Number) context.get("organizer_id")).longValue();
+        String title = (String) context.get("title");
+        String nickname = Objects.toString(context.get("nickname"), "用户" + userId);
+        long registered = ((Number) context.get("registered")).longValue();
+
+        // 2. 校验：组织者本人或已通过报名的参与者
+        if (!organizerId.equals(userId) && registered == 0) {
+            throw new BusinessException(ResultCode.NOT_REGISTERED_FOR_ACTIVITY, "未报名该活动，无法发起求助");
+        }
+
+        // 3. 同一事务写入预警事件和组织者消息
+        LocalDateTime triggerTime = LocalDateTime.now();
+        String description = request.getDescription() == null || request.getDescription().isBlank()
+                ? DEFAULT_DESCRIPTION : request.getDescription();
+        Long alertId = sosBulkhead.getTransactionTemplate().execute(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(INSERT_ALERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                ps.setLong(1, activityId);
+                ps.setLong(2, userId);
+                ps.setInt(3, ALERT_TYPE_SOS);
+                ps.setInt(4, ALERT_LEVEL_SEVERE);
+                setDecimal(ps, 5, request.getLatitude());
+                setDecimal(ps, 6, request.getLongitude());
+                ps.setString(7, description);
+                ps.setTimestamp(8, Timestamp.valueOf(triggerTime));
+                ps.setInt(9, HANDLE_STATUS_PENDING);
+                ps.setLong(10, userId);
+                return ps;
+            }, keyHolder);
+            Long id = Objects.requireNonNull(keyHolder.getKey()).longValue();
+
+            jdbcTemplate.update(INSERT_MESSAGE_SQL,
+                    organizerId,
+                    "【SOS】紧急求助",
+                    buildMessageContent(nickname, title, request, description),
+                    MESSAGE_TYPE_ALERT,
+                    id,
+                    userId);
+            return id;
+        });
+
+        // 4. 通知实时推送渠道和未读计数
+        eventPublisher.publishEvent(UnreadCountChangedEvent.added(organizerId, 1));
+        eventPublisher.publishEvent(new SosRaisedEvent(alertId, activityId, title, userId, nickname, organizerId,
+                request.getLatitude(), request.getLongitude(), description, triggerTime));
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.warn("SOS求助已记录并通知组织者，预警ID：{}，活动ID：{}，组织者ID：{}，耗时：{}ms",
+                alertId, activityId, organizerId, millis);
+
+        return SosVO.builder()
+                .alertId(alertId)
+                .activityId(activityId)
+                .organizerId(organizerId)
+                .triggerTime(triggerTime)
+                .latencyMillis(millis)
+                .build();
+    }
+
+    private String buildMessageContent(String nickname, String title, SosDTO request, String description) {
+        StringBuilder content = new StringBuilder();
+        content.append(nickname).append(" 在活动「").append(title).append("」中发起紧急求助");
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            content.append("，位置：").append(request.getLatitude().toPlainString())
+                    .append(",").append(request.getLongitude().toPlainString());
+        }
+        content.append("。").append(description);
+        return content.length() > MESSAGE_CONTENT_MAX_LENGTH
+                ? content.substring(0, MESSAGE_CONTENT_MAX_LENGTH) : content.toString();
+    }
+
+    private void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DECIMAL);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.hiking.hikingbackend.module.checkin.service.impl;
+
+import com.hiking.hikingbackend.config.TrackFilterProperties;
+import com.hiking.hikingbackend.module.activity.event.ActivityEndedEvent;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.service.TrackFilterService;
+import com.hiking.hikingbackend.module.checkin.service.TrackStatsService;
+import com.hiking.hikingbackend.module.checkin.support.TrackPointFilter;
+import com.hiking.hikingbackend.module.checkin.support.TrackPointFilter.Decision;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 轨迹入库过滤服务实现类
+ * <p>
+ * 每个参与者一个内存过滤器，保存时间水位线和上一保留点；
+ * 过滤器首次创建时以轨迹统计中的最后轨迹时间作为水位线，服务重启后重放的旧点同样会被丢弃；
+ * 过滤在副本上判断，入库事务提交后由 {@link #commit} 重放同一批点推进状态；
+ * 事务进行中到达的重试会再次通过过滤，重复点由轨迹表的 (活动, 用户, 记录时间) 唯一键兜底
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrackFilterServiceImpl implements TrackFilterService {
+
+    private final TrackFilterProperties properties;
+
+    private final TrackStatsService trackStatsService;
+
+    /**
+     * 活动ID -> (用户ID -> 过滤器)
+     */
+    private final Map<Long, Map<Long, TrackPointFilter>> filters = new ConcurrentHashMap<>();
+
+    private final Map<Decision, LongAdder> counters = new EnumMap<>(Decision.class);
+
+    {
+        for (Decision decision : Decision.values()) {
+            counters.put(decision, new LongAdder());
+        }
+    }
+
+    /**
+     * 过滤上报的轨迹点
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 待入库的轨迹记录
+     * @return 保留的轨迹记录
+     */
+    @Override
+    public List<TrackRecord> filter(Long userId, Long activityId, List<TrackRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<TrackRecord> sorted = sortByTime(records);
+        if (!properties.isEnabled()) {
+            counters.get(Decision.KEPT).add(sorted.size());
+            return sorted;
+        }
+
+        // 在副本上判断，事务回滚时过滤器状态不变
+        TrackPointFilter filter = getOrCreateFilter(userId, activityId).copy();
+        List<TrackRecord> kept = new ArrayList<>(sorted.size());
+        int[] dropped = new int[Decision.values().length];
+        for (TrackRecord record : sorted) {
+            Decision decision = filter.accept(record.getLatitude().doubleValue(), record.getLongitude().doubleValue(),
+                    record.getAccuracy(), record.getRecordTime());
+            if (decision == Decision.KEPT) {
+                kept.add(record);
+            } else {
+                dropped[decision.ordinal()]++;
+            }
+        }
+
+        counters.get(Decision.KEPT).add(kept.size());
+        for (Decision decision : Decision.values()) {
+            if (dropped[decision.ordinal()] > 0) {
+                counters.get(decision).add(dropped[decision.ordinal()]);
+            }
+        }
+        log.debug("轨迹过滤完成，用户ID：{}，活动ID：{}，输入点数：{}，保留点数：{}",
+                userId, activityId, sorted.size(), kept.size());
+        return kept;
+    }
+
+    /**
+     * 推进过滤器状态
+     * <p>
+     * 重放同一批点：期间若有并发上报先推进了水位线，重放时这些点按重复处理，水位线只会前移
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 轨迹记录
+     */
+    @Override
+    public void commit(Long userId, Long activityId, List<TrackRecord> records) {
+        if (records == null || records.isEmpty() || !properties.isEnabled()) {
+            return;
+        }
+
+        TrackPointFilter filter = getOrCreateFilter(userId, activityId);
+        for (TrackRecord record : sortByTime(records)) {
+            filter.accept(record.getLatitude().doubleValue(), record.getLongitude().doubleValue(),
+                    record.getAccuracy(), record.getRecordTime());
+        }
+    }
+
+    /**
+     * 获取累计过滤计数
+     *
+     * @return 过滤结果 -> 点数
+     */
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.forEach((decision, counter) -> result.put(decision.name(), counter.sum()));
+        return result;
+    }
+
+    /**
+     * 活动结束：释放该活动的过滤状态
+     *
+     * @param event 活动结束事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onActivityEnded(ActivityEndedEvent event) {
+        filters.remove(event.getActivityId());
+    }
+
+    /**
+     * 定时淘汰空闲过滤器并输出过滤计数
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void evictIdle() {
+        long idleThreshold = System.currentTimeMillis() - Duration.ofMinutes(properties.getIdleEvictMinutes()).toMillis();
+        int evicted = 0;
+        for (Map.Entry<Long, Map<Long, TrackPointFilter>> entry : filters.entrySet()) {
+            Map<Long, TrackPointFilter> activityFilters = entry.getValue();
+            Iterator<Map.Entry<Long, TrackPointFilter>> iterator = activityFilters.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue().getLastTouchedMillis() < idleThreshold) {
+                    iterator.remove();
+                    evicted++;
+                }
+            }
+            if (activityFilters.isEmpty()) {
+                filters.remove(entry.getKey(), activityFilters);
+            }
+        }
+
+        long kept = counters.get(Decision.KEPT).sum();
+        long total = counters.values().stream().mapToLong(LongAdder::sum).sum();
+        if (total > 0) {
+            log.info("轨迹过滤统计，累计输入：{}，保留：{}，过滤率：{}%，明细：{}，淘汰过滤器数：{}",
+                    total, kept, (total - kept) * 100 / total, getCounters(), evicted);
+        }
+    }
+
+    /**
+     * 批内先按时间排序，批内乱序不算重放
+     */
+    private List<TrackRecord> sortByTime(List<TrackRecord> records) {
+        List<TrackRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(TrackRecord::getRecordTime));
+        return sorted;
+    }
+
+    /**
+     * 获取过滤器，不存在时以轨迹统计的最后轨迹时间作为初始水位线
+     */
+    private TrackPointFilter getOrCreateFilter(Long userId, Long activityId) {
+        Map<Long, TrackPointFilter> activityFilters = filters.computeIfAbsent(activityId, id -> new ConcurrentHashMap<>());
+        TrackPointFilter filter = activityFilters.get(userId);
+        if (filter != null) {
+            return filter;
+        }
+
+        TrackPointFilter created = new TrackPointFilter(properties,
+                trackStatsService.getStats(userId, activityId).getLastPointTime());
+        TrackPointFilter existing = activityFilters.putIfAbsent(userId, created);
+        return existing != null ? existing : created;
+    }
+}
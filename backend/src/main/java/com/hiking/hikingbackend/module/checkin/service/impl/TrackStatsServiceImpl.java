@@ -0,0 +1,303 @@
+package com.hiking.hikingbackend.module.checkin.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.config.TrackStatsProperties;
+import com.hiking.hikingbackend.module.activity.entity.Activity;
+import com.hiking.hikingbackend.module.activity.event.ActivityEndedEvent;
+import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.entity.TrackStats;
+import com.hiking.hikingbackend.module.checkin.event.TrackStatsFinalizedEvent;
+import com.hiking.hikingbackend.module.checkin.mapper.TrackStatsMapper;
+import com.hiking.hikingbackend.module.checkin.service.TrackStatsService;
+import com.hiking.hikingbackend.module.checkin.support.TrackStatsAccumulator;
+import com.hiking.hikingbackend.module.checkin.vo.TrackStatsVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 轨迹统计服务实现类
+ * <p>
+ * 活动进行期间，每个参与者的统计值保存在内存累加器中，随轨迹上报增量更新，读取为O(1)；
+ * 累加器每5分钟将有变化的部分批量写入 track_stats，活动结束或长时间无上报时定稿落库并移出内存
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrackStatsServiceImpl implements TrackStatsService {
+
+    private final TrackStatsMapper trackStatsMapper;
+
+    private final ActivityMapper activityMapper;
+
+    private final TrackStatsProperties properties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 活动ID -> (用户ID -> 累加器)
+     */
+    private final Map<Long, Map<Long, TrackStatsAccumulator>> accumulators = new ConcurrentHashMap<>();
+
+    private static final int NOT_FINAL = 0;   // 未定稿
+    private static final int FINAL = 1;       // 已定稿
+
+    private static final int FLUSH_BATCH_SIZE = 200;   // 单条upsert语句最大行数
+
+    /**
+     * 将已入库的轨迹点输入统计累加器
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param records 轨迹记录
+     */
+    @Override
+    public void accept(Long userId, Long activityId, List<TrackRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+
+        List<TrackRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(TrackRecord::getRecordTime));
+
+        TrackStatsAccumulator accumulator = getOrCreateAccumulator(userId, activityId);
+        if (accumulator == null) {
+            log.warn("轨迹统计已定稿，忽略补传轨迹，用户ID：{}，活动ID：{}，点数：{}", userId, activityId, sorted.size());
+            return;
+        }
+        int accepted = 0;
+        for (TrackRecord record : sorted) {
+            if (accumulator.accept(record.getLatitude().doubleValue(), record.getLongitude().doubleValue(),
+                    record.getElevation(), record.getRecordTime())) {
+                accepted++;
+            }
+        }
+        log.debug("轨迹统计累加完成，用户ID：{}，活动ID：{}，输入点数：{}，计入点数：{}",
+                userId, activityId, sorted.size(), accepted);
+    }
+
+    /**
+     * 获取参与者轨迹统计
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @return 轨迹统计
+     */
+    @Override
+    public TrackStatsVO getStats(Long userId, Long activityId) {
+        Map<Long, TrackStatsAccumulator> activityAccumulators = accumulators.get(activityId);
+        TrackStatsAccumulator accumulator = activityAccumulators != null ? activityAccumulators.get(userId) : null;
+        if (accumulator != null) {
+            return convertToVO(accumulator.snapshot(NOT_FINAL));
+        }
+
+        TrackStats stats = selectStats(userId, activityId);
+        if (stats == null) {
+            stats = TrackStats.builder().activityId(activityId).userId(userId).isFinal(NOT_FINAL).build();
+        }
+        return convertToVO(stats);
+    }
+
+    /**
+     * 获取活动所有参与者的轨迹统计（组织者）
+     *
+     * @param organizerId 组织者ID
+     * @param activityId 活动ID
+     * @return 轨迹统计列表
+     */
+    @Override
+    public List<TrackStatsVO> getParticipantsStats(Long organizerId, Long activityId) {
+        // 1. 校验活动与权限
+        Activity activity = activityMapper.selectById(activityId);
+        if (activity == null) {
+            throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
+        }
+        if (!activity.getOrganizerId().equals(organizerId)) {
+            throw new BusinessException(ResultCode.NOT_ACTIVITY_ORGANIZER);
+        }
+
+        // 2. 已落库的汇总打底，内存中较新的值覆盖
+        Map<Long, TrackStats> merged = new LinkedHashMap<>();
+        LambdaQueryWrapper<TrackStats> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(TrackStats::getActivityId, activityId);
+        for (TrackStats stats : trackStatsMapper.selectList(queryWrapper)) {
+            merged.put(stats.getUserId(), stats);
+        }
+
+        Map<Long, TrackStatsAccumulator> activityAccumulators = accumulators.get(activityId);
+        if (activityAccumulators != null) {
+            activityAccumulators.forEach((userId, accumulator) -> merged.put(userId, accumulator.snapshot(NOT_FINAL)));
+        }
+
+        return merged.values().stream().map(this::convertToVO).toList();
+    }
+
+    /**
+     * 活动结束：累加器定稿落库并从内存移除
+     *
+     * @param activityId 活动ID
+     */
+    @Override
+    public void finishActivity(Long activityId) {
+        Map<Long, TrackStatsAccumulator> activityAccumulators = accumulators.remove(activityId);
+
+        List<TrackStats> snapshots = new ArrayList<>();
+        if (activityAccumulators != null) {
+            activityAccumulators.values().forEach(accumulator -> snapshots.add(accumulator.snapshot(FINAL)));
+        }
+        upsert(snapshots);
+
+        // 内存中没有累加器的参与者（已被空闲淘汰）同样标记为定稿
+        LambdaUpdateWrapper<TrackStats> updateWrapper = new LambdaUpdateWrapper<>();
+        updateWrapper.eq(TrackStats::getActivityId, activityId)
+                    .eq(TrackStats::getIsFinal, NOT_FINAL)
+                    .set(TrackStats::getIsFinal, FINAL);
+        trackStatsMapper.update(null, updateWrapper);
+
+        log.info("活动轨迹统计定稿完成，活动ID：{}，内存累加器数：{}", activityId, snapshots.size());
+        eventPublisher.publishEvent(new TrackStatsFinalizedEvent(activityId));
+    }
+
+    /**
+     * 监听活动结束事件
+     *
+     * @param event 活动结束事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onActivityEnded(ActivityEndedEvent event) {
+        finishActivity(event.getActivityId());
+    }
+
+    /**
+     * 定时落库：写入有变化的累加器，淘汰长时间无上报的累加器
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void flush() {
+        long idleThreshold = System.currentTimeMillis() - Duration.ofMinutes(properties.getIdleEvictMinutes()).toMillis();
+        List<TrackStats> snapshots = new ArrayList<>();
+        int evicted = 0;
+
+        for (Map.Entry<Long, Map<Long, TrackStatsAccumulator>> entry : accumulators.entrySet()) {
+            Map<Long, TrackStatsAccumulator> activityAccumulators = entry.getValue();
+            for (TrackStatsAccumulator accumulator : activityAccumulators.values()) {
+                if (accumulator.getLastTouchedMillis() < idleThreshold) {
+                    activityAccumulators.remove(accumulator.getUserId(), accumulator);
+                    evicted++;
+                }
+                TrackStats snapshot = accumulator.snapshotIfDirty(NOT_FINAL);
+                if (snapshot != null) {
+                    snapshots.add(snapshot);
+                }
+            }
+            if (activityAccumulators.isEmpty()) {
+                accumulators.remove(entry.getKey(), activityAccumulators);
+            }
+        }
+
+        upsert(snapshots);
+        if (!snapshots.isEmpty() || evicted > 0) {
+            log.info("轨迹统计定时落库完成，写入数：{}，淘汰数：{}", snapshots.size(), evicted);
+        }
+    }
+
+    /**
+     * 获取累加器，不存在时从已落库的汇总恢复；汇总已定稿时返回null，避免重建后以未定稿覆盖
+     */
+    private TrackStatsAccumulator getOrCreateAccumulator(Long userId, Long activityId) {
+        Map<Long, TrackStatsAccumulator> activityAccumulators =
+                accumulators.computeIfAbsent(activityId, id -> new ConcurrentHashMap<>());
+        TrackStatsAccumulator accumulator = activityAccumulators.get(userId);
+        if (accumulator != null) {
+            return accumulator;
+        }
+
+        TrackStatsAccumulator created = new TrackStatsAccumulator(activityId, userId,
+                properties.getElevationHysteresis(), properties.getMinMovingSpeed(), properties.getMaxSegmentGap());
+        TrackStats persisted = selectStats(userId, activityId);
+        if (persisted != null) {
+            if (persisted.getIsFinal() != null && persisted.getIsFinal() == FINAL) {
+                return null;
+            }
+            created.restore(persisted);
+        }
+
+        TrackStatsAccumulator existing = activityAccumulators.putIfAbsent(userId, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 查询已落库的汇总
+     */
+    private TrackStats selectStats(Long userId, Long activityId) {
+        LambdaQueryWrapper<TrackStats> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(TrackStats::getActivityId, activityId)
+                    .eq(TrackStats::getUserId, userId);
+        return trackStatsMapper.selectOne(queryWrapper);
+    }
+
+    /**
+     * 分批写入汇总
+     */
+    private void upsert(List<TrackStats> snapshots) {
+        for (int from = 0; from < snapshots.size(); from += FLUSH_BATCH_SIZE) {
+            int to = Math.min(from + FLUSH_BATCH_SIZE, snapshots.size());
+            trackStatsMapper.upsertBatch(snapshots.subList(from, to));
+        }
+    }
+
+    /**
+     * 转换为VO，派生配速、平均速度等指标
+     */
+    private TrackStatsVO convertToVO(TrackStats stats) {
+        double distanceMeters = stats.getTotalDistance() != null ? stats.getTotalDistance().doubleValue() : 0;
+        long movingSeconds = stats.getMovingSeconds() != null ? stats.getMovingSeconds() : 0;
+        long elapsedSeconds = stats.getFirstPointTime() != null && stats.getLastPointTime() != null
+                ? Duration.between(stats.getFirstPointTime(), stats.getLastPointTime()).getSeconds()
+                : 0;
+
+        BigDecimal avgPace = null;
+        BigDecimal avgSpeed = null;
+        if (distanceMeters > 0 && movingSeconds > 0) {
+            avgPace = BigDecimal.valueOf((movingSeconds / 60.0) / (distanceMeters / 1000.0)).setScale(2, RoundingMode.HALF_UP);
+            avgSpeed = BigDecimal.valueOf((distanceMeters / 1000.0) / (movingSeconds / 3600.0)).setScale(2, RoundingMode.HALF_UP);
+        }
+
+        return TrackStatsVO.builder()
+                .activityId(stats.getActivityId())
+                .userId(stats.getUserId())
+                .totalDistance(BigDecimal.valueOf(distanceMeters / 1000.0).setScale(2, RoundingMode.HALF_UP))
+                .elevationGain(stats.getElevationGain() != null ? stats.getElevationGain() : 0)
+                .elevationLoss(stats.getElevationLoss() != null ? stats.getElevationLoss() : 0)
+                .movingSeconds(movingSeconds)
+                .elapsedSeconds(elapsedSeconds)
+                .avgPace(avgPace)
+                .avgSpeed(avgSpeed)
+                .maxSpeed(stats.getMaxSpeed() != null ? stats.getMaxSpeed() : BigDecimal.ZERO)
+                .pointCount(stats.getPointCount() != null ? stats.getPointCount() : 0)
+                .firstPointTime(stats.getFirstPointTime())
+                .lastPointTime(stats.getLastPointTime())
+                .isFinal(stats.getIsFinal())
+                .build();
+    }
+}
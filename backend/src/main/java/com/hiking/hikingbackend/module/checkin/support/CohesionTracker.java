@@ -0,0 +1,275 @@
+package com.hiking.hikingbackend.module.checkin.support;
+
+import com.hiking.hikingbackend.config.CohesionProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 单个活动的队伍紧凑度跟踪器
+ * <p>
+ * 每个上报的轨迹点到达时即匹配到路线（参考上一次进度保持连续），更新参与者的进度和偏离距离；定时重算时：
+ * <ol>
+ *   <li>在线且未偏离路线的参与者按进度排序，取中位数进度</li>
+ *   <li>与中位数、收队（组织者）比较，判定掉队、冒进、落后收队等状态</li>
+ * </ol>
+ * 每次重算 O(n log n)，只返回状态发生变化的参与者。所有方法均加锁
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class CohesionTracker {
+
+    /**
+     * 参与者状态
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum Status {
+        NORMAL("正常"),
+        BEHIND("掉队"),
+        AHEAD("冒进"),
+        BEHIND_SWEEPER("落后收队"),
+        OFF_ROUTE("偏离路线"),
+        STALE("信号丢失");
+
+        private final String text;
+
+        /**
+         * 是否为需要提醒组织者的异常状态
+         *
+         * @return true异常
+         */
+        public boolean isAbnormal() {
+            return this != NORMAL;
+        }
+    }
+
+    private final Long activityId;
+
+    private final Long sweeperId;
+
+    private final RouteGeometry geometry;
+
+    private final Map<Long, Participant> participants = new HashMap<>();
+
+    /**
+     * 按进度降序排列的在线参与者（每次重算后更新）
+     */
+    private Participant[] ranking = new Participant[0];
+
+    private double medianProgress;
+
+    private volatile long lastTouchedMillis = System.currentTimeMillis();
+
+    public CohesionTracker(Long activityId, Long sweeperId, RouteGeometry geometry) {
+        this.activityId = activityId;
+        this.sweeperId = sweeperId;
+        this.geometry = geometry;
+    }
+
+    /**
+     * 更新参与者位置并匹配到路线（早于已有位置的点忽略）
+     *
+     * @param userId     用户ID
+     * @param lat        纬度
+     * @param lng        经度
+     * @param recordTime 记录时间
+     */
+    public synchronized void updatePosition(Long userId, double lat, double lng, LocalDateTime recordTime) {
+        lastTouchedMillis = System.currentTimeMillis();
+        Participant participant = participants.computeIfAbsent(userId, Participant::new);
+        if (participant.positionTime != null && !recordTime.isAfter(participant.positionTime)) {
+            return;
+        }
+        RouteGeometry.Projection projection = geometry.project(lat, lng,
+                participant.positionTime != null ? participant.progress : Double.NaN);
+        participant.progress = projection.getProgress();
+        participant.offRouteDistance = projection.getDistance();
+        participant.positionTime = recordTime;
+    }
+
+    /**
+     * 重算进度排名和状态
+     *
+     * @param properties 阈值配置
+     * @param now        当前时间
+     * @return 状态发生变化的参与者
+     */
+    public synchronized List<Transition> recompute(CohesionProperties properties, LocalDateTime now) {
+        // 1. 筛出参与排名的在线参与者
+        List<Participant> ranked = new ArrayList<>(participants.size());
+        for (Participant participant : participants.values()) {
+            participant.stale = Duration.between(participant.positionTime, now).getSeconds() > properties.getStaleSeconds();
+            participant.offRoute = participant.offRouteDistance > properties.getOffRouteDistance();
+            if (!participant.stale && !participant.offRoute) {
+                ranked.add(participant);
+            }
+        }
+
+        // 2. 按进度降序排序，取中位数
+        ranked.sort((a, b) -> Double.compare(b.progress, a.progress));
+        ranking = ranked.toArray(new Participant[0]);
+        int size = ranking.length;
+        medianProgress = size == 0 ? 0
+                : size % 2 == 1 ? ranking[size / 2].progress
+                : (ranking[size / 2 - 1].progress + ranking[size / 2].progress) / 2;
+        for (int i = 0; i < size; i++) {
+            ranking[i].rank = i + 1;
+        }
+
+        Participant sweeper = sweeperId != null ? participants.get(sweeperId) : null;
+        boolean sweeperActive = sweeper != null && !sweeper.stale && !sweeper.offRoute;
+
+        // 3. 判定状态，收集变化
+        List<Transition> transitions = new ArrayList<>();
+        for (Participant participant : participants.values()) {
+            Status status;
+            if (participant.stale) {
+                status = Status.STALE;
+                participant.rank = 0;
+            } else if (participant.offRoute) {
+                status = Status.OFF_ROUTE;
+                participant.rank = 0;
+            } else if (sweeperActive && participant != sweeper
+                    && participant.progress < sweeper.progress - properties.getSweeperTolerance()) {
+                status = Status.BEHIND_SWEEPER;
+            } else if (size >= 2 && medianProgress - participant.progress > properties.getBehindThreshold()) {
+                status = Status.BEHIND;
+            } else if (size >= 2 && participant.progress - medianProgress > properties.getAheadThreshold()) {
+                status = Status.AHEAD;
+            } else {
+                status = Status.NORMAL;
+            }
+
+            if (status != participant.status) {
+                transitions.add(new Transition(participant.userId, participant.status, status,
+                        participant.progress - medianProgress));
+                participant.status = status;
+            }
+        }
+        return transitions;
+    }
+
+    /**
+     * 获取当前所有参与者的快照（在线参与者按进度降序在前）
+     *
+     * @return 参与者快照列表
+     */
+    public synchronized List<ParticipantSnapshot> snapshot() {
+        List<ParticipantSnapshot> result = new ArrayList<>(participants.size());
+        Set<Long> rankedIds = new HashSet<>();
+        for (Participant participant : ranking) {
+            result.add(participant.toSnapshot(medianProgress));
+            rankedIds.add(participant.userId);
+        }
+        for (Participant participant : participants.values()) {
+            if (!rankedIds.contains(participant.userId)) {
+                result.add(participant.toSnapshot(medianProgress));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取单个参与者的快照
+     *
+     * @param userId 用户ID
+     * @return 参与者快照，尚无位置时返回null
+     */
+    public synchronized ParticipantSnapshot snapshot(Long userId) {
+        Participant participant = participants.get(userId);
+        return participant != null ? participant.toSnapshot(medianProgress) : null;
+    }
+
+    public Long getActivityId() {
+        return activityId;
+    }
+
+    public Long getSweeperId() {
+        return sweeperId;
+    }
+
+    public double getRouteLength() {
+        return geometry.getLength();
+    }
+
+    public synchronized double getMedianProgress() {
+        return medianProgress;
+    }
+
+    public long getLastTouchedMillis() {
+        return lastTouchedMillis;
+    }
+
+    /**
+     * 参与者状态变化
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Transition {
+
+        private final Long userId;
+
+        /**
+         * 原状态，首次出现时为空
+         */
+        private final Status from;
+
+        private final Status to;
+
+        /**
+         * 相对中位数的进度差（米），正数为领先
+         */
+        private final double gapToMedian;
+    }
+
+    /**
+     * 参与者快照
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ParticipantSnapshot {
+
+        private final Long userId;
+
+        private final int rank;
+
+        private final double progress;
+
+        private final double gapToMedian;
+
+        private final double offRouteDistance;
+
+        private final Status status;
+
+        private final LocalDateTime positionTime;
+    }
+
+    /**
+     * 参与者内部状态
+     */
+    private static class Participant {
+
+        private final Long userId;
+        private LocalDateTime positionTime;
+        private double progress;
+        private double offRouteDistance;
+        private boolean stale;
+        private boolean offRoute;
+        private int rank;
+        private Status status;
+
+        Participant(Long userId) {
+            this.userId = userId;
+        }
+
+        ParticipantSnapshot toSnapshot(double medianProgress) {
+            return new ParticipantSnapshot(userId, rank, progress, progress - medianProgress,
+                    offRouteDistance, status != null ? status : Status.NORMAL, positionTime);
+        }
+    }
+}
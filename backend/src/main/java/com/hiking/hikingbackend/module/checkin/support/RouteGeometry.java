@@ -0,0 +1,305 @@
+package com.hiking.hikingbackend.module.checkin.support;
+
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路线几何与地图匹配
+ * <p>
+ * 按顺序号排列的路线点构成折线，构建时预先计算：
+ * <ul>
+ *   <li>每个点的累计里程（米）</li>
+ *   <li>以路线中心为原点的局部平面坐标（米）</li>
+ *   <li>线段网格索引：每条线段登记到它经过的网格单元</li>
+ * </ul>
+ * 匹配时从位置所在单元向外逐圈查找线段，已找到的最近距离小于未查找区域的下界即停止，
+ * 通常只需计算几条线段，与路线点数无关；离路线过远时回退为逐段计算。
+ * 距离相差不大的候选线段中优先选择与上一次进度最接近的一条（后退按数倍计算，没有上一次进度时按起点处理），
+ * 避免往返路线、环线交叉处进度来回跳变。构建后不可变，可并发使用
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class RouteGeometry {
+
+    private static final double METERS_PER_DEGREE = GeoDistanceKernel.distance(0, 0, 1, 0);
+
+    /**
+     * 网格单元边长范围（米）
+     */
+    private static final double MIN_CELL_SIZE = 50;
+    private static final double MAX_CELL_SIZE = 500;
+
+
+    /**
+     * 与最近线段的距离差在该范围内的候选线段按进度连续性选择（米）
+     */
+    private static final double MATCH_TOLERANCE = 25;
+
+    /**
+     * 选择候选线段时，进度后退相对前进的代价倍数（徒步通常沿路线前进）
+     */
+    private static final double BACKWARD_PENALTY = 4;
+
+    private final double originLat;
+
+    private final double originLng;
+
+    private final double cosOrigin;
+
+    /**
+     * 路线点的局部平面坐标（米）
+     */
+    private final double[] xs;
+
+    private final double[] ys;
+
+    /**
+     * cumulative[i] 为起点到第 i 个点的里程（米）
+     */
+    private final double[] cumulative;
+
+    private final double cellSize;
+
+    /**
+     * 网格单元键 -> 经过该单元的线段序号（线段 i 连接点 i 与点 i+1）
+     */
+    private final Map<Long, int[]> grid;
+
+    /**
+     * 网格单元范围
+     */
+    private final int minCellX;
+    private final int maxCellX;
+    private final int minCellY;
+    private final int maxCellY;
+
+    /**
+     * 网格查找的最大圈数，超过后查找的单元数多于线段数，回退为逐段计算
+     */
+    private final int maxRing;
+
+    public RouteGeometry(double[] lats, double[] lngs) {
+        if (lats.length < 2 || lats.length != lngs.length) {
+            throw new IllegalArgumentException("路线至少需要两个点");
+        }
+        int n = lats.length;
+
+        // 1. 累计里程
+        this.cumulative = new double[n];
+        double[] segments = new double[n - 1];
+        GeoDistanceKernel.segmentDistances(lats, lngs, n, segments);
+        for (int i = 1; i < n; i++) {
+            cumulative[i] = cumulative[i - 1] + segments[i - 1];
+        }
+
+        // 2. 局部平面坐标
+        double latSum = 0;
+        double lngSum = 0;
+        for (int i = 0; i < n; i++) {
+            latSum += lats[i];
+            lngSum += lngs[i];
+        }
+        this.originLat = latSum / n;
+        this.originLng = lngSum / n;
+        this.cosOrigin = Math.cos(Math.toRadians(originLat));
+        this.xs = new double[n];
+        this.ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = toX(lngs[i]);
+            ys[i] = toY(lats[i]);
+        }
+
+        // 3. 网格索引：单元边长取平均线段长度的两倍，沿线段按四分之一单元采样登记
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, getLength() / (n - 1) * 2));
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        double step = cellSize / 4;
+        for (int i = 0; i < n - 1; i++) {
+            double dx = xs[i + 1] - xs[i];
+            double dy = ys[i + 1] - ys[i];
+            int samples = (int) Math.ceil(Math.sqrt(dx * dx + dy * dy) / step);
+            for (int k = 0; k <= samples; k++) {
+                double t = samples == 0 ? 0 : (double) k / samples;
+                List<Integer> list = cells.computeIfAbsent(
+                        cellKey(cell(xs[i] + t * dx), cell(ys[i] + t * dy)), key -> new ArrayList<>(4));
+                if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                    list.add(i);
+                }
+            }
+        }
+        this.grid = new HashMap<>(cells.size() * 4 / 3 + 1);
+        for (Map.Entry<Long, List<Integer>> entry : cells.entrySet()) {
+            grid.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        double minX = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        this.minCellX = cell(minX);
+        this.maxCellX = cell(maxX);
+        this.minCellY = cell(minY);
+        this.maxCellY = cell(maxY);
+        this.maxRing = Math.max(1, (int) Math.sqrt(n) / 2);
+    }
+
+    /**
+     * 路线总长度（米）
+     *
+     * @return 总长度
+     */
+    public double getLength() {
+        return cumulative[cumulative.length - 1];
+    }
+
+    /**
+     * 将位置匹配到路线上，参考上一次进度保持连续
+     *
+     * @param lat          纬度
+     * @param lng          经度
+     * @param hintProgress 上一次进度（米），NaN表示没有（按起点处理）
+     * @return 匹配结果
+     */
+    public Projection project(double lat, double lng, double hintProgress) {
+        double px = toX(lng);
+        double py = toY(lat);
+        Candidates candidates = new Candidates();
+
+        // 1. 从所在单元逐圈向外查找（只查网格范围内的单元）；
+        //    未登记到已查单元的线段，距离不小于 r*单元边长 - 采样步长/2；圈覆盖整个网格后所有线段均已计算
+        int cx = cell(px);
+        int cy = cell(py);
+        int coverRing = Math.max(Math.max(cx - minCellX, maxCellX - cx), Math.max(cy - minCellY, maxCellY - cy));
+        boolean settled = false;
+        for (int r = 0; r <= maxRing && !settled; r++) {
+            for (int gx = Math.max(cx - r, minCellX); gx <= Math.min(cx + r, maxCellX); gx++) {
+                boolean edgeColumn = gx == cx - r || gx == cx + r;
+                for (int gy = cy - r; gy <= cy + r; gy += edgeColumn ? 1 : 2 * r) {
+                    if (gy < minCellY || gy > maxCellY) {
+                        continue;
+                    }
+                    int[] segmentIndexes = grid.get(cellKey(gx, gy));
+                    if (segmentIndexes != null) {
+                        for (int segment : segmentIndexes) {
+                            candidates.add(segment, px, py);
+                        }
+                    }
+                }
+            }
+            settled = r >= coverRing || candidates.best + MATCH_TOLERANCE <= r * cellSize - cellSize / 8;
+        }
+
+        // 2. 离路线过远，逐段计算
+        if (!settled) {
+            candidates = new Candidates();
+            for (int segment = 0; segment < xs.length - 1; segment++) {
+                candidates.add(segment, px, py);
+            }
+        }
+
+        return candidates.select(Double.isNaN(hintProgress) ? 0 : hintProgress);
+    }
+
+    private double toX(double lng) {
+        return (lng - originLng) * cosOrigin * METERS_PER_DEGREE;
+    }
+
+    private double toY(double lat) {
+        return (lat - originLat) * METERS_PER_DEGREE;
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long cellKey(int gx, int gy) {
+        return ((long) gx << 32) | (gy & 0xffffffffL);
+    }
+
+    /**
+     * 已计算的候选线段
+     */
+    private final class Candidates {
+
+        private double best = Double.MAX_VALUE;
+        private int size;
+        private int[] segments = new int[16];
+        private double[] distances = new double[16];
+        private double[] progresses = new double[16];
+
+        void add(int segment, double px, double py) {
+            double ax = xs[segment] - px;
+            double ay = ys[segment] - py;
+            double dx = xs[segment + 1] - xs[segment];
+            double dy = ys[segment + 1] - ys[segment];
+            double length2 = dx * dx + dy * dy;
+            // 原点在线段上的投影参数，限制在 [0, 1]
+            double t = length2 == 0 ? 0 : Math.max(0, Math.min(1, -(ax * dx + ay * dy) / length2));
+            double qx = ax + t * dx;
+            double qy = ay + t * dy;
+            double distance = Math.sqrt(qx * qx + qy * qy);
+            if (size == segments.length) {
+                segments = Arrays.copyOf(segments, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+                progresses = Arrays.copyOf(progresses, size * 2);
+            }
+            segments[size] = segment;
+            distances[size] = distance;
+            progresses[size] = cumulative[segment] + t * (cumulative[segment + 1] - cumulative[segment]);
+            size++;
+            best = Math.min(best, distance);
+        }
+
+        Projection select(double hintProgress) {
+            int chosen = -1;
+            double chosenCost = Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                if (distances[i] > best + MATCH_TOLERANCE) {
+                    continue;
+                }
+                double delta = progresses[i] - hintProgress;
+                double cost = delta >= 0 ? delta : -delta * BACKWARD_PENALTY;
+                if (cost < chosenCost) {
+                    chosen = i;
+                    chosenCost = cost;
+                }
+            }
+            return new Projection(progresses[chosen], distances[chosen], segments[chosen]);
+        }
+    }
+
+    /**
+     * 匹配结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Projection {
+
+        /**
+         * 沿路线的进度（米）
+         */
+        private final double progress;
+
+        /**
+         * 到路线的距离（米）
+         */
+        private final double distance;
+
+        /**
+         * 匹配到的线段序号（连接第 segment 与 segment+1 个路线点）
+         */
+        private final int segment;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hiking.hikingbackend.module.checkin.support;
+
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.config.SosProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * SOS隔离舱
+ * <p>
+ * SOS求助不与普通请求共享资源：
+ * <ul>
+ *   <li>专用线程池 + 有界队列，不占用Tomcat业务线程</li>
+ *   <li>独立的小型连接池，连接常驻，不受主连接池排队影响</li>
+ * </ul>
+ * 连接池和线程池都不注册为Spring Bean，避免替换默认的数据源和任务执行器。
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+public class SosBulkhead {
+
+    private final HikariDataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor;
+
+    public SosBulkhead(DataSourceProperties dataSourceProperties, SosProperties sosProperties) {
+        // 1. 独立连接池：最小空闲 = 最大连接数，连接常驻
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        this.dataSource.setPoolName("sos-pool");
+        this.dataSource.setMaximumPoolSize(sosProperties.getReservedConnections());
+        this.dataSource.setMinimumIdle(sosProperties.getReservedConnections());
+        this.dataSource.setConnectionTimeout(sosProperties.getConnectionTimeout());
+        this.dataSource.setKeepaliveTime(TimeUnit.MINUTES.toMillis(2));
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // 2. 专用线程池：线程预启动，队列满时直接拒绝
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                sosProperties.getThreads(), sosProperties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sosProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sos-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MAX_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * 应用启动后预热连接池，数据库暂不可用时不影响启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try (Connection ignored = dataSource.getConnection()) {
+            log.info("SOS预留连接池已就绪，连接数：{}", dataSource.getMaximumPoolSize());
+        } catch (Exception e) {
+            log.warn("SOS预留连接池预热失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 在SOS专用线程池中执行任务
+     *
+     * @param task 任务
+     * @param <T>  返回值类型
+     * @return 异步结果
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            log.error("SOS线程池已满，活跃线程：{}，排队：{}", executor.getActiveCount(), executor.getQueue().size());
+            throw new BusinessException(ResultCode.SOS_BUSY);
+        }
+    }
+
+    /**
+     * 预留连接上的JdbcTemplate
+     *
+     * @return JdbcTemplate
+     */
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * 预留连接上的事务模板
+     *
+     * @return TransactionTemplate
+     */
+    public TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+
+    /**
+     * 关闭线程池和连接池
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        dataSource.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.hiking.hikingbackend.module.checkin.support;
+
+import com.hiking.hikingbackend.config.SosProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * SOS处理延迟统计
+ * <p>
+ * 保留最近1024次求助的端到端耗时，定期输出分位数；单次超出延迟目标时立即告警
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SosLatencyTracker {
+
+    private final SosProperties sosProperties;
+
+    private static final int WINDOW = 1024;
+
+    private final long[] samples = new long[WINDOW];
+    private int next;
+    private int size;
+    private long total;
+    private long sloViolations;
+    private long failures;
+
+    /**
+     * 记录一次处理耗时
+     *
+     * @param millis  耗时（毫秒）
+     * @param success 是否成功
+     */
+    public void record(long millis, boolean success) {
+        synchronized (this) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW;
+            size = Math.min(size + 1, WINDOW);
+            total++;
+            if (!success) {
+                failures++;
+            }
+            if (millis > sosProperties.getLatencySlo()) {
+                sloViolations++;
+            }
+        }
+        if (millis > sosProperties.getLatencySlo()) {
+            log.warn("SOS处理超出延迟目标，耗时：{}ms，目标：{}ms", millis, sosProperties.getLatencySlo());
+        }
+    }
+
+    /**
+     * 获取最近窗口内的分位数耗时
+     *
+     * @param percentile 分位（0-100）
+     * @return 耗时（毫秒），无样本时返回0
+     */
+    public long percentile(double percentile) {
+        long[] copy;
+        synchronized (this) {
+            if (size == 0) {
+                return 0;
+            }
+            copy = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile / 100 * copy.length) - 1;
+        return copy[Math.max(0, Math.min(copy.length - 1, index))];
+    }
+
+    /**
+     * 定期输出延迟统计
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void report() {
+        long count;
+        long violations;
+        long failed;
+        synchronized (this) {
+            count = total;
+            violations = sloViolations;
+            failed = failures;
+        }
+        if (count == 0) {
+            return;
+        }
+        log.info("SOS延迟统计，累计：{}，失败：{}，超时：{}，p50：{}ms，p99：{}ms，目标：{}ms",
+                count, failed, violations, percentile(50), percentile(99), sosProperties.getLatencySlo());
+    }
+}
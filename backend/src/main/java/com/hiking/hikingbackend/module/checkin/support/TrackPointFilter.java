@@ -0,0 +1,142 @@
+package com.hiking.hikingbackend.module.checkin.support;
+
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+import com.hiking.hikingbackend.config.TrackFilterProperties;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 轨迹点入库过滤器
+ * <p>
+ * 每个（活动, 用户）一个实例，轨迹点按时间顺序依次判断：
+ * <ol>
+ *   <li>时间水位线：不晚于已处理最新时间的点为重复上报或乱序重放</li>
+ *   <li>精度门限：定位精度差于阈值的点</li>
+ *   <li>漂移：与上一保留点的平均速度超过合理上限（连续多次则视为真实跳变并接受）</li>
+ *   <li>静止抖动：与上一保留点距离在抖动半径内且未到保留间隔</li>
+ * </ol>
+ * 所有方法均加锁，同一用户的并发上报串行处理；
+ * 入库事务内只在 {@link #copy()} 得到的副本上判断，事务提交后再把同一批点重放到原过滤器上推进状态，
+ * 事务回滚时水位线不前移，客户端重试不会被误判为重复
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class TrackPointFilter {
+
+    /**
+     * 过滤结果
+     */
+    public enum Decision {
+        /** 保留 */
+        KEPT,
+        /** 重复时间戳 */
+        DUPLICATE,
+        /** 乱序重放 */
+        OUT_OF_ORDER,
+        /** 精度不足 */
+        LOW_ACCURACY,
+        /** 定位漂移 */
+        OUTLIER,
+        /** 静止抖动 */
+        STATIONARY
+    }
+
+    private final TrackFilterProperties properties;
+
+    private LocalDateTime watermark;
+
+    private boolean hasAnchor;
+
+    private double anchorLat;
+
+    private double anchorLng;
+
+    private LocalDateTime anchorTime;
+
+    private int consecutiveOutliers;
+
+    private volatile long lastTouchedMillis = System.currentTimeMillis();
+
+    public TrackPointFilter(TrackFilterProperties properties, LocalDateTime initialWatermark) {
+        this.properties = properties;
+        this.watermark = initialWatermark;
+    }
+
+    /**
+     * 复制当前过滤状态，副本上的判断不影响本过滤器
+     *
+     * @return 过滤器副本
+     */
+    public synchronized TrackPointFilter copy() {
+        TrackPointFilter copy = new TrackPointFilter(properties, watermark);
+        copy.hasAnchor = hasAnchor;
+        copy.anchorLat = anchorLat;
+        copy.anchorLng = anchorLng;
+        copy.anchorTime = anchorTime;
+        copy.consecutiveOutliers = consecutiveOutliers;
+        return copy;
+    }
+
+    /**
+     * 判断轨迹点是否保留
+     *
+     * @param lat        纬度
+     * @param lng        经度
+     * @param accuracy   定位精度（米），可为空
+     * @param recordTime 记录时间
+     * @return 过滤结果
+     */
+    public synchronized Decision accept(double lat, double lng, Integer accuracy, LocalDateTime recordTime) {
+        lastTouchedMillis = System.currentTimeMillis();
+
+        // 1. 时间水位线
+        if (watermark != null && !recordTime.isAfter(watermark)) {
+            return recordTime.isEqual(watermark) ? Decision.DUPLICATE : Decision.OUT_OF_ORDER;
+        }
+        watermark = recordTime;
+
+        // 2. 精度门限（未上报精度的点不做判断）
+        if (accuracy != null && accuracy > properties.getMaxAccuracy()) {
+            return Decision.LOW_ACCURACY;
+        }
+
+        if (!hasAnchor) {
+            return keep(lat, lng, recordTime);
+        }
+
+        double distance = GeoDistanceKernel.distance(anchorLat, anchorLng, lat, lng);
+        long seconds = Math.max(1, Duration.between(anchorTime, recordTime).getSeconds());
+
+        // 3. 漂移：连续出现多次说明位置确实跳变（如换乘车辆），此时接受新位置
+        if (distance / seconds > properties.getMaxPlausibleSpeed()
+                && ++consecutiveOutliers <= properties.getMaxConsecutiveOutliers()) {
+            return Decision.OUTLIER;
+        }
+
+        // 4. 静止抖动：抖动半径随定位精度放宽
+        double radius = accuracy != null
+                ? Math.max(properties.getStationaryRadius(), accuracy / 2.0)
+                : properties.getStationaryRadius();
+        if (distance < radius && seconds < properties.getStationaryKeepInterval()) {
+            consecutiveOutliers = 0;
+            return Decision.STATIONARY;
+        }
+
+        return keep(lat, lng, recordTime);
+    }
+
+    public long getLastTouchedMillis() {
+        return lastTouchedMillis;
+    }
+
+    private Decision keep(double lat, double lng, LocalDateTime recordTime) {
+        hasAnchor = true;
+        anchorLat = lat;
+        anchorLng = lng;
+        anchorTime = recordTime;
+        consecutiveOutliers = 0;
+        return Decision.KEPT;
+    }
+}
@@ -0,0 +1,216 @@
+package com.hiking.hikingbackend.module.checkin.support;
+
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+import com.hiking.hikingbackend.module.checkin.entity.TrackStats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 轨迹统计累加器
+ * <p>
+ * 每个（活动, 用户）一个实例，轨迹点按时间顺序流式输入，增量维护：
+ * <ul>
+ *   <li>累计距离：相邻两点Haversine距离之和</li>
+ *   <li>爬升/下降：海拔相对参考值变化超过迟滞阈值才计入，过滤气压计/GPS海拔抖动</li>
+ *   <li>移动时间：相邻两点平均速度不低于阈值且间隔不超过上限的时间段之和</li>
+ *   <li>最大速度：移动时间段内的最大平均速度</li>
+ * </ul>
+ * 所有方法均加锁，同一用户的并发上报按到达顺序串行处理；时间不晚于上一点的轨迹点直接忽略
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class TrackStatsAccumulator {
+
+    /**
+     * 计算最大速度时要求的最小时间间隔（秒），避免极短间隔放大定位误差
+     */
+    private static final long MIN_SPEED_SAMPLE_SECONDS = 3;
+
+    /**
+     * 合理的最大移动速度（米/秒），超过视为定位漂移，该段不计入距离
+     */
+    private static final double MAX_PLAUSIBLE_SPEED = 12.0;
+
+    private final Long activityId;
+
+    private final Long userId;
+
+    private final int elevationHysteresis;
+
+    private final double minMovingSpeed;
+
+    private final long maxSegmentGap;
+
+    private double distanceMeters;
+
+    private int elevationGain;
+
+    private int elevationLoss;
+
+    private long movingSeconds;
+
+    private double maxSpeedMps;
+
+    private int pointCount;
+
+    private LocalDateTime firstPointTime;
+
+    private LocalDateTime lastPointTime;
+
+    private boolean hasLastPosition;
+
+    private double lastLat;
+
+    private double lastLng;
+
+    private Integer elevationReference;
+
+    private boolean dirty;
+
+    private volatile long lastTouchedMillis = System.currentTimeMillis();
+
+    public TrackStatsAccumulator(Long activityId, Long userId, int elevationHysteresis,
+                                 double minMovingSpeed, long maxSegmentGap) {
+        this.activityId = activityId;
+        this.userId = userId;
+        this.elevationHysteresis = elevationHysteresis;
+        this.minMovingSpeed = minMovingSpeed;
+        this.maxSegmentGap = maxSegmentGap;
+    }
+
+    /**
+     * 从已落库的汇总恢复累计值（服务重启后继续累加）
+     * <p>
+     * 上一个位置不做恢复，恢复后的第一个点作为新起点
+     *
+     * @param stats 已落库的汇总
+     */
+    public synchronized void restore(TrackStats stats) {
+        this.distanceMeters = stats.getTotalDistance() != null ? stats.getTotalDistance().doubleValue() : 0;
+        this.elevationGain = stats.getElevationGain() != null ? stats.getElevationGain() : 0;
+        this.elevationLoss = stats.getElevationLoss() != null ? stats.getElevationLoss() : 0;
+        this.movingSeconds = stats.getMovingSeconds() != null ? stats.getMovingSeconds() : 0;
+        this.maxSpeedMps = stats.getMaxSpeed() != null ? stats.getMaxSpeed().doubleValue() / 3.6 : 0;
+        this.pointCount = stats.getPointCount() != null ? stats.getPointCount() : 0;
+        this.firstPointTime = stats.getFirstPointTime();
+        this.lastPointTime = stats.getLastPointTime();
+    }
+
+    /**
+     * 输入一个轨迹点
+     *
+     * @param lat        纬度
+     * @param lng        经度
+     * @param elevation  海拔（米，可为空）
+     * @param recordTime 记录时间
+     * @return true已计入，false因乱序/重复被忽略
+     */
+    public synchronized boolean accept(double lat, double lng, Integer elevation, LocalDateTime recordTime) {
+        if (recordTime == null || (lastPointTime != null && !recordTime.isAfter(lastPointTime))) {
+            return false;
+        }
+
+        if (hasLastPosition) {
+            long seconds = Duration.between(lastPointTime, recordTime).getSeconds();
+            double segment = GeoDistanceKernel.distance(lastLat, lastLng, lat, lng);
+            double speed = seconds > 0 ? segment / seconds : 0;
+
+            if (speed <= MAX_PLAUSIBLE_SPEED) {
+                distanceMeters += segment;
+                if (seconds <= maxSegmentGap && speed >= minMovingSpeed) {
+                    movingSeconds += seconds;
+                    if (seconds >= MIN_SPEED_SAMPLE_SECONDS && speed > maxSpeedMps) {
+                        maxSpeedMps = speed;
+                    }
+                }
+            }
+        }
+
+        acceptElevation(elevation);
+
+        if (firstPointTime == null) {
+            firstPointTime = recordTime;
+        }
+        lastPointTime = recordTime;
+        lastLat = lat;
+        lastLng = lng;
+        hasLastPosition = true;
+        pointCount++;
+        dirty = true;
+        lastTouchedMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * 迟滞过滤海拔变化
+     */
+    private void acceptElevation(Integer elevation) {
+        if (elevation == null) {
+            return;
+        }
+        if (elevationReference == null) {
+            elevationReference = elevation;
+            return;
+        }
+        int delta = elevation - elevationReference;
+        if (delta >= elevationHysteresis) {
+            elevationGain += delta;
+            elevationReference = elevation;
+        } else if (-delta >= elevationHysteresis) {
+            elevationLoss += -delta;
+            elevationReference = elevation;
+        }
+    }
+
+    /**
+     * 生成当前累计值的汇总快照
+     *
+     * @param isFinal 是否定稿：0否 1是
+     * @return 汇总实体（未设置主键）
+     */
+    public synchronized TrackStats snapshot(int isFinal) {
+        return TrackStats.builder()
+                .activityId(activityId)
+                .userId(userId)
+                .totalDistance(BigDecimal.valueOf(distanceMeters).setScale(2, RoundingMode.HALF_UP))
+                .elevationGain(elevationGain)
+                .elevationLoss(elevationLoss)
+                .movingSeconds(movingSeconds)
+                .maxSpeed(BigDecimal.valueOf(maxSpeedMps * 3.6).setScale(2, RoundingMode.HALF_UP))
+                .pointCount(pointCount)
+                .firstPointTime(firstPointTime)
+                .lastPointTime(lastPointTime)
+                .isFinal(isFinal)
+                .build();
+    }
+
+    /**
+     * 若自上次落库后有新数据，生成快照并清除脏标记
+     *
+     * @param isFinal 是否定稿：0否 1是
+     * @return 汇总快照，无新数据时返回null
+     */
+    public synchronized TrackStats snapshotIfDirty(int isFinal) {
+        if (!dirty) {
+            return null;
+        }
+        dirty = false;
+        return snapshot(isFinal);
+    }
+
+    public Long getActivityId() {
+        return activityId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getLastTouchedMillis() {
+        return lastTouchedMillis;
+    }
+}
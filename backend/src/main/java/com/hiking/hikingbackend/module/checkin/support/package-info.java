@@ -0,0 +1,17 @@
+/**
+ * 签到模块内存组件包
+ * <p>
+ * 轨迹实时处理与SOS求助相关的内存组件：
+ * <ul>
+ *   <li>TrackStatsAccumulator - 轨迹统计累加器</li>
+ *   <li>TrackPointFilter - 轨迹点入库过滤器</li>
+ *   <li>RouteGeometry - 路线几何与网格索引地图匹配</li>
+ *   <li>CohesionTracker - 活动队伍紧凑度跟踪器</li>
+ *   <li>SosBulkhead - SOS专用线程池与预留连接</li>
+ *   <li>SosLatencyTracker - SOS处理延迟统计</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.checkin.support;
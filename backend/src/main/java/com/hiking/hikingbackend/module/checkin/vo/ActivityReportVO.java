@@ -0,0 +1,61 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 活动报告VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "活动报告")
+public class ActivityReportVO {
+
+    @Schema(description = "活动ID")
+    private Long activityId;
+
+    @Schema(description = "活动标题")
+    private String title;
+
+    @Schema(description = "活动开始时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime startTime;
+
+    @Schema(description = "参与人数")
+    private Integer participantCount;
+
+    @Schema(description = "签到点数")
+    private Integer checkpointCount;
+
+    @Schema(description = "完成全部必签点的人数")
+    private Integer completedCount;
+
+    @Schema(description = "迟到签到次数")
+    private Integer lateCheckInCount;
+
+    @Schema(description = "预警总数")
+    private Integer alertCount;
+
+    @Schema(description = "平均距离（公里）")
+    private BigDecimal avgDistance;
+
+    @Schema(description = "参与者明细")
+    private List<ParticipantReportVO> participants;
+
+    @Schema(description = "报告生成时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime generatedTime;
+}
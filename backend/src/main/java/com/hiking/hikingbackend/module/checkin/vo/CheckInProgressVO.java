@@ -33,6 +33,9 @@ public class CheckInProgressVO {
     @Schema(description = "签到进度（百分比）")
     private Integer progress;
 
+    @Schema(description = "沿路线的实时进度（轨迹点匹配到路线得到，连续变化），尚无位置上报时为空")
+    private ParticipantProgressVO routeProgress;
+
     @Schema(description = "签到点列表")
     private List<CheckInStatusVO> checkpointStatusList;
 }
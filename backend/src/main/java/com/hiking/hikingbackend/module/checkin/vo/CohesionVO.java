@@ -0,0 +1,42 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 队伍紧凑度VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "队伍紧凑度")
+public class CohesionVO {
+
+    @Schema(description = "活动ID")
+    private Long activityId;
+
+    @Schema(description = "路线总长度（米）")
+    private BigDecimal routeLength;
+
+    @Schema(description = "中位数进度（米）")
+    private BigDecimal medianProgress;
+
+    @Schema(description = "收队用户ID（组织者）")
+    private Long sweeperId;
+
+    @Schema(description = "异常人数")
+    private Integer abnormalCount;
+
+    @Schema(description = "参与者进度（在线者按进度降序）")
+    private List<ParticipantProgressVO> participants;
+}
@@ -0,0 +1,56 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 参与者路线进度VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "参与者路线进度")
+public class ParticipantProgressVO {
+
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @Schema(description = "昵称")
+    private String nickname;
+
+    @Schema(description = "排名（按进度，偏离路线或信号丢失时为0）")
+    private Integer rank;
+
+    @Schema(description = "沿路线进度（米）")
+    private BigDecimal progress;
+
+    @Schema(description = "进度百分比")
+    private BigDecimal progressPercent;
+
+    @Schema(description = "相对中位数的进度差（米），正数为领先")
+    private BigDecimal gapToMedian;
+
+    @Schema(description = "偏离路线距离（米）")
+    private BigDecimal offRouteDistance;
+
+    @Schema(description = "状态：NORMAL正常 BEHIND掉队 AHEAD冒进 BEHIND_SWEEPER落后收队 OFF_ROUTE偏离路线 STALE信号丢失")
+    private String status;
+
+    @Schema(description = "状态描述")
+    private String statusText;
+
+    @Schema(description = "最新位置时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime positionTime;
+}
@@ -0,0 +1,60 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 活动报告中的参与者明细VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "参与者报告")
+public class ParticipantReportVO {
+
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @Schema(description = "昵称")
+    private String nickname;
+
+    @Schema(description = "已签到点数")
+    private Integer checkedInCount;
+
+    @Schema(description = "是否完成全部必签点：0否 1是")
+    private Integer completed;
+
+    @Schema(description = "累计迟到（分钟）")
+    private Long totalLateMinutes;
+
+    @Schema(description = "最大迟到（分钟）")
+    private Long maxLateMinutes;
+
+    @Schema(description = "累计距离（公里）", example = "8.52")
+    private BigDecimal totalDistance;
+
+    @Schema(description = "累计爬升（米）", example = "520")
+    private Integer elevationGain;
+
+    @Schema(description = "累计下降（米）", example = "498")
+    private Integer elevationLoss;
+
+    @Schema(description = "移动时间（秒）", example = "10800")
+    private Long movingSeconds;
+
+    @Schema(description = "签到时间线（按签到点顺序）")
+    private List<ReportCheckInVO> timeline;
+
+    @Schema(description = "预警记录（按触发时间）")
+    private List<ReportAlertVO> alerts;
+}
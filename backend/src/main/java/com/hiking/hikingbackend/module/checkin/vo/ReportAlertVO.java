@@ -0,0 +1,43 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 活动报告中的预警记录VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "预警记录")
+public class ReportAlertVO {
+
+    @Schema(description = "预警ID")
+    private Long alertId;
+
+    @Schema(description = "预警类型：1偏离路线 2严重偏离 3长时间静止 4超时未签到 5失联 6SOS求助")
+    private Integer alertType;
+
+    @Schema(description = "预警级别：1警告 2严重")
+    private Integer alertLevel;
+
+    @Schema(description = "预警描述")
+    private String description;
+
+    @Schema(description = "触发时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime triggerTime;
+
+    @Schema(description = "处理状态：0未处理 1处理中 2已处理 3已忽略")
+    private Integer handleStatus;
+}
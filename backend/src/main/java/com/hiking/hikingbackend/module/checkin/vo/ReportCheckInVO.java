@@ -0,0 +1,50 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 活动报告中的签到点时间线VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "签到时间线条目")
+public class ReportCheckInVO {
+
+    @Schema(description = "签到点ID")
+    private Long checkpointId;
+
+    @Schema(description = "签到点名称")
+    private String checkpointName;
+
+    @Schema(description = "签到点顺序")
+    private Integer sequence;
+
+    @Schema(description = "是否必签：0否 1是")
+    private Integer isRequired;
+
+    @Schema(description = "预计到达时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime expectedTime;
+
+    @Schema(description = "签到时间，未签到为空")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime checkInTime;
+
+    @Schema(description = "签到状态：1正常 2迟到 3补签，未签到为空")
+    private Integer status;
+
+    @Schema(description = "迟到分钟数（相对预计到达时间，提前或准时为0）")
+    private Long lateMinutes;
+}
@@ -0,0 +1,40 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * SOS求助结果VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "SOS求助结果")
+public class SosVO {
+
+    @Schema(description = "预警事件ID")
+    private Long alertId;
+
+    @Schema(description = "活动ID")
+    private Long activityId;
+
+    @Schema(description = "组织者ID")
+    private Long organizerId;
+
+    @Schema(description = "触发时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime triggerTime;
+
+    @Schema(description = "服务端处理耗时（毫秒）")
+    private Long latencyMillis;
+}
@@ -0,0 +1,69 @@
+package com.hiking.hikingbackend.module.checkin.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 参与者轨迹统计VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "参与者轨迹统计")
+public class TrackStatsVO {
+
+    @Schema(description = "活动ID")
+    private Long activityId;
+
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @Schema(description = "累计距离（公里）", example = "8.52")
+    private BigDecimal totalDistance;
+
+    @Schema(description = "累计爬升（米）", example = "520")
+    private Integer elevationGain;
+
+    @Schema(description = "累计下降（米）", example = "498")
+    private Integer elevationLoss;
+
+    @Schema(description = "移动时间（秒）", example = "10800")
+    private Long movingSeconds;
+
+    @Schema(description = "总用时（秒，首末轨迹点间隔）", example = "14400")
+    private Long elapsedSeconds;
+
+    @Schema(description = "平均配速（分钟/公里，按移动时间计算）", example = "21.13")
+    private BigDecimal avgPace;
+
+    @Schema(description = "平均移动速度（km/h）", example = "2.84")
+    private BigDecimal avgSpeed;
+
+    @Schema(description = "最大速度（km/h）", example = "6.30")
+    private BigDecimal maxSpeed;
+
+    @Schema(description = "参与统计的轨迹点数")
+    private Integer pointCount;
+
+    @Schema(description = "第一个轨迹点时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime firstPointTime;
+
+    @Schema(description = "最后一个轨迹点时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime lastPointTime;
+
+    @Schema(description = "是否已定稿（活动已结束）：0否 1是")
+    private Integer isFinal;
+}
@@ -3,8 +3,11 @@ package com.hiking.hikingbackend.module.message.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.hiking.hikingbackend.common.result.Result;
 import com.hiking.hikingbackend.common.utils.SecurityUtils;
+import com.hiking.hikingbackend.module.message.dto.MessageCursorQuery;
 import com.hiking.hikingbackend.module.message.dto.MessageQuery;
+import com.hiking.hikingbackend.module.message.service.MessagePushService;
 import com.hiking.hikingbackend.module.message.service.MessageService;
+import com.hiking.hikingbackend.module.message.vo.MessageCursorPageVO;
 import com.hiking.hikingbackend.module.message.vo.MessageVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +16,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * 消息控制器
@@ -29,6 +33,8 @@ public class MessageController {
 
     private final MessageService messageService;
 
+    private final MessagePushService messagePushService;
+
     /**
      * 获取我的消息列表（需登录）
      * 需要校验：用户已登录
@@ -50,6 +56,46 @@ public class MessageController {
         return Result.success(page);
     }
 
+    /**
+     * 游标方式获取我的消息列表（需登录）
+     * 需要校验：用户已登录
+     *
+     * @param query 查询条件
+     * @return 游标分页结果
+     */
+    @Operation(summary = "我的消息列表（游标分页）", description = "按创建时间倒序滚动加载当前用户的消息，支持只看未读和按类型筛选，需要登录")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/user/messages/feed")
+    public Result<MessageCursorPageVO> getMyMessagesByCursor(MessageCursorQuery query) {
+        // 获取当前用户ID
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        return Result.success(messageService.getMyMessagesByCursor(userId, query));
+    }
+
+    /**
+     * 订阅消息实时推送（需登录）
+     * 需要校验：用户已登录
+     *
+     * @return SSE连接
+     */
+    @Operation(summary = "订阅消息推送", description = "SSE长连接，推送新消息（message）、未读数（unread）、紧急求助（sos）和队伍状态变化（cohesion）事件；"
+            + "浏览器 EventSource 无法设置请求头时可通过 token 参数传递JWT，需要登录")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/user/messages/stream")
+    public SseEmitter subscribe() {
+        // 获取当前用户ID
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        return messagePushService.subscribe(userId);
+    }
+
     /**
      * 标记消息已读（需登录）
      * 需要校验：当前用户是消息接收者
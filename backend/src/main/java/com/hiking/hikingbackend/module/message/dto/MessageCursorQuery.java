@@ -0,0 +1,27 @@
+package com.hiking.hikingbackend.module.message.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 消息游标查询条件DTO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Schema(description = "消息游标查询条件")
+public class MessageCursorQuery {
+
+    @Schema(description = "游标，取上一页返回的 nextCursor，首页不传", example = "1735041600_1024")
+    private String cursor;
+
+    @Schema(description = "每页大小（最大50）", example = "20")
+    private Integer pageSize = 20;
+
+    @Schema(description = "消息类型：1系统通知 2报名通知 3活动通知 4预警通知", example = "1")
+    private Integer messageType;
+
+    @Schema(description = "是否只看未读", example = "false")
+    private Boolean unreadOnly = false;
+}
@@ -0,0 +1,27 @@
+package com.hiking.hikingbackend.module.message.event;
+
+import com.hiking.hikingbackend.module.message.entity.Message;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 消息写入事件
+ * <p>
+ * 通知写入线程批量写入消息后发布，实时推送渠道据此向在线的接收人推送
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MessageCreatedEvent {
+
+    /**
+     * 已写入的消息（含ID和创建时间）
+     */
+    private final List<Message> messages;
+}
@@ -0,0 +1,102 @@
+package com.hiking.hikingbackend.module.message.event;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 站内通知事件
+ * <p>
+ * 业务方只描述“通知谁、通知什么”，事务提交后进入通知队列，由后台写入线程解析接收人并批量写入消息，
+ * 不阻塞发布请求。接收人为显式用户列表，或按活动报名情况解析。
+ * 配置了合并窗口的消息类型，同一接收人、同一关联业务、同一合并键在窗口内的多条通知合并为一条摘要
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@Builder
+@ToString
+public class NotificationEvent {
+
+    /**
+     * 接收人范围
+     */
+    public enum Audience {
+        /**
+         * 显式指定的用户
+         */
+        USERS,
+        /**
+         * 活动报名已通过的参与者
+         */
+        APPROVED_PARTICIPANTS,
+        /**
+         * 活动报名待审核、已通过、候补中的报名者
+         */
+        ACTIVE_REGISTRANTS
+    }
+
+    /**
+     * 接收人范围
+     */
+    @Builder.Default
+    private final Audience audience = Audience.USERS;
+
+    /**
+     * 接收用户ID（范围为 USERS 时）
+     */
+    private final List<Long> userIds;
+
+    /**
+     * 活动ID（按报名解析接收人时）
+     */
+    private final Long activityId;
+
+    /**
+     * 消息类型：1系统通知 2报名通知 3活动通知 4预警通知
+     */
+    private final Integer messageType;
+
+    /**
+     * 消息标题
+     */
+    private final String title;
+
+    /**
+     * 消息内容，超长时截断
+     */
+    private final String content;
+
+    /**
+     * 关联业务ID
+     */
+    private final Long relatedId;
+
+    /**
+     * 关联业务类型
+     */
+    private final String relatedType;
+
+    /**
+     * 发送人ID（写入 create_by），系统发送时为空
+     */
+    private final Long senderId;
+
+    /**
+     * 合并键，标识同一类业务事件（如 registration.submitted）；只有合并键相同的通知才会合并，为空时不合并
+     */
+    private final String coalesceKey;
+
+    /**
+     * 合并为摘要时的标题，{count} 替换为合并条数；为空时使用最后一条的标题
+     */
+    private final String digestTitle;
+
+    /**
+     * 合并为摘要时的内容，{count} 替换为合并条数；为空时在最后一条内容后附加条数
+     */
+    private final String digestContent;
+}
@@ -0,0 +1,27 @@
+package com.hiking.hikingbackend.module.message.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * 其他节点未读数变化事件
+ * <p>
+ * 未读计数同步任务发现其他节点变更过的用户并失效本地计数后发布，
+ * 实时推送渠道据此向连接在本节点的用户推送最新未读数
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RemoteUnreadChangedEvent {
+
+    /**
+     * 未读数在其他节点发生变化的用户ID
+     */
+    private final Set<Long> userIds;
+}
@@ -0,0 +1,66 @@
+package com.hiking.hikingbackend.module.message.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 未读消息数变化事件
+ * <p>
+ * 写入消息、标记已读后发布，未读计数器在事务提交后（无事务时立即）更新本地计数并通知其他节点
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UnreadCountChangedEvent {
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 未读数增量，清零时忽略
+     */
+    private final int delta;
+
+    /**
+     * 是否清零（全部已读）
+     */
+    private final boolean reset;
+
+    /**
+     * 新增未读消息
+     *
+     * @param userId 接收用户ID
+     * @param count  新增条数
+     * @return 事件
+     */
+    public static UnreadCountChangedEvent added(Long userId, int count) {
+        return new UnreadCountChangedEvent(userId, count, false);
+    }
+
+    /**
+     * 消息标记已读
+     *
+     * @param userId 用户ID
+     * @param count  已读条数
+     * @return 事件
+     */
+    public static UnreadCountChangedEvent read(Long userId, int count) {
+        return new UnreadCountChangedEvent(userId, -count, false);
+    }
+
+    /**
+     * 全部标记已读
+     *
+     * @param userId 用户ID
+     * @return 事件
+     */
+    public static UnreadCountChangedEvent cleared(Long userId) {
+        return new UnreadCountChangedEvent(userId, 0, true);
+    }
+}
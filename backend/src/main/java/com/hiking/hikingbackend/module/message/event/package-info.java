@@ -0,0 +1,15 @@
+/**
+ * 消息事件包
+ * <p>
+ * 消息相关事件：
+ * <ul>
+ *   <li>MessageCreatedEvent - 消息写入事件</li>
+ *   <li>NotificationEvent - 站内通知事件</li>
+ *   <li>RemoteUnreadChangedEvent - 其他节点未读数变化事件</li>
+ *   <li>UnreadCountChangedEvent - 未读消息数变化事件</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.message.event;
@@ -2,7 +2,16 @@ package com.hiking.hikingbackend.module.message.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.hiking.hikingbackend.module.message.entity.Message;
+import com.hiking.hikingbackend.module.message.support.MessageChunk;
+import com.hiking.hikingbackend.module.message.support.UnreadChange;
+import com.hiking.hikingbackend.module.message.support.UserUnreadCount;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 消息Mapper接口
@@ -12,5 +21,109 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface MessageMapper extends BaseMapper<Message> {
-}
 
+    /**
+     * 批量插入消息
+     *
+     * @param list 消息列表
+     * @return 影响行数
+     */
+    int insertBatch(@Param("list") List<Message> list);
+
+    /**
+     * 按 (create_time, id) 游标倒序查询用户消息
+     * <p>
+     * 全部消息走 idx_user_time，只看未读走 idx_user_read_time，每页一次索引范围扫描
+     *
+     * @param userId      用户ID
+     * @param unreadOnly  是否只查未读
+     * @param messageType 消息类型，为空时不限
+     * @param cursorTime  游标创建时间，首页为空
+     * @param cursorId    游标消息ID，首页为空
+     * @param limit       查询条数
+     * @return 消息列表
+     */
+    List<Message> selectPageBefore(@Param("userId") Long userId,
+                                   @Param("unreadOnly") boolean unreadOnly,
+                                   @Param("messageType") Integer messageType,
+                                   @Param("cursorTime") LocalDateTime cursorTime,
+                                   @Param("cursorId") Long cursorId,
+                                   @Param("limit") int limit);
+
+    /**
+     * 批量统计用户未读消息数（没有未读消息的用户不返回）
+     *
+     * @param userIds 用户ID
+     * @return 未读消息数
+     */
+    List<UserUnreadCount> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 批量记录未读数变更（供其他节点失效本地计数）
+     *
+     * @param nodeId  本节点ID
+     * @param userIds 用户ID
+     * @return 影响行数
+     */
+    int insertUnreadChanges(@Param("nodeId") String nodeId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 查询最近一段时间的未读数变更
+     *
+     * @param seconds 时间窗口（秒）
+     * @return 变更记录
+     */
+    List<UnreadChange> selectRecentUnreadChanges(@Param("seconds") int seconds);
+
+    /**
+     * 删除过期的未读数变更记录
+     *
+     * @param minutes 保留时长（分钟）
+     * @return 影响行数
+     */
+    int deleteUnreadChangesBefore(@Param("minutes") int minutes);
+
+    /**
+     * 查询 fromId 之后按主键顺序的一个区间（只走主键）
+     *
+     * @param fromId    起始ID（不含）
+     * @param chunkSize 区间行数
+     * @return 区间信息，没有更多行时 rowCount 为0
+     */
+    MessageChunk selectChunk(@Param("fromId") long fromId, @Param("chunkSize") int chunkSize);
+
+    /**
+     * 把主键区间内已读且过期的消息复制到归档表
+     *
+     * @param fromId        起始ID（不含）
+     * @param toId          结束ID（含）
+     * @param cutoffs       各消息类型的过期时间点
+     * @param defaultCutoff 其他类型的过期时间点
+     * @return 影响行数
+     */
+    int archiveExpired(@Param("fromId") long fromId, @Param("toId") long toId,
+                       @Param("cutoffs") Map<Integer, LocalDateTime> cutoffs,
+                       @Param("defaultCutoff") LocalDateTime defaultCutoff);
+
+    /**
+     * 删除主键区间内已复制到归档表的消息
+     *
+     * @param fromId 起始ID（不含）
+     * @param toId   结束ID（含）
+     * @return 影响行数
+     */
+    int deleteArchived(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * 删除主键区间内已读且过期的消息
+     *
+     * @param fromId        起始ID（不含）
+     * @param toId          结束ID（含）
+     * @param cutoffs       各消息类型的过期时间点
+     * @param defaultCutoff 其他类型的过期时间点
+     * @return 影响行数
+     */
+    int deleteExpired(@Param("fromId") long fromId, @Param("toId") long toId,
+                      @Param("cutoffs") Map<Integer, LocalDateTime> cutoffs,
+                      @Param("defaultCutoff") LocalDateTime defaultCutoff);
+}
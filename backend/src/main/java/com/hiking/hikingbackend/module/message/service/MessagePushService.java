@@ -0,0 +1,22 @@
+package com.hiking.hikingbackend.module.message.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 消息实时推送服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface MessagePushService {
+
+    /**
+     * 订阅当前用户的实时推送
+     * <p>
+     * 推送事件：message 新消息，unread 未读数（连接建立时先推送一次），sos 紧急求助，cohesion 队伍状态变化
+     *
+     * @param userId 用户ID
+     * @return SSE连接
+     */
+    SseEmitter subscribe(Long userId);
+}
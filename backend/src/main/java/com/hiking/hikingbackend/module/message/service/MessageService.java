@@ -1,7 +1,9 @@
 package com.hiking.hikingbackend.module.message.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.hiking.hikingbackend.module.message.dto.MessageCursorQuery;
 import com.hiking.hikingbackend.module.message.dto.MessageQuery;
+import com.hiking.hikingbackend.module.message.vo.MessageCursorPageVO;
 import com.hiking.hikingbackend.module.message.vo.MessageVO;
 
 /**
@@ -21,6 +23,15 @@ public interface MessageService {
      */
     IPage<MessageVO> getMyMessages(Long userId, MessageQuery query);
 
+    /**
+     * 获取我的消息列表（游标分页，适用于移动端下拉加载）
+     *
+     * @param userId 用户ID
+     * @param query 查询条件
+     * @return 游标分页结果
+     */
+    MessageCursorPageVO getMyMessagesByCursor(Long userId, MessageCursorQuery query);
+
     /**
      * 标记消息已读
      *
@@ -0,0 +1,22 @@
+package com.hiking.hikingbackend.module.message.service;
+
+import com.hiking.hikingbackend.module.message.event.NotificationEvent;
+
+/**
+ * 站内通知服务接口
+ * <p>
+ * 业务方一般发布 {@link NotificationEvent}，事务提交后自动提交到通知队列；无事务的后台任务也可直接调用
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface NotificationService {
+
+    /**
+     * 提交通知到队列（不阻塞）
+     *
+     * @param notification 通知
+     * @return 是否成功入队，队列已满时返回false
+     */
+    boolean submit(NotificationEvent notification);
+}
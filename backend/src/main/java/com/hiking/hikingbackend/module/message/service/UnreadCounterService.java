@@ -0,0 +1,31 @@
+package com.hiking.hikingbackend.module.message.service;
+
+/**
+ * 未读消息计数服务接口
+ * <p>
+ * 按用户缓存未读消息数，写入消息和标记已读通过
+ * {@link com.hiking.hikingbackend.module.message.event.UnreadCountChangedEvent} 增减计数
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface UnreadCounterService {
+
+    /**
+     * 获取未读消息数（未缓存时统计并缓存）
+     *
+     * @param userId 用户ID
+     * @return 未读数量
+     */
+    long getUnreadCount(Long userId);
+
+    /**
+     * 写出本节点变更，失效其他节点变更过的计数
+     */
+    void sync();
+
+    /**
+     * 重新统计所有已缓存用户的未读数
+     */
+    void reconcile();
+}
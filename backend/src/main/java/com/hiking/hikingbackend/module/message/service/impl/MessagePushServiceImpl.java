@@ -0,0 +1,213 @@
+package com.hiking.hikingbackend.module.message.service.impl;
+
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.config.MessagePushProperties;
+import com.hiking.hikingbackend.module.checkin.event.CohesionChangedEvent;
+import com.hiking.hikingbackend.module.checkin.event.SosRaisedEvent;
+import com.hiking.hikingbackend.module.message.entity.Message;
+import com.hiking.hikingbackend.module.message.event.MessageCreatedEvent;
+import com.hiking.hikingbackend.module.message.event.RemoteUnreadChangedEvent;
+import com.hiking.hikingbackend.module.message.event.UnreadCountChangedEvent;
+import com.hiking.hikingbackend.module.message.service.MessagePushService;
+import com.hiking.hikingbackend.module.message.service.UnreadCounterService;
+import com.hiking.hikingbackend.module.message.support.MessagePushRegistry;
+import com.hiking.hikingbackend.module.message.vo.MessagePushVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 消息实时推送服务实现类
+ * <p>
+ * 监听消息写入、未读数变化、SOS求助和队伍状态变化事件，接收人在本节点在线时把事件放入其连接的待发队列，
+ * 由注册表的发送线程池写出：发布方（包括SOS专用线程）只做一次连接表查询和入队，不等待网络写出，也不访问数据库；
+ * 需要查询未读数的推送先交给单个准备线程。
+ * 多节点部署时每个节点只推送本节点上的连接：其他节点写入的消息正文不会推送到本节点，
+ * 但未读计数同步发现其他节点的变化后会向本节点在线用户推送最新未读数，客户端收到未读数变化时刷新消息列表；
+ * 推送只是加速通道，客户端仍需保留低频轮询兜底（连接被拒绝、慢连接被关闭或推送被丢弃时）
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessagePushServiceImpl implements MessagePushService {
+
+    private static final String EVENT_MESSAGE = "message";    // 新消息
+    private static final String EVENT_UNREAD = "unread";      // 未读数
+    private static final String EVENT_SOS = "sos";            // 紧急求助
+    private static final String EVENT_COHESION = "cohesion";  // 队伍状态变化
+
+    private final MessagePushRegistry registry;
+
+    private final UnreadCounterService unreadCounterService;
+
+    private final MessagePushProperties properties;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "message-push-prepare");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 订阅当前用户的实时推送
+     *
+     * @param userId 用户ID
+     * @return SSE连接
+     */
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = registry.register(userId);
+        if (emitter == null) {
+            throw new BusinessException(ResultCode.SYSTEM_BUSY, "推送连接数已满，请稍后重试");
+        }
+        dispatch(() -> registry.send(userId, EVENT_UNREAD, unreadCounterService.getUnreadCount(userId)));
+        log.debug("用户订阅消息推送，用户ID：{}，本节点连接数：{}", userId, registry.size());
+        return emitter;
+    }
+
+    /**
+     * 新消息写入后推送给在线的接收人
+     *
+     * @param event 消息写入事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMessageCreated(MessageCreatedEvent event) {
+        List<Message> online = new ArrayList<>();
+        for (Message message : event.getMessages()) {
+            if (registry.isConnected(message.getUserId())) {
+                online.add(message);
+            }
+        }
+        if (online.isEmpty()) {
+            return;
+        }
+        for (Message message : online) {
+            registry.send(message.getUserId(), EVENT_MESSAGE, MessagePushVO.builder()
+                    .id(message.getId())
+                    .title(message.getTitle())
+                    .content(message.getContent())
+                    .messageType(message.getMessageType())
+                    .relatedId(message.getRelatedId())
+                    .relatedType(message.getRelatedType())
+                    .createTime(message.getCreateTime())
+                    .build());
+        }
+    }
+
+    /**
+     * 未读数变化后推送最新未读数（计数已先于本监听更新）
+     *
+     * @param event 未读消息数变化事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        pushUnreadCount(event.getUserId());
+    }
+
+    /**
+     * 其他节点的未读数变化推送给连接在本节点的用户（本地计数已失效，重新统计）
+     *
+     * @param event 其他节点未读数变化事件
+     */
+    @EventListener
+    public void onRemoteUnreadChanged(RemoteUnreadChangedEvent event) {
+        for (Long userId : event.getUserIds()) {
+            pushUnreadCount(userId);
+        }
+    }
+
+    /**
+     * SOS求助推送给组织者（在SOS专用线程上调用，只入队）
+     *
+     * @param event SOS求助事件
+     */
+    @EventListener
+    public void onSosRaised(SosRaisedEvent event) {
+        if (registry.isConnected(event.getOrganizerId())) {
+            registry.send(event.getOrganizerId(), EVENT_SOS, event);
+        }
+    }
+
+    /**
+     * 队伍状态变化推送给组织者
+     *
+     * @param event 队伍紧凑度变化事件
+     */
+    @EventListener
+    public void onCohesionChanged(CohesionChangedEvent event) {
+        if (event.getOrganizerId() != null && registry.isConnected(event.getOrganizerId())) {
+            registry.send(event.getOrganizerId(), EVENT_COHESION, event);
+        }
+    }
+
+    /**
+     * 定期发送心跳（只入队，由发送线程写出）
+     */
+    @Scheduled(fixedDelayString = "${hiking.message-push.heartbeat-millis:25000}",
+            initialDelayString = "${hiking.message-push.heartbeat-millis:25000}")
+    public void heartbeat() {
+        int sent = registry.heartbeat();
+        log.debug("消息推送心跳完成，心跳连接数：{}，累计丢弃推送：{}，累计关闭慢连接：{}",
+                sent, dropped.get(), registry.getSlowClosed());
+    }
+
+    /**
+     * 在线用户推送最新未读数（统计可能访问数据库，交给准备线程）
+     */
+    private void pushUnreadCount(Long userId) {
+        if (registry.isConnected(userId)) {
+            dispatch(() -> registry.send(userId, EVENT_UNREAD, unreadCounterService.getUnreadCount(userId)));
+        }
+    }
+
+    /**
+     * 交给准备线程执行，队列满时丢弃
+     */
+    private void dispatch(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("消息推送失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("推送队列已满，推送被丢弃，累计丢弃：{}", dropped.incrementAndGet());
+        }
+    }
+}
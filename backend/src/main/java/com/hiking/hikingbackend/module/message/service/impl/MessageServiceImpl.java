@@ -6,17 +6,25 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.hiking.hikingbackend.common.exception.BusinessException;
 import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.module.message.dto.MessageCursorQuery;
 import com.hiking.hikingbackend.module.message.dto.MessageQuery;
 import com.hiking.hikingbackend.module.message.entity.Message;
+import com.hiking.hikingbackend.module.message.event.UnreadCountChangedEvent;
 import com.hiking.hikingbackend.module.message.mapper.MessageMapper;
 import com.hiking.hikingbackend.module.message.service.MessageService;
+import com.hiking.hikingbackend.module.message.service.UnreadCounterService;
+import com.hiking.hikingbackend.module.message.vo.MessageCursorPageVO;
 import com.hiking.hikingbackend.module.message.vo.MessageVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 
 /**
  * 消息服务实现类
@@ -31,8 +39,15 @@ public class MessageServiceImpl implements MessageService {
 
     private final MessageMapper messageMapper;
 
+    private final UnreadCounterService unreadCounterService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     private static final int MESSAGE_READ = 1;        // 已读
     private static final int MESSAGE_UNREAD = 0;      // 未读
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 20; // 游标分页默认大小
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;     // 游标分页最大大小
+    private static final String CURSOR_SEPARATOR = "_";     // 游标分隔符
 
     /**
      * 获取我的消息列表（分页）
@@ -59,8 +74,8 @@ public class MessageServiceImpl implements MessageService {
             queryWrapper.eq(Message::getIsRead, query.getIsRead());
         }
         
-        // 按创建时间倒序
-        queryWrapper.orderByDesc(Message::getCreateTime);
+        // 按创建时间倒序（ID兜底保证顺序稳定）
+        queryWrapper.orderByDesc(Message::getCreateTime).orderByDesc(Message::getId);
         
         // 2. 分页查询
         Page<Message> page = new Page<>(query.getPageNum(), query.getPageSize());
@@ -70,6 +85,57 @@ public class MessageServiceImpl implements MessageService {
         return messagePage.convert(this::convertToVO);
     }
 
+    /**
+     * 获取我的消息列表（游标分页）
+     * <p>
+     * 游标为上一页最后一条消息的 (create_time, id)，多查一条判断是否还有下一页，不做 COUNT
+     *
+     * @param userId 用户ID
+     * @param query 查询条件
+     * @return 游标分页结果
+     */
+    @Override
+    public MessageCursorPageVO getMyMessagesByCursor(Long userId, MessageCursorQuery query) {
+        // 1. 解析游标和页大小
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        if (StringUtils.hasText(query.getCursor())) {
+            String[] parts = query.getCursor().split(CURSOR_SEPARATOR);
+            try {
+                if (parts.length != 2) {
+                    throw new NumberFormatException();
+                }
+                cursorTime = LocalDateTime.ofEpochSecond(Long.parseLong(parts[0]), 0, ZoneOffset.UTC);
+                cursorId = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "游标格式错误");
+            }
+        }
+        int pageSize = query.getPageSize() != null
+                ? Math.max(1, Math.min(query.getPageSize(), MAX_CURSOR_PAGE_SIZE))
+                : DEFAULT_CURSOR_PAGE_SIZE;
+
+        // 2. 索引范围扫描，多取一条判断是否还有下一页
+        List<Message> messages = messageMapper.selectPageBefore(userId, Boolean.TRUE.equals(query.getUnreadOnly()),
+                query.getMessageType(), cursorTime, cursorId, pageSize + 1);
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages = messages.subList(0, pageSize);
+        }
+
+        // 3. 生成下一页游标
+        String nextCursor = null;
+        if (hasMore) {
+            Message last = messages.get(messages.size() - 1);
+            nextCursor = last.getCreateTime().toEpochSecond(ZoneOffset.UTC) + CURSOR_SEPARATOR + last.getId();
+        }
+        return MessageCursorPageVO.builder()
+                .records(messages.stream().map(this::convertToVO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     /**
      * 标记消息已读
      *
@@ -104,6 +170,9 @@ public class MessageServiceImpl implements MessageService {
         
         int updated = messageMapper.update(null, updateWrapper);
         log.info("标记消息已读，消息ID：{}，用户ID：{}，更新行数：{}", messageId, userId, updated);
+        if (updated > 0) {
+            eventPublisher.publishEvent(UnreadCountChangedEvent.read(userId, updated));
+        }
     }
 
     /**
@@ -114,18 +183,7 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void markAllAsRead(Long userId) {
-        // 1. 查询用户未读消息数量
-        LambdaQueryWrapper<Message> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Message::getUserId, userId)
-                    .eq(Message::getIsRead, MESSAGE_UNREAD);
-        Long unreadCount = messageMapper.selectCount(queryWrapper);
-        
-        if (unreadCount == 0) {
-            log.info("用户没有未读消息，用户ID：{}", userId);
-            return;
-        }
-        
-        // 2. 批量更新为已读状态
+        // 批量更新为已读状态（没有未读消息时影响0行，无需先统计）
         LambdaUpdateWrapper<Message> updateWrapper = new LambdaUpdateWrapper<>();
         updateWrapper.eq(Message::getUserId, userId)
                     .eq(Message::getIsRead, MESSAGE_UNREAD)
@@ -134,21 +192,18 @@ public class MessageServiceImpl implements MessageService {
         
         int updated = messageMapper.update(null, updateWrapper);
         log.info("批量标记已读，用户ID：{}，更新行数：{}", userId, updated);
+        eventPublisher.publishEvent(UnreadCountChangedEvent.cleared(userId));
     }
 
     /**
-     * 获取未读消息数量
+     * 获取未读消息数量（读本地计数）
      *
      * @param userId 用户ID
      * @return 未读数量
      */
     @Override
     public Long getUnreadCount(Long userId) {
-        LambdaQueryWrapper<Message> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Message::getUserId, userId)
-                    .eq(Message::getIsRead, MESSAGE_UNREAD);
-        
-        return messageMapper.selectCount(queryWrapper);
+        return unreadCounterService.getUnreadCount(userId);
     }
 
     /**
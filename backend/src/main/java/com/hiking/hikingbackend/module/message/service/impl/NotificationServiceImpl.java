@@ -0,0 +1,261 @@
+package com.hiking.hikingbackend.module.message.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.config.NotificationProperties;
+import com.hiking.hikingbackend.module.message.entity.Message;
+import com.hiking.hikingbackend.module.message.event.MessageCreatedEvent;
+import com.hiking.hikingbackend.module.message.event.NotificationEvent;
+import com.hiking.hikingbackend.module.message.event.UnreadCountChangedEvent;
+import com.hiking.hikingbackend.module.message.mapper.MessageMapper;
+import com.hiking.hikingbackend.module.message.service.NotificationService;
+import com.hiking.hikingbackend.module.message.support.NotificationCoalescer;
+import com.hiking.hikingbackend.module.registration.entity.Registration;
+import com.hiking.hikingbackend.module.registration.mapper.RegistrationMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 站内通知服务实现类
+ * <p>
+ * 通知先进入有界队列，单个后台线程每轮取出一批：
+ * <ol>
+ *   <li>解析接收人，同一轮内同一活动、同一范围只查询一次报名表</li>
+ *   <li>展开为消息行；配置了合并窗口的类型进入合并缓冲，窗口到期后合并为一条摘要</li>
+ *   <li>按批多行INSERT写入</li>
+ *   <li>按用户汇总条数，发布未读数变化事件和消息写入事件</li>
+ * </ol>
+ * 500人的活动公告约为一次报名查询加一条INSERT；发布方只做一次入队，不等待写入。
+ * 定期输出请求消息数与实际写入数，观察合并效果
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final int CONTENT_MAX_LENGTH = 512;       // 消息内容最大长度
+    private static final int TITLE_MAX_LENGTH = 128;         // 消息标题最大长度
+    private static final int REGISTRATION_PENDING = 0;       // 报名待审核
+    private static final int REGISTRATION_APPROVED = 1;      // 报名已通过
+    private static final int REGISTRATION_WAITING = 3;       // 报名候补中
+
+    private final MessageMapper messageMapper;
+
+    private final RegistrationMapper registrationMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final NotificationProperties properties;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong requestedRows = new AtomicLong();
+
+    private final AtomicLong writtenRows = new AtomicLong();
+
+    private NotificationCoalescer coalescer;
+
+    private BlockingQueue<NotificationEvent> queue;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        coalescer = new NotificationCoalescer(properties.getCoalesceWindowSeconds(), properties.getMaxPending());
+        running = true;
+        writer = new Thread(this::writeLoop, "notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 通知事件提交后入队
+     *
+     * @param notification 通知事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotification(NotificationEvent notification) {
+        submit(notification);
+    }
+
+    /**
+     * 提交通知到队列（不阻塞）
+     *
+     * @param notification 通知
+     * @return 是否成功入队，队列已满时返回false
+     */
+    @Override
+    public boolean submit(NotificationEvent notification) {
+        if (queue.offer(notification)) {
+            return true;
+        }
+        log.error("通知队列已满，通知被丢弃，累计丢弃：{}，通知：{}", dropped.incrementAndGet(), notification);
+        return false;
+    }
+
+    /**
+     * 停止写入线程，写完队列和合并缓冲中剩余的通知
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<NotificationEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+        List<Message> pending = new ArrayList<>();
+        coalescer.drainAll(pending);
+        persist(pending);
+    }
+
+    /**
+     * 定期输出合并统计
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void report() {
+        long requested = requestedRows.get();
+        if (requested == 0) {
+            return;
+        }
+        long written = writtenRows.get();
+        log.info("通知写入统计，请求消息数：{}，写入消息数：{}，合并减少：{}%，队列丢弃：{}",
+                requested, written, (requested - written) * 100 / requested, dropped.get());
+    }
+
+    private void writeLoop() {
+        List<NotificationEvent> batch = new ArrayList<>();
+        while (running) {
+            try {
+                NotificationEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getMaxDrain() - 1);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("通知写入失败，丢弃通知数：{}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 解析接收人，可合并的消息进入合并缓冲，其余消息和到期的合并消息批量写入
+     */
+    private void write(List<NotificationEvent> notifications) {
+        // 1. 展开为消息行
+        long nowMillis = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<Long>> audienceCache = new HashMap<>();
+        List<Message> messages = new ArrayList<>();
+        for (NotificationEvent notification : notifications) {
+            for (Long userId : resolveRecipients(notification, audienceCache)) {
+                Message message = Message.builder()
+                        .userId(userId)
+                        .title(notification.getTitle())
+                        .content(notification.getContent())
+                        .messageType(notification.getMessageType())
+                        .relatedId(notification.getRelatedId())
+                        .relatedType(notification.getRelatedType())
+                        .createBy(notification.getSenderId())
+                        .createTime(now)
+                        .build();
+                requestedRows.incrementAndGet();
+                if (!coalescer.offer(message, notification, nowMillis)) {
+                    messages.add(message);
+                }
+            }
+        }
+
+        // 2. 取出合并窗口已到期的消息
+        coalescer.drainDue(nowMillis, messages);
+        persist(messages);
+    }
+
+    /**
+     * 批量写入消息并更新未读计数
+     */
+    private void persist(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        // 1. 按批多行写入
+        for (Message message : messages) {
+            message.setTitle(truncate(message.getTitle(), TITLE_MAX_LENGTH));
+            message.setContent(truncate(message.getContent(), CONTENT_MAX_LENGTH));
+        }
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            messageMapper.insertBatch(messages.subList(from, Math.min(messages.size(), from + batchSize)));
+        }
+
+        writtenRows.addAndGet(messages.size());
+
+        // 2. 按用户汇总更新未读计数，再通知实时推送渠道
+        Map<Long, Integer> perUser = new HashMap<>();
+        for (Message message : messages) {
+            perUser.merge(message.getUserId(), 1, Integer::sum);
+        }
+        perUser.forEach((userId, count) -> eventPublisher.publishEvent(UnreadCountChangedEvent.added(userId, count)));
+        eventPublisher.publishEvent(new MessageCreatedEvent(messages));
+        log.debug("消息写入完成，消息数：{}，待合并：{}", messages.size(), coalescer.size());
+    }
+
+    private Set<Long> resolveRecipients(NotificationEvent notification, Map<String, List<Long>> audienceCache) {
+        if (notification.getAudience() == NotificationEvent.Audience.USERS) {
+            return notification.getUserIds() != null ? new LinkedHashSet<>(notification.getUserIds()) : Set.of();
+        }
+        if (notification.getActivityId() == null) {
+            return Set.of();
+        }
+        List<Integer> statuses = notification.getAudience() == NotificationEvent.Audience.APPROVED_PARTICIPANTS
+                ? List.of(REGISTRATION_APPROVED)
+                : List.of(REGISTRATION_PENDING, REGISTRATION_APPROVED, REGISTRATION_WAITING);
+        List<Long> userIds = audienceCache.computeIfAbsent(notification.getAudience() + ":" + notification.getActivityId(),
+                key -> registrationMapper.selectList(new LambdaQueryWrapper<Registration>()
+                                .select(Registration::getUserId)
+                                .eq(Registration::getActivityId, notification.getActivityId())
+                                .in(Registration::getStatus, statuses))
+                        .stream()
+                        .map(Registration::getUserId)
+                        .toList());
+        return new LinkedHashSet<>(userIds);
+    }
+
+    private String truncate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength - 1) + "…";
+    }
+}
@@ -0,0 +1,326 @@
+package com.hiking.hikingbackend.module.message.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.common.utils.LruCache;
+import com.hiking.hikingbackend.config.UnreadCounterProperties;
+import com.hiking.hikingbackend.module.message.entity.Message;
+import com.hiking.hikingbackend.module.message.event.RemoteUnreadChangedEvent;
+import com.hiking.hikingbackend.module.message.event.UnreadCountChangedEvent;
+import com.hiking.hikingbackend.module.message.mapper.MessageMapper;
+import com.hiking.hikingbackend.module.message.service.UnreadCounterService;
+import com.hiking.hikingbackend.module.message.support.UnreadChange;
+import com.hiking.hikingbackend.module.message.support.UserUnreadCount;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 未读消息计数服务实现类
+ * <p>
+ * 本地计数为懒加载的 LRU 缓存，本节点的变化在事务提交后直接增减。多节点时：
+ * <ol>
+ *   <li>本节点变化过的用户进入发件队列，同步任务批量写入 message_unread_change</li>
+ *   <li>同步任务读取最近时间窗口内其他节点的变更，失效对应用户的本地计数，下次读取重新统计，
+ *   并发布 RemoteUnreadChangedEvent 供推送渠道通知本节点在线用户</li>
+ * </ol>
+ * 每个用户记录最近一次变化的版本号（全局递增时钟），统计结果只有在统计期间该用户没有变化时才写入缓存，
+ * 避免提交前读到的旧值覆盖已经应用的增减；变化从发布到事务结束之间记为待应用，
+ * 期间的统计可能已包含提交的新行而增减尚未应用，同样不写入缓存，避免重复计数；定期对账兜底修正残余偏差
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadCounterServiceImpl implements UnreadCounterService {
+
+    private static final int MESSAGE_UNREAD = 0;         // 未读
+    private static final int BATCH_SIZE = 500;           // 对账、写出变更单条SQL的最大用户数
+
+    private final MessageMapper messageMapper;
+
+    private final UnreadCounterProperties properties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 本节点ID，同步时跳过本节点写出的变更
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 待写出的本节点变更（用户ID）
+     */
+    private final ConcurrentLinkedQueue<Long> outbox = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已处理的其他节点变更ID -> 处理时间，时间窗口重叠时去重（受 lock 保护）
+     */
+    private final LinkedHashMap<Long, Long> seenChanges = new LinkedHashMap<>();
+
+    private final Object lock = new Object();
+
+    /**
+     * 全局版本时钟，每次变化加一（受 lock 保护）
+     */
+    private long clock;
+
+    /**
+     * 用户最近一次变化时的版本号（受 lock 保护），对账时清理陈旧条目
+     */
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    /**
+     * 已发布、所在事务尚未结束的变化数（受 lock 保护）
+     */
+    private final Map<Long, Integer> pendingChanges = new HashMap<>();
+
+    /**
+     * 上次对账时的版本号，早于它的 versions 条目可以清理
+     */
+    private long lastReconcileClock;
+
+    private LruCache<Long, AtomicLong> counters;
+
+    @PostConstruct
+    public void init() {
+        counters = new LruCache<>(properties.getCacheSize(),
+                Duration.ofMinutes(properties.getCacheTtlMinutes()).toMillis());
+    }
+
+    /**
+     * 获取未读消息数（未缓存时统计并缓存）
+     *
+     * @param userId 用户ID
+     * @return 未读数量
+     */
+    @Override
+    public long getUnreadCount(Long userId) {
+        AtomicLong counter = counters.get(userId);
+        if (counter != null) {
+            return counter.get();
+        }
+
+        long startClock;
+        synchronized (lock) {
+            startClock = clock;
+        }
+        long count = messageMapper.selectCount(new LambdaQueryWrapper<Message>()
+                .eq(Message::getUserId, userId)
+                .eq(Message::getIsRead, MESSAGE_UNREAD));
+        synchronized (lock) {
+            if (versions.getOrDefault(userId, 0L) <= startClock && !pendingChanges.containsKey(userId)) {
+                counters.put(userId, new AtomicLong(count));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 未读数变化发布时（事务提交前）记为待应用
+     *
+     * @param event 未读消息数变化事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onUnreadCountPublished(UnreadCountChangedEvent event) {
+        synchronized (lock) {
+            pendingChanges.merge(event.getUserId(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 未读数变化提交后增减本地计数，并加入发件队列（先于推送等其他监听方执行，保证读到的是新计数）
+     *
+     * @param event 未读消息数变化事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        Long userId = event.getUserId();
+        synchronized (lock) {
+            versions.put(userId, ++clock);
+            AtomicLong counter = counters.get(userId);
+            if (counter != null) {
+                if (event.isReset()) {
+                    counter.set(0);
+                } else {
+                    counter.updateAndGet(v -> Math.max(0, v + event.getDelta()));
+                }
+            }
+        }
+        outbox.add(userId);
+    }
+
+    /**
+     * 变化所在事务结束（提交或回滚）后解除待应用
+     *
+     * @param event 未读消息数变化事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onUnreadCountCompleted(UnreadCountChangedEvent event) {
+        synchronized (lock) {
+            pendingChanges.computeIfPresent(event.getUserId(), (key, pending) -> pending > 1 ? pending - 1 : null);
+        }
+    }
+
+    /**
+     * 写出本节点变更，失效其他节点变更过的计数
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${hiking.unread-counter.sync-millis:2000}", initialDelayString = "${hiking.unread-counter.sync-millis:2000}")
+    public void sync() {
+        try {
+            flushOutbox();
+            invalidateRemoteChanges();
+        } catch (Exception e) {
+            log.error("未读计数同步失败", e);
+        }
+    }
+
+    /**
+     * 重新统计所有已缓存用户的未读数，清理过期变更记录
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${hiking.unread-counter.reconcile-millis:600000}", initialDelayString = "${hiking.unread-counter.reconcile-millis:600000}")
+    public void reconcile() {
+        try {
+            long reconcileClock;
+            synchronized (lock) {
+                // 上次对账之前的版本不会再与进行中的统计交错，可以清理
+                long threshold = lastReconcileClock;
+                versions.values().removeIf(v -> v <= threshold);
+                reconcileClock = clock;
+                lastReconcileClock = reconcileClock;
+            }
+
+            int corrected = 0;
+            List<Long> userIds = counters.keys();
+            for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+                List<Long> batch = userIds.subList(from, Math.min(userIds.size(), from + BATCH_SIZE));
+                corrected += reconcileBatch(batch);
+            }
+            int deleted = messageMapper.deleteUnreadChangesBefore(properties.getChangeRetentionMinutes());
+            log.info("未读计数对账完成，缓存用户数：{}，修正数：{}，清理变更记录：{}", userIds.size(), corrected, deleted);
+        } catch (Exception e) {
+            log.error("未读计数对账失败", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushOutbox();
+    }
+
+    /**
+     * 重新统计一批用户，统计期间发生变化或有待应用变化的用户跳过
+     *
+     * @return 修正的用户数
+     */
+    private int reconcileBatch(List<Long> userIds) {
+        long startClock;
+        synchronized (lock) {
+            startClock = clock;
+        }
+        Map<Long, Long> actual = new HashMap<>();
+        for (UserUnreadCount row : messageMapper.countUnreadByUserIds(userIds)) {
+            actual.put(row.getUserId(), row.getUnreadCount());
+        }
+
+        int corrected = 0;
+        synchronized (lock) {
+            for (Long userId : userIds) {
+                if (versions.getOrDefault(userId, 0L) > startClock || pendingChanges.containsKey(userId)) {
+                    continue;
+                }
+                AtomicLong counter = counters.get(userId);
+                long count = actual.getOrDefault(userId, 0L);
+                if (counter != null && counter.get() != count) {
+                    log.debug("未读计数偏差已修正，用户ID：{}，缓存：{}，实际：{}", userId, counter.get(), count);
+                    counter.set(count);
+                    corrected++;
+                }
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * 批量写出发件队列，失败时放回队列下次重试
+     */
+    private void flushOutbox() {
+        Set<Long> userIds = new HashSet<>();
+        Long userId;
+        while ((userId = outbox.poll()) != null) {
+            userIds.add(userId);
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> pending = new ArrayList<>(userIds);
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<Long> batch = pending.subList(from, Math.min(pending.size(), from + BATCH_SIZE));
+            try {
+                messageMapper.insertUnreadChanges(nodeId, batch);
+            } catch (RuntimeException e) {
+                outbox.addAll(pending.subList(from, pending.size()));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 失效其他节点最近变更过的用户计数
+     */
+    private void invalidateRemoteChanges() {
+        List<UnreadChange> changes = messageMapper.selectRecentUnreadChanges(properties.getSyncWindowSeconds());
+        long now = System.currentTimeMillis();
+        Set<Long> changedUserIds = new HashSet<>();
+        synchronized (lock) {
+            for (UnreadChange change : changes) {
+                if (nodeId.equals(change.getNodeId()) || seenChanges.putIfAbsent(change.getId(), now) != null) {
+                    continue;
+                }
+                versions.put(change.getUserId(), ++clock);
+                counters.remove(change.getUserId());
+                changedUserIds.add(change.getUserId());
+            }
+
+            // 清理超出两个时间窗口的去重记录（按处理时间有序）
+            long expireBefore = now - properties.getSyncWindowSeconds() * 2000L;
+            Iterator<Long> iterator = seenChanges.values().iterator();
+            while (iterator.hasNext() && iterator.next() < expireBefore) {
+                iterator.remove();
+            }
+        }
+
+        // 通知本节点的推送渠道，连接在本节点的用户也能及时看到其他节点写入的消息
+        if (!changedUserIds.isEmpty()) {
+            eventPublisher.publishEvent(new RemoteUnreadChangedEvent(changedUserIds));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.hiking.hikingbackend.module.message.support;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 消息主键区间查询结果
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+public class MessageChunk {
+
+    /**
+     * 区间内最大消息ID
+     */
+    private Long endId;
+
+    /**
+     * 区间内最早创建时间
+     */
+    private LocalDateTime firstTime;
+
+    /**
+     * 区间行数
+     */
+    private Integer rowCount;
+}
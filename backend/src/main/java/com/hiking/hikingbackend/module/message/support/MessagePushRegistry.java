@@ -0,0 +1,261 @@
+package com.hiking.hikingbackend.module.message.support;
+
+import com.hiking.hikingbackend.config.MessagePushProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 消息推送连接注册表
+ * <p>
+ * 按用户ID保存本节点上的 SSE 连接，一个用户可有多个设备同时在线。
+ * 空闲连接只占一个异步请求对象，不占用容器线程；连接完成、超时、出错或发送失败时自动移除。
+ * 每个连接有独立的待发队列，由发送线程池逐个连接写出：发送方只入队不等待网络，
+ * 一个慢连接最多占住一个发送线程，不影响其他连接；积压超限或单次写出过慢的连接直接关闭，由客户端重连
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessagePushRegistry {
+
+    private final MessagePushProperties properties;
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger slowClosed = new AtomicInteger();
+
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 每个连接同一时刻最多一个写出任务，队列长度不超过连接数
+        sender = new ThreadPoolExecutor(properties.getSenderThreads(), properties.getSenderThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "message-push-sender-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * 注册连接，用户连接数超出上限时关闭其最早的连接
+     *
+     * @param userId 用户ID
+     * @return 新连接，本节点连接数已满时返回null
+     */
+    public SseEmitter register(Long userId) {
+        if (size.incrementAndGet() > properties.getMaxConnections()) {
+            size.decrementAndGet();
+            return null;
+        }
+        Connection connection = new Connection(userId,
+                new SseEmitter(TimeUnit.MINUTES.toMillis(properties.getTimeoutMinutes())));
+        Connection[] evicted = new Connection[1];
+        connections.compute(userId, (key, list) -> {
+            List<Connection> userConnections = list != null ? list : new CopyOnWriteArrayList<>();
+            if (userConnections.size() >= properties.getMaxConnectionsPerUser()) {
+                evicted[0] = userConnections.remove(0);
+                size.decrementAndGet();
+            }
+            userConnections.add(connection);
+            return userConnections;
+        });
+        SseEmitter emitter = connection.emitter;
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+        if (evicted[0] != null) {
+            evicted[0].close();
+        }
+        return emitter;
+    }
+
+    /**
+     * 用户在本节点是否有连接
+     *
+     * @param userId 用户ID
+     * @return true有连接
+     */
+    public boolean isConnected(Long userId) {
+        return connections.containsKey(userId);
+    }
+
+    /**
+     * 向用户的所有连接发送事件（只入队，由发送线程写出）
+     *
+     * @param userId 用户ID
+     * @param name   事件名称
+     * @param data   事件数据（JSON序列化）
+     */
+    public void send(Long userId, String name, Object data) {
+        List<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            connection.enqueue(() -> SseEmitter.event().name(name).data(data));
+        }
+    }
+
+    /**
+     * 向空闲连接发送心跳注释（有待发事件的连接不需要心跳），顺带清理已断开的连接
+     *
+     * @return 发送心跳的连接数
+     */
+    public int heartbeat() {
+        int sent = 0;
+        for (List<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                if (connection.pendingCount.get() == 0) {
+                    connection.enqueue(() -> SseEmitter.event().comment("heartbeat"));
+                    sent++;
+                }
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * 本节点连接数
+     *
+     * @return 连接数
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 因积压或写出过慢被关闭的累计连接数
+     *
+     * @return 连接数
+     */
+    public int getSlowClosed() {
+        return slowClosed.get();
+    }
+
+    private void remove(Connection connection) {
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(connection.userId, (key, userConnections) -> {
+            removed[0] = userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        if (removed[0]) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * 单个连接及其待发队列
+     */
+    private final class Connection {
+
+        private final Long userId;
+
+        private final SseEmitter emitter;
+
+        /**
+         * 待发事件（事件构造器不可重复使用，按连接分别构造）
+         */
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        /**
+         * 是否已有写出任务在线程池中
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > properties.getMaxPendingPerConnection()) {
+                closeSlow("待发积压超限");
+                return;
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closed && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    long start = System.currentTimeMillis();
+                    emitter.send(event.get());
+                    if (System.currentTimeMillis() - start > properties.getSlowSendMillis()) {
+                        closeSlow("写出过慢");
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("推送失败，移除连接，用户ID：{}，原因：{}", userId, e.getMessage());
+                closed = true;
+                remove(this);
+            } finally {
+                scheduled.set(false);
+                // 写出任务结束前入队的事件需要重新调度
+                if (!closed && !pending.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void closeSlow(String reason) {
+            if (closed) {
+                return;
+            }
+            log.warn("推送连接过慢已关闭，用户ID：{}，原因：{}，累计关闭：{}", userId, reason, slowClosed.incrementAndGet());
+            close();
+        }
+
+        private void close() {
+            closed = true;
+            pending.clear();
+            remove(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.hiking.hikingbackend.module.message.support;
+
+import com.hiking.hikingbackend.config.MessageRetentionProperties;
+import com.hiking.hikingbackend.module.message.mapper.MessageMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 消息保留任务
+ * <p>
+ * 每天执行一次，按主键顺序把消息表切成固定行数的区间逐个处理：
+ * <ol>
+ *   <li>只走主键取下一个区间的边界，区间最早消息已不早于最晚的过期时间点时结束（之后的消息都更新）</li>
+ *   <li>区间内已读且超过所属类型保留天数的消息，复制到归档表后删除，或直接删除</li>
+ *   <li>每个区间一个短事务，处理后暂停一段时间，单次执行有区间数上限</li>
+ * </ol>
+ * 锁只覆盖一个区间，不影响收件箱读写；未读消息不处理，未读计数不受影响
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageRetentionJob {
+
+    private static final int PROGRESS_LOG_CHUNKS = 100;   // 每处理多少个区间输出一次进度
+
+    private final MessageMapper messageMapper;
+
+    private final MessageRetentionProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final AtomicLong totalRemoved = new AtomicLong();
+
+    private final AtomicLong totalRuns = new AtomicLong();
+
+    /**
+     * 每天凌晨清理过期消息
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void run() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            purge();
+        } catch (Exception e) {
+            log.error("消息保留任务执行失败", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void purge() {
+        // 1. 计算各类型的过期时间点
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, LocalDateTime> cutoffs = new HashMap<>();
+        properties.getTtlDays().forEach((type, days) -> cutoffs.put(type, now.minusDays(days)));
+        LocalDateTime defaultCutoff = now.minusDays(properties.getDefaultTtlDays());
+        LocalDateTime latestCutoff = cutoffs.values().stream()
+                .reduce(defaultCutoff, (a, b) -> a.isAfter(b) ? a : b);
+        boolean archive = properties.getMode() == MessageRetentionProperties.Mode.ARCHIVE;
+
+        // 2. 按主键区间逐个处理
+        long startMillis = System.currentTimeMillis();
+        long fromId = 0;
+        long removed = 0;
+        int chunks = 0;
+        while (chunks < properties.getMaxChunksPerRun()) {
+            MessageChunk chunk = messageMapper.selectChunk(fromId, properties.getChunkSize());
+            if (chunk == null || chunk.getRowCount() == null || chunk.getRowCount() == 0
+                    || !chunk.getFirstTime().isBefore(latestCutoff)) {
+                break;
+            }
+            long rangeFrom = fromId;
+            long rangeTo = chunk.getEndId();
+            if (archive) {
+                Integer count = transactionTemplate.execute(status -> {
+                    messageMapper.archiveExpired(rangeFrom, rangeTo, cutoffs, defaultCutoff);
+                    return messageMapper.deleteArchived(rangeFrom, rangeTo);
+                });
+                removed += count == null ? 0 : count;
+            } else {
+                removed += messageMapper.deleteExpired(rangeFrom, rangeTo, cutoffs, defaultCutoff);
+            }
+            fromId = rangeTo;
+            chunks++;
+
+            if (chunks % PROGRESS_LOG_CHUNKS == 0) {
+                log.info("消息保留任务进行中，已处理区间：{}，已清理：{}，当前ID：{}", chunks, removed, fromId);
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        // 3. 输出本次统计
+        totalRuns.incrementAndGet();
+        long total = totalRemoved.addAndGet(removed);
+        log.info("消息保留任务完成，方式：{}，区间：{}，清理：{}，结束ID：{}，耗时：{}ms，累计执行：{}，累计清理：{}",
+                properties.getMode(), chunks, removed, fromId, System.currentTimeMillis() - startMillis,
+                totalRuns.get(), total);
+        if (chunks >= properties.getMaxChunksPerRun()) {
+            log.warn("消息保留任务达到单次区间上限：{}，剩余消息下次继续处理", properties.getMaxChunksPerRun());
+        }
+    }
+
+    /**
+     * 区间之间暂停，被中断时返回false
+     */
+    private boolean pause() {
+        if (properties.getChunkPauseMillis() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getChunkPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
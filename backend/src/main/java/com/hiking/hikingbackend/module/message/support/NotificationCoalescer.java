@@ -0,0 +1,174 @@
+package com.hiking.hikingbackend.module.message.support;
+
+import com.hiking.hikingbackend.module.message.entity.Message;
+import com.hiking.hikingbackend.module.message.event.NotificationEvent;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 通知合并缓冲
+ * <p>
+ * 按 (接收人, 消息类型, 关联业务类型, 关联业务ID, 合并键) 缓冲消息，同一键的第一条消息到达时开始计时，
+ * 窗口到期后写出一条：窗口内只有一条时原样写出，多条时合并为一条摘要消息。
+ * 只有配置了合并窗口的消息类型、且带关联业务ID和合并键的消息才会缓冲，不同业务事件（如报名与取消报名）不会互相合并。
+ * 相同窗口长度的键放在同一个按插入顺序排列的表中，到期时间随之递增，取到期消息时遇到未到期的键即停止。
+ * 仅由通知写入线程访问，不加锁
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class NotificationCoalescer {
+
+    /**
+     * 摘要模板中的条数占位符
+     */
+    public static final String COUNT_PLACEHOLDER = "{count}";
+
+    private final Map<Integer, Integer> windowSeconds;
+
+    private final int maxPending;
+
+    /**
+     * 窗口长度（秒） -> 按插入顺序排列的缓冲
+     */
+    private final Map<Integer, LinkedHashMap<String, Pending>> pendingByWindow = new HashMap<>();
+
+    private int size;
+
+    /**
+     * @param windowSeconds 各消息类型的合并窗口（秒）
+     * @param maxPending    最大缓冲键数，超出时新键不再缓冲
+     */
+    public NotificationCoalescer(Map<Integer, Integer> windowSeconds, int maxPending) {
+        this.windowSeconds = windowSeconds;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 尝试缓冲一条消息
+     *
+     * @param message    消息
+     * @param source     消息来源通知（提供摘要模板）
+     * @param nowMillis  当前时间（毫秒）
+     * @return true已缓冲，false应直接写入
+     */
+    public boolean offer(Message message, NotificationEvent source, long nowMillis) {
+        Integer window = windowSeconds.get(message.getMessageType());
+        if (window == null || window <= 0 || message.getRelatedId() == null || source.getCoalesceKey() == null) {
+            return false;
+        }
+        String key = message.getUserId() + ":" + message.getMessageType() + ":"
+                + message.getRelatedType() + ":" + message.getRelatedId() + ":" + source.getCoalesceKey();
+        LinkedHashMap<String, Pending> pending = pendingByWindow.computeIfAbsent(window, w -> new LinkedHashMap<>());
+        Pending existing = pending.get(key);
+        if (existing != null) {
+            existing.merge(message);
+            return true;
+        }
+        if (size >= maxPending) {
+            return false;
+        }
+        pending.put(key, new Pending(message, source, nowMillis + window * 1000L));
+        size++;
+        return true;
+    }
+
+    /**
+     * 取出窗口已到期的消息
+     *
+     * @param nowMillis 当前时间（毫秒）
+     * @param out       输出列表
+     */
+    public void drainDue(long nowMillis, List<Message> out) {
+        for (LinkedHashMap<String, Pending> pending : pendingByWindow.values()) {
+            Iterator<Pending> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                Pending entry = iterator.next();
+                if (entry.deadline > nowMillis) {
+                    break;
+                }
+                out.add(entry.toMessage());
+                iterator.remove();
+                size--;
+            }
+        }
+    }
+
+    /**
+     * 取出所有缓冲的消息
+     *
+     * @param out 输出列表
+     */
+    public void drainAll(List<Message> out) {
+        drainDue(Long.MAX_VALUE, out);
+    }
+
+    /**
+     * 缓冲中的键数
+     *
+     * @return 键数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 单个键的缓冲状态
+     */
+    private static final class Pending {
+
+        private final Message first;
+        private final String digestTitle;
+        private final String digestContent;
+        private final long deadline;
+        private String lastTitle;
+        private String lastContent;
+        private Long senderId;
+        private int count = 1;
+
+        Pending(Message first, NotificationEvent source, long deadline) {
+            this.first = first;
+            this.digestTitle = source.getDigestTitle();
+            this.digestContent = source.getDigestContent();
+            this.deadline = deadline;
+            this.lastTitle = first.getTitle();
+            this.lastContent = first.getContent();
+            this.senderId = first.getCreateBy();
+        }
+
+        void merge(Message message) {
+            count++;
+            lastTitle = message.getTitle();
+            lastContent = message.getContent();
+            if (!Objects.equals(senderId, message.getCreateBy())) {
+                senderId = null;
+            }
+        }
+
+        Message toMessage() {
+            LocalDateTime now = LocalDateTime.now();
+            if (count == 1) {
+                first.setCreateTime(now);
+                return first;
+            }
+            String countText = String.valueOf(count);
+            return Message.builder()
+                    .userId(first.getUserId())
+                    .title(digestTitle != null ? digestTitle.replace(COUNT_PLACEHOLDER, countText) : lastTitle)
+                    .content(digestContent != null ? digestContent.replace(COUNT_PLACEHOLDER, countText)
+                            : lastContent + "（共" + count + "条）")
+                    .messageType(first.getMessageType())
+                    .relatedId(first.getRelatedId())
+                    .relatedType(first.getRelatedType())
+                    .createBy(senderId)
+                    .createTime(now)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.hiking.hikingbackend.module.message.support;
+
+import lombok.Data;
+
+/**
+ * 未读数变更记录查询结果
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+public class UnreadChange {
+
+    private Long id;
+
+    private Long userId;
+
+    private String nodeId;
+}
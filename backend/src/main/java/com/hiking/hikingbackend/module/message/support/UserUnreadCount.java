@@ -0,0 +1,17 @@
+package com.hiking.hikingbackend.module.message.support;
+
+import lombok.Data;
+
+/**
+ * 用户未读消息数查询结果
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+public class UserUnreadCount {
+
+    private Long userId;
+
+    private Long unreadCount;
+}
@@ -0,0 +1,26 @@
+/**
+ * 消息模块内存组件包
+ * <p>
+ * 未读计数相关的查询结果：
+ * <ul>
+ *   <li>UserUnreadCount - 用户未读消息数</li>
+ *   <li>UnreadChange - 未读数变更记录</li>
+ * </ul>
+ * 消息保留：
+ * <ul>
+ *   <li>MessageRetentionJob - 已读过期消息分块归档</li>
+ *   <li>MessageChunk - 消息主键区间</li>
+ * </ul>
+ * 通知写入：
+ * <ul>
+ *   <li>NotificationCoalescer - 通知合并缓冲</li>
+ * </ul>
+ * 实时推送：
+ * <ul>
+ *   <li>MessagePushRegistry - 消息推送连接注册表</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.message.support;
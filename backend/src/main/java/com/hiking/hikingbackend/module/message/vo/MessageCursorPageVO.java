@@ -0,0 +1,32 @@
+package com.hiking.hikingbackend.module.message.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 消息游标分页VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "消息游标分页结果")
+public class MessageCursorPageVO {
+
+    @Schema(description = "消息列表（按创建时间倒序）")
+    private List<MessageVO> records;
+
+    @Schema(description = "下一页游标，没有更多时为空", example = "1735041600_1024")
+    private String nextCursor;
+
+    @Schema(description = "是否还有更多", example = "true")
+    private Boolean hasMore;
+}
@@ -0,0 +1,46 @@
+package com.hiking.hikingbackend.module.message.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 新消息推送VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "新消息推送")
+public class MessagePushVO {
+
+    @Schema(description = "消息ID", example = "1")
+    private Long id;
+
+    @Schema(description = "消息标题", example = "报名审核通过")
+    private String title;
+
+    @Schema(description = "消息内容", example = "您报名的活动「周末香山徒步」已审核通过")
+    private String content;
+
+    @Schema(description = "消息类型：1系统通知 2报名通知 3活动通知 4预警通知", example = "2")
+    private Integer messageType;
+
+    @Schema(description = "关联业务ID（如活动ID）", example = "1")
+    private Long relatedId;
+
+    @Schema(description = "关联业务类型（如activity）", example = "activity")
+    private String relatedType;
+
+    @Schema(description = "创建时间", example = "2024-12-24 20:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime createTime;
+}
@@ -6,7 +6,10 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.hiking.hikingbackend.common.exception.BusinessException;
 import com.hiking.hikingbackend.common.result.ResultCode;
 import com.hiking.hikingbackend.module.activity.entity.Activity;
+import com.hiking.hikingbackend.module.activity.event.RegistrationCreatedEvent;
 import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
+import com.hiking.hikingbackend.module.message.event.NotificationEvent;
+import com.hiking.hikingbackend.module.message.support.NotificationCoalescer;
 import com.hiking.hikingbackend.module.registration.dto.RegistrationAuditDTO;
 import com.hiking.hikingbackend.module.registration.dto.RegistrationCreateDTO;
 import com.hiking.hikingbackend.module.registration.dto.RegistrationQuery;
@@ -18,10 +21,12 @@ import com.hiking.hikingbackend.module.user.entity.User;
 import com.hiking.hikingbackend.module.user.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 报名服务实现类
@@ -40,6 +45,8 @@ public class RegistrationServiceImpl implements RegistrationService {
 
     private final UserMapper userMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     private static final int STATUS_PENDING = 0;   // 待审核
     private static final int STATUS_APPROVED = 1;  // 已通过
     private static final int STATUS_REJECTED = 2;  // 已拒绝
@@ -48,6 +55,8 @@ public class RegistrationServiceImpl implements RegistrationService {
 
     private static final int ACTIVITY_STATUS_PUBLISHED = 2; // 活动已发布
 
+    private static final int MESSAGE_TYPE_REGISTRATION = 2; // 报名通知
+
     /**
      * 提交报名
      *
@@ -128,6 +137,22 @@ public class RegistrationServiceImpl implements RegistrationService {
             log.info("报名成功（待审核），用户ID：{}，活动ID：{}", userId, createDTO.getActivityId());
         }
 
+        // 6. 发布报名成功事件，通知组织者（合并窗口内的多条报名合并为一条摘要）
+        eventPublisher.publishEvent(new RegistrationCreatedEvent(createDTO.getActivityId(), activity.getRouteId(), userId));
+        String nickname = user.getNickname() != null ? user.getNickname() : "用户" + userId;
+        eventPublisher.publishEvent(NotificationEvent.builder()
+                .userIds(List.of(activity.getOrganizerId()))
+                .title("新的报名")
+                .coalesceKey("registration.submitted")
+                .content(String.format("%s报名了活动「%s」", nickname, activity.getTitle()))
+                .messageType(MESSAGE_TYPE_REGISTRATION)
+                .relatedId(activity.getId())
+                .relatedType("activity")
+                .senderId(userId)
+                .digestTitle("新的报名")
+                .digestContent(String.format("活动「%s」新增%s条报名", activity.getTitle(), NotificationCoalescer.COUNT_PLACEHOLDER))
+                .build());
+
         return registration.getId();
     }
 
@@ -188,6 +213,21 @@ public class RegistrationServiceImpl implements RegistrationService {
         registration.setAuditTime(LocalDateTime.now());
 
         registrationMapper.updateById(registration);
+
+        // 7. 通知报名者审核结果
+        String content = auditDTO.getApproved()
+                ? String.format("您报名的活动「%s」已审核通过", activity.getTitle())
+                : String.format("您报名的活动「%s」未通过审核，原因：%s", activity.getTitle(),
+                        auditDTO.getRejectReason() != null ? auditDTO.getRejectReason() : "无");
+        eventPublisher.publishEvent(NotificationEvent.builder()
+                .userIds(List.of(registration.getUserId()))
+                .title(auditDTO.getApproved() ? "报名审核通过" : "报名未通过审核")
+                .content(content)
+                .messageType(MESSAGE_TYPE_REGISTRATION)
+                .relatedId(activity.getId())
+                .relatedType("activity")
+                .senderId(organizerId)
+                .build());
     }
 
     /**
@@ -237,6 +277,21 @@ public class RegistrationServiceImpl implements RegistrationService {
 
         registrationMapper.updateById(registration);
         log.info("取消报名成功，报名ID：{}，用户ID：{}", registrationId, userId);
+
+        // 7. 通知组织者
+        User user = userMapper.selectById(userId);
+        String nickname = user != null && user.getNickname() != null ? user.getNickname() : "用户" + userId;
+        eventPublisher.publishEvent(NotificationEvent.builder()
+                .userIds(List.of(activity.getOrganizerId()))
+                .title("参与者取消报名")
+                .coalesceKey("registration.cancelled")
+                .content(String.format("%s取消了活动「%s」的报名", nickname, activity.getTitle()))
+                .messageType(MESSAGE_TYPE_REGISTRATION)
+                .relatedId(activity.getId())
+                .relatedType("activity")
+                .senderId(userId)
+                .digestContent(String.format("活动「%s」有%s人取消报名", activity.getTitle(), NotificationCoalescer.COUNT_PLACEHOLDER))
+                .build());
     }
 
     /**
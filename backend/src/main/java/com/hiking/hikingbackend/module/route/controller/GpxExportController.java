@@ -0,0 +1,115 @@
+package com.hiking.hikingbackend.module.route.controller;
+
+import com.hiking.hikingbackend.common.utils.SecurityUtils;
+import com.hiking.hikingbackend.module.route.service.GpxExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * GPX导出控制器
+ * <p>
+ * 返回文件资源，由 Spring MVC 处理 Range（206 分段下载）和 If-None-Match（304）；
+ * If-Range 与当前 ETag 不一致时返回完整文件，保证断点续传不会拼接不同版本的数据
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Tag(name = "GPX导出", description = "路线和轨迹GPX下载接口")
+@Validated
+@RestController
+@RequestMapping("")
+@RequiredArgsConstructor
+public class GpxExportController {
+
+    private static final MediaType GPX = MediaType.parseMediaType("application/gpx+xml");
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final GpxExportService gpxExportService;
+
+    /**
+     * 导出路线GPX（公开路线无需登录，私有路线仅创建者）
+     *
+     * @param routeId 路线ID
+     * @param gzip 是否GZIP压缩
+     * @param ifRange 断点续传校验头
+     * @return GPX文件
+     */
+    @Operation(summary = "导出路线GPX", description = "按顺序号导出路线点位为GPX航线，支持GZIP压缩和Range断点续传")
+    @GetMapping("/routes/{id}/gpx")
+    public ResponseEntity<Resource> exportRoute(
+            @Parameter(description = "路线ID", required = true, example = "1")
+            @PathVariable("id") Long routeId,
+            @Parameter(description = "是否GZIP压缩", example = "false")
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return toResponse(gpxExportService.exportRoute(userId, routeId, gzip), ifRange);
+    }
+
+    /**
+     * 导出我的活动轨迹GPX（需登录）
+     *
+     * @param activityId 活动ID
+     * @param gzip 是否GZIP压缩
+     * @param ifRange 断点续传校验头
+     * @return GPX文件
+     */
+    @Operation(summary = "导出我的轨迹GPX", description = "导出当前用户在活动中记录的轨迹（含已归档数据），支持GZIP压缩和Range断点续传，需要登录")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/activities/{activityId}/track/gpx")
+    public ResponseEntity<Resource> exportTrack(
+            @Parameter(description = "活动ID", required = true, example = "1")
+            @PathVariable("activityId") Long activityId,
+            @Parameter(description = "是否GZIP压缩", example = "false")
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange) {
+        // 获取当前用户ID
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        return toResponse(gpxExportService.exportTrack(userId, activityId, gzip), ifRange);
+    }
+
+    private ResponseEntity<Resource> toResponse(GpxExportService.ExportFile file, String ifRange) {
+        Resource body;
+        // If-Range 不匹配：返回完整内容（InputStreamResource 不参与 Range 处理）
+        if (ifRange != null && !ifRange.equals(file.getEtag())) {
+            try {
+                body = new InputStreamResource(Files.newInputStream(file.getPath()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            body = new FileSystemResource(file.getPath());
+        }
+        return ResponseEntity.ok()
+                .contentType(file.isGzip() ? GZIP : GPX)
+                .eTag(file.getEtag())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
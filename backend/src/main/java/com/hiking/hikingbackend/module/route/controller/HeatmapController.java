@@ -0,0 +1,51 @@
+package com.hiking.hikingbackend.module.route.controller;
+
+import com.hiking.hikingbackend.common.result.Result;
+import com.hiking.hikingbackend.module.route.service.HeatmapService;
+import com.hiking.hikingbackend.module.route.vo.HeatTileVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 轨迹热力图控制器
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Tag(name = "轨迹热力图", description = "历史轨迹热力图瓦片接口")
+@Validated
+@RestController
+@RequestMapping("")
+@RequiredArgsConstructor
+public class HeatmapController {
+
+    private final HeatmapService heatmapService;
+
+    /**
+     * 获取热力瓦片（公开）
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return 热力瓦片
+     */
+    @Operation(summary = "热力瓦片", description = "按 Web 墨卡托瓦片坐标获取历史轨迹热力网格，单元计数为经过该单元的轨迹条数")
+    @GetMapping("/routes/heatmap/{z}/{x}/{y}")
+    public Result<HeatTileVO> getHeatTile(
+            @Parameter(description = "缩放级别", required = true, example = "12")
+            @PathVariable("z") Integer z,
+            @Parameter(description = "瓦片列号", required = true, example = "3372")
+            @PathVariable("x") Integer x,
+            @Parameter(description = "瓦片行号", required = true, example = "1552")
+            @PathVariable("y") Integer y) {
+        HeatTileVO tile = heatmapService.getTile(z, x, y);
+        return Result.success(tile);
+    }
+}
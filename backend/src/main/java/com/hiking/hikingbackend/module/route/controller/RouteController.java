@@ -3,19 +3,35 @@ package com.hiking.hikingbackend.module.route.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.hiking.hikingbackend.common.result.Result;
 import com.hiking.hikingbackend.common.utils.SecurityUtils;
+import com.hiking.hikingbackend.module.route.dto.CheckpointBatchDTO;
 import com.hiking.hikingbackend.module.route.dto.CheckpointCreateDTO;
 import com.hiking.hikingbackend.module.route.dto.RouteCreateDTO;
+import com.hiking.hikingbackend.module.route.dto.RouteImportDTO;
 import com.hiking.hikingbackend.module.route.dto.RouteQuery;
+import com.hiking.hikingbackend.module.route.service.ElevationProfileService;
+import com.hiking.hikingbackend.module.route.service.RegionFacetService;
 import com.hiking.hikingbackend.module.route.service.RouteService;
+import com.hiking.hikingbackend.module.route.service.RouteSimilarityService;
+import com.hiking.hikingbackend.module.route.service.RouteViewportService;
+import com.hiking.hikingbackend.module.route.vo.CheckpointVO;
+import com.hiking.hikingbackend.module.route.vo.ElevationProfileVO;
+import com.hiking.hikingbackend.module.route.vo.RegionFacetVO;
 import com.hiking.hikingbackend.module.route.vo.RouteVO;
+import com.hiking.hikingbackend.module.route.vo.RouteViewportVO;
+import com.hiking.hikingbackend.module.route.vo.SimilarRouteVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * 路线控制器
@@ -32,6 +48,14 @@ public class RouteController {
 
     private final RouteService routeService;
 
+    private final RouteViewportService routeViewportService;
+
+    private final ElevationProfileService elevationProfileService;
+
+    private final RouteSimilarityService routeSimilarityService;
+
+    private final RegionFacetService regionFacetService;
+
     /**
      * 创建路线（需登录，组织者）
      * 需要校验：用户已登录
@@ -39,7 +63,7 @@ public class RouteController {
      * @param createDTO 创建信息
      * @return 路线ID
      */
-    @Operation(summary = "创建路线", description = "创建新路线，需要登录", security = {@SecurityRequirement(name = "Bearer Authentication")})
+    @Operation(summary = "创建路线", description = "创建新路线，需要登录；与已有公开路线疑似重复时在提示信息中说明，详情见相似路线接口", security = {@SecurityRequirement(name = "Bearer Authentication")})
     @SecurityRequirement(name = "Bearer Authentication")
     @PostMapping("/routes")
     public Result<Long> createRoute(@Valid @RequestBody RouteCreateDTO createDTO) {
@@ -50,35 +74,152 @@ public class RouteController {
         }
 
         Long routeId = routeService.createRoute(userId, createDTO);
+        List<SimilarRouteVO> similarRoutes = routeSimilarityService.getSimilarRoutes(routeId);
+        if (!similarRoutes.isEmpty()) {
+            return Result.success("路线创建成功，发现" + similarRoutes.size() + "条疑似重复的公开路线，建议合并", routeId);
+        }
         return Result.success("路线创建成功", routeId);
     }
 
+    /**
+     * 导入路线文件（需登录，组织者）
+     * 支持GPX和KML，里程、爬升、海拔、起终点由文件计算
+     *
+     * @param file 路线文件
+     * @param importDTO 路线信息
+     * @return 路线详情
+     */
+    @Operation(summary = "导入路线文件", description = "上传GPX或KML文件创建路线，自动生成路线点位并计算里程、累计爬升/下降、最高/最低海拔，需要登录", security = {@SecurityRequirement(name = "Bearer Authentication")})
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping(value = "/routes/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Result<RouteVO> importRoute(
+            @Parameter(description = "GPX或KML文件", required = true)
+            @RequestPart("file") MultipartFile file,
+            @Valid @ModelAttribute RouteImportDTO importDTO) {
+        // 获取当前用户ID
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        RouteVO routeVO = routeService.importRoute(userId, importDTO, file);
+        if (routeVO.getSimilarRoutes() != null && !routeVO.getSimilarRoutes().isEmpty()) {
+            return Result.success("路线导入成功，发现" + routeVO.getSimilarRoutes().size() + "条疑似重复的公开路线，建议合并", routeVO);
+        }
+        return Result.success("路线导入成功", routeVO);
+    }
+
     /**
      * 路线列表（公开路线）
      *
      * @param query 查询条件
      * @return 路线列表
      */
-    @Operation(summary = "路线列表", description = "查询公开的路线列表，支持按名称、地区、难度筛选")
+    @Operation(summary = "路线列表", description = "查询公开的路线列表，支持按名称、地区、起点Geohash前缀、难度筛选")
     @GetMapping("/routes")
     public Result<IPage<RouteVO>> getRouteList(RouteQuery query) {
         IPage<RouteVO> page = routeService.getRouteList(query);
         return Result.success(page);
     }
 
+    /**
+     * 路线地区分面（公开路线）
+     * 返回前缀下一级各Geohash网格中的路线数量，只读内存索引
+     *
+     * @param prefix Geohash前缀
+     * @return 网格计数
+     */
+    @Operation(summary = "路线地区分面", description = "按起点Geohash逐级统计公开路线数量，prefix为空时返回顶级网格；返回的geohash可直接作为路线列表的geohash参数")
+    @GetMapping("/routes/region-facets")
+    public Result<List<RegionFacetVO>> getRouteRegionFacets(
+            @Parameter(description = "Geohash前缀", example = "wx4") @RequestParam(required = false) String prefix) {
+        List<RegionFacetVO> facets = regionFacetService.getRouteFacets(prefix);
+        return Result.success(facets);
+    }
+
+    /**
+     * 地图视口内的路线（公开路线）
+     * 只读内存空间索引，不访问数据库
+     *
+     * @param minLat 最小纬度
+     * @param minLng 最小经度
+     * @param maxLat 最大纬度
+     * @param maxLng 最大经度
+     * @param limit 返回条数上限
+     * @return 与视口相交的路线
+     */
+    @Operation(summary = "地图视口路线", description = "查询路线范围与地图视口相交的公开路线，minLng大于maxLng时视为跨越180°经线；结果超过上限时truncated为true")
+    @GetMapping("/routes/viewport")
+    public Result<RouteViewportVO> getViewportRoutes(
+            @Parameter(description = "最小纬度", required = true, example = "39.8") @RequestParam double minLat,
+            @Parameter(description = "最小经度", required = true, example = "116.0") @RequestParam double minLng,
+            @Parameter(description = "最大纬度", required = true, example = "40.1") @RequestParam double maxLat,
+            @Parameter(description = "最大经度", required = true, example = "116.5") @RequestParam double maxLng,
+            @Parameter(description = "返回条数上限，默认200，最大500") @RequestParam(required = false) Integer limit) {
+        RouteViewportVO viewport = routeViewportService.queryViewport(minLat, minLng, maxLat, maxLng, limit);
+        return Result.success(viewport);
+    }
+
     /**
      * 路线详情（含点位信息）
+     * <p>
+     * 详情及其 ETag 来自缓存，If-None-Match 一致时直接返回 304，不查库也不序列化响应体
      *
      * @param routeId 路线ID
-     * @return 路线详情
+     * @param webRequest 当前请求
+     * @return 路线详情，未修改时返回null（304）
      */
-    @Operation(summary = "路线详情", description = "查询路线详情，包含签到点信息")
+    @Operation(summary = "路线详情", description = "查询路线详情，包含签到点信息；支持ETag协商缓存，If-None-Match一致时返回304")
     @GetMapping("/routes/{id}")
     public Result<RouteVO> getRouteDetail(
+            @Parameter(description = "路线ID", required = true, example = "1")
+            @PathVariable("id") Long routeId,
+            WebRequest webRequest) {
+        RouteService.RouteDetail detail = routeService.getRouteDetail(routeId);
+        if (webRequest.checkNotModified(detail.getEtag())) {
+            return null;
+        }
+        return Result.success(detail.getRoute());
+    }
+
+    /**
+     * 相似路线（疑似重复）
+     *
+     * @param routeId 路线ID
+     * @return 相似路线列表
+     */
+    @Operation(summary = "相似路线", description = "查询轨迹与该路线几乎重合（含方向相反）的公开路线，按离散Fréchet距离升序，用于提示合并重复路线")
+    @GetMapping("/routes/{id}/similar")
+    public Result<List<SimilarRouteVO>> getSimilarRoutes(
             @Parameter(description = "路线ID", required = true, example = "1")
             @PathVariable("id") Long routeId) {
-        RouteVO routeVO = routeService.getRouteDetail(routeId);
-        return Result.success(routeVO);
+        List<SimilarRouteVO> similarRoutes = routeSimilarityService.getSimilarRoutes(routeId);
+        return Result.success(similarRoutes);
+    }
+
+    /**
+     * 路线海拔剖面
+     * <p>
+     * ETag 由路线更新时间和分辨率决定，If-None-Match 一致时返回 304 且不读取剖面数据
+     *
+     * @param routeId 路线ID
+     * @param resolution 分辨率
+     * @param webRequest 当前请求
+     * @return 海拔剖面，未修改时返回null（304）
+     */
+    @Operation(summary = "路线海拔剖面", description = "按里程降采样的海拔剖面，每个里程区间保留最高点和最低点；分辨率支持64、256、1024，默认256；支持ETag协商缓存")
+    @GetMapping("/routes/{id}/elevation-profile")
+    public Result<ElevationProfileVO> getElevationProfile(
+            @Parameter(description = "路线ID", required = true, example = "1")
+            @PathVariable("id") Long routeId,
+            @Parameter(description = "分辨率：64、256、1024", example = "256") @RequestParam(required = false) Integer resolution,
+            WebRequest webRequest) {
+        String etag = elevationProfileService.getProfileEtag(routeId, resolution);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ElevationProfileVO profile = elevationProfileService.getProfile(routeId, resolution);
+        return Result.success(profile);
     }
 
     /**
@@ -105,5 +246,30 @@ public class RouteController {
         Long checkpointId = routeService.addCheckpoint(userId, routeId, createDTO);
         return Result.success("签到点添加成功", checkpointId);
     }
+
+    /**
+     * 批量保存路线签到点（需登录，路线创建者）
+     * 列表顺序即默认顺序号，可用于一次性设置、重排或替换全部签到点
+     *
+     * @param routeId 路线ID
+     * @param batchDTO 签到点列表
+     * @return 保存后的全部签到点
+     */
+    @Operation(summary = "批量保存签到点", description = "一次事务内新增、覆盖、重排签到点；replace为true时删除列表中未出现的签到点；校验顺序号重复和签到范围重叠，需要登录，仅限路线创建者", security = {@SecurityRequirement(name = "Bearer Authentication")})
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PutMapping("/routes/{id}/checkpoints")
+    public Result<List<CheckpointVO>> saveCheckpoints(
+            @Parameter(description = "路线ID", required = true, example = "1")
+            @PathVariable("id") Long routeId,
+            @Valid @RequestBody CheckpointBatchDTO batchDTO) {
+        // 获取当前用户ID
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new RuntimeException("无法获取当前用户ID");
+        }
+
+        List<CheckpointVO> checkpoints = routeService.saveCheckpoints(userId, routeId, batchDTO);
+        return Result.success("签到点保存成功", checkpoints);
+    }
 }
 
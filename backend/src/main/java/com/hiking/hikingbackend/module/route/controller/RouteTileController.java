@@ -0,0 +1,66 @@
+package com.hiking.hikingbackend.module.route.controller;
+
+import com.hiking.hikingbackend.config.RouteTileProperties;
+import com.hiking.hikingbackend.module.route.service.RouteTileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * 路线矢量瓦片控制器
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Tag(name = "路线矢量瓦片", description = "路线线条 Mapbox Vector Tile 接口")
+@Validated
+@RestController
+@RequestMapping("")
+@RequiredArgsConstructor
+public class RouteTileController {
+
+    private static final MediaType MVT = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
+
+    private final RouteTileService routeTileService;
+
+    private final RouteTileProperties properties;
+
+    /**
+     * 获取路线矢量瓦片（公开）
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return MVT 瓦片，瓦片内没有路线时返回204
+     */
+    @Operation(summary = "路线矢量瓦片", description = "按 Web 墨卡托瓦片坐标获取公开路线线条（MVT，图层名 routes，属性 name、difficulty、distance），几何已按瓦片裁剪和抽稀")
+    @GetMapping("/tiles/routes/{z}/{x}/{y}.mvt")
+    public ResponseEntity<byte[]> getRouteTile(
+            @Parameter(description = "缩放级别", required = true, example = "12")
+            @PathVariable("z") Integer z,
+            @Parameter(description = "瓦片列号", required = true, example = "3372")
+            @PathVariable("x") Integer x,
+            @Parameter(description = "瓦片行号", required = true, example = "1552")
+            @PathVariable("y") Integer y) {
+        byte[] tile = routeTileService.getTile(z, x, y);
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(properties.getBrowserCacheSeconds())).cachePublic();
+        if (tile.length == 0) {
+            return ResponseEntity.noContent().cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MVT)
+                .cacheControl(cacheControl)
+                .body(tile);
+    }
+}
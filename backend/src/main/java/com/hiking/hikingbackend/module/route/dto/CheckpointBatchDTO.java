@@ -0,0 +1,29 @@
+package com.hiking.hikingbackend.module.route.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量保存签到点请求DTO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Schema(description = "批量保存签到点请求")
+public class CheckpointBatchDTO {
+
+    @Schema(description = "是否整体替换：true时删除列表中未出现的已有签到点，false时只新增和覆盖", example = "true")
+    private Boolean replace;
+
+    @Schema(description = "签到点列表", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "签到点列表不能为空")
+    @Size(max = 100, message = "签到点最多100个")
+    @Valid
+    private List<CheckpointBatchItemDTO> checkpoints;
+}
@@ -0,0 +1,22 @@
+package com.hiking.hikingbackend.module.route.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 批量保存签到点中的单个签到点
+ * <p>
+ * 带ID时覆盖该签到点，不带ID时新增；顺序号不填时取其在列表中的位置（从1开始）
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "批量保存的签到点")
+public class CheckpointBatchItemDTO extends CheckpointCreateDTO {
+
+    @Schema(description = "签到点ID，为空时新增", example = "1")
+    private Long id;
+}
@@ -0,0 +1,53 @@
+package com.hiking.hikingbackend.module.route.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 路线文件导入请求DTO
+ * <p>
+ * 里程、爬升、下降、最高/最低海拔和起终点坐标由文件计算，无需填写
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Schema(description = "路线文件导入请求")
+public class RouteImportDTO {
+
+    @Schema(description = "路线名称，不填时取文件中的名称", example = "香山南线徒步路线")
+    @Size(max = 100, message = "路线名称最多100个字符")
+    private String name;
+
+    @Schema(description = "路线描述", example = "这是一条风景优美的徒步路线，适合初级爱好者")
+    @Size(max = 2000, message = "路线描述最多2000个字符")
+    private String description;
+
+    @Schema(description = "难度：1休闲 2简单 3中等 4困难 5极限", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "难度等级不能为空")
+    @Min(value = 1, message = "难度等级必须在1-5之间")
+    @Max(value = 5, message = "难度等级必须在1-5之间")
+    private Integer difficultyLevel;
+
+    @Schema(description = "预计用时（小时），不填时按里程和爬升估算", example = "4.5")
+    @DecimalMin(value = "0.1", message = "预计用时必须大于0")
+    private BigDecimal estimatedHours;
+
+    @Schema(description = "起点名称", example = "香山公园东门")
+    @Size(max = 100, message = "起点名称最多100个字符")
+    private String startPointName;
+
+    @Schema(description = "终点名称", example = "香山公园北门")
+    @Size(max = 100, message = "终点名称最多100个字符")
+    private String endPointName;
+
+    @Schema(description = "所属地区", example = "北京海淀区")
+    @Size(max = 100, message = "所属地区最多100个字符")
+    private String region;
+
+    @Schema(description = "是否公开：0否 1是", example = "1")
+    private Integer isPublic;
+}
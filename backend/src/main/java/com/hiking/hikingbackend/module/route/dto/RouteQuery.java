@@ -22,12 +22,18 @@ public class RouteQuery {
     @Schema(description = "路线名称（模糊查询）", example = "香山")
     private String name;
 
-    @Schema(description = "所属地区（模糊查询）", example = "北京")
+    @Schema(description = "所属地区（模糊查询，全表扫描，建议改用geohash）", example = "北京")
     private String region;
 
+    @Schema(description = "起点Geohash前缀（1-8位，走索引范围扫描），取值见地区分面接口", example = "wx4e")
+    private String geohash;
+
     @Schema(description = "难度：1休闲 2简单 3中等 4困难 5极限", example = "2")
     private Integer difficultyLevel;
 
+    @Schema(description = "排序方式：popular按使用次数（默认） trending按热度", example = "trending")
+    private String sortBy;
+
     @Schema(description = "是否公开：0否 1是", example = "1")
     private Integer isPublic;
 
@@ -0,0 +1,57 @@
+package com.hiking.hikingbackend.module.route.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 热力图已合并活动实体类
+ * <p>
+ * 每个活动的轨迹只合并一次，插入该表成功即获得合并权
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("heat_merged_activity")
+public class HeatMergedActivity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 活动ID
+     */
+    @TableId(value = "activity_id", type = IdType.INPUT)
+    private Long activityId;
+
+    /**
+     * 合并的轨迹数（参与者数）
+     */
+    @TableField("track_count")
+    private Integer trackCount;
+
+    /**
+     * 合并的轨迹点数
+     */
+    @TableField("point_count")
+    private Integer pointCount;
+
+    /**
+     * 合并时间
+     */
+    @TableField("create_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime createTime;
+}
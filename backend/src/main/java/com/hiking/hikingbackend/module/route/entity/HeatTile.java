@@ -0,0 +1,73 @@
+package com.hiking.hikingbackend.module.route.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 轨迹热力瓦片实体类
+ * <p>
+ * 主键为（缩放级别, 瓦片列号, 瓦片行号），读写均通过 HeatTileMapper.xml 中的语句
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("heat_tile")
+public class HeatTile implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 缩放级别
+     */
+    @TableField("z")
+    private Integer z;
+
+    /**
+     * 瓦片列号
+     */
+    @TableField("x")
+    private Integer x;
+
+    /**
+     * 瓦片行号
+     */
+    @TableField("y")
+    private Integer y;
+
+    /**
+     * 稀疏网格计数（变长整数编码）
+     */
+    @TableField("cells")
+    private byte[] cells;
+
+    /**
+     * 单元计数总和
+     */
+    @TableField("total_count")
+    private Long totalCount;
+
+    /**
+     * 单元最大计数
+     */
+    @TableField("max_count")
+    private Integer maxCount;
+
+    /**
+     * 更新时间
+     */
+    @TableField("update_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime updateTime;
+}
@@ -134,6 +134,12 @@ public class Route implements Serializable {
     @TableField("region")
     private String region;
 
+    /**
+     * 起点Geohash（8位，由起点坐标生成，用于地区前缀筛选）
+     */
+    @TableField("geohash")
+    private String geohash;
+
     /**
      * 是否公开：0否 1是
      */
@@ -146,6 +152,12 @@ public class Route implements Serializable {
     @TableField("use_count")
     private Integer useCount;
 
+    /**
+     * 热度分（对数空间，只由热度服务批量累加，不参与实体更新）
+     */
+    @TableField(value = "trending_score", insertStrategy = FieldStrategy.NEVER, updateStrategy = FieldStrategy.NEVER)
+    private Double trendingScore;
+
     /**
      * 状态：0禁用 1正常
      */
@@ -0,0 +1,61 @@
+package com.hiking.hikingbackend.module.route.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 路线海拔剖面实体类
+ * <p>
+ * 主键为（路线ID, 分辨率），读写均通过 RouteElevationProfileMapper.xml 中的语句
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("route_elevation_profile")
+public class RouteElevationProfile implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 路线ID
+     */
+    @TableField("route_id")
+    private Long routeId;
+
+    /**
+     * 分辨率（按里程等分的桶数）
+     */
+    @TableField("resolution")
+    private Integer resolution;
+
+    /**
+     * 剖面点数
+     */
+    @TableField("point_count")
+    private Integer pointCount;
+
+    /**
+     * 剖面数据（变长整数编码）
+     */
+    @TableField("data")
+    private byte[] data;
+
+    /**
+     * 生成时间
+     */
+    @TableField("update_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,61 @@
+package com.hiking.hikingbackend.module.route.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 相似路线实体类
+ * <p>
+ * 主键为（路线ID, 相似路线ID），每对相似路线两个方向各存一行，读写均通过 RouteSimilarityMapper.xml 中的语句
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("route_similarity")
+public class RouteSimilarity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 路线ID
+     */
+    @TableField("route_id")
+    private Long routeId;
+
+    /**
+     * 相似路线ID
+     */
+    @TableField("similar_route_id")
+    private Long similarRouteId;
+
+    /**
+     * 离散Fréchet距离（米）
+     */
+    @TableField("frechet_distance")
+    private Integer frechetDistance;
+
+    /**
+     * 是否反向相似：0否 1是
+     */
+    @TableField("reversed")
+    private Integer reversed;
+
+    /**
+     * 检测时间
+     */
+    @TableField("create_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,25 @@
+package com.hiking.hikingbackend.module.route.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 路线变更事件
+ * <p>
+ * 路线创建、导入、修改或停用时发布，监听方应使用 {@code @TransactionalEventListener}，
+ * 在变更提交后按路线ID重新读取最新状态
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RouteChangedEvent {
+
+    /**
+     * 路线ID
+     */
+    private final Long routeId;
+}
@@ -0,0 +1,12 @@
+/**
+ * 路线事件包
+ * <p>
+ * 路线变更事件，供其他模块监听：
+ * <ul>
+ *   <li>RouteChangedEvent - 路线变更事件</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.route.event;
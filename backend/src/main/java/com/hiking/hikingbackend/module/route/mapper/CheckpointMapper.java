@@ -3,6 +3,9 @@ package com.hiking.hikingbackend.module.route.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.hiking.hikingbackend.module.route.entity.Checkpoint;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 签到点Mapper接口
@@ -12,5 +15,20 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface CheckpointMapper extends BaseMapper<Checkpoint> {
-}
 
+    /**
+     * 批量插入签到点（回填自增ID）
+     *
+     * @param list 签到点列表
+     * @return 影响行数
+     */
+    int insertBatch(@Param("list") List<Checkpoint> list);
+
+    /**
+     * 批量覆盖已有签到点（按主键，创建者和创建时间不变）
+     *
+     * @param list 签到点列表，ID必须已存在
+     * @return 影响行数
+     */
+    int updateBatch(@Param("list") List<Checkpoint> list);
+}
@@ -0,0 +1,34 @@
+package com.hiking.hikingbackend.module.route.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.hiking.hikingbackend.module.route.entity.HeatMergedActivity;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 热力图已合并活动Mapper接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Mapper
+public interface HeatMergedActivityMapper extends BaseMapper<HeatMergedActivity> {
+
+    /**
+     * 登记已合并活动，已存在时忽略
+     *
+     * @param merged 合并记录
+     * @return 影响行数，0表示该活动已被合并
+     */
+    int insertIgnore(HeatMergedActivity merged);
+
+    /**
+     * 查询已结束但尚未合并到热力图的活动ID
+     *
+     * @param limit 最大条数
+     * @return 活动ID列表
+     */
+    List<Long> selectUnmergedEndedActivityIds(@Param("limit") int limit);
+}
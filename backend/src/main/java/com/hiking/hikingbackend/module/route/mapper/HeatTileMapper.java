@@ -0,0 +1,54 @@
+package com.hiking.hikingbackend.module.route.mapper;
+
+import com.hiking.hikingbackend.module.route.entity.HeatTile;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 轨迹热力瓦片Mapper接口
+ * <p>
+ * heat_tile 为复合主键，不继承 BaseMapper，全部语句在 HeatTileMapper.xml 中定义
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Mapper
+public interface HeatTileMapper {
+
+    /**
+     * 查询单个瓦片
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return 瓦片，不存在时返回null
+     */
+    HeatTile selectByKey(@Param("z") int z, @Param("x") int x, @Param("y") int y);
+
+    /**
+     * 批量查询瓦片并加行锁（合并时使用，须在事务中调用）
+     *
+     * @param keys 瓦片坐标（仅使用z、x、y）
+     * @return 已存在的瓦片
+     */
+    List<HeatTile> selectByKeysForUpdate(@Param("keys") List<HeatTile> keys);
+
+    /**
+     * 批量写入瓦片（按主键覆盖）
+     *
+     * @param list 瓦片列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("list") List<HeatTile> list);
+
+    /**
+     * 查询不超过指定缩放级别的瓦片（按单元计数总和降序，用于缓存预热）
+     *
+     * @param maxZoom 最大缩放级别
+     * @param limit   最大条数
+     * @return 瓦片列表
+     */
+    List<HeatTile> selectHotTiles(@Param("maxZoom") int maxZoom, @Param("limit") int limit);
+}
@@ -0,0 +1,44 @@
+package com.hiking.hikingbackend.module.route.mapper;
+
+import com.hiking.hikingbackend.module.route.entity.RouteElevationProfile;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 路线海拔剖面Mapper接口
+ * <p>
+ * route_elevation_profile 为复合主键，不继承 BaseMapper，全部语句在 RouteElevationProfileMapper.xml 中定义
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Mapper
+public interface RouteElevationProfileMapper {
+
+    /**
+     * 查询单个剖面
+     *
+     * @param routeId    路线ID
+     * @param resolution 分辨率
+     * @return 剖面，不存在时返回null
+     */
+    RouteElevationProfile selectByKey(@Param("routeId") Long routeId, @Param("resolution") int resolution);
+
+    /**
+     * 批量写入剖面（按主键覆盖）
+     *
+     * @param list 剖面列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("list") List<RouteElevationProfile> list);
+
+    /**
+     * 删除路线的全部剖面
+     *
+     * @param routeId 路线ID
+     * @return 影响行数
+     */
+    int deleteByRouteId(@Param("routeId") Long routeId);
+}
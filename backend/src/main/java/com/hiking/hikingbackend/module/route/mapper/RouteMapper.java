@@ -1,8 +1,15 @@
 package com.hiking.hikingbackend.module.route.mapper;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.hiking.hikingbackend.common.utils.GeohashFacetIndex;
+import com.hiking.hikingbackend.module.activity.support.TrendingCounter;
 import com.hiking.hikingbackend.module.route.entity.Route;
+import com.hiking.hikingbackend.module.route.support.RouteBounds;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 路线Mapper接口
@@ -12,5 +19,36 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface RouteMapper extends BaseMapper<Route> {
-}
 
+    /**
+     * 查询公开且正常的路线的空间范围（起终点坐标及路线点位经纬度范围）
+     *
+     * @param routeId 路线ID，为空时查询全部
+     * @return 路线空间范围列表
+     */
+    List<RouteBounds> selectRouteBounds(@Param("routeId") Long routeId);
+
+    /**
+     * 批量累加热度分和使用次数（不改变更新时间）
+     *
+     * @param list 热度增量
+     * @return 影响行数
+     */
+    @InterceptorIgnore(blockAttack = "true")
+    int updateTrendingBatch(@Param("list") List<TrendingCounter.Delta> list);
+
+    /**
+     * 按Geohash前缀统计公开且正常的路线数量
+     *
+     * @param precision 前缀长度
+     * @return 网格计数
+     */
+    List<GeohashFacetIndex.Cell> countByGeohash(@Param("precision") int precision);
+
+    /**
+     * 为缺少Geohash的路线按起点坐标补齐
+     *
+     * @return 影响行数
+     */
+    int fillMissingGeohash();
+}
@@ -3,6 +3,10 @@ package com.hiking.hikingbackend.module.route.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.hiking.hikingbackend.module.route.entity.RoutePoint;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.List;
 
 /**
  * 路线点位Mapper接口
@@ -12,5 +16,32 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface RoutePointMapper extends BaseMapper<RoutePoint> {
-}
 
+    /**
+     * 批量插入路线点位
+     *
+     * @param list 点位列表
+     * @return 影响行数
+     */
+    int insertBatch(@Param("list") List<RoutePoint> list);
+
+    /**
+     * 流式读取路线点位（按顺序号排序）
+     * <p>
+     * 需在事务内使用，游标关闭前连接不会释放
+     *
+     * @param routeId 路线ID
+     * @return 点位游标
+     */
+    Cursor<RoutePoint> selectCursorByRouteId(@Param("routeId") Long routeId);
+
+    /**
+     * 流式读取多条路线的坐标（按路线ID、顺序号排序，只含 routeId、latitude、longitude）
+     * <p>
+     * 需在事务内使用，游标关闭前连接不会释放
+     *
+     * @param routeIds 路线ID列表
+     * @return 点位游标
+     */
+    Cursor<RoutePoint> selectCursorByRouteIds(@Param("routeIds") List<Long> routeIds);
+}
@@ -0,0 +1,53 @@
+package com.hiking.hikingbackend.module.route.mapper;
+
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import com.hiking.hikingbackend.module.route.entity.RouteSimilarity;
+import com.hiking.hikingbackend.module.route.vo.SimilarRouteVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 相似路线Mapper接口
+ * <p>
+ * route_similarity 为复合主键，不继承 BaseMapper，全部语句在 RouteSimilarityMapper.xml 中定义
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Mapper
+public interface RouteSimilarityMapper {
+
+    /**
+     * 查询路线的相似路线（只含公开且正常的路线，按距离升序）
+     *
+     * @param routeId 路线ID
+     * @return 相似路线
+     */
+    List<SimilarRouteVO> selectSimilarRoutes(@Param("routeId") Long routeId);
+
+    /**
+     * 批量写入（按主键覆盖）
+     *
+     * @param list 相似关系列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("list") List<RouteSimilarity> list);
+
+    /**
+     * 删除路线两个方向的全部相似关系
+     *
+     * @param routeId 路线ID
+     * @return 影响行数
+     */
+    int deleteByRouteId(@Param("routeId") Long routeId);
+
+    /**
+     * 删除全部相似关系（全量检测时在同一事务内先删后写）
+     *
+     * @return 影响行数
+     */
+    @InterceptorIgnore(blockAttack = "true")
+    int deleteAll();
+}
@@ -7,6 +7,8 @@
  *   <li>路线查询</li>
  *   <li>路线点位管理</li>
  *   <li>路线统计</li>
+ *   <li>历史轨迹热力图</li>
+ *   <li>地图视口路线查询</li>
  * </ul>
  *
  * @author hiking-system
@@ -0,0 +1,54 @@
+package com.hiking.hikingbackend.module.route.service;
+
+import com.hiking.hikingbackend.module.route.entity.Route;
+import com.hiking.hikingbackend.module.route.support.ElevationProfileBuilder;
+import com.hiking.hikingbackend.module.route.vo.ElevationProfileVO;
+
+/**
+ * 路线海拔剖面服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface ElevationProfileService {
+
+    /**
+     * 路线详情中返回的剖面分辨率
+     */
+    int DEFAULT_RESOLUTION = 256;
+
+    /**
+     * 按全部预设分辨率生成并保存剖面（覆盖已有剖面，随调用方事务提交）
+     *
+     * @param routeId 路线ID
+     * @param builder 已输入全部点位的剖面生成器
+     */
+    void saveProfiles(Long routeId, ElevationProfileBuilder builder);
+
+    /**
+     * 获取路线剖面，尚未生成时按路线点位生成并保存
+     *
+     * @param routeId    路线ID
+     * @param resolution 分辨率，为空时使用默认值
+     * @return 剖面
+     */
+    ElevationProfileVO getProfile(Long routeId, Integer resolution);
+
+    /**
+     * 获取路线剖面，尚未生成时按路线点位生成并保存
+     *
+     * @param route      路线
+     * @param resolution 分辨率
+     * @return 剖面，路线没有海拔数据时返回null
+     */
+    ElevationProfileVO getProfileOrNull(Route route, int resolution);
+
+    /**
+     * 获取剖面的ETag（由路线更新时间和分辨率决定，不读取剖面数据）
+     *
+     * @param routeId    路线ID
+     * @param resolution 分辨率，为空时使用默认值
+     * @return ETag（含双引号）
+     */
+    String getProfileEtag(Long routeId, Integer resolution);
+}
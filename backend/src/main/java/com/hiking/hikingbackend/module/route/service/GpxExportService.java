@@ -0,0 +1,65 @@
+package com.hiking.hikingbackend.module.route.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * GPX导出服务接口
+ * <p>
+ * 导出内容生成到本地文件后再返回，下载和断点续传不占用数据库连接
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface GpxExportService {
+
+    /**
+     * 导出路线点位为GPX航线
+     *
+     * @param userId 当前用户ID，未登录为空（仅可导出公开路线）
+     * @param routeId 路线ID
+     * @param gzip 是否GZIP压缩
+     * @return 导出文件
+     */
+    ExportFile exportRoute(Long userId, Long routeId, boolean gzip);
+
+    /**
+     * 导出用户在活动中记录的轨迹为GPX轨迹
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param gzip 是否GZIP压缩
+     * @return 导出文件
+     */
+    ExportFile exportTrack(Long userId, Long activityId, boolean gzip);
+
+    /**
+     * 导出文件
+     */
+    @Getter
+    @AllArgsConstructor
+    class ExportFile {
+
+        /**
+         * 本地文件路径
+         */
+        private final Path path;
+
+        /**
+         * 下载文件名
+         */
+        private final String fileName;
+
+        /**
+         * 实体标签（数据版本不变则不变，用于缓存校验和断点续传）
+         */
+        private final String etag;
+
+        /**
+         * 是否GZIP压缩
+         */
+        private final boolean gzip;
+    }
+}
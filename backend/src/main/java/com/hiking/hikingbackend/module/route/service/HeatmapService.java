@@ -0,0 +1,30 @@
+package com.hiking.hikingbackend.module.route.service;
+
+import com.hiking.hikingbackend.module.route.vo.HeatTileVO;
+
+/**
+ * 轨迹热力图服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface HeatmapService {
+
+    /**
+     * 获取热力瓦片
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return 热力瓦片（无数据时单元为空）
+     */
+    HeatTileVO getTile(int z, int x, int y);
+
+    /**
+     * 将活动的全部轨迹合并到热力图（每个活动只合并一次）
+     *
+     * @param activityId 活动ID
+     * @return 是否执行了合并，已合并过返回false
+     */
+    boolean mergeActivity(Long activityId);
+}
@@ -0,0 +1,32 @@
+package com.hiking.hikingbackend.module.route.service;
+
+import com.hiking.hikingbackend.module.route.vo.RegionFacetVO;
+
+import java.util.List;
+
+/**
+ * 地区分面服务接口
+ * <p>
+ * 路线、活动按起点 Geohash 前缀计数，列表页据此逐级展示地区筛选项
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface RegionFacetService {
+
+    /**
+     * 公开路线在前缀下一级各网格中的数量
+     *
+     * @param prefix Geohash前缀，为空时返回顶级网格
+     * @return 网格计数（按数量降序）
+     */
+    List<RegionFacetVO> getRouteFacets(String prefix);
+
+    /**
+     * 可见活动在前缀下一级各网格中的数量
+     *
+     * @param prefix Geohash前缀，为空时返回顶级网格
+     * @return 网格计数（按数量降序）
+     */
+    List<RegionFacetVO> getActivityFacets(String prefix);
+}
@@ -1,10 +1,18 @@
 package com.hiking.hikingbackend.module.route.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.hiking.hikingbackend.module.route.dto.CheckpointBatchDTO;
 import com.hiking.hikingbackend.module.route.dto.CheckpointCreateDTO;
 import com.hiking.hikingbackend.module.route.dto.RouteCreateDTO;
+import com.hiking.hikingbackend.module.route.dto.RouteImportDTO;
 import com.hiking.hikingbackend.module.route.dto.RouteQuery;
+import com.hiking.hikingbackend.module.route.vo.CheckpointVO;
 import com.hiking.hikingbackend.module.route.vo.RouteVO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
 
 /**
  * 路线服务接口
@@ -23,6 +31,16 @@ public interface RouteService {
      */
     Long createRoute(Long userId, RouteCreateDTO createDTO);
 
+    /**
+     * 从GPX/KML文件导入路线（组织者）
+     *
+     * @param userId 用户ID
+     * @param importDTO 路线信息
+     * @param file 路线文件
+     * @return 路线详情（含文件计算出的里程、爬升等汇总）
+     */
+    RouteVO importRoute(Long userId, RouteImportDTO importDTO, MultipartFile file);
+
     /**
      * 路线列表（公开路线）
      *
@@ -32,12 +50,12 @@ public interface RouteService {
     IPage<RouteVO> getRouteList(RouteQuery query);
 
     /**
-     * 路线详情（含点位信息）
+     * 路线详情（含点位信息，优先读缓存）
      *
      * @param routeId 路线ID
-     * @return 路线详情
+     * @return 路线详情及其ETag
      */
-    RouteVO getRouteDetail(Long routeId);
+    RouteDetail getRouteDetail(Long routeId);
 
     /**
      * 为路线添加签到点
@@ -48,5 +66,34 @@ public interface RouteService {
      * @return 签到点ID
      */
     Long addCheckpoint(Long userId, Long routeId, CheckpointCreateDTO createDTO);
-}
 
+    /**
+     * 批量保存路线签到点（新增、覆盖、重排，整体替换时删除未出现的签到点）
+     *
+     * @param userId   用户ID（必须是路线创建者）
+     * @param routeId  路线ID
+     * @param batchDTO 签到点列表
+     * @return 保存后的全部签到点（按顺序号排序）
+     */
+    List<CheckpointVO> saveCheckpoints(Long userId, Long routeId, CheckpointBatchDTO batchDTO);
+
+    /**
+     * 路线详情及其ETag
+     * <p>
+     * 详情对象会被缓存共享，调用方不得修改
+     */
+    @Getter
+    @AllArgsConstructor
+    class RouteDetail {
+
+        /**
+         * 路线详情
+         */
+        private final RouteVO route;
+
+        /**
+         * 实体标签（由详情内容摘要得到，内容不变则不变）
+         */
+        private final String etag;
+    }
+}
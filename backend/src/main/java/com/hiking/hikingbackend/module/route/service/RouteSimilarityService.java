@@ -0,0 +1,37 @@
+package com.hiking.hikingbackend.module.route.service;
+
+import com.hiking.hikingbackend.module.route.vo.SimilarRouteVO;
+
+import java.util.List;
+
+/**
+ * 相似路线检测服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface RouteSimilarityService {
+
+    /**
+     * 检测单条路线与公开路线库的相似关系并保存（随调用方事务提交）
+     *
+     * @param routeId 路线ID
+     * @return 相似路线，按相似程度排序
+     */
+    List<SimilarRouteVO> checkRoute(Long routeId);
+
+    /**
+     * 查询已保存的相似路线
+     *
+     * @param routeId 路线ID
+     * @return 相似路线，按相似程度排序
+     */
+    List<SimilarRouteVO> getSimilarRoutes(Long routeId);
+
+    /**
+     * 全量检测路线库（含私有路线与公开路线之间的关系），替换已保存的相似关系
+     *
+     * @return 相似路线对数
+     */
+    int scanCatalogue();
+}
@@ -0,0 +1,27 @@
+package com.hiking.hikingbackend.module.route.service;
+
+/**
+ * 路线矢量瓦片服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface RouteTileService {
+
+    /**
+     * 获取路线矢量瓦片（MVT）
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return 瓦片字节，瓦片内没有路线时为空数组
+     */
+    byte[] getTile(int z, int x, int y);
+
+    /**
+     * 使经过该路线新旧范围的瓦片失效
+     *
+     * @param routeId 路线ID
+     */
+    void invalidateRoute(Long routeId);
+}
@@ -0,0 +1,53 @@
+package com.hiking.hikingbackend.module.route.service;
+
+import com.hiking.hikingbackend.module.route.vo.RouteMapItemVO;
+import com.hiking.hikingbackend.module.route.vo.RouteViewportVO;
+
+import java.util.List;
+
+/**
+ * 地图视口路线查询服务接口
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public interface RouteViewportService {
+
+    /**
+     * 查询与视口矩形相交的公开路线（只读内存索引，不访问数据库）
+     * <p>
+     * minLng 大于 maxLng 时视为跨越180°经线的视口
+     *
+     * @param minLat 最小纬度
+     * @param minLng 最小经度（西边界）
+     * @param maxLat 最大纬度
+     * @param maxLng 最大经度（东边界）
+     * @param limit  返回条数上限，为空时使用默认值
+     * @return 查询结果
+     */
+    RouteViewportVO queryViewport(double minLat, double minLng, double maxLat, double maxLng, Integer limit);
+
+    /**
+     * 查询与矩形相交的公开路线（只读内存索引，不跨越180°经线，不受视口查询条数上限约束）
+     *
+     * @param minLat 最小纬度
+     * @param minLng 最小经度
+     * @param maxLat 最大纬度
+     * @param maxLng 最大经度
+     * @param limit  返回条数上限
+     * @return 路线摘要（含外包框）
+     */
+    List<RouteMapItemVO> findRoutes(double minLat, double minLng, double maxLat, double maxLng, int limit);
+
+    /**
+     * 按数据库最新状态刷新单条路线的索引（公开且正常则写入，否则移除）
+     *
+     * @param routeId 路线ID
+     */
+    void refreshRoute(Long routeId);
+
+    /**
+     * 从数据库全量重建索引
+     */
+    void reload();
+}
@@ -0,0 +1,195 @@
+package com.hiking.hikingbackend.module.route.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+import com.hiking.hikingbackend.module.route.entity.Route;
+import com.hiking.hikingbackend.module.route.entity.RouteElevationProfile;
+import com.hiking.hikingbackend.module.route.entity.RoutePoint;
+import com.hiking.hikingbackend.module.route.mapper.RouteElevationProfileMapper;
+import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import com.hiking.hikingbackend.module.route.mapper.RoutePointMapper;
+import com.hiking.hikingbackend.module.route.service.ElevationProfileService;
+import com.hiking.hikingbackend.module.route.support.ElevationProfile;
+import com.hiking.hikingbackend.module.route.support.ElevationProfileBuilder;
+import com.hiking.hikingbackend.module.route.vo.ElevationProfileVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 路线海拔剖面服务实现类
+ * <p>
+ * 剖面在路线导入时随点位一遍生成，按多个分辨率各存一行；
+ * 早于本功能创建的路线在首次读取时用游标逐点重算一次并保存（只保留海拔列，内存与点数成正比但每点仅 12 字节）
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ElevationProfileServiceImpl implements ElevationProfileService {
+
+    private final RouteMapper routeMapper;
+
+    private final RoutePointMapper routePointMapper;
+
+    private final RouteElevationProfileMapper profileMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 预设分辨率：缩略图、详情页、全屏图表
+     */
+    private static final int[] RESOLUTIONS = {64, DEFAULT_RESOLUTION, 1024};
+
+    /**
+     * 按全部预设分辨率生成并保存剖面
+     *
+     * @param routeId 路线ID
+     * @param builder 剖面生成器
+     */
+    @Override
+    public void saveProfiles(Long routeId, ElevationProfileBuilder builder) {
+        List<RouteElevationProfile> rows = new ArrayList<>(RESOLUTIONS.length);
+        for (int resolution : RESOLUTIONS) {
+            ElevationProfile profile = builder.build(resolution);
+            rows.add(RouteElevationProfile.builder()
+                    .routeId(routeId)
+                    .resolution(resolution)
+                    .pointCount(profile.size())
+                    .data(profile.encode())
+                    .build());
+        }
+        profileMapper.upsertBatch(rows);
+        log.info("生成路线海拔剖面，路线ID：{}，海拔点数：{}", routeId, builder.size());
+    }
+
+    /**
+     * 获取路线剖面
+     *
+     * @param routeId    路线ID
+     * @param resolution 分辨率
+     * @return 剖面
+     */
+    @Override
+    public ElevationProfileVO getProfile(Long routeId, Integer resolution) {
+        int checked = checkResolution(resolution);
+        Route route = routeMapper.selectById(routeId);
+        if (route == null) {
+            throw new BusinessException(ResultCode.ROUTE_NOT_FOUND);
+        }
+        ElevationProfileVO vo = getProfileOrNull(route, checked);
+        return vo != null ? vo : toVO(routeId, checked, ElevationProfile.empty());
+    }
+
+    /**
+     * 获取路线剖面，尚未生成时按路线点位生成并保存
+     *
+     * @param route      路线
+     * @param resolution 分辨率
+     * @return 剖面，路线没有海拔数据时返回null
+     */
+    @Override
+    public ElevationProfileVO getProfileOrNull(Route route, int resolution) {
+        // 1. 读取已保存的剖面
+        RouteElevationProfile row = profileMapper.selectByKey(route.getId(), resolution);
+        ElevationProfile profile;
+        if (row != null) {
+            profile = ElevationProfile.decode(row.getData());
+        } else {
+            // 2. 尚未生成：逐点重算全部分辨率（无海拔数据的路线保存空剖面，避免重复计算）
+            ElevationProfileBuilder builder = transactionTemplate.execute(status -> rebuild(route.getId()));
+            profile = builder.build(resolution);
+        }
+        return profile.size() > 0 ? toVO(route.getId(), resolution, profile) : null;
+    }
+
+    /**
+     * 获取剖面的ETag
+     *
+     * @param routeId    路线ID
+     * @param resolution 分辨率
+     * @return ETag
+     */
+    @Override
+    public String getProfileEtag(Long routeId, Integer resolution) {
+        int checked = checkResolution(resolution);
+        LambdaQueryWrapper<Route> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Route::getId, Route::getUpdateTime)
+                .eq(Route::getId, routeId);
+        Route route = routeMapper.selectOne(wrapper);
+        if (route == null) {
+            throw new BusinessException(ResultCode.ROUTE_NOT_FOUND);
+        }
+        long updated = route.getUpdateTime() != null
+                ? route.getUpdateTime().atZone(ZoneId.systemDefault()).toEpochSecond()
+                : 0;
+        return "\"profile-" + routeId + "-" + checked + "-" + updated + "\"";
+    }
+
+    /**
+     * 按路线点位重算并保存剖面（须在事务中调用）
+     */
+    private ElevationProfileBuilder rebuild(Long routeId) {
+        ElevationProfileBuilder builder = new ElevationProfileBuilder();
+        double distance = 0;
+        double lastLat = 0;
+        double lastLng = 0;
+        boolean first = true;
+        try (Cursor<RoutePoint> cursor = routePointMapper.selectCursorByRouteId(routeId)) {
+            for (RoutePoint point : cursor) {
+                double lat = point.getLatitude().doubleValue();
+                double lng = point.getLongitude().doubleValue();
+                if (!first) {
+                    distance += GeoDistanceKernel.distance(lastLat, lastLng, lat, lng);
+                }
+                first = false;
+                lastLat = lat;
+                lastLng = lng;
+                if (point.getElevation() != null) {
+                    builder.accept(distance, point.getElevation());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        saveProfiles(routeId, builder);
+        return builder;
+    }
+
+    /**
+     * 校验分辨率，为空时返回默认值
+     */
+    private int checkResolution(Integer resolution) {
+        if (resolution == null) {
+            return DEFAULT_RESOLUTION;
+        }
+        for (int preset : RESOLUTIONS) {
+            if (preset == resolution) {
+                return preset;
+            }
+        }
+        throw new BusinessException(ResultCode.BAD_REQUEST, "分辨率只支持 64、256、1024");
+    }
+
+    private ElevationProfileVO toVO(Long routeId, int resolution, ElevationProfile profile) {
+        return ElevationProfileVO.builder()
+                .routeId(routeId)
+                .resolution(resolution)
+                .pointCount(profile.size())
+                .distances(profile.getDistances())
+                .elevations(profile.getElevations())
+                .build();
+    }
+}
@@ -0,0 +1,243 @@
+package com.hiking.hikingbackend.module.route.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.GpxWriter;
+import com.hiking.hikingbackend.config.ExportProperties;
+import com.hiking.hikingbackend.module.activity.entity.Activity;
+import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
+import com.hiking.hikingbackend.module.checkin.repository.TrackRecordRepository;
+import com.hiking.hikingbackend.module.route.entity.Route;
+import com.hiking.hikingbackend.module.route.entity.RoutePoint;
+import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import com.hiking.hikingbackend.module.route.mapper.RoutePointMapper;
+import com.hiking.hikingbackend.module.route.service.GpxExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GPX导出服务实现类
+ * <p>
+ * 按“数据版本”生成导出文件：
+ * <ol>
+ *   <li>先用一次聚合查询得到数据版本，同版本文件已存在则直接返回（重复下载、断点续传不再查库）</li>
+ *   <li>否则在事务内用 MyBatis 游标逐行读取，经 StAX 写入临时文件，完成后原子替换为正式文件</li>
+ * </ol>
+ * 数据库连接只在游标读取期间占用，与客户端下载速度无关；内存占用与点数无关
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GpxExportServiceImpl implements GpxExportService {
+
+    private final ExportProperties properties;
+
+    private final RouteMapper routeMapper;
+
+    private final RoutePointMapper routePointMapper;
+
+    private final ActivityMapper activityMapper;
+
+    private final TrackRecordRepository trackRecordRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int ROUTE_PUBLIC = 1;   // 路线公开
+
+    /**
+     * 向GPX写入内容
+     */
+    @FunctionalInterface
+    private interface GpxContent {
+        void write(GpxWriter writer) throws XMLStreamException;
+    }
+
+    /**
+     * 导出路线点位
+     *
+     * @param userId 当前用户ID
+     * @param routeId 路线ID
+     * @param gzip 是否GZIP压缩
+     * @return 导出文件
+     */
+    @Override
+    public ExportFile exportRoute(Long userId, Long routeId, boolean gzip) {
+        // 1. 校验路线和权限
+        Route route = routeMapper.selectById(routeId);
+        if (route == null) {
+            throw new BusinessException(ResultCode.ROUTE_NOT_FOUND);
+        }
+        if (route.getIsPublic() != ROUTE_PUBLIC && !route.getCreatorId().equals(userId)) {
+            throw new BusinessException(ResultCode.FORBIDDEN);
+        }
+
+        // 2. 数据版本：路线更新时间 + 点位数
+        LambdaQueryWrapper<RoutePoint> countWrapper = new LambdaQueryWrapper<>();
+        countWrapper.eq(RoutePoint::getRouteId, routeId);
+        long pointCount = routePointMapper.selectCount(countWrapper);
+        if (pointCount == 0) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "该路线没有点位数据");
+        }
+        long updated = route.getUpdateTime() != null
+                ? route.getUpdateTime().atZone(ZoneId.systemDefault()).toEpochSecond()
+                : 0;
+        String version = updated + "-" + pointCount;
+
+        // 3. 生成或复用导出文件
+        String name = route.getName();
+        return materialize("route-" + routeId, version, "route-" + routeId, gzip, writer -> {
+            writer.start(name);
+            writer.beginRoute(name);
+            try (Cursor<RoutePoint> cursor = routePointMapper.selectCursorByRouteId(routeId)) {
+                for (RoutePoint point : cursor) {
+                    writer.point(point.getLatitude(), point.getLongitude(), point.getElevation(), null);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writer.end();
+        });
+    }
+
+    /**
+     * 导出用户轨迹
+     *
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @param gzip 是否GZIP压缩
+     * @return 导出文件
+     */
+    @Override
+    public ExportFile exportTrack(Long userId, Long activityId, boolean gzip) {
+        // 1. 校验活动
+        Activity activity = activityMapper.selectById(activityId);
+        if (activity == null) {
+            throw new BusinessException(ResultCode.ACTIVITY_NOT_FOUND);
+        }
+
+        // 2. 数据版本：热表行数和最大ID（含归档标记）
+        String version = trackRecordRepository.getUserTrackVersion(userId, activityId);
+        if (version.equals("0-0")) {
+            throw new BusinessException(ResultCode.NOT_FOUND, "暂无轨迹数据");
+        }
+
+        // 3. 生成或复用导出文件
+        String name = activity.getTitle();
+        return materialize("track-" + activityId + "-" + userId, version, "track-" + activityId, gzip, writer -> {
+            writer.start(name);
+            writer.beginTrack(name);
+            trackRecordRepository.forEachByUserAndActivity(userId, activityId, record -> {
+                try {
+                    writer.point(record.getLatitude(), record.getLongitude(), record.getElevation(), record.getRecordTime());
+                } catch (XMLStreamException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            writer.end();
+        });
+    }
+
+    /**
+     * 每10分钟清理过期的导出文件
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void cleanExpired() {
+        Path dir = Paths.get(properties.getCacheDir());
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        long threshold = System.currentTimeMillis() - Duration.ofMinutes(properties.getCacheTtlMinutes()).toMillis();
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toMillis() < threshold && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.error("清理导出文件失败，目录：{}", dir, e);
+        }
+        if (deleted > 0) {
+            log.info("清理过期导出文件，删除数：{}", deleted);
+        }
+    }
+
+    /**
+     * 生成导出文件，同版本已存在则直接返回
+     *
+     * @param key 导出对象标识
+     * @param version 数据版本
+     * @param downloadName 下载文件名（不含扩展名）
+     * @param gzip 是否GZIP压缩
+     * @param content 写入内容（在事务内执行）
+     * @return 导出文件
+     */
+    private ExportFile materialize(String key, String version, String downloadName, boolean gzip, GpxContent content) {
+        String hash = DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        String suffix = gzip ? ".gpx.gz" : ".gpx";
+        String etag = "\"" + key + "-" + hash + (gzip ? "-gz" : "") + "\"";
+        Path dir = Paths.get(properties.getCacheDir());
+        Path target = dir.resolve(key + "-" + hash + suffix);
+        if (Files.isRegularFile(target)) {
+            return new ExportFile(target, downloadName + suffix, etag, gzip);
+        }
+
+        long start = System.nanoTime();
+        Path temp = null;
+        try {
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, key, ".tmp");
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024);
+                 OutputStream out = gzip ? new GZIPOutputStream(file, 64 * 1024) : file) {
+                Path written = temp;
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        content.write(new GpxWriter(out));
+                    } catch (XMLStreamException e) {
+                        throw new IllegalStateException("GPX写入失败：" + written, e);
+                    }
+                });
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.error("生成GPX导出文件失败，导出对象：{}", key, e);
+            deleteQuietly(temp);
+            throw new BusinessException(ResultCode.OPERATION_FAILED.getCode(), "导出失败，请稍后重试");
+        }
+        log.info("生成GPX导出文件，导出对象：{}，大小：{}字节，耗时：{}ms",
+                key, target.toFile().length(), (System.nanoTime() - start) / 1_000_000);
+        return new ExportFile(target, downloadName + suffix, etag, gzip);
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败：{}", path);
+        }
+    }
+}
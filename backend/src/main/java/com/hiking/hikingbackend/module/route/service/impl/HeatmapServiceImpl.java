@@ -0,0 +1,375 @@
+package com.hiking.hikingbackend.module.route.service.impl;
+
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.LruCache;
+import com.hiking.hikingbackend.config.HeatmapProperties;
+import com.hiking.hikingbackend.module.activity.event.ActivityEndedEvent;
+import com.hiking.hikingbackend.module.checkin.entity.TrackRecord;
+import com.hiking.hikingbackend.module.checkin.repository.TrackRecordRepository;
+import com.hiking.hikingbackend.module.route.entity.HeatMergedActivity;
+import com.hiking.hikingbackend.module.route.entity.HeatTile;
+import com.hiking.hikingbackend.module.route.mapper.HeatMergedActivityMapper;
+import com.hiking.hikingbackend.module.route.mapper.HeatTileMapper;
+import com.hiking.hikingbackend.module.route.service.HeatmapService;
+import com.hiking.hikingbackend.module.route.support.HeatTileCodec;
+import com.hiking.hikingbackend.module.route.support.HeatmapBinner;
+import com.hiking.hikingbackend.module.route.vo.HeatTileVO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 轨迹热力图服务实现类
+ * <p>
+ * 历史轨迹按活动增量合并到多级网格计数（heat_tile），读取时不再扫描 track_record：
+ * <ul>
+ *   <li>活动结束后进入待合并队列，每分钟合并一次；每晚补合并遗漏的已结束活动</li>
+ *   <li>合并在一个事务中完成：登记活动（保证只合并一次）、锁定并累加受影响的瓦片</li>
+ *   <li>瓦片读取走 LRU 缓存，启动时预热低缩放级别的热门瓦片，合并后直接用新值刷新缓存，
+ *       与合并并发的缓存加载按版本时钟丢弃，不会用旧值覆盖</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HeatmapServiceImpl implements HeatmapService {
+
+    private final HeatmapProperties properties;
+
+    private final HeatTileMapper heatTileMapper;
+
+    private final HeatMergedActivityMapper heatMergedActivityMapper;
+
+    private final TrackRecordRepository trackRecordRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 待合并的活动ID
+     */
+    private final Set<Long> pendingActivities = ConcurrentHashMap.newKeySet();
+
+    private HeatmapBinner binner;
+
+    private LruCache<Long, HeatTileVO> tileCache;
+
+    private final Object tileLock = new Object();
+
+    /**
+     * 瓦片缓存版本时钟，合并刷新瓦片时加一（受 tileLock 保护）
+     */
+    private long tileClock;
+
+    /**
+     * 有加载进行期间被合并刷新的瓦片及其版本号（受 tileLock 保护），没有进行中的加载时清空
+     */
+    private final Map<Long, Long> tileVersions = new HashMap<>();
+
+    /**
+     * 进行中的瓦片加载数（受 tileLock 保护）
+     */
+    private int loadingTiles;
+
+    private static final int BATCH_SIZE = 200;          // 单条语句最大瓦片数
+    private static final int BACKFILL_BATCH_SIZE = 100; // 补合并每批活动数
+
+    @PostConstruct
+    public void init() {
+        binner = new HeatmapBinner(properties.getMinZoom(), properties.getMaxZoom(), properties.getGridSize());
+        tileCache = new LruCache<>(properties.getCacheSize(),
+                Duration.ofMinutes(properties.getCacheTtlMinutes()).toMillis());
+    }
+
+    /**
+     * 获取热力瓦片
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return 热力瓦片
+     */
+    @Override
+    public HeatTileVO getTile(int z, int x, int y) {
+        if (z < properties.getMinZoom() || z > properties.getMaxZoom()) {
+            throw new BusinessException(ResultCode.BAD_REQUEST,
+                    "缩放级别须在" + properties.getMinZoom() + "到" + properties.getMaxZoom() + "之间");
+        }
+        int tiles = 1 << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "瓦片坐标无效");
+        }
+        long key = HeatmapBinner.tileKey(z, x, y);
+        HeatTileVO cached = tileCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 加载期间有合并刷新了该瓦片时不写缓存，避免旧计数覆盖合并写入的新值
+        long startClock;
+        synchronized (tileLock) {
+            startClock = tileClock;
+            loadingTiles++;
+        }
+        HeatTileVO loaded = null;
+        try {
+            // 无数据的瓦片同样缓存，避免空白区域反复查库
+            HeatTile tile = heatTileMapper.selectByKey(z, x, y);
+            loaded = tile != null ? convertToVO(tile) : emptyTile(z, x, y);
+        } finally {
+            synchronized (tileLock) {
+                if (loaded != null && tileVersions.getOrDefault(key, 0L) <= startClock) {
+                    tileCache.put(key, loaded);
+                }
+                if (--loadingTiles == 0) {
+                    tileVersions.clear();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 将活动的全部轨迹合并到热力图
+     *
+     * @param activityId 活动ID
+     * @return 是否执行了合并
+     */
+    @Override
+    public boolean mergeActivity(Long activityId) {
+        // 1. 读取活动轨迹（含归档），按用户分组后分箱，每条轨迹在每个单元只计一次
+        List<TrackRecord> records = trackRecordRepository.listByActivity(activityId);
+        Map<Long, List<TrackRecord>> byUser = new LinkedHashMap<>();
+        for (TrackRecord record : records) {
+            byUser.computeIfAbsent(record.getUserId(), k -> new ArrayList<>()).add(record);
+        }
+        // 按瓦片键排序，合并时按固定顺序加锁，避免并发合并死锁
+        Map<Long, int[]> grids = new TreeMap<>();
+        for (List<TrackRecord> track : byUser.values()) {
+            int count = track.size();
+            double[] lats = new double[count];
+            double[] lngs = new double[count];
+            for (int i = 0; i < count; i++) {
+                lats[i] = track.get(i).getLatitude().doubleValue();
+                lngs[i] = track.get(i).getLongitude().doubleValue();
+            }
+            binner.accumulate(binner.binTrack(lats, lngs, count), grids);
+        }
+
+        // 2. 事务内登记活动并累加瓦片
+        HeatMergedActivity merged = HeatMergedActivity.builder()
+                .activityId(activityId)
+                .trackCount(byUser.size())
+                .pointCount(records.size())
+                .build();
+        List<HeatTile> written = transactionTemplate.execute(status -> {
+            if (heatMergedActivityMapper.insertIgnore(merged) == 0) {
+                return null;
+            }
+            return mergeTiles(grids);
+        });
+        if (written == null) {
+            log.debug("活动轨迹已合并过，跳过，活动ID：{}", activityId);
+            return false;
+        }
+
+        // 3. 刷新缓存：已缓存的瓦片和低缩放级别瓦片直接写入新值，并标记给进行中的加载
+        synchronized (tileLock) {
+            for (HeatTile tile : written) {
+                long key = HeatmapBinner.tileKey(tile.getZ(), tile.getX(), tile.getY());
+                if (loadingTiles > 0) {
+                    tileVersions.put(key, ++tileClock);
+                }
+                if (tileCache.remove(key) != null || tile.getZ() <= properties.getWarmMaxZoom()) {
+                    tileCache.put(key, convertToVO(tile));
+                }
+            }
+        }
+        log.info("活动轨迹合并到热力图，活动ID：{}，轨迹数：{}，轨迹点数：{}，更新瓦片数：{}",
+                activityId, byUser.size(), records.size(), written.size());
+        return true;
+    }
+
+    /**
+     * 活动结束后加入待合并队列
+     *
+     * @param event 活动结束事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onActivityEnded(ActivityEndedEvent event) {
+        pendingActivities.add(event.getActivityId());
+    }
+
+    /**
+     * 每分钟合并待合并队列中的活动
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void mergePending() {
+        for (Long activityId : new ArrayList<>(pendingActivities)) {
+            try {
+                mergeActivity(activityId);
+                pendingActivities.remove(activityId);
+            } catch (Exception e) {
+                log.error("活动轨迹合并到热力图失败，下次重试，活动ID：{}", activityId, e);
+            }
+        }
+    }
+
+    /**
+     * 每天凌晨补合并遗漏的已结束活动（首次上线时即为全量历史聚合）
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void backfill() {
+        int mergedCount = 0;
+        Set<Long> failed = new HashSet<>();
+        while (true) {
+            List<Long> activityIds = heatMergedActivityMapper.selectUnmergedEndedActivityIds(BACKFILL_BATCH_SIZE + failed.size());
+            activityIds.removeAll(failed);
+            if (activityIds.isEmpty()) {
+                break;
+            }
+            for (Long activityId : activityIds) {
+                try {
+                    if (mergeActivity(activityId)) {
+                        mergedCount++;
+                    }
+                } catch (Exception e) {
+                    failed.add(activityId);
+                    log.error("补合并活动轨迹失败，活动ID：{}", activityId, e);
+                }
+            }
+        }
+        if (mergedCount > 0 || !failed.isEmpty()) {
+            log.info("热力图补合并完成，合并活动数：{}，失败数：{}", mergedCount, failed.size());
+        }
+    }
+
+    /**
+     * 启动后预热低缩放级别的热门瓦片
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long startClock;
+        synchronized (tileLock) {
+            startClock = tileClock;
+            loadingTiles++;
+        }
+        try {
+            List<HeatTile> tiles = heatTileMapper.selectHotTiles(properties.getWarmMaxZoom(), properties.getCacheSize() / 2);
+            synchronized (tileLock) {
+                for (HeatTile tile : tiles) {
+                    long key = HeatmapBinner.tileKey(tile.getZ(), tile.getX(), tile.getY());
+                    if (tileVersions.getOrDefault(key, 0L) <= startClock) {
+                        tileCache.put(key, convertToVO(tile));
+                    }
+                }
+            }
+            log.info("热力瓦片缓存预热完成，瓦片数：{}", tiles.size());
+        } catch (Exception e) {
+            log.error("热力瓦片缓存预热失败", e);
+        } finally {
+            synchronized (tileLock) {
+                if (--loadingTiles == 0) {
+                    tileVersions.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * 锁定已有瓦片，累加新计数后写回
+     *
+     * @param grids 瓦片键 -> 新增计数
+     * @return 写回的瓦片
+     */
+    private List<HeatTile> mergeTiles(Map<Long, int[]> grids) {
+        List<Long> keys = new ArrayList<>(grids.keySet());
+        List<HeatTile> written = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<Long> chunk = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size()));
+            List<HeatTile> tiles = new ArrayList<>(chunk.size());
+            for (Long key : chunk) {
+                tiles.add(HeatTile.builder()
+                        .z(HeatmapBinner.tileZ(key))
+                        .x(HeatmapBinner.tileX(key))
+                        .y(HeatmapBinner.tileY(key))
+                        .build());
+            }
+            for (HeatTile existing : heatTileMapper.selectByKeysForUpdate(tiles)) {
+                HeatTileCodec.decodeInto(existing.getCells(),
+                        grids.get(HeatmapBinner.tileKey(existing.getZ(), existing.getX(), existing.getY())));
+            }
+            for (HeatTile tile : tiles) {
+                int[] grid = grids.get(HeatmapBinner.tileKey(tile.getZ(), tile.getX(), tile.getY()));
+                long total = 0;
+                int max = 0;
+                for (int count : grid) {
+                    total += count;
+                    max = Math.max(max, count);
+                }
+                tile.setCells(HeatTileCodec.encode(grid));
+                tile.setTotalCount(total);
+                tile.setMaxCount(max);
+            }
+            heatTileMapper.upsertBatch(tiles);
+            written.addAll(tiles);
+        }
+        return written;
+    }
+
+    private HeatTileVO convertToVO(HeatTile tile) {
+        int gridSize = binner.getGridSize();
+        int[] grid = new int[gridSize * gridSize];
+        HeatTileCodec.decodeInto(tile.getCells(), grid);
+        int nonZero = 0;
+        for (int count : grid) {
+            if (count != 0) {
+                nonZero++;
+            }
+        }
+        int[] cells = new int[nonZero * 3];
+        int offset = 0;
+        for (int i = 0; i < grid.length; i++) {
+            if (grid[i] != 0) {
+                cells[offset++] = i % gridSize;
+                cells[offset++] = i / gridSize;
+                cells[offset++] = grid[i];
+            }
+        }
+        return HeatTileVO.builder()
+                .z(tile.getZ())
+                .x(tile.getX())
+                .y(tile.getY())
+                .gridSize(gridSize)
+                .maxCount(tile.getMaxCount())
+                .totalCount(tile.getTotalCount())
+                .cells(cells)
+                .build();
+    }
+
+    private HeatTileVO emptyTile(int z, int x, int y) {
+        return HeatTileVO.builder()
+                .z(z)
+                .x(x)
+                .y(y)
+                .gridSize(binner.getGridSize())
+                .maxCount(0)
+                .totalCount(0L)
+                .cells(new int[0])
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.hiking.hikingbackend.module.route.service.impl;
+
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.Geohash;
+import com.hiking.hikingbackend.common.utils.GeohashFacetIndex;
+import com.hiking.hikingbackend.config.RegionFacetProperties;
+import com.hiking.hikingbackend.module.activity.mapper.ActivityMapper;
+import com.hiking.hikingbackend.module.route.event.RouteChangedEvent;
+import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import com.hiking.hikingbackend.module.route.service.RegionFacetService;
+import com.hiking.hikingbackend.module.route.vo.RegionFacetVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * 地区分面服务实现类
+ * <p>
+ * 每类数据一个不可变的 {@link GeohashFacetIndex}，由一条按最细精度 GROUP BY 的查询构建；
+ * 超过刷新间隔或路线变更后，下一次查询时重建，查询本身只做内存查找
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegionFacetServiceImpl implements RegionFacetService {
+
+    private final RouteMapper routeMapper;
+
+    private final ActivityMapper activityMapper;
+
+    private final RegionFacetProperties properties;
+
+    private final FacetHolder routeFacets = new FacetHolder("路线");
+
+    private final FacetHolder activityFacets = new FacetHolder("活动");
+
+    /**
+     * 公开路线在前缀下一级各网格中的数量
+     *
+     * @param prefix Geohash前缀，为空时返回顶级网格
+     * @return 网格计数（按数量降序）
+     */
+    @Override
+    public List<RegionFacetVO> getRouteFacets(String prefix) {
+        return toFacets(routeFacets.get(routeMapper::countByGeohash), normalizePrefix(prefix));
+    }
+
+    /**
+     * 可见活动在前缀下一级各网格中的数量
+     *
+     * @param prefix Geohash前缀，为空时返回顶级网格
+     * @return 网格计数（按数量降序）
+     */
+    @Override
+    public List<RegionFacetVO> getActivityFacets(String prefix) {
+        return toFacets(activityFacets.get(activityMapper::countByGeohash), normalizePrefix(prefix));
+    }
+
+    /**
+     * 路线变更提交后标记路线分面和活动分面需要重建
+     *
+     * @param event 路线变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRouteChanged(RouteChangedEvent event) {
+        routeFacets.invalidate();
+    }
+
+    /**
+     * 启动后为存量路线、活动补齐Geohash
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingGeohash() {
+        try {
+            int routes = routeMapper.fillMissingGeohash();
+            int activities = activityMapper.fillMissingGeohash();
+            if (routes > 0 || activities > 0) {
+                log.info("补齐Geohash完成，路线：{}，活动：{}", routes, activities);
+            }
+        } catch (Exception e) {
+            log.error("补齐Geohash失败", e);
+        }
+    }
+
+    private String normalizePrefix(String prefix) {
+        if (!StringUtils.hasText(prefix)) {
+            return "";
+        }
+        String normalized = Geohash.normalizePrefix(prefix);
+        if (normalized == null) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "Geohash前缀无效：" + prefix);
+        }
+        return normalized;
+    }
+
+    private List<RegionFacetVO> toFacets(GeohashFacetIndex index, String prefix) {
+        return index.children(prefix).stream()
+                .map(cell -> {
+                    double[] center = Geohash.center(cell.getGeohash());
+                    return RegionFacetVO.builder()
+                            .geohash(cell.getGeohash())
+                            .count(cell.getCount())
+                            .centerLatitude(center[0])
+                            .centerLongitude(center[1])
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * 分面索引及其过期状态
+     */
+    private final class FacetHolder {
+
+        private final String name;
+
+        private volatile GeohashFacetIndex index;
+
+        private volatile long builtAt;
+
+        private volatile boolean dirty = true;
+
+        FacetHolder(String name) {
+            this.name = name;
+        }
+
+        GeohashFacetIndex get(IntFunction<List<GeohashFacetIndex.Cell>> loader) {
+            if (isStale()) {
+                synchronized (this) {
+                    if (isStale()) {
+                        // 先清标记再加载，加载期间的变更会再次置位
+                        dirty = false;
+                        int precision = Math.min(Geohash.STORE_PRECISION, Math.max(1, properties.getPrecision()));
+                        try {
+                            index = GeohashFacetIndex.build(loader.apply(precision), properties.getMaxEntries());
+                        } catch (RuntimeException e) {
+                            dirty = true;
+                            throw e;
+                        }
+                        builtAt = System.currentTimeMillis();
+                        log.debug("{}地区分面已重建，精度：{}，条目数：{}", name, index.getPrecision(), index.size());
+                    }
+                }
+            }
+            return index;
+        }
+
+        void invalidate() {
+            dirty = true;
+        }
+
+        private boolean isStale() {
+            return dirty || index == null
+                    || System.currentTimeMillis() - builtAt > Duration.ofMinutes(properties.getRefreshMinutes()).toMillis();
+        }
+    }
+}
@@ -3,27 +3,64 @@ package com.hiking.hikingbackend.module.route.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hiking.hikingbackend.common.exception.BusinessException;
 import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+import com.hiking.hikingbackend.common.utils.Geohash;
+import com.hiking.hikingbackend.common.utils.LruCache;
+import com.hiking.hikingbackend.config.RouteCacheProperties;
+import com.hiking.hikingbackend.module.activity.service.TrendingService;
+import com.hiking.hikingbackend.module.checkin.entity.CheckInRecord;
+import com.hiking.hikingbackend.module.checkin.mapper.CheckInRecordMapper;
+import com.hiking.hikingbackend.module.route.dto.CheckpointBatchDTO;
+import com.hiking.hikingbackend.module.route.dto.CheckpointBatchItemDTO;
 import com.hiking.hikingbackend.module.route.dto.CheckpointCreateDTO;
 import com.hiking.hikingbackend.module.route.dto.RouteCreateDTO;
+import com.hiking.hikingbackend.module.route.dto.RouteImportDTO;
 import com.hiking.hikingbackend.module.route.dto.RouteQuery;
 import com.hiking.hikingbackend.module.route.entity.Checkpoint;
 import com.hiking.hikingbackend.module.route.entity.Route;
+import com.hiking.hikingbackend.module.route.event.RouteChangedEvent;
 import com.hiking.hikingbackend.module.route.mapper.CheckpointMapper;
 import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import com.hiking.hikingbackend.module.route.mapper.RoutePointMapper;
+import com.hiking.hikingbackend.module.route.service.ElevationProfileService;
 import com.hiking.hikingbackend.module.route.service.RouteService;
+import com.hiking.hikingbackend.module.route.service.RouteSimilarityService;
+import com.hiking.hikingbackend.module.route.support.RouteFileParser;
+import com.hiking.hikingbackend.module.route.support.RouteImportAccumulator;
 import com.hiking.hikingbackend.module.route.vo.CheckpointVO;
 import com.hiking.hikingbackend.module.route.vo.RouteVO;
+import com.hiking.hikingbackend.module.route.vo.SimilarRouteVO;
 import com.hiking.hikingbackend.module.user.entity.User;
 import com.hiking.hikingbackend.module.user.mapper.UserMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 路线服务实现类
@@ -40,13 +77,59 @@ public class RouteServiceImpl implements RouteService {
 
     private final CheckpointMapper checkpointMapper;
 
+    private final CheckInRecordMapper checkInRecordMapper;
+
+    private final RoutePointMapper routePointMapper;
+
     private final UserMapper userMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TrendingService trendingService;
+
+    private final ElevationProfileService elevationProfileService;
+
+    private final RouteSimilarityService routeSimilarityService;
+
+    private final RouteCacheProperties cacheProperties;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 路线详情缓存（含ETag），路线变更提交后主动失效
+     */
+    private LruCache<Long, RouteDetail> detailCache;
+
+    private final Object detailLock = new Object();
+
+    /**
+     * 详情缓存版本时钟，每次失效加一（受 detailLock 保护）
+     */
+    private long detailClock;
+
+    /**
+     * 路线最近一次失效时的版本号（受 detailLock 保护），条目数不超过发生过变更的路线数
+     */
+    private final Map<Long, Long> detailVersions = new HashMap<>();
+
     private static final int ROUTE_STATUS_NORMAL = 1;    // 路线正常
     private static final int ROUTE_PUBLIC = 1;           // 路线公开
     private static final int CHECKPOINT_RADIUS_DEFAULT = 50; // 默认签到半径（米）
+    private static final int CHECKPOINT_TYPE_START = 1;    // 集合点
     private static final int CHECKPOINT_TYPE_WAY = 2;      // 途中点（默认）
+    private static final int CHECKPOINT_TYPE_END = 3;      // 终点
     private static final int CHECKPOINT_REQUIRED = 1;       // 必签（默认）
+    private static final int IMPORT_BATCH_SIZE = 500;       // 导入点位单条INSERT的最大行数
+    private static final int ROUTE_NAME_MAX_LENGTH = 100;   // 路线名称最大长度
+    private static final String SORT_TRENDING = "trending"; // 按热度排序
+
+    private final RouteFileParser routeFileParser = new RouteFileParser();
+
+    @PostConstruct
+    public void init() {
+        detailCache = new LruCache<>(cacheProperties.getDetailCacheSize(),
+                Duration.ofMinutes(cacheProperties.getDetailCacheTtlMinutes()).toMillis());
+    }
 
     /**
      * 创建路线（组织者）
@@ -83,6 +166,7 @@ public class RouteServiceImpl implements RouteService {
                 .endLatitude(createDTO.getEndLatitude())
                 .endLongitude(createDTO.getEndLongitude())
                 .region(createDTO.getRegion())
+                .geohash(toGeohash(createDTO.getStartLatitude(), createDTO.getStartLongitude()))
                 .isPublic(createDTO.getIsPublic() != null ? createDTO.getIsPublic() : ROUTE_PUBLIC)
                 .useCount(0)
                 .status(ROUTE_STATUS_NORMAL)
@@ -91,9 +175,107 @@ public class RouteServiceImpl implements RouteService {
         routeMapper.insert(route);
         log.info("创建路线成功，路线ID：{}，创建者ID：{}", route.getId(), userId);
 
+        // 3. 检测疑似重复的公开路线（结果随本事务保存，前端据此提示合并）
+        routeSimilarityService.checkRoute(route.getId());
+        eventPublisher.publishEvent(new RouteChangedEvent(route.getId()));
+
         return route.getId();
     }
 
+    /**
+     * 从GPX/KML文件导入路线
+     * <p>
+     * 先插入路线获得ID，再流式解析文件，点位按批写入 route_point，
+     * 同一遍计算里程、爬升等汇总后回写路线；任一步失败整体回滚
+     *
+     * @param userId 用户ID
+     * @param importDTO 路线信息
+     * @param file 路线文件
+     * @return 路线详情
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public RouteVO importRoute(Long userId, RouteImportDTO importDTO, MultipartFile file) {
+        // 1. 校验用户和文件
+        User user = userMapper.selectById(userId);
+        if (user == null) {
+            throw new BusinessException(ResultCode.USER_NOT_FOUND);
+        }
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException(ResultCode.ROUTE_FILE_INVALID, "请上传路线文件");
+        }
+
+        // 2. 插入路线（汇总字段稍后回写）
+        String fileName = file.getOriginalFilename() != null
+                ? StringUtils.stripFilenameExtension(file.getOriginalFilename())
+                : null;
+        if (!StringUtils.hasText(fileName)) {
+            fileName = "导入路线";
+        }
+        Route route = Route.builder()
+                .name(truncateName(StringUtils.hasText(importDTO.getName()) ? importDTO.getName() : fileName))
+                .description(importDTO.getDescription())
+                .creatorId(userId)
+                .difficultyLevel(importDTO.getDifficultyLevel())
+                .startPointName(importDTO.getStartPointName())
+                .endPointName(importDTO.getEndPointName())
+                .region(importDTO.getRegion())
+                .isPublic(importDTO.getIsPublic() != null ? importDTO.getIsPublic() : ROUTE_PUBLIC)
+                .useCount(0)
+                .status(ROUTE_STATUS_NORMAL)
+                .build();
+        routeMapper.insert(route);
+
+        // 3. 流式解析，点位按批写入并累计汇总
+        RouteImportAccumulator accumulator = new RouteImportAccumulator(route.getId(), userId,
+                IMPORT_BATCH_SIZE, routePointMapper::insertBatch);
+        RouteFileParser.ParseResult result;
+        try (InputStream in = file.getInputStream()) {
+            result = routeFileParser.parse(in, accumulator::accept);
+        } catch (XMLStreamException | IllegalArgumentException e) {
+            throw new BusinessException(ResultCode.ROUTE_FILE_INVALID, "路线文件解析失败：" + e.getMessage());
+        } catch (IOException e) {
+            throw new BusinessException(ResultCode.ROUTE_FILE_INVALID, "路线文件读取失败");
+        }
+        accumulator.flush();
+        if (accumulator.getPointCount() < 2) {
+            throw new BusinessException(ResultCode.ROUTE_FILE_INVALID, "路线文件中至少需要两个轨迹点");
+        }
+
+        // 4. 回写汇总
+        BigDecimal totalDistance = accumulator.getTotalDistanceKm();
+        if (!StringUtils.hasText(importDTO.getName()) && StringUtils.hasText(result.getName())) {
+            route.setName(truncateName(result.getName()));
+        }
+        route.setTotalDistance(totalDistance);
+        route.setElevationGain(accumulator.getElevationGain());
+        route.setElevationLoss(accumulator.getElevationLoss());
+        route.setMaxElevation(accumulator.getMaxElevation());
+        route.setMinElevation(accumulator.getMinElevation());
+        route.setEstimatedHours(importDTO.getEstimatedHours() != null
+                ? importDTO.getEstimatedHours()
+                : estimateHours(totalDistance, accumulator.getElevationGain()));
+        route.setStartLatitude(BigDecimal.valueOf(accumulator.getStartLat()).setScale(7, RoundingMode.HALF_UP));
+        route.setStartLongitude(BigDecimal.valueOf(accumulator.getStartLng()).setScale(7, RoundingMode.HALF_UP));
+        route.setEndLatitude(BigDecimal.valueOf(accumulator.getEndLat()).setScale(7, RoundingMode.HALF_UP));
+        route.setEndLongitude(BigDecimal.valueOf(accumulator.getEndLng()).setScale(7, RoundingMode.HALF_UP));
+        route.setGeohash(toGeohash(route.getStartLatitude(), route.getStartLongitude()));
+        routeMapper.updateById(route);
+
+        // 5. 生成海拔剖面
+        elevationProfileService.saveProfiles(route.getId(), accumulator.getProfileBuilder());
+
+        // 6. 检测疑似重复的公开路线
+        List<SimilarRouteVO> similarRoutes = routeSimilarityService.checkRoute(route.getId());
+
+        log.info("导入路线成功，路线ID：{}，格式：{}，读取点数：{}，写入点数：{}，里程：{}km",
+                route.getId(), result.getFormat(), result.getPointCount(), accumulator.getPointCount(), totalDistance);
+        eventPublisher.publishEvent(new RouteChangedEvent(route.getId()));
+        RouteVO routeVO = loadRouteDetail(route.getId());
+        routeVO.setSimilarRoutes(similarRoutes);
+        return routeVO;
+    }
+
     /**
      * 路线列表（公开路线）
      *
@@ -118,14 +300,24 @@ public class RouteServiceImpl implements RouteService {
         if (StringUtils.hasText(query.getRegion())) {
             queryWrapper.like(Route::getRegion, query.getRegion());
         }
+
+        // 按起点Geohash前缀筛选（索引范围扫描）
+        if (StringUtils.hasText(query.getGeohash())) {
+            queryWrapper.likeRight(Route::getGeohash, checkGeohashPrefix(query.getGeohash()));
+        }
         
         // 按难度等级筛选
         if (query.getDifficultyLevel() != null) {
             queryWrapper.eq(Route::getDifficultyLevel, query.getDifficultyLevel());
         }
         
-        // 按使用次数降序
-        queryWrapper.orderByDesc(Route::getUseCount);
+        // 排序：热度倒序（走 trending_score 索引），默认按使用次数降序
+        if (SORT_TRENDING.equals(query.getSortBy())) {
+            queryWrapper.orderByDesc(Route::getTrendingScore)
+                      .orderByDesc(Route::getId);
+        } else {
+            queryWrapper.orderByDesc(Route::getUseCount);
+        }
         
         // 2. 分页查询
         Page<Route> page = new Page<>(query.getPageNum(), query.getPageSize());
@@ -136,13 +328,64 @@ public class RouteServiceImpl implements RouteService {
     }
 
     /**
-     * 路线详情（含点位信息）
+     * 路线详情（含点位信息，优先读缓存）
      *
      * @param routeId 路线ID
-     * @return 路线详情
+     * @return 路线详情及其ETag
      */
     @Override
-    public RouteVO getRouteDetail(Long routeId) {
+    public RouteDetail getRouteDetail(Long routeId) {
+        RouteDetail detail = detailCache.get(routeId);
+        if (detail == null) {
+            // 加载期间路线发生变更时不写缓存，避免把旧详情和旧ETag放回已失效的缓存
+            long startClock;
+            synchronized (detailLock) {
+                startClock = detailClock;
+            }
+            RouteVO routeVO = loadRouteDetail(routeId);
+            detail = new RouteDetail(routeVO, computeEtag(routeVO));
+            synchronized (detailLock) {
+                if (detailVersions.getOrDefault(routeId, 0L) <= startClock) {
+                    detailCache.put(routeId, detail);
+                }
+            }
+        }
+        trendingService.recordRouteView(routeId);
+        return detail;
+    }
+
+    /**
+     * 路线或签到点变更提交后使详情缓存失效
+     *
+     * @param event 路线变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRouteChanged(RouteChangedEvent event) {
+        synchronized (detailLock) {
+            detailVersions.put(event.getRouteId(), ++detailClock);
+            detailCache.remove(event.getRouteId());
+        }
+    }
+
+    /**
+     * 由详情内容摘要计算ETag（只在缓存填充时序列化一次）
+     */
+    private String computeEtag(RouteVO routeVO) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(routeVO);
+            return "\"route-" + routeVO.getId() + "-" + DigestUtils.md5DigestAsHex(json).substring(0, 16) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("路线详情序列化失败，路线ID：" + routeVO.getId(), e);
+        }
+    }
+
+    /**
+     * 查询路线详情（不计入浏览）
+     *
+     * @param routeId 路线ID
+     * @return 路线详情
+     */
+    private RouteVO loadRouteDetail(Long routeId) {
         // 1. 查询路线
         Route route = routeMapper.selectById(routeId);
         if (route == null) {
@@ -155,8 +398,11 @@ public class RouteServiceImpl implements RouteService {
                       .orderByAsc(Checkpoint::getSequence);
         List<Checkpoint> checkpoints = checkpointMapper.selectList(checkpointWrapper);
         
-        // 3. 转换为VO
-        return convertToVOWithCheckpoints(route, checkpoints);
+        // 3. 转换为VO，附带默认分辨率的海拔剖面
+        RouteVO routeVO = convertToVOWithCheckpoints(route, checkpoints);
+        routeVO.setElevationProfile(elevationProfileService.getProfileOrNull(route,
+                ElevationProfileService.DEFAULT_RESOLUTION));
+        return routeVO;
     }
 
     /**
@@ -203,10 +449,168 @@ public class RouteServiceImpl implements RouteService {
         
         checkpointMapper.insert(checkpoint);
         log.info("添加签到点成功，签到点ID：{}，路线ID：{}，创建者ID：{}", checkpoint.getId(), routeId, userId);
+        eventPublisher.publishEvent(new RouteChangedEvent(routeId));
         
         return checkpoint.getId();
     }
 
+    /**
+     * 批量保存路线签到点
+     * <p>
+     * 一次校验路线归属，已有签到点一次查出，顺序号和签到范围重叠在内存中校验，
+     * 删除、覆盖、新增各一条语句，全部在同一事务中完成
+     *
+     * @param userId   用户ID（必须是路线创建者）
+     * @param routeId  路线ID
+     * @param batchDTO 签到点列表
+     * @return 保存后的全部签到点（按顺序号排序）
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<CheckpointVO> saveCheckpoints(Long userId, Long routeId, CheckpointBatchDTO batchDTO) {
+        // 1. 校验路线是否存在及权限（必须是路线创建者）
+        Route route = routeMapper.selectById(routeId);
+        if (route == null) {
+            throw new BusinessException(ResultCode.ROUTE_NOT_FOUND);
+        }
+        if (!route.getCreatorId().equals(userId)) {
+            throw new BusinessException(ResultCode.FORBIDDEN, "只有路线创建者可以修改签到点");
+        }
+
+        // 2. 查出已有签到点，按ID归类请求中的签到点
+        List<Checkpoint> existing = checkpointMapper.selectList(new LambdaQueryWrapper<Checkpoint>()
+                .eq(Checkpoint::getRouteId, routeId));
+        Map<Long, Checkpoint> existingById = new HashMap<>();
+        for (Checkpoint checkpoint : existing) {
+            existingById.put(checkpoint.getId(), checkpoint);
+        }
+
+        List<CheckpointBatchItemDTO> items = batchDTO.getCheckpoints();
+        List<Checkpoint> inserts = new ArrayList<>();
+        List<Checkpoint> updates = new ArrayList<>();
+        Set<Long> keptIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            CheckpointBatchItemDTO item = items.get(i);
+            if (item.getId() != null) {
+                if (!existingById.containsKey(item.getId())) {
+                    throw new BusinessException(ResultCode.CHECKPOINT_NOT_FOUND, "签到点不属于该路线，签到点ID：" + item.getId());
+                }
+                if (!keptIds.add(item.getId())) {
+                    throw new BusinessException(ResultCode.BAD_REQUEST, "签到点重复提交，签到点ID：" + item.getId());
+                }
+            }
+            Checkpoint checkpoint = Checkpoint.builder()
+                    .id(item.getId())
+                    .routeId(routeId)
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .latitude(item.getLatitude())
+                    .longitude(item.getLongitude())
+                    .radius(item.getRadius() != null ? item.getRadius() : CHECKPOINT_RADIUS_DEFAULT)
+                    .sequence(item.getSequence() != null ? item.getSequence() : i + 1)
+                    .checkpointType(item.getCheckpointType() != null ? item.getCheckpointType() : CHECKPOINT_TYPE_WAY)
+                    .isRequired(item.getIsRequired() != null ? item.getIsRequired() : CHECKPOINT_REQUIRED)
+                    .expectedArriveMinutes(item.getExpectedArriveMinutes())
+                    .build();
+            if (checkpoint.getId() != null) {
+                checkpoint.setCreateBy(existingById.get(checkpoint.getId()).getCreateBy());
+                checkpoint.setCreateTime(existingById.get(checkpoint.getId()).getCreateTime());
+                checkpoint.setUpdateBy(userId);
+                updates.add(checkpoint);
+            } else {
+                checkpoint.setCreateBy(userId);
+                inserts.add(checkpoint);
+            }
+        }
+
+        // 3. 计算保存后的签到点集合并校验
+        boolean replace = Boolean.TRUE.equals(batchDTO.getReplace());
+        List<Long> deleteIds = new ArrayList<>();
+        List<Checkpoint> result = new ArrayList<>(updates);
+        result.addAll(inserts);
+        for (Checkpoint checkpoint : existing) {
+            if (keptIds.contains(checkpoint.getId())) {
+                continue;
+            }
+            if (replace) {
+                deleteIds.add(checkpoint.getId());
+            } else {
+                result.add(checkpoint);
+            }
+        }
+        validateCheckpoints(result);
+
+        // 4. 已有签到记录的签到点不允许删除
+        if (!deleteIds.isEmpty()) {
+            Long checkInCount = checkInRecordMapper.selectCount(new LambdaQueryWrapper<CheckInRecord>()
+                    .in(CheckInRecord::getCheckpointId, deleteIds));
+            if (checkInCount > 0) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "被删除的签到点已有签到记录，请保留这些签到点");
+            }
+            checkpointMapper.deleteBatchIds(deleteIds);
+        }
+
+        // 5. 批量覆盖和新增
+        if (!updates.isEmpty()) {
+            checkpointMapper.updateBatch(updates);
+        }
+        if (!inserts.isEmpty()) {
+            checkpointMapper.insertBatch(inserts);
+        }
+        log.info("批量保存签到点成功，路线ID：{}，新增：{}，覆盖：{}，删除：{}",
+                routeId, inserts.size(), updates.size(), deleteIds.size());
+        eventPublisher.publishEvent(new RouteChangedEvent(routeId));
+
+        return result.stream()
+                .sorted(Comparator.comparing(Checkpoint::getSequence))
+                .map(this::convertToVO)
+                .toList();
+    }
+
+    /**
+     * 校验签到点集合：顺序号不重复，签到范围互不重叠
+     * <p>
+     * 环线的集合点和终点允许重叠（两者签到时间不同，不会混淆）
+     */
+    private void validateCheckpoints(List<Checkpoint> checkpoints) {
+        Set<Integer> sequences = new HashSet<>();
+        for (Checkpoint checkpoint : checkpoints) {
+            if (!sequences.add(checkpoint.getSequence())) {
+                throw new BusinessException(ResultCode.BAD_REQUEST, "签到点顺序号重复：" + checkpoint.getSequence());
+            }
+        }
+
+        int count = checkpoints.size();
+        double[] lats = new double[count];
+        double[] lngs = new double[count];
+        for (int i = 0; i < count; i++) {
+            lats[i] = checkpoints.get(i).getLatitude().doubleValue();
+            lngs[i] = checkpoints.get(i).getLongitude().doubleValue();
+        }
+        for (int i = 0; i < count; i++) {
+            Checkpoint a = checkpoints.get(i);
+            for (int j = i + 1; j < count; j++) {
+                Checkpoint b = checkpoints.get(j);
+                if (isStartEndPair(a, b)) {
+                    continue;
+                }
+                double distance = GeoDistanceKernel.distance(lats[i], lngs[i], lats[j], lngs[j]);
+                if (distance < a.getRadius() + b.getRadius()) {
+                    throw new BusinessException(ResultCode.BAD_REQUEST, String.format(
+                            "签到点“%s”与“%s”的签到范围重叠（相距%.0f米，半径之和%d米）",
+                            a.getName(), b.getName(), distance, a.getRadius() + b.getRadius()));
+                }
+            }
+        }
+    }
+
+    private boolean isStartEndPair(Checkpoint a, Checkpoint b) {
+        int typeA = a.getCheckpointType();
+        int typeB = b.getCheckpointType();
+        return (typeA == CHECKPOINT_TYPE_START && typeB == CHECKPOINT_TYPE_END)
+                || (typeA == CHECKPOINT_TYPE_END && typeB == CHECKPOINT_TYPE_START);
+    }
+
     /**
      * 转换为VO（基本信息，不包含签到点）
      */
@@ -248,6 +652,27 @@ public class RouteServiceImpl implements RouteService {
                 .build();
     }
 
+    /**
+     * 起点坐标转Geohash，坐标缺失时返回null
+     */
+    private String toGeohash(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return Geohash.encode(latitude.doubleValue(), longitude.doubleValue(), Geohash.STORE_PRECISION);
+    }
+
+    /**
+     * 校验并规范化Geohash前缀
+     */
+    private String checkGeohashPrefix(String prefix) {
+        String normalized = Geohash.normalizePrefix(prefix);
+        if (normalized == null) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "Geohash前缀无效：" + prefix);
+        }
+        return normalized;
+    }
+
     /**
      * 转换为VO（含签到点）
      */
@@ -339,5 +764,21 @@ public class RouteServiceImpl implements RouteService {
             default -> "未知";
         };
     }
+
+    /**
+     * 按奈史密斯规则估算用时：每5公里1小时，每爬升600米加1小时
+     */
+    private BigDecimal estimateHours(BigDecimal totalDistance, int elevationGain) {
+        double hours = totalDistance.doubleValue() / 5.0 + elevationGain / 600.0;
+        return BigDecimal.valueOf(Math.max(0.1, hours)).setScale(1, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 截断过长的路线名称
+     */
+    private String truncateName(String name) {
+        String trimmed = name.trim();
+        return trimmed.length() > ROUTE_NAME_MAX_LENGTH ? trimmed.substring(0, ROUTE_NAME_MAX_LENGTH) : trimmed;
+    }
 }
 
@@ -0,0 +1,280 @@
+package com.hiking.hikingbackend.module.route.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.config.RouteSimilarityProperties;
+import com.hiking.hikingbackend.module.route.entity.Route;
+import com.hiking.hikingbackend.module.route.entity.RoutePoint;
+import com.hiking.hikingbackend.module.route.entity.RouteSimilarity;
+import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import com.hiking.hikingbackend.module.route.mapper.RoutePointMapper;
+import com.hiking.hikingbackend.module.route.mapper.RouteSimilarityMapper;
+import com.hiking.hikingbackend.module.route.service.RouteSimilarityService;
+import com.hiking.hikingbackend.module.route.service.RouteViewportService;
+import com.hiking.hikingbackend.module.route.support.RouteBounds;
+import com.hiking.hikingbackend.module.route.support.RouteShape;
+import com.hiking.hikingbackend.module.route.support.RouteSimilarityIndex;
+import com.hiking.hikingbackend.module.route.vo.RouteMapItemVO;
+import com.hiking.hikingbackend.module.route.vo.SimilarRouteVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * 相似路线检测服务实现类
+ * <p>
+ * 路线折线重采样为简化形状后放入空间哈希索引，只对覆盖率和长度比达标的候选对计算离散 Fréchet 距离：
+ * <ul>
+ *   <li>单条检测：创建、导入路线时在同一事务内执行，候选范围由内存 R 树按外包框圈定</li>
+ *   <li>全量检测：每天凌晨分批读取全部公开路线和私有路线建索引，逐条查询，结果整体替换；
+ *   与单条检测一致，只保留至少一端为公开路线的关系</li>
+ * </ul>
+ * 没有点位数据的路线以起点到终点的直线作为折线
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RouteSimilarityServiceImpl implements RouteSimilarityService {
+
+    private final RouteSimilarityProperties properties;
+
+    private final RouteMapper routeMapper;
+
+    private final RoutePointMapper routePointMapper;
+
+    private final RouteSimilarityMapper routeSimilarityMapper;
+
+    private final RouteViewportService routeViewportService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int ROUTE_PRIVATE = 0;          // 私有路线
+    private static final int ROUTE_STATUS_NORMAL = 1;    // 路线正常
+    private static final int LOAD_BATCH_SIZE = 200;     // 单次读取坐标的最大路线数
+    private static final int WRITE_BATCH_SIZE = 500;    // 单条INSERT的最大行数
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    /**
+     * 检测单条路线
+     *
+     * @param routeId 路线ID
+     * @return 相似路线
+     */
+    @Override
+    public List<SimilarRouteVO> checkRoute(Long routeId) {
+        // 1. 构建路线形状
+        RouteShape shape = loadShapes(List.of(routeId)).get(routeId);
+        routeSimilarityMapper.deleteByRouteId(routeId);
+        if (shape == null) {
+            return Collections.emptyList();
+        }
+
+        // 2. 按外包框（外扩最大距离）圈定候选路线
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLng = Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+        for (int i = 0; i < shape.size(); i++) {
+            minLat = Math.min(minLat, shape.getLats()[i]);
+            maxLat = Math.max(maxLat, shape.getLats()[i]);
+            minLng = Math.min(minLng, shape.getLngs()[i]);
+            maxLng = Math.max(maxLng, shape.getLngs()[i]);
+        }
+        double padLat = properties.getMaxFrechetDistance() / METERS_PER_DEGREE;
+        double padLng = padLat / Math.max(0.01, Math.cos(Math.toRadians((minLat + maxLat) / 2)));
+        List<Long> candidateIds = new ArrayList<>();
+        for (RouteMapItemVO item : routeViewportService.findRoutes(minLat - padLat, minLng - padLng,
+                maxLat + padLat, maxLng + padLng, properties.getCandidateLimit())) {
+            if (!item.getId().equals(routeId)) {
+                candidateIds.add(item.getId());
+            }
+        }
+        if (candidateIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 3. 建索引并查询
+        RouteSimilarityIndex index = new RouteSimilarityIndex(properties.getCellSize());
+        loadShapes(candidateIds).values().forEach(index::add);
+        List<RouteShape.Match> matches = findSimilar(index, shape);
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 4. 保存两个方向的关系
+        List<RouteSimilarity> rows = new ArrayList<>(matches.size() * 2);
+        for (RouteShape.Match match : matches) {
+            addPair(rows, routeId, match.getShape().getRouteId(), match.getDistance(), match.isReversed());
+        }
+        routeSimilarityMapper.upsertBatch(rows);
+        log.warn("检测到相似路线，路线ID：{}，相似路线数：{}，最相似路线ID：{}，Fréchet距离：{}米",
+                routeId, matches.size(), matches.get(0).getShape().getRouteId(), Math.round(matches.get(0).getDistance()));
+        return routeSimilarityMapper.selectSimilarRoutes(routeId);
+    }
+
+    /**
+     * 查询已保存的相似路线
+     *
+     * @param routeId 路线ID
+     * @return 相似路线
+     */
+    @Override
+    public List<SimilarRouteVO> getSimilarRoutes(Long routeId) {
+        return routeSimilarityMapper.selectSimilarRoutes(routeId);
+    }
+
+    /**
+     * 全量检测路线库（公开路线之间、私有路线与公开路线之间）
+     *
+     * @return 相似路线对数
+     */
+    @Override
+    public int scanCatalogue() {
+        long start = System.nanoTime();
+
+        // 1. 分批读取全部公开路线和私有路线的形状并建索引；
+        //    私有路线的关系由创建、导入时的单条检测写入，一并重算，整体替换时才不会丢失
+        Set<Long> publicIds = new HashSet<>();
+        for (RouteBounds row : routeMapper.selectRouteBounds(null)) {
+            publicIds.add(row.getRouteId());
+        }
+        List<Long> routeIds = new ArrayList<>(publicIds);
+        for (Object id : routeMapper.selectObjs(new LambdaQueryWrapper<Route>()
+                .select(Route::getId)
+                .eq(Route::getIsPublic, ROUTE_PRIVATE)
+                .eq(Route::getStatus, ROUTE_STATUS_NORMAL))) {
+            routeIds.add(((Number) id).longValue());
+        }
+        RouteSimilarityIndex index = new RouteSimilarityIndex(properties.getCellSize());
+        List<RouteShape> shapes = new ArrayList<>(routeIds.size());
+        for (int from = 0; from < routeIds.size(); from += LOAD_BATCH_SIZE) {
+            Map<Long, RouteShape> loaded = loadShapes(routeIds.subList(from, Math.min(routeIds.size(), from + LOAD_BATCH_SIZE)));
+            for (RouteShape shape : loaded.values()) {
+                index.add(shape);
+                shapes.add(shape);
+            }
+        }
+
+        // 2. 逐条查询；覆盖率过滤不对称，两个方向的结果合并，每对只保留一次；两条私有路线之间不记录
+        Map<String, RouteShape.Match> pairs = new HashMap<>();
+        Map<String, Long> pairOwners = new HashMap<>();
+        for (RouteShape shape : shapes) {
+            for (RouteShape.Match match : findSimilar(index, shape)) {
+                Long other = match.getShape().getRouteId();
+                if (!publicIds.contains(shape.getRouteId()) && !publicIds.contains(other)) {
+                    continue;
+                }
+                long low = Math.min(shape.getRouteId(), other);
+                String key = low + "-" + Math.max(shape.getRouteId(), other);
+                RouteShape.Match existing = pairs.get(key);
+                if (existing == null || match.getDistance() < existing.getDistance()) {
+                    pairs.put(key, match);
+                    pairOwners.put(key, shape.getRouteId());
+                }
+            }
+        }
+
+        // 3. 整体替换已保存的关系
+        List<RouteSimilarity> rows = new ArrayList<>(pairs.size() * 2);
+        for (Map.Entry<String, RouteShape.Match> entry : pairs.entrySet()) {
+            RouteShape.Match match = entry.getValue();
+            addPair(rows, pairOwners.get(entry.getKey()), match.getShape().getRouteId(), match.getDistance(), match.isReversed());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            routeSimilarityMapper.deleteAll();
+            for (int from = 0; from < rows.size(); from += WRITE_BATCH_SIZE) {
+                routeSimilarityMapper.upsertBatch(rows.subList(from, Math.min(rows.size(), from + WRITE_BATCH_SIZE)));
+            }
+        });
+        log.info("相似路线全量检测完成，路线数：{}，相似路线对：{}，耗时：{}ms",
+                shapes.size(), pairs.size(), (System.nanoTime() - start) / 1_000_000);
+        return pairs.size();
+    }
+
+    /**
+     * 每天凌晨全量检测
+     */
+    @Scheduled(cron = "0 0 5 * * ?")
+    public void scheduledScan() {
+        try {
+            scanCatalogue();
+        } catch (Exception e) {
+            log.error("相似路线全量检测失败", e);
+        }
+    }
+
+    private List<RouteShape.Match> findSimilar(RouteSimilarityIndex index, RouteShape shape) {
+        return index.findSimilar(shape, properties.getMinCoverage(),
+                properties.getMaxLengthRatio(), properties.getMaxFrechetDistance());
+    }
+
+    private static void addPair(List<RouteSimilarity> rows, Long routeId, Long similarRouteId,
+                                double distance, boolean reversed) {
+        int meters = (int) Math.round(distance);
+        int flag = reversed ? 1 : 0;
+        rows.add(RouteSimilarity.builder().routeId(routeId).similarRouteId(similarRouteId)
+                .frechetDistance(meters).reversed(flag).build());
+        rows.add(RouteSimilarity.builder().routeId(similarRouteId).similarRouteId(routeId)
+                .frechetDistance(meters).reversed(flag).build());
+    }
+
+    /**
+     * 读取一批路线的形状（游标读取点位，加入调用方事务或新开只读事务）
+     */
+    private Map<Long, RouteShape> loadShapes(List<Long> routeIds) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, RouteShape> shapes = new HashMap<>(routeIds.size() * 2);
+            RouteShape.Builder builder = new RouteShape.Builder();
+            Long currentId = null;
+            try (Cursor<RoutePoint> cursor = routePointMapper.selectCursorByRouteIds(routeIds)) {
+                for (RoutePoint point : cursor) {
+                    if (!point.getRouteId().equals(currentId)) {
+                        putShape(shapes, builder, currentId);
+                        currentId = point.getRouteId();
+                    }
+                    builder.accept(point.getLatitude().doubleValue(), point.getLongitude().doubleValue());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            putShape(shapes, builder, currentId);
+
+            // 没有点位数据的路线用起终点直线
+            List<Long> missing = new ArrayList<>();
+            for (Long routeId : routeIds) {
+                if (!shapes.containsKey(routeId)) {
+                    missing.add(routeId);
+                }
+            }
+            if (!missing.isEmpty()) {
+                for (Route route : routeMapper.selectBatchIds(missing)) {
+                    if (route.getStartLatitude() == null || route.getStartLongitude() == null
+                            || route.getEndLatitude() == null || route.getEndLongitude() == null) {
+                        continue;
+                    }
+                    builder.accept(route.getStartLatitude().doubleValue(), route.getStartLongitude().doubleValue());
+                    builder.accept(route.getEndLatitude().doubleValue(), route.getEndLongitude().doubleValue());
+                    putShape(shapes, builder, route.getId());
+                }
+            }
+            return shapes;
+        });
+    }
+
+    private void putShape(Map<Long, RouteShape> shapes, RouteShape.Builder builder, Long routeId) {
+        if (routeId != null) {
+            RouteShape shape = builder.build(routeId, properties.getMaxSamples(), properties.getMinSpacing());
+            if (shape != null) {
+                shapes.put(routeId, shape);
+            }
+        }
+        builder.reset();
+    }
+}
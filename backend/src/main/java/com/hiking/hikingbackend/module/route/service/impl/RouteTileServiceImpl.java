@@ -0,0 +1,444 @@
+package com.hiking.hikingbackend.module.route.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.common.utils.LruCache;
+import com.hiking.hikingbackend.config.RouteTileProperties;
+import com.hiking.hikingbackend.module.route.entity.Route;
+import com.hiking.hikingbackend.module.route.entity.RoutePoint;
+import com.hiking.hikingbackend.module.route.event.RouteChangedEvent;
+import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import com.hiking.hikingbackend.module.route.mapper.RoutePointMapper;
+import com.hiking.hikingbackend.module.route.service.RouteTileService;
+import com.hiking.hikingbackend.module.route.service.RouteViewportService;
+import com.hiking.hikingbackend.module.route.support.HeatmapBinner;
+import com.hiking.hikingbackend.module.route.support.MvtEncoder;
+import com.hiking.hikingbackend.module.route.support.RouteBounds;
+import com.hiking.hikingbackend.module.route.support.RouteRTree;
+import com.hiking.hikingbackend.module.route.support.RouteTileRenderer;
+import com.hiking.hikingbackend.module.route.vo.RouteMapItemVO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 路线矢量瓦片服务实现类
+ * <p>
+ * 瓦片按需生成：用内存 R 树找出与瓦片（含缓冲区）相交的公开路线，按需批量读取路线坐标，
+ * 裁剪、量化、抽稀后编码为 MVT。两级缓存：
+ * <ul>
+ *   <li>瓦片 LRU（含空瓦片）和可选的磁盘缓存（目录结构 z/x/y.mvt）</li>
+ *   <li>路线全局坐标 LRU，相邻瓦片和不同缩放级别共用</li>
+ * </ul>
+ * 路线变更提交后删除其新旧外包框覆盖的瓦片；生成期间发生失效的瓦片不写入缓存。
+ * 启动时删除早于最近一次路线变更的磁盘瓦片
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RouteTileServiceImpl implements RouteTileService {
+
+    private final RouteTileProperties properties;
+
+    private final RouteViewportService routeViewportService;
+
+    private final RouteMapper routeMapper;
+
+    private final RoutePointMapper routePointMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 已输出到瓦片的路线外包框（经纬度），路线变更时据此找到旧瓦片
+     */
+    private final Map<Long, RouteRTree.Entry> renderedBounds = new ConcurrentHashMap<>();
+
+    /**
+     * 失效次数，生成前后不一致说明期间发生过失效，结果不缓存
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private RouteTileRenderer renderer;
+
+    private LruCache<Long, byte[]> tileCache;
+
+    private LruCache<Long, int[]> geometryCache;
+
+    private static final String LAYER_NAME = "routes";
+    private static final int LOAD_BATCH_SIZE = 200;     // 单次读取坐标的最大路线数
+
+    @PostConstruct
+    public void init() {
+        renderer = new RouteTileRenderer(properties.getExtent(), properties.getBuffer(), properties.getSimplifyTolerance());
+        tileCache = new LruCache<>(properties.getCacheSize(), 0);
+        geometryCache = new LruCache<>(properties.getGeometryCacheSize(), 0);
+    }
+
+    /**
+     * 获取路线矢量瓦片
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return 瓦片字节
+     */
+    @Override
+    public byte[] getTile(int z, int x, int y) {
+        // 1. 校验瓦片坐标
+        if (z < properties.getMinZoom() || z > properties.getMaxZoom()) {
+            throw new BusinessException(ResultCode.BAD_REQUEST,
+                    "缩放级别须在" + properties.getMinZoom() + "到" + properties.getMaxZoom() + "之间");
+        }
+        int tiles = 1 << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "瓦片坐标无效");
+        }
+
+        // 2. 内存缓存
+        long key = HeatmapBinner.tileKey(z, x, y);
+        byte[] tile = tileCache.get(key);
+        if (tile != null) {
+            return tile;
+        }
+
+        // 3. 磁盘缓存，未命中则生成
+        long generation = invalidations.get();
+        Path file = diskPath(z, x, y);
+        tile = readDisk(file);
+        if (tile == null) {
+            tile = render(z, x, y);
+            if (file != null && invalidations.get() == generation) {
+                writeDisk(file, tile);
+            }
+        }
+        if (invalidations.get() == generation) {
+            tileCache.put(key, tile);
+        } else {
+            deleteQuietly(file);
+        }
+        return tile;
+    }
+
+    /**
+     * 使经过该路线新旧范围的瓦片失效
+     *
+     * @param routeId 路线ID
+     */
+    @Override
+    public void invalidateRoute(Long routeId) {
+        invalidations.incrementAndGet();
+        geometryCache.remove(routeId);
+
+        // 1. 旧范围（已输出过的）和新范围（当前公开时）
+        List<RouteRTree.Entry> boxes = new ArrayList<>(2);
+        RouteRTree.Entry previous = renderedBounds.remove(routeId);
+        if (previous != null) {
+            boxes.add(previous);
+        }
+        for (RouteBounds row : routeMapper.selectRouteBounds(routeId)) {
+            RouteRTree.Entry current = row.toEntry();
+            if (current != null) {
+                boxes.add(current);
+            }
+        }
+        if (boxes.isEmpty()) {
+            return;
+        }
+
+        // 2. 内存瓦片
+        List<Long> removed = tileCache.removeIf(key -> {
+            for (RouteRTree.Entry box : boxes) {
+                if (tileTouches(box, HeatmapBinner.tileZ(key), HeatmapBinner.tileX(key), HeatmapBinner.tileY(key))) {
+                    return true;
+                }
+            }
+            return false;
+        });
+
+        // 3. 磁盘瓦片
+        int deletedFiles = 0;
+        if (StringUtils.hasText(properties.getDiskCacheDir())) {
+            for (RouteRTree.Entry box : boxes) {
+                deletedFiles += deleteDiskTiles(box);
+            }
+        }
+        log.info("路线矢量瓦片失效，路线ID：{}，内存瓦片：{}，磁盘瓦片：{}", routeId, removed.size(), deletedFiles);
+    }
+
+    /**
+     * 路线变更提交后使相关瓦片失效（在空间索引刷新之后执行）
+     *
+     * @param event 路线变更事件
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRouteChanged(RouteChangedEvent event) {
+        try {
+            invalidateRoute(event.getRouteId());
+        } catch (Exception e) {
+            log.error("路线矢量瓦片失效失败，路线ID：{}", event.getRouteId(), e);
+        }
+    }
+
+    /**
+     * 启动时删除早于最近一次路线变更的磁盘瓦片（停机期间的变更无法按路线失效）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cleanStaleDiskTiles() {
+        if (!StringUtils.hasText(properties.getDiskCacheDir())) {
+            return;
+        }
+        Path dir = Paths.get(properties.getDiskCacheDir());
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        LambdaQueryWrapper<Route> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Route::getId, Route::getUpdateTime)
+                .orderByDesc(Route::getUpdateTime)
+                .last("LIMIT 1");
+        Route latest = routeMapper.selectOne(wrapper);
+        if (latest == null || latest.getUpdateTime() == null) {
+            return;
+        }
+        long threshold = latest.getUpdateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() < threshold
+                        && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.error("清理路线矢量瓦片磁盘缓存失败，目录：{}", dir, e);
+        }
+        log.info("清理过期路线矢量瓦片，删除数：{}", deleted);
+    }
+
+    /**
+     * 生成瓦片
+     */
+    private byte[] render(int z, int x, int y) {
+        long start = System.nanoTime();
+
+        // 1. 查询与瓦片（含缓冲区）相交的路线
+        double size = RouteTileRenderer.tileSize(z);
+        double pad = renderer.bufferSize(z);
+        List<RouteMapItemVO> candidates = routeViewportService.findRoutes(
+                RouteTileRenderer.lat((y + 1) * size + pad), RouteTileRenderer.lng(x * size - pad),
+                RouteTileRenderer.lat(y * size - pad), RouteTileRenderer.lng((x + 1) * size + pad),
+                properties.getMaxRoutesPerTile());
+
+        // 2. 跳过在该级别下小于最小尺寸的路线，不读取其坐标
+        double scale = properties.getExtent() / size;
+        List<RouteMapItemVO> visible = new ArrayList<>(candidates.size());
+        for (RouteMapItemVO route : candidates) {
+            double width = (RouteTileRenderer.worldX(route.getMaxLng()) - RouteTileRenderer.worldX(route.getMinLng())) * scale;
+            double height = (RouteTileRenderer.worldY(route.getMinLat()) - RouteTileRenderer.worldY(route.getMaxLat())) * scale;
+            if (width >= properties.getMinFeatureSize() || height >= properties.getMinFeatureSize()) {
+                visible.add(route);
+            }
+        }
+        Map<Long, int[]> geometries = loadGeometries(visible);
+
+        // 3. 裁剪、抽稀、编码
+        MvtEncoder encoder = new MvtEncoder(LAYER_NAME, properties.getExtent());
+        for (RouteMapItemVO route : visible) {
+            int[] coords = geometries.get(route.getId());
+            if (coords == null) {
+                continue;
+            }
+            List<int[]> parts = renderer.render(coords, z, x, y);
+            if (parts.isEmpty()) {
+                continue;
+            }
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("name", route.getName());
+            attributes.put("difficulty", route.getDifficultyLevel());
+            attributes.put("distance", route.getTotalDistance() != null ? route.getTotalDistance().doubleValue() : null);
+            encoder.addLine(route.getId(), parts, attributes);
+            renderedBounds.put(route.getId(), new RouteRTree.Entry(route.getId(),
+                    route.getMinLat(), route.getMinLng(), route.getMaxLat(), route.getMaxLng()));
+        }
+        byte[] tile = encoder.encode();
+        log.debug("生成路线矢量瓦片 {}/{}/{}，候选路线：{}，要素：{}，大小：{}字节，耗时：{}ms", z, x, y,
+                candidates.size(), encoder.getFeatureCount(), tile.length, (System.nanoTime() - start) / 1_000_000);
+        return tile;
+    }
+
+    /**
+     * 读取路线全局坐标，未缓存的路线按批用游标读取
+     */
+    private Map<Long, int[]> loadGeometries(List<RouteMapItemVO> routes) {
+        Map<Long, int[]> result = new HashMap<>(routes.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (RouteMapItemVO route : routes) {
+            int[] coords = geometryCache.get(route.getId());
+            if (coords != null) {
+                result.put(route.getId(), coords);
+            } else {
+                missing.add(route.getId());
+            }
+        }
+        for (int from = 0; from < missing.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> batch = missing.subList(from, Math.min(missing.size(), from + LOAD_BATCH_SIZE));
+            Map<Long, int[]> loaded = transactionTemplate.execute(status -> readCoordinates(batch));
+            loaded.forEach(geometryCache::put);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * 游标读取一批路线的坐标（须在事务中调用）
+     */
+    private Map<Long, int[]> readCoordinates(List<Long> routeIds) {
+        Map<Long, int[]> loaded = new HashMap<>(routeIds.size() * 2);
+        Long currentId = null;
+        int[] coords = new int[256];
+        int size = 0;
+        try (Cursor<RoutePoint> cursor = routePointMapper.selectCursorByRouteIds(routeIds)) {
+            for (RoutePoint point : cursor) {
+                if (!point.getRouteId().equals(currentId)) {
+                    if (currentId != null) {
+                        loaded.put(currentId, Arrays.copyOf(coords, size));
+                    }
+                    currentId = point.getRouteId();
+                    size = 0;
+                }
+                if (size + 2 > coords.length) {
+                    coords = Arrays.copyOf(coords, coords.length * 2);
+                }
+                coords[size++] = RouteTileRenderer.worldX(point.getLongitude().doubleValue());
+                coords[size++] = RouteTileRenderer.worldY(point.getLatitude().doubleValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (currentId != null) {
+            loaded.put(currentId, Arrays.copyOf(coords, size));
+        }
+        return loaded;
+    }
+
+    /**
+     * 瓦片（含缓冲区）是否与外包框相交
+     */
+    private boolean tileTouches(RouteRTree.Entry box, int z, int x, int y) {
+        double size = RouteTileRenderer.tileSize(z);
+        double pad = renderer.bufferSize(z);
+        return RouteTileRenderer.worldX(box.getMinLng()) <= (x + 1) * size + pad
+                && RouteTileRenderer.worldX(box.getMaxLng()) >= x * size - pad
+                && RouteTileRenderer.worldY(box.getMaxLat()) <= (y + 1) * size + pad
+                && RouteTileRenderer.worldY(box.getMinLat()) >= y * size - pad;
+    }
+
+    /**
+     * 删除外包框覆盖的磁盘瓦片（只遍历已存在的列目录）
+     */
+    private int deleteDiskTiles(RouteRTree.Entry box) {
+        Path dir = Paths.get(properties.getDiskCacheDir());
+        int deleted = 0;
+        for (int z = properties.getMinZoom(); z <= properties.getMaxZoom(); z++) {
+            Path zoomDir = dir.resolve(String.valueOf(z));
+            if (!Files.isDirectory(zoomDir)) {
+                continue;
+            }
+            double size = RouteTileRenderer.tileSize(z);
+            double pad = renderer.bufferSize(z);
+            int maxIndex = (1 << z) - 1;
+            int minX = clamp((int) Math.floor((RouteTileRenderer.worldX(box.getMinLng()) - pad) / size), maxIndex);
+            int maxX = clamp((int) Math.floor((RouteTileRenderer.worldX(box.getMaxLng()) + pad) / size), maxIndex);
+            int minY = clamp((int) Math.floor((RouteTileRenderer.worldY(box.getMaxLat()) - pad) / size), maxIndex);
+            int maxY = clamp((int) Math.floor((RouteTileRenderer.worldY(box.getMinLat()) + pad) / size), maxIndex);
+            for (int x = minX; x <= maxX; x++) {
+                Path columnDir = zoomDir.resolve(String.valueOf(x));
+                if (!Files.isDirectory(columnDir)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(columnDir, "*.mvt")) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        int y = Integer.parseInt(name.substring(0, name.length() - 4));
+                        if (y >= minY && y <= maxY && Files.deleteIfExists(file)) {
+                            deleted++;
+                        }
+                    }
+                } catch (IOException | NumberFormatException e) {
+                    log.warn("删除路线矢量瓦片磁盘缓存失败，目录：{}", columnDir, e);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private static int clamp(int index, int maxIndex) {
+        return Math.max(0, Math.min(maxIndex, index));
+    }
+
+    private Path diskPath(int z, int x, int y) {
+        if (!StringUtils.hasText(properties.getDiskCacheDir())) {
+            return null;
+        }
+        return Paths.get(properties.getDiskCacheDir(), String.valueOf(z), String.valueOf(x), y + ".mvt");
+    }
+
+    private byte[] readDisk(Path file) {
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            log.warn("读取路线矢量瓦片磁盘缓存失败：{}", file);
+            return null;
+        }
+    }
+
+    private void writeDisk(Path file, byte[] tile) {
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), "tile", ".tmp");
+            Files.write(temp, tile);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("写入路线矢量瓦片磁盘缓存失败：{}", file);
+            deleteQuietly(temp);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除路线矢量瓦片磁盘缓存失败：{}", path);
+        }
+    }
+}
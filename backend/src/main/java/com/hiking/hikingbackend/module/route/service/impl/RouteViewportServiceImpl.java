@@ -0,0 +1,304 @@
+package com.hiking.hikingbackend.module.route.service.impl;
+
+import com.hiking.hikingbackend.common.exception.BusinessException;
+import com.hiking.hikingbackend.common.result.ResultCode;
+import com.hiking.hikingbackend.config.RouteIndexProperties;
+import com.hiking.hikingbackend.module.route.event.RouteChangedEvent;
+import com.hiking.hikingbackend.module.route.mapper.RouteMapper;
+import com.hiking.hikingbackend.module.route.service.RouteViewportService;
+import com.hiking.hikingbackend.module.route.support.RouteBounds;
+import com.hiking.hikingbackend.module.route.support.RouteRTree;
+import com.hiking.hikingbackend.module.route.vo.RouteMapItemVO;
+import com.hiking.hikingbackend.module.route.vo.RouteViewportVO;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * 地图视口路线查询服务实现类
+ * <p>
+ * 公开且正常的路线按外包框（起终点和全部路线点位的经纬度范围）建立内存 R 树：
+ * <ul>
+ *   <li>启动时一次聚合查询取出全部外包框，STR 批量构建</li>
+ *   <li>路线变更提交后按ID重新读取，变化先记在树外的增量表和屏蔽集中，累计到阈值后用内存数据重建</li>
+ *   <li>查询读取不可变快照，不加锁也不访问数据库；每天凌晨全量重建一次兜底</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RouteViewportServiceImpl implements RouteViewportService {
+
+    private final RouteMapper routeMapper;
+
+    private final RouteIndexProperties properties;
+
+    /**
+     * 索引中的全部路线（写操作在锁内进行）
+     */
+    private final Map<Long, IndexedRoute> routes = new HashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 全量加载期间发生变更的路线，加载完成后重新刷新；为空表示未在加载
+     */
+    private Set<Long> changedWhileLoading;
+
+    @Override
+    public RouteViewportVO queryViewport(double minLat, double minLng, double maxLat, double maxLng, Integer limit) {
+        // 1. 校验视口
+        if (minLat < -90 || maxLat > 90 || minLat > maxLat
+                || minLng < -180 || minLng > 180 || maxLng < -180 || maxLng > 180) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "视口范围无效");
+        }
+        int max = limit != null
+                ? Math.max(1, Math.min(limit, properties.getMaxLimit()))
+                : properties.getDefaultLimit();
+
+        // 2. 查询快照，跨越180°经线时拆成东西两段
+        Snapshot current = snapshot;
+        Map<Long, RouteMapItemVO> found = new LinkedHashMap<>();
+        boolean complete = minLng <= maxLng
+                ? current.search(minLat, minLng, maxLat, maxLng, found, max)
+                : current.search(minLat, minLng, maxLat, 180, found, max)
+                && current.search(minLat, -180, maxLat, maxLng, found, max);
+
+        return RouteViewportVO.builder()
+                .routes(new ArrayList<>(found.values()))
+                .truncated(!complete)
+                .build();
+    }
+
+    @Override
+    public List<RouteMapItemVO> findRoutes(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        Map<Long, RouteMapItemVO> found = new LinkedHashMap<>();
+        snapshot.search(minLat, minLng, maxLat, maxLng, found, limit);
+        return new ArrayList<>(found.values());
+    }
+
+    @Override
+    public void refreshRoute(Long routeId) {
+        List<RouteBounds> rows = routeMapper.selectRouteBounds(routeId);
+        IndexedRoute route = rows.isEmpty() ? null : IndexedRoute.of(rows.get(0));
+        synchronized (this) {
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(routeId);
+            }
+            if (route != null) {
+                routes.put(routeId, route);
+            } else if (routes.remove(routeId) == null) {
+                return;
+            }
+            publish(snapshot.with(routeId, route));
+        }
+    }
+
+    @Override
+    public void reload() {
+        // 1. 标记加载开始，期间的单条变更加载后补刷
+        synchronized (this) {
+            changedWhileLoading = new HashSet<>();
+        }
+
+        // 2. 在锁外查询并构建
+        Map<Long, IndexedRoute> loaded = new HashMap<>();
+        Set<Long> changed;
+        try {
+            for (RouteBounds row : routeMapper.selectRouteBounds(null)) {
+                IndexedRoute route = IndexedRoute.of(row);
+                if (route != null) {
+                    loaded.put(route.entry.getRouteId(), route);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                changed = changedWhileLoading;
+                changedWhileLoading = null;
+            }
+        }
+
+        // 3. 替换索引
+        synchronized (this) {
+            routes.clear();
+            routes.putAll(loaded);
+            publish(Snapshot.build(routes, properties.getNodeCapacity()));
+        }
+        log.info("路线空间索引加载完成，路线数：{}", loaded.size());
+
+        for (Long routeId : changed) {
+            refreshRoute(routeId);
+        }
+    }
+
+    /**
+     * 路线变更提交后刷新索引（先于依赖索引的矢量瓦片失效执行）
+     *
+     * @param event 路线变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRouteChanged(RouteChangedEvent event) {
+        try {
+            refreshRoute(event.getRouteId());
+        } catch (Exception e) {
+            log.error("路线空间索引刷新失败，路线ID：{}", event.getRouteId(), e);
+        }
+    }
+
+    /**
+     * 启动后及每天凌晨全量加载，兜底修正遗漏的变更
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 4 * * ?")
+    public void loadIndex() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("路线空间索引加载失败", e);
+        }
+    }
+
+    /**
+     * 发布新快照，树外增量过多时用内存数据重建
+     */
+    private void publish(Snapshot next) {
+        if (next.pendingChanges() >= properties.getRebuildThreshold()) {
+            next = Snapshot.build(routes, properties.getNodeCapacity());
+        }
+        snapshot = next;
+    }
+
+    /**
+     * 索引中的路线：外包框和地图摘要
+     */
+    @AllArgsConstructor
+    private static final class IndexedRoute {
+
+        private final RouteRTree.Entry entry;
+
+        private final RouteMapItemVO item;
+
+        static IndexedRoute of(RouteBounds row) {
+            RouteRTree.Entry entry = row.toEntry();
+            if (entry == null) {
+                return null;
+            }
+            RouteMapItemVO item = RouteMapItemVO.builder()
+                    .id(row.getRouteId())
+                    .name(row.getName())
+                    .difficultyLevel(row.getDifficultyLevel())
+                    .totalDistance(row.getTotalDistance())
+                    .region(row.getRegion())
+                    .startLatitude(row.getStartLatitude())
+                    .startLongitude(row.getStartLongitude())
+                    .minLat(entry.getMinLat())
+                    .minLng(entry.getMinLng())
+                    .maxLat(entry.getMaxLat())
+                    .maxLng(entry.getMaxLng())
+                    .build();
+            return new IndexedRoute(entry, item);
+        }
+    }
+
+    /**
+     * 不可变索引快照
+     * <p>
+     * tree/base 为上次构建时的内容；delta 为之后新增或修改的路线，
+     * hidden 为树中已被修改或移除、查询时需要跳过的路线
+     */
+    @AllArgsConstructor
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(RouteRTree.empty(), Map.of(), Map.of(), Set.of());
+
+        private final RouteRTree tree;
+
+        private final Map<Long, IndexedRoute> base;
+
+        private final Map<Long, IndexedRoute> delta;
+
+        private final Set<Long> hidden;
+
+        static Snapshot build(Map<Long, IndexedRoute> routes, int nodeCapacity) {
+            List<RouteRTree.Entry> entries = new ArrayList<>(routes.size());
+            for (IndexedRoute route : routes.values()) {
+                entries.add(route.entry);
+            }
+            return new Snapshot(RouteRTree.build(entries, nodeCapacity), new HashMap<>(routes), Map.of(), Set.of());
+        }
+
+        /**
+         * 写入或移除一条路线后的新快照
+         *
+         * @param routeId 路线ID
+         * @param route   新内容，为空表示移除
+         * @return 新快照
+         */
+        Snapshot with(Long routeId, IndexedRoute route) {
+            Map<Long, IndexedRoute> nextDelta = new HashMap<>(delta);
+            if (route != null) {
+                nextDelta.put(routeId, route);
+            } else {
+                nextDelta.remove(routeId);
+            }
+            Set<Long> nextHidden = hidden;
+            if (base.containsKey(routeId) && !hidden.contains(routeId)) {
+                nextHidden = new HashSet<>(hidden);
+                nextHidden.add(routeId);
+            }
+            return new Snapshot(tree, base, nextDelta, nextHidden);
+        }
+
+        int pendingChanges() {
+            return delta.size() + hidden.size();
+        }
+
+        /**
+         * 查询与矩形相交的路线，结果写入 found
+         *
+         * @return 是否全部收集（未超过上限）
+         */
+        boolean search(double minLat, double minLng, double maxLat, double maxLng,
+                       Map<Long, RouteMapItemVO> found, int limit) {
+            boolean complete = tree.search(minLat, minLng, maxLat, maxLng, entry -> {
+                Long routeId = entry.getRouteId();
+                if (hidden.contains(routeId) || found.containsKey(routeId)) {
+                    return true;
+                }
+                if (found.size() >= limit) {
+                    return false;
+                }
+                found.put(routeId, base.get(routeId).item);
+                return true;
+            });
+            if (!complete) {
+                return false;
+            }
+            for (IndexedRoute route : delta.values()) {
+                if (!route.entry.intersects(minLat, minLng, maxLat, maxLng)
+                        || found.containsKey(route.entry.getRouteId())) {
+                    continue;
+                }
+                if (found.size() >= limit) {
+                    return false;
+                }
+                found.put(route.entry.getRouteId(), route.item);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * 海拔剖面
+ * <p>
+ * 按里程排列的（里程, 海拔）序列，单位均为米。存储格式：点数，随后依次为
+ * 里程增量（无符号变长整数，里程单调不减）和海拔增量（ZigZag 变长整数）
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@AllArgsConstructor
+public class ElevationProfile {
+
+    private static final ElevationProfile EMPTY = new ElevationProfile(new int[0], new int[0]);
+
+    /**
+     * 起点到各剖面点的里程（米）
+     */
+    private final int[] distances;
+
+    /**
+     * 各剖面点的海拔（米）
+     */
+    private final int[] elevations;
+
+    /**
+     * 空剖面
+     *
+     * @return 空剖面
+     */
+    public static ElevationProfile empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 剖面点数
+     *
+     * @return 点数
+     */
+    public int size() {
+        return distances.length;
+    }
+
+    /**
+     * 编码
+     *
+     * @return 编码后的字节
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(distances.length * 3 + 4);
+        writeVarint(out, distances.length);
+        int previousDistance = 0;
+        int previousElevation = 0;
+        for (int i = 0; i < distances.length; i++) {
+            writeVarint(out, distances[i] - previousDistance);
+            int delta = elevations[i] - previousElevation;
+            writeVarint(out, (delta << 1) ^ (delta >> 31));
+            previousDistance = distances[i];
+            previousElevation = elevations[i];
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码
+     *
+     * @param data 编码后的字节，可为null
+     * @return 剖面
+     */
+    public static ElevationProfile decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return EMPTY;
+        }
+        int[] position = {0};
+        int size = readVarint(data, position);
+        int[] distances = new int[size];
+        int[] elevations = new int[size];
+        int distance = 0;
+        int elevation = 0;
+        for (int i = 0; i < size; i++) {
+            distance += readVarint(data, position);
+            int zigzag = readVarint(data, position);
+            elevation += (zigzag >>> 1) ^ -(zigzag & 1);
+            distances[i] = distance;
+            elevations[i] = elevation;
+        }
+        return new ElevationProfile(distances, elevations);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,125 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import java.util.Arrays;
+
+/**
+ * 海拔剖面生成器
+ * <p>
+ * 按路线顺序输入（里程, 海拔），每点占用 12 字节；生成时按里程等分为若干桶，
+ * 每个桶保留海拔最低和最高的两个点（按原顺序输出），起点和终点总是保留，
+ * 因此降采样后山峰和谷底不会被削平
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class ElevationProfileBuilder {
+
+    private double[] distances = new double[256];
+
+    private int[] elevations = new int[256];
+
+    private int size;
+
+    /**
+     * 输入一个点（里程须单调不减）
+     *
+     * @param distance  起点到该点的里程（米）
+     * @param elevation 海拔（米）
+     */
+    public void accept(double distance, int elevation) {
+        if (size == distances.length) {
+            distances = Arrays.copyOf(distances, size * 2);
+            elevations = Arrays.copyOf(elevations, size * 2);
+        }
+        distances[size] = distance;
+        elevations[size] = elevation;
+        size++;
+    }
+
+    /**
+     * 已输入的点数
+     *
+     * @return 点数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 生成指定分辨率的剖面
+     *
+     * @param buckets 桶数，输出最多 2*buckets+2 个点
+     * @return 剖面，输入少于两个点时为空剖面
+     */
+    public ElevationProfile build(int buckets) {
+        if (size < 2) {
+            return ElevationProfile.empty();
+        }
+        double start = distances[0];
+        double width = (distances[size - 1] - start) / buckets;
+        if (width <= 0) {
+            return toProfile(new int[]{0, size - 1}, 2);
+        }
+        if (size <= buckets * 2) {
+            return toProfile(null, size);
+        }
+
+        int[] selected = new int[buckets * 2 + 2];
+        int count = 0;
+        selected[count++] = 0;
+        int bucket = 0;
+        int minIndex = 0;
+        int maxIndex = 0;
+        for (int i = 1; i < size; i++) {
+            int current = Math.min(buckets - 1, (int) ((distances[i] - start) / width));
+            if (current != bucket) {
+                count = emit(selected, count, minIndex, maxIndex);
+                bucket = current;
+                minIndex = i;
+                maxIndex = i;
+                continue;
+            }
+            if (elevations[i] < elevations[minIndex]) {
+                minIndex = i;
+            }
+            if (elevations[i] > elevations[maxIndex]) {
+                maxIndex = i;
+            }
+        }
+        count = emit(selected, count, minIndex, maxIndex);
+        if (selected[count - 1] != size - 1) {
+            selected[count++] = size - 1;
+        }
+        return toProfile(selected, count);
+    }
+
+    /**
+     * 按原顺序输出桶内最低点和最高点，跳过与上一输出点相同的点
+     */
+    private int emit(int[] selected, int count, int minIndex, int maxIndex) {
+        int first = Math.min(minIndex, maxIndex);
+        int second = Math.max(minIndex, maxIndex);
+        if (selected[count - 1] != first) {
+            selected[count++] = first;
+        }
+        if (second != first) {
+            selected[count++] = second;
+        }
+        return count;
+    }
+
+    /**
+     * 按选中的点序号生成剖面，selected 为空时输出全部点
+     */
+    private ElevationProfile toProfile(int[] selected, int count) {
+        int[] outDistances = new int[count];
+        int[] outElevations = new int[count];
+        double start = distances[0];
+        for (int i = 0; i < count; i++) {
+            int index = selected != null ? selected[i] : i;
+            outDistances[i] = (int) Math.round(distances[index] - start);
+            outElevations[i] = elevations[index];
+        }
+        return new ElevationProfile(outDistances, outElevations);
+    }
+}
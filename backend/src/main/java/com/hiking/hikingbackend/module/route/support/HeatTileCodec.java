@@ -0,0 +1,83 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * 热力瓦片网格编解码
+ * <p>
+ * 热力网格通常非常稀疏（轨迹只覆盖少量单元），按稀疏格式存储：
+ * 非零单元数，随后依次为（单元序号增量, 计数），均为无符号变长整数
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public final class HeatTileCodec {
+
+    private HeatTileCodec() {
+    }
+
+    /**
+     * 编码网格
+     *
+     * @param grid 网格计数
+     * @return 编码后的字节
+     */
+    public static byte[] encode(int[] grid) {
+        int nonZero = 0;
+        for (int count : grid) {
+            if (count != 0) {
+                nonZero++;
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(nonZero * 3 + 4);
+        writeVarint(out, nonZero);
+        int previous = -1;
+        for (int i = 0; i < grid.length; i++) {
+            if (grid[i] != 0) {
+                writeVarint(out, i - previous);
+                writeVarint(out, grid[i]);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码并累加到网格
+     *
+     * @param data 编码后的字节，可为null
+     * @param grid 目标网格
+     */
+    public static void decodeInto(byte[] data, int[] grid) {
+        if (data == null || data.length == 0) {
+            return;
+        }
+        int[] position = {0};
+        int nonZero = readVarint(data, position);
+        int index = -1;
+        for (int i = 0; i < nonZero; i++) {
+            index += readVarint(data, position);
+            grid[index] += readVarint(data, position);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
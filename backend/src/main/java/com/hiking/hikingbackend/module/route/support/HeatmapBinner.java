@@ -0,0 +1,169 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 轨迹热力分箱器
+ * <p>
+ * 采用 Web 墨卡托瓦片坐标，每个瓦片划分为 gridSize × gridSize 个单元。
+ * 轨迹点先换算为最大缩放级别下的全局单元坐标，低级别单元由右移得到，一次换算覆盖所有级别：
+ * <ol>
+ *   <li>相邻轨迹点之间按半个单元步长插值，保证轨迹线在网格上连续</li>
+ *   <li>同一条轨迹经过同一单元只计一次，热度表示“走过的人次”而非停留时长</li>
+ * </ol>
+ * 单元键编码为 z(5位) | 全局列号(25位) | 全局行号(25位)；瓦片键编码为 z &lt;&lt; 40 | x &lt;&lt; 20 | y
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class HeatmapBinner {
+
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    /**
+     * 相邻点距离超过该值（米）视为信号中断，不做插值
+     */
+    private static final double MAX_INTERPOLATE_DISTANCE = 500;
+
+    private static final int CELL_BITS = 25;
+
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+
+    private final int minZoom;
+
+    private final int maxZoom;
+
+    private final int gridSize;
+
+    private final int gridShift;
+
+    /**
+     * 最大缩放级别下全球的单元数（每个方向）
+     */
+    private final double worldCells;
+
+    public HeatmapBinner(int minZoom, int maxZoom, int gridSize) {
+        if (Integer.bitCount(gridSize) != 1) {
+            throw new IllegalArgumentException("网格边长必须为2的幂");
+        }
+        this.gridShift = Integer.numberOfTrailingZeros(gridSize);
+        if (minZoom < 0 || minZoom > maxZoom || maxZoom > 18 || maxZoom + gridShift > CELL_BITS - 1) {
+            throw new IllegalArgumentException("缩放级别范围无效");
+        }
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.gridSize = gridSize;
+        this.worldCells = (double) (1L << (maxZoom + gridShift));
+    }
+
+    /**
+     * 计算一条轨迹经过的全部单元（所有缩放级别）
+     *
+     * @param lats  纬度数组（按时间升序）
+     * @param lngs  经度数组
+     * @param count 点数
+     * @return 单元键集合
+     */
+    public Set<Long> binTrack(double[] lats, double[] lngs, int count) {
+        Set<Long> cells = new HashSet<>();
+        long lastCx = -1;
+        long lastCy = -1;
+        for (int i = 0; i < count; i++) {
+            double x = cellX(lngs[i]);
+            double y = cellY(lats[i]);
+            if (i > 0 && GeoDistanceKernel.distance(lats[i - 1], lngs[i - 1], lats[i], lngs[i]) <= MAX_INTERPOLATE_DISTANCE) {
+                // 按半个单元步长插值上一个点到当前点之间的位置
+                double prevX = cellX(lngs[i - 1]);
+                double prevY = cellY(lats[i - 1]);
+                int steps = (int) Math.ceil(Math.max(Math.abs(x - prevX), Math.abs(y - prevY)) * 2);
+                for (int s = 1; s < steps; s++) {
+                    double t = (double) s / steps;
+                    long cx = (long) (prevX + (x - prevX) * t);
+                    long cy = (long) (prevY + (y - prevY) * t);
+                    if (cx != lastCx || cy != lastCy) {
+                        addAllZooms(cells, cx, cy);
+                        lastCx = cx;
+                        lastCy = cy;
+                    }
+                }
+            }
+            long cx = (long) x;
+            long cy = (long) y;
+            if (cx != lastCx || cy != lastCy) {
+                addAllZooms(cells, cx, cy);
+                lastCx = cx;
+                lastCy = cy;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * 将单元集合计入瓦片网格（每个单元 +1）
+     *
+     * @param cells 单元键集合
+     * @param grids 瓦片键 -> 网格计数（行优先，长度 gridSize²）
+     */
+    public void accumulate(Set<Long> cells, Map<Long, int[]> grids) {
+        int mask = gridSize - 1;
+        for (long cell : cells) {
+            int z = (int) (cell >>> (CELL_BITS * 2));
+            long cx = (cell >>> CELL_BITS) & CELL_MASK;
+            long cy = cell & CELL_MASK;
+            long tileKey = tileKey(z, (int) (cx >> gridShift), (int) (cy >> gridShift));
+            int[] grid = grids.computeIfAbsent(tileKey, k -> new int[gridSize * gridSize]);
+            grid[(int) (cy & mask) * gridSize + (int) (cx & mask)]++;
+        }
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * 编码瓦片键
+     *
+     * @param z 缩放级别
+     * @param x 瓦片列号
+     * @param y 瓦片行号
+     * @return 瓦片键
+     */
+    public static long tileKey(int z, int x, int y) {
+        return ((long) z << 40) | ((long) x << 20) | y;
+    }
+
+    public static int tileZ(long tileKey) {
+        return (int) (tileKey >>> 40);
+    }
+
+    public static int tileX(long tileKey) {
+        return (int) ((tileKey >>> 20) & 0xFFFFF);
+    }
+
+    public static int tileY(long tileKey) {
+        return (int) (tileKey & 0xFFFFF);
+    }
+
+    private void addAllZooms(Set<Long> cells, long cx, long cy) {
+        for (int z = maxZoom; z >= minZoom; z--) {
+            int shift = maxZoom - z;
+            cells.add(((long) z << (CELL_BITS * 2)) | ((cx >> shift) << CELL_BITS) | (cy >> shift));
+        }
+    }
+
+    private double cellX(double lng) {
+        double x = (lng + 180) / 360 * worldCells;
+        return Math.max(0, Math.min(worldCells - 1, x));
+    }
+
+    private double cellY(double lat) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        double y = (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * worldCells;
+        return Math.max(0, Math.min(worldCells - 1, y));
+    }
+}
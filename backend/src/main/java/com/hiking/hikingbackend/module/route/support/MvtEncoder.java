@@ -0,0 +1,175 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapbox Vector Tile 编码器
+ * <p>
+ * 按 MVT 2.1 规范直接写出 protobuf 字节，只支持单图层、线要素；
+ * 属性键和值在图层内去重，几何按 MoveTo/LineTo 命令和 ZigZag 相对坐标编码
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class MvtEncoder {
+
+    private static final int GEOM_LINESTRING = 2;
+
+    private static final int CMD_MOVE_TO = 1;
+
+    private static final int CMD_LINE_TO = 2;
+
+    private final String layerName;
+
+    private final int extent;
+
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+
+    private final Map<Object, Integer> values = new LinkedHashMap<>();
+
+    private final ByteArrayOutputStream features = new ByteArrayOutputStream();
+
+    private int featureCount;
+
+    public MvtEncoder(String layerName, int extent) {
+        this.layerName = layerName;
+        this.extent = extent;
+    }
+
+    /**
+     * 添加线要素
+     *
+     * @param id         要素ID
+     * @param parts      各段坐标（瓦片坐标，x、y 交错排列，每段至少两个点）
+     * @param properties 属性，值支持 String、Integer、Long、Double，为null的属性跳过
+     */
+    public void addLine(long id, List<int[]> parts, Map<String, Object> properties) {
+        if (parts.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream feature = new ByteArrayOutputStream();
+        writeTag(feature, 1, 0);
+        writeVarint(feature, id);
+
+        ByteArrayOutputStream tags = new ByteArrayOutputStream();
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            if (property.getValue() == null) {
+                continue;
+            }
+            writeVarint(tags, keys.computeIfAbsent(property.getKey(), k -> keys.size()));
+            writeVarint(tags, values.computeIfAbsent(property.getValue(), v -> values.size()));
+        }
+        writeBytes(feature, 2, tags.toByteArray());
+
+        writeTag(feature, 3, 0);
+        writeVarint(feature, GEOM_LINESTRING);
+
+        ByteArrayOutputStream geometry = new ByteArrayOutputStream();
+        int cursorX = 0;
+        int cursorY = 0;
+        for (int[] part : parts) {
+            int points = part.length / 2;
+            writeVarint(geometry, command(CMD_MOVE_TO, 1));
+            writeVarint(geometry, zigzag(part[0] - cursorX));
+            writeVarint(geometry, zigzag(part[1] - cursorY));
+            writeVarint(geometry, command(CMD_LINE_TO, points - 1));
+            for (int i = 2; i < part.length; i += 2) {
+                writeVarint(geometry, zigzag(part[i] - part[i - 2]));
+                writeVarint(geometry, zigzag(part[i + 1] - part[i - 1]));
+            }
+            cursorX = part[part.length - 2];
+            cursorY = part[part.length - 1];
+        }
+        writeBytes(feature, 4, geometry.toByteArray());
+
+        writeBytes(features, 2, feature.toByteArray());
+        featureCount++;
+    }
+
+    /**
+     * 要素数
+     *
+     * @return 要素数
+     */
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    /**
+     * 编码整个瓦片
+     *
+     * @return 瓦片字节，没有要素时为空数组
+     */
+    public byte[] encode() {
+        if (featureCount == 0) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream layer = new ByteArrayOutputStream(features.size() + 256);
+        writeTag(layer, 15, 0);
+        writeVarint(layer, 2);
+        writeBytes(layer, 1, layerName.getBytes(StandardCharsets.UTF_8));
+        layer.writeBytes(features.toByteArray());
+        for (String key : keys.keySet()) {
+            writeBytes(layer, 3, key.getBytes(StandardCharsets.UTF_8));
+        }
+        for (Object value : values.keySet()) {
+            writeBytes(layer, 4, encodeValue(value));
+        }
+        writeTag(layer, 5, 0);
+        writeVarint(layer, extent);
+
+        ByteArrayOutputStream tile = new ByteArrayOutputStream(layer.size() + 8);
+        writeBytes(tile, 3, layer.toByteArray());
+        return tile.toByteArray();
+    }
+
+    private static byte[] encodeValue(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (value instanceof String s) {
+            writeBytes(out, 1, s.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Double d) {
+            writeTag(out, 3, 1);
+            long bits = Double.doubleToLongBits(d);
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (bits >>> (i * 8)) & 0xFF);
+            }
+        } else if (value instanceof Number n) {
+            writeTag(out, 6, 0);
+            long v = n.longValue();
+            writeVarint(out, (v << 1) ^ (v >> 63));
+        } else {
+            writeBytes(out, 1, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeVarint(out, ((long) field << 3) | wireType);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeTag(out, field, 2);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 路线空间范围查询结果
+ * <p>
+ * 路线摘要、起终点坐标和路线点位的经纬度范围，由
+ * {@link com.hiking.hikingbackend.module.route.mapper.RouteMapper#selectRouteBounds} 一次聚合得到
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+public class RouteBounds {
+
+    private Long routeId;
+
+    private String name;
+
+    private Integer difficultyLevel;
+
+    private BigDecimal totalDistance;
+
+    private String region;
+
+    private BigDecimal startLatitude;
+
+    private BigDecimal startLongitude;
+
+    private BigDecimal endLatitude;
+
+    private BigDecimal endLongitude;
+
+    /**
+     * 路线点位最小纬度，无点位时为空
+     */
+    private BigDecimal pointMinLat;
+
+    private BigDecimal pointMaxLat;
+
+    private BigDecimal pointMinLng;
+
+    private BigDecimal pointMaxLng;
+
+    /**
+     * 合并起终点和路线点位得到外包框
+     *
+     * @return 外包框，没有任何坐标时返回null
+     */
+    public RouteRTree.Entry toEntry() {
+        double[] box = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        boolean hasPoint = include(box, startLatitude, startLongitude);
+        hasPoint |= include(box, endLatitude, endLongitude);
+        hasPoint |= include(box, pointMinLat, pointMinLng);
+        hasPoint |= include(box, pointMaxLat, pointMaxLng);
+        return hasPoint ? new RouteRTree.Entry(routeId, box[0], box[1], box[2], box[3]) : null;
+    }
+
+    private static boolean include(double[] box, BigDecimal lat, BigDecimal lng) {
+        if (lat == null || lng == null) {
+            return false;
+        }
+        double latValue = lat.doubleValue();
+        double lngValue = lng.doubleValue();
+        box[0] = Math.min(box[0], latValue);
+        box[1] = Math.min(box[1], lngValue);
+        box[2] = Math.max(box[2], latValue);
+        box[3] = Math.max(box[3], lngValue);
+        return true;
+    }
+}
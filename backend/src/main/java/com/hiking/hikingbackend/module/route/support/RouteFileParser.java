@@ -0,0 +1,230 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+
+/**
+ * GPX/KML 路线文件流式解析器
+ * <p>
+ * 基于 StAX 逐个事件读取，不构建文档树，内存占用与文件大小无关：
+ * <ul>
+ *   <li>GPX：读取 trkpt（没有轨迹时读取 rtept），海拔取 ele</li>
+ *   <li>KML：读取 LineString 的 coordinates（按空白分隔的“经度,纬度[,海拔]”，跨文本块拼接）以及 gx:Track 的 gx:coord</li>
+ * </ul>
+ * 禁用 DTD 和外部实体，防止 XXE
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class RouteFileParser {
+
+    /**
+     * 轨迹点回调
+     */
+    @FunctionalInterface
+    public interface PointHandler {
+
+        /**
+         * 读到一个轨迹点
+         *
+         * @param lat       纬度
+         * @param lng       经度
+         * @param elevation 海拔（米），可为null
+         */
+        void onPoint(double lat, double lng, Double elevation);
+    }
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    /**
+     * 解析路线文件
+     *
+     * @param in      输入流
+     * @param handler 轨迹点回调
+     * @return 解析结果
+     * @throws XMLStreamException    XML格式错误
+     * @throws IllegalArgumentException 不是GPX或KML文件，或坐标格式错误
+     */
+    public ParseResult parse(InputStream in, PointHandler handler) throws XMLStreamException {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+        try {
+            while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+                // 跳到根元素
+            }
+            if (!reader.isStartElement()) {
+                throw new IllegalArgumentException("文件内容为空");
+            }
+            String root = reader.getLocalName();
+            if ("gpx".equals(root)) {
+                return parseGpx(reader, handler);
+            }
+            if ("kml".equals(root)) {
+                return parseKml(reader, handler);
+            }
+            throw new IllegalArgumentException("不支持的文件格式：" + root);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private ParseResult parseGpx(XMLStreamReader reader, PointHandler handler) throws XMLStreamException {
+        String name = null;
+        // 第一个出现的点类型（trkpt/rtept），另一种忽略，避免航线和轨迹首尾相接
+        String pointElement = null;
+        boolean inPoint = false;
+        boolean inWaypoint = false;
+        double lat = 0;
+        double lng = 0;
+        Double elevation = null;
+        int count = 0;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String local = reader.getLocalName();
+                if (("trkpt".equals(local) || "rtept".equals(local))
+                        && (pointElement == null || pointElement.equals(local))) {
+                    pointElement = local;
+                    inPoint = true;
+                    lat = parseDouble(reader.getAttributeValue(null, "lat"));
+                    lng = parseDouble(reader.getAttributeValue(null, "lon"));
+                    elevation = null;
+                } else if ("wpt".equals(local)) {
+                    inWaypoint = true;
+                } else if ("ele".equals(local) && inPoint) {
+                    String text = reader.getElementText().trim();
+                    elevation = text.isEmpty() ? null : parseDouble(text);
+                } else if ("name".equals(local) && name == null && !inPoint && !inWaypoint) {
+                    name = reader.getElementText().trim();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String local = reader.getLocalName();
+                if (inPoint && local.equals(pointElement)) {
+                    handler.onPoint(lat, lng, elevation);
+                    count++;
+                    inPoint = false;
+                } else if ("wpt".equals(local)) {
+                    inWaypoint = false;
+                }
+            }
+        }
+        return new ParseResult("GPX", name, count);
+    }
+
+    private ParseResult parseKml(XMLStreamReader reader, PointHandler handler) throws XMLStreamException {
+        String name = null;
+        int lineStringDepth = 0;
+        boolean inCoordinates = false;
+        StringBuilder token = new StringBuilder(64);
+        int[] count = {0};
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String local = reader.getLocalName();
+                if ("LineString".equals(local) || "LinearRing".equals(local)) {
+                    lineStringDepth++;
+                } else if ("coordinates".equals(local) && lineStringDepth > 0) {
+                    inCoordinates = true;
+                    token.setLength(0);
+                } else if ("coord".equals(local)) {
+                    // gx:coord 为“经度 纬度 海拔”，空格分隔
+                    String[] parts = reader.getElementText().trim().split("\\s+");
+                    emitKmlTuple(parts, handler);
+                    count[0]++;
+                } else if ("name".equals(local) && name == null) {
+                    name = reader.getElementText().trim();
+                }
+            } else if (inCoordinates && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                // coordinates 可能是上万个点的一整段文本，按字符切分，只保留当前未完成的一组坐标
+                char[] chars = reader.getTextCharacters();
+                int start = reader.getTextStart();
+                int end = start + reader.getTextLength();
+                for (int i = start; i < end; i++) {
+                    char c = chars[i];
+                    if (Character.isWhitespace(c)) {
+                        flushCoordinate(token, handler, count);
+                    } else {
+                        token.append(c);
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String local = reader.getLocalName();
+                if ("coordinates".equals(local) && inCoordinates) {
+                    flushCoordinate(token, handler, count);
+                    inCoordinates = false;
+                } else if ("LineString".equals(local) || "LinearRing".equals(local)) {
+                    lineStringDepth--;
+                }
+            }
+        }
+        return new ParseResult("KML", name, count[0]);
+    }
+
+    private void flushCoordinate(StringBuilder token, PointHandler handler, int[] count) {
+        if (token.length() == 0) {
+            return;
+        }
+        emitKmlTuple(token.toString().split(","), handler);
+        count[0]++;
+        token.setLength(0);
+    }
+
+    private void emitKmlTuple(String[] parts, PointHandler handler) {
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("坐标格式错误：" + String.join(",", parts));
+        }
+        double lng = parseDouble(parts[0]);
+        double lat = parseDouble(parts[1]);
+        Double elevation = parts.length > 2 && !parts[2].isEmpty() ? parseDouble(parts[2]) : null;
+        handler.onPoint(lat, lng, elevation);
+    }
+
+    private static double parseDouble(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("缺少坐标");
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("坐标格式错误：" + value);
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    /**
+     * 解析结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ParseResult {
+
+        /**
+         * 文件格式：GPX 或 KML
+         */
+        private final String format;
+
+        /**
+         * 文件中的路线名称，可为null
+         */
+        private final String name;
+
+        /**
+         * 读取的轨迹点数
+         */
+        private final int pointCount;
+    }
+}
@@ -0,0 +1,165 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+import com.hiking.hikingbackend.module.route.entity.RoutePoint;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 路线导入累加器
+ * <p>
+ * 解析器每读到一个点调用一次 {@link #accept}，同一遍内完成：
+ * <ul>
+ *   <li>生成路线点位，攒满一批交给写入回调后清空，内存只保留一批</li>
+ *   <li>累计距离、带迟滞的累计爬升/下降、最高/最低海拔、起终点</li>
+ *   <li>把（里程, 海拔）交给海拔剖面生成器</li>
+ * </ul>
+ * 与上一点坐标完全相同的重复点直接丢弃
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class RouteImportAccumulator {
+
+    /**
+     * 海拔迟滞阈值（米），累计变化超过该值才计入爬升/下降，过滤GPS海拔噪声
+     */
+    private static final int ELEVATION_HYSTERESIS = 5;
+
+    private static final int POINT_TYPE_WAY = 1;   // 途经点
+
+    private final Long routeId;
+
+    private final Long userId;
+
+    private final int batchSize;
+
+    private final Consumer<List<RoutePoint>> writer;
+
+    private final List<RoutePoint> buffer;
+
+    @Getter
+    private final ElevationProfileBuilder profileBuilder = new ElevationProfileBuilder();
+
+    @Getter
+    private int pointCount;
+
+    private double distanceMeters;
+
+    @Getter
+    private int elevationGain;
+
+    @Getter
+    private int elevationLoss;
+
+    @Getter
+    private Integer maxElevation;
+
+    @Getter
+    private Integer minElevation;
+
+    @Getter
+    private double startLat;
+
+    @Getter
+    private double startLng;
+
+    @Getter
+    private double endLat;
+
+    @Getter
+    private double endLng;
+
+    private Integer elevationReference;
+
+    public RouteImportAccumulator(Long routeId, Long userId, int batchSize, Consumer<List<RoutePoint>> writer) {
+        this.routeId = routeId;
+        this.userId = userId;
+        this.batchSize = batchSize;
+        this.writer = writer;
+        this.buffer = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * 输入一个点
+     *
+     * @param lat       纬度
+     * @param lng       经度
+     * @param elevation 海拔（米），可为null
+     */
+    public void accept(double lat, double lng, Double elevation) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("坐标超出范围：" + lat + "," + lng);
+        }
+        if (pointCount > 0 && lat == endLat && lng == endLng) {
+            return;
+        }
+
+        // 1. 距离
+        if (pointCount == 0) {
+            startLat = lat;
+            startLng = lng;
+        } else {
+            distanceMeters += GeoDistanceKernel.distance(endLat, endLng, lat, lng);
+        }
+        endLat = lat;
+        endLng = lng;
+
+        // 2. 海拔
+        Integer ele = elevation != null ? (int) Math.round(elevation) : null;
+        if (ele != null) {
+            maxElevation = maxElevation == null ? ele : Math.max(maxElevation, ele);
+            minElevation = minElevation == null ? ele : Math.min(minElevation, ele);
+            if (elevationReference == null) {
+                elevationReference = ele;
+            } else if (ele - elevationReference >= ELEVATION_HYSTERESIS) {
+                elevationGain += ele - elevationReference;
+                elevationReference = ele;
+            } else if (elevationReference - ele >= ELEVATION_HYSTERESIS) {
+                elevationLoss += elevationReference - ele;
+                elevationReference = ele;
+            }
+            profileBuilder.accept(distanceMeters, ele);
+        }
+
+        // 3. 点位
+        pointCount++;
+        buffer.add(RoutePoint.builder()
+                .routeId(routeId)
+                .pointType(POINT_TYPE_WAY)
+                .name("途经点" + pointCount)
+                .latitude(BigDecimal.valueOf(lat).setScale(7, RoundingMode.HALF_UP))
+                .longitude(BigDecimal.valueOf(lng).setScale(7, RoundingMode.HALF_UP))
+                .elevation(ele)
+                .sequence(pointCount)
+                .createBy(userId)
+                .build());
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 写入剩余点位
+     */
+    public void flush() {
+        if (!buffer.isEmpty()) {
+            writer.accept(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 总里程（公里）
+     *
+     * @return 总里程
+     */
+    public BigDecimal getTotalDistanceKm() {
+        return BigDecimal.valueOf(distanceMeters / 1000.0).setScale(2, RoundingMode.HALF_UP);
+    }
+}
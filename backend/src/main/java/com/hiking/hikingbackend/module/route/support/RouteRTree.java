@@ -0,0 +1,214 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 路线外包框 R 树
+ * <p>
+ * 构建时按 STR（Sort-Tile-Recursive）批量装填：先按中心经度切成若干竖条，
+ * 条内再按中心纬度排序后每 nodeCapacity 个打包成一个节点，逐层向上直到只剩根节点。
+ * 构建后不可变，可被多个线程并发查询；增量变化由调用方在树外维护，积累到一定数量后重建
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class RouteRTree {
+
+    private static final RouteRTree EMPTY = new RouteRTree(null, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private RouteRTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 空树
+     *
+     * @return 空树
+     */
+    public static RouteRTree empty() {
+        return EMPTY;
+    }
+
+    /**
+     * STR 批量构建
+     *
+     * @param entries      外包框列表（不会被修改）
+     * @param nodeCapacity 节点最大子节点数
+     * @return R 树
+     */
+    public static RouteRTree build(List<Entry> entries, int nodeCapacity) {
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        int capacity = Math.max(2, nodeCapacity);
+        List<Node> level = new ArrayList<>((entries.size() + capacity - 1) / capacity);
+        for (List<Entry> group : pack(new ArrayList<>(entries), capacity,
+                e -> e.minLng + e.maxLng, e -> e.minLat + e.maxLat)) {
+            level.add(Node.leaf(group.toArray(new Entry[0])));
+        }
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>((level.size() + capacity - 1) / capacity);
+            for (List<Node> group : pack(level, capacity,
+                    n -> n.minLng + n.maxLng, n -> n.minLat + n.maxLat)) {
+                parents.add(Node.branch(group.toArray(new Node[0])));
+            }
+            level = parents;
+        }
+        return new RouteRTree(level.get(0), entries.size());
+    }
+
+    /**
+     * 查询与矩形相交的外包框
+     *
+     * @param minLat  最小纬度
+     * @param minLng  最小经度
+     * @param maxLat  最大纬度
+     * @param maxLng  最大经度
+     * @param visitor 访问函数，返回false时停止查询
+     * @return 是否遍历完成（访问函数未要求停止）
+     */
+    public boolean search(double minLat, double minLng, double maxLat, double maxLng, Predicate<Entry> visitor) {
+        if (root == null || !root.intersects(minLat, minLng, maxLat, maxLng)) {
+            return true;
+        }
+        Node[] stack = new Node[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            Node node = stack[--top];
+            if (node.entries != null) {
+                for (Entry entry : node.entries) {
+                    if (entry.intersects(minLat, minLng, maxLat, maxLng) && !visitor.test(entry)) {
+                        return false;
+                    }
+                }
+                continue;
+            }
+            for (Node child : node.children) {
+                if (child.intersects(minLat, minLng, maxLat, maxLng)) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 树中外包框数量
+     *
+     * @return 数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * STR 分组：按第一关键字切竖条，条内按第二关键字排序后按容量分组
+     */
+    private static <T> List<List<T>> pack(List<T> items, int capacity,
+                                          ToDoubleFunction<T> xKey, ToDoubleFunction<T> yKey) {
+        int nodeCount = (items.size() + capacity - 1) / capacity;
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = sliceCount * capacity;
+
+        items.sort(Comparator.comparingDouble(xKey));
+        List<List<T>> groups = new ArrayList<>(nodeCount);
+        for (int sliceFrom = 0; sliceFrom < items.size(); sliceFrom += sliceSize) {
+            List<T> slice = new ArrayList<>(items.subList(sliceFrom, Math.min(items.size(), sliceFrom + sliceSize)));
+            slice.sort(Comparator.comparingDouble(yKey));
+            for (int from = 0; from < slice.size(); from += capacity) {
+                groups.add(slice.subList(from, Math.min(slice.size(), from + capacity)));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * 路线外包框
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        private final Long routeId;
+
+        private final double minLat;
+
+        private final double minLng;
+
+        private final double maxLat;
+
+        private final double maxLng;
+
+        /**
+         * 是否与矩形相交（含边界）
+         *
+         * @param qMinLat 最小纬度
+         * @param qMinLng 最小经度
+         * @param qMaxLat 最大纬度
+         * @param qMaxLng 最大经度
+         * @return true相交
+         */
+        public boolean intersects(double qMinLat, double qMinLng, double qMaxLat, double qMaxLng) {
+            return minLat <= qMaxLat && maxLat >= qMinLat && minLng <= qMaxLng && maxLng >= qMinLng;
+        }
+    }
+
+    /**
+     * 树节点，叶子节点持有外包框，内部节点持有子节点
+     */
+    private static final class Node {
+
+        private double minLat = Double.MAX_VALUE;
+        private double minLng = Double.MAX_VALUE;
+        private double maxLat = -Double.MAX_VALUE;
+        private double maxLng = -Double.MAX_VALUE;
+        private Node[] children;
+        private Entry[] entries;
+
+        static Node leaf(Entry[] entries) {
+            Node node = new Node();
+            node.entries = entries;
+            for (Entry entry : entries) {
+                node.expand(entry.minLat, entry.minLng, entry.maxLat, entry.maxLng);
+            }
+            return node;
+        }
+
+        static Node branch(Node[] children) {
+            Node node = new Node();
+            node.children = children;
+            for (Node child : children) {
+                node.expand(child.minLat, child.minLng, child.maxLat, child.maxLng);
+            }
+            return node;
+        }
+
+        void expand(double bMinLat, double bMinLng, double bMaxLat, double bMaxLng) {
+            minLat = Math.min(minLat, bMinLat);
+            minLng = Math.min(minLng, bMinLng);
+            maxLat = Math.max(maxLat, bMaxLat);
+            maxLng = Math.max(maxLng, bMaxLng);
+        }
+
+        boolean intersects(double qMinLat, double qMinLng, double qMaxLat, double qMaxLng) {
+            return minLat <= qMaxLat && maxLat >= qMinLat && minLng <= qMaxLng && maxLng >= qMinLng;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 路线形状
+ * <p>
+ * 路线折线按弧长等间距重采样后的简化形状（最多 maxSamples 个点，点距不小于 minSpacing），
+ * 用于计算离散 Fréchet 距离：等间距采样下离散 Fréchet 与连续 Fréchet 的误差不超过半个点距。
+ * 距离按等距圆柱投影近似计算，在路线尺度（几十公里内）误差可忽略
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+public class RouteShape {
+
+    static final double METERS_PER_DEGREE = 111_320.0;
+
+    private final Long routeId;
+
+    private final float[] lats;
+
+    private final float[] lngs;
+
+    /**
+     * 原折线长度（米）
+     */
+    private final double length;
+
+    private RouteShape(Long routeId, float[] lats, float[] lngs, double length) {
+        this.routeId = routeId;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.length = length;
+    }
+
+    /**
+     * 采样点数
+     *
+     * @return 点数
+     */
+    public int size() {
+        return lats.length;
+    }
+
+    /**
+     * 计算与另一形状的离散 Fréchet 距离（正向、反向取小）
+     *
+     * @param other 另一形状
+     * @param bound 距离上限（米），超过上限时提前终止
+     * @return 距离和方向，超过上限时返回null
+     */
+    public Match frechet(RouteShape other, double bound) {
+        double cos = Math.cos(Math.toRadians(lats[0]));
+        double forward = frechet(other, bound, cos, false);
+        if (forward <= bound) {
+            return new Match(other, forward, false);
+        }
+        double backward = frechet(other, bound, cos, true);
+        return backward <= bound ? new Match(other, backward, true) : null;
+    }
+
+    /**
+     * 两行滚动数组的动态规划，某一行全部超过上限时后续不可能回到上限以内
+     */
+    private double frechet(RouteShape other, double bound, double cos, boolean reversed) {
+        int n = size();
+        int m = other.size();
+        double[] previous = new double[m];
+        double[] current = new double[m];
+        for (int i = 0; i < n; i++) {
+            double rowMin = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < m; j++) {
+                int k = reversed ? m - 1 - j : j;
+                double d = distance(lats[i], lngs[i], other.lats[k], other.lngs[k], cos);
+                double reach;
+                if (i == 0 && j == 0) {
+                    reach = d;
+                } else if (i == 0) {
+                    reach = Math.max(d, current[j - 1]);
+                } else if (j == 0) {
+                    reach = Math.max(d, previous[0]);
+                } else {
+                    reach = Math.max(d, Math.min(previous[j], Math.min(previous[j - 1], current[j - 1])));
+                }
+                current[j] = reach;
+                rowMin = Math.min(rowMin, reach);
+            }
+            if (rowMin > bound) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m - 1];
+    }
+
+    private static double distance(float lat1, float lng1, float lat2, float lng2, double cos) {
+        double dy = (lat1 - lat2) * METERS_PER_DEGREE;
+        double dx = (lng1 - lng2) * METERS_PER_DEGREE * cos;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * 相似匹配结果
+     */
+    @Getter
+    public static class Match {
+
+        private final RouteShape shape;
+
+        private final double distance;
+
+        private final boolean reversed;
+
+        Match(RouteShape shape, double distance, boolean reversed) {
+            this.shape = shape;
+            this.distance = distance;
+            this.reversed = reversed;
+        }
+    }
+
+    /**
+     * 形状构建器：按路线顺序输入点，构建时重采样
+     */
+    public static class Builder {
+
+        private double[] lats = new double[256];
+
+        private double[] lngs = new double[256];
+
+        private int size;
+
+        /**
+         * 输入一个点（与上一点相同的点忽略）
+         *
+         * @param lat 纬度
+         * @param lng 经度
+         */
+        public void accept(double lat, double lng) {
+            if (size > 0 && lats[size - 1] == lat && lngs[size - 1] == lng) {
+                return;
+            }
+            if (size == lats.length) {
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+            }
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+        }
+
+        /**
+         * 清空已输入的点，复用构建器
+         */
+        public void reset() {
+            size = 0;
+        }
+
+        /**
+         * 按弧长等间距重采样
+         *
+         * @param routeId    路线ID
+         * @param maxSamples 最大采样点数
+         * @param minSpacing 最小点距（米）
+         * @return 形状，不足两个不同点时返回null
+         */
+        public RouteShape build(Long routeId, int maxSamples, double minSpacing) {
+            if (size < 2) {
+                return null;
+            }
+            double cos = Math.cos(Math.toRadians(lats[0]));
+            double[] cumulative = new double[size];
+            for (int i = 1; i < size; i++) {
+                double dy = (lats[i] - lats[i - 1]) * METERS_PER_DEGREE;
+                double dx = (lngs[i] - lngs[i - 1]) * METERS_PER_DEGREE * cos;
+                cumulative[i] = cumulative[i - 1] + Math.sqrt(dx * dx + dy * dy);
+            }
+            double length = cumulative[size - 1];
+            int samples = (int) Math.max(2, Math.min(maxSamples, Math.floor(length / minSpacing) + 1));
+            double spacing = length / (samples - 1);
+
+            float[] outLats = new float[samples];
+            float[] outLngs = new float[samples];
+            int segment = 1;
+            for (int s = 0; s < samples; s++) {
+                double target = s == samples - 1 ? length : s * spacing;
+                while (segment < size - 1 && cumulative[segment] < target) {
+                    segment++;
+                }
+                double span = cumulative[segment] - cumulative[segment - 1];
+                double t = span > 0 ? (target - cumulative[segment - 1]) / span : 0;
+                t = Math.max(0, Math.min(1, t));
+                outLats[s] = (float) (lats[segment - 1] + (lats[segment] - lats[segment - 1]) * t);
+                outLngs[s] = (float) (lngs[segment - 1] + (lngs[segment] - lngs[segment - 1]) * t);
+            }
+            return new RouteShape(routeId, outLats, outLngs, length);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import java.util.*;
+
+/**
+ * 路线相似度空间哈希索引
+ * <p>
+ * 每条路线的采样点按固定边长（米）落入网格单元，单元到路线的倒排表即为索引。查询时：
+ * <ol>
+ *   <li>查询形状的每个采样点查看所在单元及周围 8 个单元，统计每条路线被多少个采样点命中</li>
+ *   <li>命中比例（覆盖率）和长度比均达标的路线才作为候选，计算离散 Fréchet 距离</li>
+ * </ol>
+ * 每次查询只接触与查询路线重叠的单元，全库两两比较的代价与重叠路线对数成正比，而不是 O(n²)
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class RouteSimilarityIndex {
+
+    private final double cellSize;
+
+    private final List<RouteShape> shapes = new ArrayList<>();
+
+    /**
+     * 单元键 -> 路线序号数组（首元素为数量）
+     */
+    private final Map<Long, int[]> cells = new HashMap<>();
+
+    public RouteSimilarityIndex(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * 加入一条路线
+     *
+     * @param shape 路线形状
+     */
+    public void add(RouteShape shape) {
+        int index = shapes.size();
+        shapes.add(shape);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < shape.size(); i++) {
+            long key = cellKey(shape.getLats()[i], shape.getLngs()[i], 0, 0);
+            if (!seen.add(key)) {
+                continue;
+            }
+            int[] bucket = cells.get(key);
+            if (bucket == null) {
+                bucket = new int[4];
+            } else if (bucket[0] + 1 == bucket.length) {
+                bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            }
+            bucket[++bucket[0]] = index;
+            cells.put(key, bucket);
+        }
+    }
+
+    /**
+     * 已加入的路线数
+     *
+     * @return 路线数
+     */
+    public int size() {
+        return shapes.size();
+    }
+
+    /**
+     * 查找与形状相似的路线
+     *
+     * @param query          查询形状
+     * @param minCoverage    最小覆盖率（0-1）
+     * @param maxLengthRatio 长路线与短路线的最大长度比
+     * @param maxDistance    最大 Fréchet 距离（米）
+     * @return 相似路线（不含查询路线本身），按距离升序
+     */
+    public List<RouteShape.Match> findSimilar(RouteShape query, double minCoverage,
+                                              double maxLengthRatio, double maxDistance) {
+        // 1. 统计每条路线被命中的采样点数（同一采样点对同一路线只计一次），只记录被命中的路线
+        Map<Integer, int[]> hits = new HashMap<>();
+        for (int s = 0; s < query.size(); s++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int[] bucket = cells.get(cellKey(query.getLats()[s], query.getLngs()[s], dx, dy));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int k = 1; k <= bucket[0]; k++) {
+                        // [命中数, 最近命中的采样点序号]
+                        int[] counter = hits.computeIfAbsent(bucket[k], index -> new int[]{0, -1});
+                        if (counter[1] != s) {
+                            counter[1] = s;
+                            counter[0]++;
+                        }
+                    }
+                }
+            }
+        }
+
+        // 2. 候选过滤后计算 Fréchet 距离
+        List<RouteShape.Match> matches = new ArrayList<>();
+        int required = (int) Math.ceil(query.size() * minCoverage);
+        for (Map.Entry<Integer, int[]> entry : hits.entrySet()) {
+            RouteShape candidate = shapes.get(entry.getKey());
+            if (entry.getValue()[0] < required || candidate.getRouteId().equals(query.getRouteId())) {
+                continue;
+            }
+            double ratio = Math.max(candidate.getLength(), query.getLength())
+                    / Math.max(1, Math.min(candidate.getLength(), query.getLength()));
+            if (ratio > maxLengthRatio) {
+                continue;
+            }
+            RouteShape.Match match = query.frechet(candidate, maxDistance);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        matches.sort(Comparator.comparingDouble(RouteShape.Match::getDistance));
+        return matches;
+    }
+
+    private long cellKey(float lat, float lng, int dx, int dy) {
+        long cy = (long) Math.floor(lat * RouteShape.METERS_PER_DEGREE / cellSize) + dy;
+        long cx = (long) Math.floor(lng * RouteShape.METERS_PER_DEGREE * Math.cos(Math.toRadians(lat)) / cellSize) + dx;
+        return (cy << 32) ^ (cx & 0xFFFFFFFFL);
+    }
+}
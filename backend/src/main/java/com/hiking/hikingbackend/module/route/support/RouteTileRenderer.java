@@ -0,0 +1,297 @@
+package com.hiking.hikingbackend.module.route.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 路线矢量瓦片几何处理
+ * <p>
+ * 路线点位先换算为 2^30 × 2^30 的 Web 墨卡托全局整数坐标（每单位约 4 厘米），每条路线只换算一次；
+ * 生成瓦片时对每条路线：
+ * <ol>
+ *   <li>换算到瓦片坐标，用 Liang-Barsky 算法按瓦片范围（含缓冲区）裁剪，离开瓦片后再进入时断开为新的一段</li>
+ *   <li>量化为整数瓦片坐标并去掉相邻重复点，低缩放级别下绝大多数点在这一步被合并</li>
+ *   <li>对每段做 Douglas-Peucker 抽稀，容差以瓦片坐标单位计</li>
+ * </ol>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class RouteTileRenderer {
+
+    public static final int WORLD_BITS = 30;
+
+    private static final double WORLD_SIZE = 1 << WORLD_BITS;
+
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final int extent;
+
+    private final int buffer;
+
+    private final double tolerance;
+
+    public RouteTileRenderer(int extent, int buffer, double tolerance) {
+        this.extent = extent;
+        this.buffer = buffer;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * 经度换算为全局 x 坐标
+     *
+     * @param lng 经度
+     * @return 全局 x 坐标
+     */
+    public static int worldX(double lng) {
+        double x = (lng + 180) / 360 * WORLD_SIZE;
+        return (int) Math.max(0, Math.min(WORLD_SIZE - 1, x));
+    }
+
+    /**
+     * 纬度换算为全局 y 坐标
+     *
+     * @param lat 纬度
+     * @return 全局 y 坐标
+     */
+    public static int worldY(double lat) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        double y = (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * WORLD_SIZE;
+        return (int) Math.max(0, Math.min(WORLD_SIZE - 1, y));
+    }
+
+    /**
+     * 全局 x 坐标换算为经度
+     *
+     * @param x 全局 x 坐标（可超出范围，用于含缓冲区的瓦片边界）
+     * @return 经度
+     */
+    public static double lng(double x) {
+        return Math.max(-180, Math.min(180, x / WORLD_SIZE * 360 - 180));
+    }
+
+    /**
+     * 全局 y 坐标换算为纬度
+     *
+     * @param y 全局 y 坐标（可超出范围）
+     * @return 纬度
+     */
+    public static double lat(double y) {
+        double n = Math.PI * (1 - 2 * y / WORLD_SIZE);
+        double lat = Math.toDegrees(Math.atan(Math.sinh(n)));
+        return Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+    }
+
+    /**
+     * 瓦片在全局坐标下的边长
+     *
+     * @param z 缩放级别
+     * @return 边长
+     */
+    public static double tileSize(int z) {
+        return WORLD_SIZE / (1 << z);
+    }
+
+    /**
+     * 瓦片缓冲区在全局坐标下的宽度
+     *
+     * @param z 缩放级别
+     * @return 宽度
+     */
+    public double bufferSize(int z) {
+        return tileSize(z) * buffer / extent;
+    }
+
+    /**
+     * 生成一条路线在瓦片内的几何
+     *
+     * @param coords 全局坐标（x、y 交错排列）
+     * @param z      缩放级别
+     * @param x      瓦片列号
+     * @param y      瓦片行号
+     * @return 各段瓦片坐标（x、y 交错排列），路线不经过瓦片时为空
+     */
+    public List<int[]> render(int[] coords, int z, int x, int y) {
+        double size = tileSize(z);
+        double scale = extent / size;
+        double originX = x * size;
+        double originY = y * size;
+        double min = -buffer;
+        double max = extent + buffer;
+
+        List<int[]> parts = new ArrayList<>();
+        if (coords.length < 4) {
+            return parts;
+        }
+        Part part = new Part();
+        double prevX = (coords[0] - originX) * scale;
+        double prevY = (coords[1] - originY) * scale;
+        double[] clip = new double[4];
+        for (int i = 2; i < coords.length; i += 2) {
+            double curX = (coords[i] - originX) * scale;
+            double curY = (coords[i + 1] - originY) * scale;
+            // 两端在瓦片同一侧之外的线段直接跳过（高缩放级别下绝大多数线段）
+            boolean outside = (prevX < min && curX < min) || (prevX > max && curX > max)
+                    || (prevY < min && curY < min) || (prevY > max && curY > max);
+            int state = outside ? -1 : clipSegment(prevX, prevY, curX, curY, min, max, clip);
+            if (state >= 0) {
+                // 起点被裁剪说明从瓦片外进入，开始新的一段
+                if ((state & 1) != 0) {
+                    part.finish(parts);
+                }
+                part.add(clip[0], clip[1]);
+                part.add(clip[2], clip[3]);
+                // 终点被裁剪说明离开瓦片
+                if ((state & 2) != 0) {
+                    part.finish(parts);
+                }
+            }
+            prevX = curX;
+            prevY = curY;
+        }
+        part.finish(parts);
+        return parts;
+    }
+
+    /**
+     * Liang-Barsky 线段裁剪
+     *
+     * @return -1 完全在外；否则低位表示起点被裁剪，第二位表示终点被裁剪
+     */
+    private static int clipSegment(double x0, double y0, double x1, double y1, double min, double max, double[] out) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double t0 = 0;
+        double t1 = 1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x0 - min, max - x0, y0 - min, max - y0};
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            double t = q[i] / p[i];
+            if (p[i] < 0) {
+                if (t > t1) {
+                    return -1;
+                }
+                t0 = Math.max(t0, t);
+            } else {
+                if (t < t0) {
+                    return -1;
+                }
+                t1 = Math.min(t1, t);
+            }
+        }
+        out[0] = x0 + t0 * dx;
+        out[1] = y0 + t0 * dy;
+        out[2] = x0 + t1 * dx;
+        out[3] = y0 + t1 * dy;
+        return (t0 > 0 ? 1 : 0) | (t1 < 1 ? 2 : 0);
+    }
+
+    /**
+     * 正在生成的一段：量化去重后暂存，结束时抽稀
+     */
+    private final class Part {
+
+        private int[] points = new int[64];
+
+        private int size;
+
+        void add(double px, double py) {
+            int qx = (int) Math.round(px);
+            int qy = (int) Math.round(py);
+            if (size > 0 && points[size - 2] == qx && points[size - 1] == qy) {
+                return;
+            }
+            if (size == points.length) {
+                points = Arrays.copyOf(points, size * 2);
+            }
+            points[size++] = qx;
+            points[size++] = qy;
+        }
+
+        void finish(List<int[]> parts) {
+            if (size >= 4) {
+                parts.add(simplify(points, size / 2));
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * Douglas-Peucker 抽稀（非递归）
+     */
+    private int[] simplify(int[] points, int count) {
+        if (count <= 2 || tolerance <= 0) {
+            return Arrays.copyOf(points, count * 2);
+        }
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[count - 1] = true;
+        double squaredTolerance = tolerance * tolerance;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count - 1;
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+            double maxDistance = 0;
+            int index = -1;
+            for (int i = first + 1; i < last; i++) {
+                double distance = squaredSegmentDistance(points, i, first, last);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    index = i;
+                }
+            }
+            if (index >= 0 && maxDistance > squaredTolerance) {
+                keep[index] = true;
+                if (top + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = first;
+                stack[top++] = index;
+                stack[top++] = index;
+                stack[top++] = last;
+            }
+        }
+        int kept = 0;
+        int[] result = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                result[kept++] = points[i * 2];
+                result[kept++] = points[i * 2 + 1];
+            }
+        }
+        return Arrays.copyOf(result, kept);
+    }
+
+    private static double squaredSegmentDistance(int[] points, int i, int first, int last) {
+        double px = points[i * 2];
+        double py = points[i * 2 + 1];
+        double ax = points[first * 2];
+        double ay = points[first * 2 + 1];
+        double dx = points[last * 2] - ax;
+        double dy = points[last * 2 + 1] - ay;
+        if (dx != 0 || dy != 0) {
+            double t = ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy);
+            if (t > 1) {
+                ax += dx;
+                ay += dy;
+            } else if (t > 0) {
+                ax += dx * t;
+                ay += dy * t;
+            }
+        }
+        dx = px - ax;
+        dy = py - ay;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * 路线模块内存组件包
+ * <p>
+ * 轨迹热力图聚合、路线文件导入、地图空间索引、矢量瓦片、海拔剖面、相似路线相关的计算组件：
+ * <ul>
+ *   <li>HeatmapBinner - 轨迹多级网格分箱</li>
+ *   <li>HeatTileCodec - 热力瓦片稀疏网格编解码</li>
+ *   <li>RouteFileParser - GPX/KML 路线文件流式解析</li>
+ *   <li>RouteImportAccumulator - 路线导入点位批量写入与汇总计算</li>
+ *   <li>RouteRTree - 路线外包框 STR 批量构建的 R 树</li>
+ *   <li>RouteBounds - 路线空间范围查询结果</li>
+ *   <li>ElevationProfileBuilder - 海拔剖面按里程分桶保留极值的降采样</li>
+ *   <li>ElevationProfile - 海拔剖面及其变长整数编解码</li>
+ *   <li>RouteTileRenderer - 路线矢量瓦片裁剪、量化与抽稀</li>
+ *   <li>MvtEncoder - Mapbox Vector Tile 编码</li>
+ *   <li>RouteShape - 路线简化形状与离散 Fréchet 距离</li>
+ *   <li>RouteSimilarityIndex - 相似路线空间哈希候选索引</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.route.support;
@@ -0,0 +1,36 @@
+package com.hiking.hikingbackend.module.route.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 路线海拔剖面VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "路线海拔剖面")
+public class ElevationProfileVO {
+
+    @Schema(description = "路线ID", example = "1")
+    private Long routeId;
+
+    @Schema(description = "分辨率（按里程等分的桶数）", example = "256")
+    private Integer resolution;
+
+    @Schema(description = "剖面点数", example = "412")
+    private Integer pointCount;
+
+    @Schema(description = "起点到各剖面点的里程（米）")
+    private int[] distances;
+
+    @Schema(description = "各剖面点的海拔（米），与 distances 一一对应")
+    private int[] elevations;
+}
@@ -0,0 +1,42 @@
+package com.hiking.hikingbackend.module.route.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 轨迹热力瓦片VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "轨迹热力瓦片")
+public class HeatTileVO {
+
+    @Schema(description = "缩放级别")
+    private Integer z;
+
+    @Schema(description = "瓦片列号")
+    private Integer x;
+
+    @Schema(description = "瓦片行号")
+    private Integer y;
+
+    @Schema(description = "网格边长（单元格数）")
+    private Integer gridSize;
+
+    @Schema(description = "单元最大计数（用于颜色归一化）")
+    private Integer maxCount;
+
+    @Schema(description = "单元计数总和")
+    private Long totalCount;
+
+    @Schema(description = "非零单元，按 [列, 行, 计数] 三元组平铺")
+    private int[] cells;
+}
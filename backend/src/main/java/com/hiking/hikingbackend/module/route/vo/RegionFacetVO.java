@@ -0,0 +1,33 @@
+package com.hiking.hikingbackend.module.route.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 地区分面VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "地区分面（Geohash网格及其中的数量）")
+public class RegionFacetVO {
+
+    @Schema(description = "Geohash网格，作为列表查询的geohash参数即可筛选该网格", example = "wx4e")
+    private String geohash;
+
+    @Schema(description = "网格内数量", example = "12")
+    private Integer count;
+
+    @Schema(description = "网格中心纬度", example = "39.9")
+    private Double centerLatitude;
+
+    @Schema(description = "网格中心经度", example = "116.4")
+    private Double centerLongitude;
+}
@@ -0,0 +1,56 @@
+package com.hiking.hikingbackend.module.route.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 地图路线摘要VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "地图路线摘要")
+public class RouteMapItemVO {
+
+    @Schema(description = "路线ID", example = "1")
+    private Long id;
+
+    @Schema(description = "路线名称", example = "香山南线徒步路线")
+    private String name;
+
+    @Schema(description = "难度等级：1休闲 2简单 3中等 4困难 5极限", example = "2")
+    private Integer difficultyLevel;
+
+    @Schema(description = "总距离（公里）", example = "8.50")
+    private BigDecimal totalDistance;
+
+    @Schema(description = "所属地区", example = "北京市海淀区")
+    private String region;
+
+    @Schema(description = "起点纬度", example = "39.9928")
+    private BigDecimal startLatitude;
+
+    @Schema(description = "起点经度", example = "116.1884")
+    private BigDecimal startLongitude;
+
+    @Schema(description = "外包框最小纬度")
+    private Double minLat;
+
+    @Schema(description = "外包框最小经度")
+    private Double minLng;
+
+    @Schema(description = "外包框最大纬度")
+    private Double maxLat;
+
+    @Schema(description = "外包框最大经度")
+    private Double maxLng;
+}
@@ -102,6 +102,12 @@ public class RouteVO {
     @Schema(description = "签到点列表")
     private List<CheckpointVO> checkpoints;
 
+    @Schema(description = "海拔剖面（默认分辨率，仅详情返回，无海拔数据时为空）")
+    private ElevationProfileVO elevationProfile;
+
+    @Schema(description = "疑似重复的公开路线（仅导入时返回，建议合并）")
+    private List<SimilarRouteVO> similarRoutes;
+
     @Schema(description = "创建时间", example = "2024-12-24 20:00:00")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
     private LocalDateTime createTime;
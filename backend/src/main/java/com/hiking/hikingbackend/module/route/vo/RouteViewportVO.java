@@ -0,0 +1,29 @@
+package com.hiking.hikingbackend.module.route.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 地图视口路线查询结果VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "地图视口路线查询结果")
+public class RouteViewportVO {
+
+    @Schema(description = "与视口相交的路线")
+    private List<RouteMapItemVO> routes;
+
+    @Schema(description = "是否因数量上限被截断（为true时前端应提示放大地图）")
+    private Boolean truncated;
+}
@@ -0,0 +1,50 @@
+package com.hiking.hikingbackend.module.route.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 相似路线VO
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "相似路线（疑似重复，建议合并）")
+public class SimilarRouteVO {
+
+    @Schema(description = "路线ID", example = "1")
+    private Long id;
+
+    @Schema(description = "路线名称", example = "香山南线徒步路线")
+    private String name;
+
+    @Schema(description = "地区", example = "北京市海淀区")
+    private String region;
+
+    @Schema(description = "难度：1休闲 2简单 3中等 4困难 5极限", example = "2")
+    private Integer difficultyLevel;
+
+    @Schema(description = "总里程（公里）", example = "8.5")
+    private BigDecimal totalDistance;
+
+    @Schema(description = "被使用次数", example = "15")
+    private Integer useCount;
+
+    @Schema(description = "创建者用户ID", example = "5")
+    private Long creatorId;
+
+    @Schema(description = "轨迹离散Fréchet距离（米），越小越相似", example = "42")
+    private Integer frechetDistance;
+
+    @Schema(description = "是否与本路线方向相反", example = "false")
+    private Boolean reversed;
+}
@@ -0,0 +1,30 @@
+package com.hiking.hikingbackend.module.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 用户状态变更事件
+ * <p>
+ * 管理员启用/禁用用户时发布，监听方应使用 {@code @TransactionalEventListener}，
+ * 保证只在状态变更提交后才生效
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserStatusChangedEvent {
+
+    /**
+     * 用户ID
+     */
+    private final Long userId;
+
+    /**
+     * 新状态：0禁用 1正常
+     */
+    private final Integer status;
+}
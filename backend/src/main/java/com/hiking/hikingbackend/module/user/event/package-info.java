@@ -0,0 +1,12 @@
+/**
+ * 用户事件包
+ * <p>
+ * 用户相关事件，供其他模块监听：
+ * <ul>
+ *   <li>UserStatusChangedEvent - 用户状态变更事件</li>
+ * </ul>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+package com.hiking.hikingbackend.module.user.event;
@@ -0,0 +1,84 @@
+package com.hiking.hikingbackend.security;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.hiking.hikingbackend.module.user.entity.User;
+import com.hiking.hikingbackend.module.user.event.UserStatusChangedEvent;
+import com.hiking.hikingbackend.module.user.mapper.UserMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已禁用用户缓存
+ * <p>
+ * 不查询数据库的认证路径（SOS求助）据此拒绝已禁用用户未过期的Token。
+ * 本节点的状态变更提交后立即生效，其他节点的变更由定时全量刷新同步（禁用用户通常很少）
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DisabledUserCache {
+
+    private static final int USER_STATUS_DISABLED = 0;   // 禁用
+
+    private final UserMapper userMapper;
+
+    private volatile Set<Long> disabledUserIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * 用户是否已被禁用
+     *
+     * @param userId 用户ID
+     * @return true已禁用
+     */
+    public boolean isDisabled(Long userId) {
+        return userId != null && disabledUserIds.contains(userId);
+    }
+
+    /**
+     * 用户状态变更提交后更新缓存
+     *
+     * @param event 用户状态变更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        if (event.getStatus() == USER_STATUS_DISABLED) {
+            disabledUserIds.add(event.getUserId());
+        } else {
+            disabledUserIds.remove(event.getUserId());
+        }
+    }
+
+    /**
+     * 定时全量刷新，同步其他节点的状态变更
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void refresh() {
+        try {
+            Set<Long> loaded = ConcurrentHashMap.newKeySet();
+            userMapper.selectObjs(new LambdaQueryWrapper<User>()
+                            .select(User::getId)
+                            .eq(User::getStatus, USER_STATUS_DISABLED))
+                    .forEach(id -> loaded.add(((Number) id).longValue()));
+            disabledUserIds = loaded;
+            log.debug("已禁用用户缓存刷新完成，用户数：{}", loaded.size());
+        } catch (Exception e) {
+            log.error("已禁用用户缓存刷新失败", e);
+        }
+    }
+}
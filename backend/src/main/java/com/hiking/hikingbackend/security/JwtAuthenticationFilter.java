@@ -13,8 +13,10 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -39,15 +41,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProperties jwtProperties;
 
+    private final DisabledUserCache disabledUserCache;
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * SOS求助路径：只根据Token声明构建用户，不查询数据库，避免在主连接池上排队；
+     * 已禁用用户由内存缓存拒绝
+     */
+    private static final String SOS_PATH_PATTERN = "/activities/*/sos";
+
+    /**
+     * 消息推送路径：浏览器 EventSource 无法设置请求头，允许通过查询参数传递Token
+     */
+    private static final String STREAM_PATH = "/user/messages/stream";
+
+    private static final String TOKEN_PARAMETER = "token";
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                      @NonNull HttpServletResponse response,
                                      @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            // 1. 从请求头中获取Token
+            // 1. 从请求头中获取Token（消息推送可从查询参数获取）
             String authHeader = request.getHeader(jwtProperties.getHeader());
             String token = extractToken(authHeader);
+            if (!StringUtils.hasText(token) && STREAM_PATH.equals(request.getServletPath())) {
+                token = request.getParameter(TOKEN_PARAMETER);
+            }
 
             // 2. 如果Token不存在，直接放行
             if (!StringUtils.hasText(token)) {
@@ -59,9 +81,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String username = jwtUtils.getUsernameFromToken(token);
 
             if (username != null && jwtUtils.validateToken(token)) {
-                // 4. Token有效，加载用户详情
+                // 4. Token有效，加载用户详情（SOS求助直接使用Token声明）
                 log.debug("JWT Token验证成功，用户名：{}", username);
-                CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
+                CustomUserDetails userDetails = PATH_MATCHER.match(SOS_PATH_PATTERN, request.getServletPath())
+                        ? buildFromToken(token, username)
+                        : (CustomUserDetails) userDetailsService.loadUserByUsername(username);
 
                 // 5. 创建认证对象
                 UsernamePasswordAuthenticationToken authentication =
@@ -85,6 +109,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * 根据Token声明构建用户详情（不查询数据库，用户状态取自已禁用用户缓存）
+     *
+     * @param token    JWT Token
+     * @param username 用户名
+     * @return 用户详情
+     */
+    private CustomUserDetails buildFromToken(String token, String username) {
+        Long userId = jwtUtils.getUserIdFromToken(token);
+        if (disabledUserCache.isDisabled(userId)) {
+            log.warn("用户已被禁用，用户名：{}", username);
+            throw new UsernameNotFoundException("用户名或密码错误");
+        }
+        return CustomUserDetails.builder()
+                .userId(userId)
+                .username(username)
+                .role(jwtUtils.getRoleFromToken(token))
+                .status(1)
+                .build();
+    }
+
     /**
      * 从Authorization请求头中提取Token
      * <p>
@@ -8,6 +8,7 @@
  *   <li>JwtAuthenticationEntryPoint - 认证失败处理器</li>
  *   <li>CustomUserDetails - 自定义用户详情</li>
  *   <li>CustomUserDetailsService - 自定义用户详情服务</li>
+ *   <li>DisabledUserCache - 已禁用用户缓存</li>
  * </ul>
  *
  * @author hiking-system
@@ -0,0 +1,134 @@
+package com.hiking.hikingbackend.benchmark;
+
+import com.hiking.hikingbackend.common.utils.GeoDistanceKernel;
+import com.hiking.hikingbackend.common.utils.GeoUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地理距离计算基准测试
+ * <p>
+ * 对比 GeoUtils 逐点计算与 GeoDistanceKernel 批量计算，直接运行 main 方法即可：
+ * <ul>
+ *   <li>oneToMany - 一个点到多个点的距离</li>
+ *   <li>radius - 半径过滤</li>
+ *   <li>matrix - 两组点的距离矩阵</li>
+ * </ul>
+ * spread 参数为点分布范围（度），0.05 约为单次徒步活动范围，5 为跨城市范围
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeoDistanceBenchmark {
+
+    private static final double CENTER_LAT = 30.2741;
+    private static final double CENTER_LNG = 120.1551;
+    private static final double RADIUS = 2000;
+    private static final int MATRIX_SIZE = 200;
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"0.05", "5"})
+    private double spread;
+
+    private double[] lats;
+    private double[] lngs;
+    private BigDecimal[] latDecimals;
+    private BigDecimal[] lngDecimals;
+    private double[] distances;
+    private int[] indexes;
+    private double[] matrix;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        lats = new double[size];
+        lngs = new double[size];
+        latDecimals = new BigDecimal[size];
+        lngDecimals = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            lats[i] = CENTER_LAT + (random.nextDouble() * 2 - 1) * spread;
+            lngs[i] = CENTER_LNG + (random.nextDouble() * 2 - 1) * spread;
+            latDecimals[i] = BigDecimal.valueOf(lats[i]).setScale(7, RoundingMode.HALF_UP);
+            lngDecimals[i] = BigDecimal.valueOf(lngs[i]).setScale(7, RoundingMode.HALF_UP);
+        }
+        distances = new double[size];
+        indexes = new int[size];
+        matrix = new double[MATRIX_SIZE * MATRIX_SIZE];
+    }
+
+    @Benchmark
+    public void oneToManyLegacy(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(GeoUtils.calculateDistance(CENTER_LAT, CENTER_LNG, lats[i], lngs[i]));
+        }
+    }
+
+    @Benchmark
+    public void oneToManyLegacyBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(GeoUtils.calculateDistance(CENTER_LAT, CENTER_LNG,
+                    latDecimals[i].doubleValue(), lngDecimals[i].doubleValue()));
+        }
+    }
+
+    @Benchmark
+    public double[] oneToManyKernel() {
+        GeoDistanceKernel.distances(CENTER_LAT, CENTER_LNG, lats, lngs, size, distances);
+        return distances;
+    }
+
+    @Benchmark
+    public int radiusLegacy() {
+        int hits = 0;
+        for (int i = 0; i < size; i++) {
+            if (GeoUtils.isWithinRange(CENTER_LAT, CENTER_LNG, lats[i], lngs[i], RADIUS)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int radiusKernel() {
+        return GeoDistanceKernel.withinRadius(CENTER_LAT, CENTER_LNG, lats, lngs, size, RADIUS, indexes);
+    }
+
+    @Benchmark
+    public void matrixLegacy(Blackhole blackhole) {
+        for (int i = 0; i < MATRIX_SIZE; i++) {
+            for (int j = 0; j < MATRIX_SIZE; j++) {
+                blackhole.consume(GeoUtils.calculateDistance(lats[i], lngs[i], lats[j], lngs[j]));
+            }
+        }
+    }
+
+    @Benchmark
+    public double[] matrixKernel() {
+        GeoDistanceKernel.distanceMatrix(lats, lngs, MATRIX_SIZE, lats, lngs, MATRIX_SIZE, matrix);
+        return matrix;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GeoDistanceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
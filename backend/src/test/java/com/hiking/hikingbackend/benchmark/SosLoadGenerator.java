@@ -0,0 +1,111 @@
+package com.hiking.hikingbackend.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SOS延迟压测工具
+ * <p>
+ * 对运行中的服务施加背景负载（并发请求活动列表），同时按固定间隔发起SOS求助，
+ * 输出SOS端到端延迟分位数并与延迟目标对比。直接运行 main 方法：
+ * <pre>
+ * 参数：baseUrl token activityId [背景并发数=200] [SOS次数=100] [延迟目标ms=500]
+ * 示例：http://localhost:8080/api eyJhbGciOi... 1 200 100 500
+ * </pre>
+ *
+ * @author hiking-system
+ * @since 2026-10-19
+ */
+public class SosLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.out.println("用法：SosLoadGenerator baseUrl token activityId [背景并发数] [SOS次数] [延迟目标ms]");
+            return;
+        }
+        String baseUrl = args[0];
+        String token = args[1];
+        String activityId = args[2];
+        int backgroundConcurrency = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        int sosCount = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+        long slo = args.length > 5 ? Long.parseLong(args[5]) : 500;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(backgroundConcurrency + 8))
+                .build();
+
+        // 1. 背景负载：持续请求活动列表
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong backgroundRequests = new AtomicLong();
+        ExecutorService background = Executors.newFixedThreadPool(backgroundConcurrency);
+        HttpRequest listRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/activities?pageNum=1&pageSize=10"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        for (int i = 0; i < backgroundConcurrency; i++) {
+            background.submit(() -> {
+                while (running.get()) {
+                    try {
+                        client.send(listRequest, HttpResponse.BodyHandlers.discarding());
+                        backgroundRequests.incrementAndGet();
+                    } catch (Exception ignored) {
+                        // 背景请求失败不影响统计
+                    }
+                }
+            });
+        }
+        Thread.sleep(3000);
+
+        // 2. 按间隔发起SOS，记录延迟
+        HttpRequest sosRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/activities/" + activityId + "/sos"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"description\":\"压测\"}"))
+                .build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong failures = new AtomicLong();
+        for (int i = 0; i < sosCount; i++) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(sosRequest, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200 || !response.body().contains("\"code\":200")) {
+                    failures.incrementAndGet();
+                }
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            Thread.sleep(100);
+        }
+
+        running.set(false);
+        background.shutdownNow();
+
+        // 3. 输出结果
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = percentile(sorted, 50);
+        long p99 = percentile(sorted, 99);
+        System.out.println("背景请求数: " + backgroundRequests.get());
+        System.out.println("SOS请求数: " + sorted.size() + "，失败: " + failures.get());
+        System.out.println("SOS延迟 p50: " + p50 + "ms，p95: " + percentile(sorted, 95)
+                + "ms，p99: " + p99 + "ms，max: " + sorted.get(sorted.size() - 1) + "ms");
+        System.out.println("延迟目标 " + slo + "ms：" + (p99 <= slo ? "达标" : "未达标"));
+        System.exit(0);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+}
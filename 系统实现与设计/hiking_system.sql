@@ -73,6 +73,7 @@ CREATE TABLE `activity` (
     `description` TEXT DEFAULT NULL COMMENT '活动详细描述',
     `organizer_id` BIGINT NOT NULL COMMENT '组织者用户ID',
     `route_id` BIGINT DEFAULT NULL COMMENT '关联路线ID',
+    `geohash` CHAR(8) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '起点Geohash（取自路线，地区前缀筛选）',
     `activity_date` DATE NOT NULL COMMENT '活动日期',
     `start_time` TIME NOT NULL COMMENT '开始时间',
     `end_time` TIME DEFAULT NULL COMMENT '预计结束时间',
@@ -93,6 +94,7 @@ CREATE TABLE `activity` (
     `audit_by` BIGINT DEFAULT NULL COMMENT '审核人ID',
     `audit_time` DATETIME DEFAULT NULL COMMENT '审核时间',
     `view_count` INT NOT NULL DEFAULT 0 COMMENT '浏览次数',
+    `trending_score` DOUBLE NOT NULL DEFAULT 0 COMMENT '热度分（对数空间，按时间衰减，0表示无热度）',
     `create_by` BIGINT DEFAULT NULL COMMENT '创建者ID',
     `update_by` BIGINT DEFAULT NULL COMMENT '更新者ID',
     `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
@@ -100,7 +102,9 @@ CREATE TABLE `activity` (
     PRIMARY KEY (`id`),
     INDEX `idx_organizer_id` (`organizer_id`),
     INDEX `idx_status` (`status`),
-    INDEX `idx_activity_date` (`activity_date`)
+    INDEX `idx_activity_date` (`activity_date`),
+    INDEX `idx_trending_score` (`trending_score`),
+    INDEX `idx_geohash` (`geohash`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='活动表';
 
 -- =============================================
@@ -177,8 +181,10 @@ CREATE TABLE `route` (
     `end_latitude` DECIMAL(10,7) DEFAULT NULL COMMENT '终点纬度',
     `end_longitude` DECIMAL(10,7) DEFAULT NULL COMMENT '终点经度',
     `region` VARCHAR(64) DEFAULT NULL COMMENT '所属地区',
+    `geohash` CHAR(8) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '起点Geohash（8位，地区前缀筛选）',
     `is_public` TINYINT NOT NULL DEFAULT 1 COMMENT '是否公开：0否 1是',
     `use_count` INT NOT NULL DEFAULT 0 COMMENT '被使用次数',
+    `trending_score` DOUBLE NOT NULL DEFAULT 0 COMMENT '热度分（对数空间，按时间衰减，0表示无热度）',
     `status` TINYINT NOT NULL DEFAULT 1 COMMENT '状态：0禁用 1正常',
     `create_by` BIGINT DEFAULT NULL COMMENT '创建者ID',
     `update_by` BIGINT DEFAULT NULL COMMENT '更新者ID',
@@ -186,7 +192,9 @@ CREATE TABLE `route` (
     `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     PRIMARY KEY (`id`),
     INDEX `idx_creator_id` (`creator_id`),
-    INDEX `idx_difficulty_level` (`difficulty_level`)
+    INDEX `idx_difficulty_level` (`difficulty_level`),
+    INDEX `idx_public_trending` (`is_public`, `status`, `trending_score`),
+    INDEX `idx_public_geohash` (`is_public`, `status`, `geohash`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='路线表';
 
 -- =============================================
@@ -276,10 +284,16 @@ CREATE TABLE `track_record` (
     `speed` DECIMAL(5,2) DEFAULT NULL COMMENT '移动速度（km/h）',
     `record_time` DATETIME NOT NULL COMMENT '记录时间',
     `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
-    PRIMARY KEY (`id`),
-    INDEX `idx_user_activity` (`user_id`, `activity_id`),
-    INDEX `idx_record_time` (`record_time`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='轨迹记录表';
+    PRIMARY KEY (`id`, `record_time`),
+    UNIQUE INDEX `idx_activity_user_time` (`activity_id`, `user_id`, `record_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='轨迹记录表'
+-- 按月分区：后续月份分区由应用定时从 p_future 拆分，超过保留期的分区归档到本地文件后删除
+PARTITION BY RANGE (TO_DAYS(`record_time`)) (
+    PARTITION p202610 VALUES LESS THAN (TO_DAYS('2026-11-01')),
+    PARTITION p202611 VALUES LESS THAN (TO_DAYS('2026-12-01')),
+    PARTITION p202612 VALUES LESS THAN (TO_DAYS('2027-01-01')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
 
 -- =============================================
 -- 11. 预警事件表 (alert_event)
@@ -289,7 +303,7 @@ CREATE TABLE `alert_event` (
     `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
     `activity_id` BIGINT NOT NULL COMMENT '活动ID',
     `user_id` BIGINT NOT NULL COMMENT '触发用户ID',
-    `alert_type` TINYINT NOT NULL COMMENT '预警类型：1偏离路线 2严重偏离 3长时间静止 4超时未签到 5失联',
+    `alert_type` TINYINT NOT NULL COMMENT '预警类型：1偏离路线 2严重偏离 3长时间静止 4超时未签到 5失联 6SOS求助',
     `alert_level` TINYINT NOT NULL DEFAULT 1 COMMENT '预警级别：1警告 2严重',
     `latitude` DECIMAL(10,7) DEFAULT NULL COMMENT '触发时纬度',
     `longitude` DECIMAL(10,7) DEFAULT NULL COMMENT '触发时经度',
@@ -353,8 +367,8 @@ CREATE TABLE `message` (
     `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     PRIMARY KEY (`id`),
-    INDEX `idx_user_id` (`user_id`),
-    INDEX `idx_is_read` (`is_read`)
+    INDEX `idx_user_time` (`user_id`, `create_time`, `id`),
+    INDEX `idx_user_read_time` (`user_id`, `is_read`, `create_time`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='消息表';
 
 -- =============================================
@@ -398,6 +412,119 @@ CREATE TABLE `dict_data` (
     UNIQUE INDEX `idx_dict_code_value` (`dict_code`, `value`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='字典数据表';
 
+-- =============================================
+-- 16. 轨迹统计汇总表 (track_stats)
+-- =============================================
+DROP TABLE IF EXISTS `track_stats`;
+CREATE TABLE `track_stats` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `activity_id` BIGINT NOT NULL COMMENT '活动ID',
+    `user_id` BIGINT NOT NULL COMMENT '用户ID',
+    `total_distance` DECIMAL(10,2) NOT NULL DEFAULT 0 COMMENT '累计距离（米）',
+    `elevation_gain` INT NOT NULL DEFAULT 0 COMMENT '累计爬升（米）',
+    `elevation_loss` INT NOT NULL DEFAULT 0 COMMENT '累计下降（米）',
+    `moving_seconds` BIGINT NOT NULL DEFAULT 0 COMMENT '移动时间（秒）',
+    `max_speed` DECIMAL(5,2) NOT NULL DEFAULT 0 COMMENT '最大速度（km/h）',
+    `point_count` INT NOT NULL DEFAULT 0 COMMENT '参与统计的轨迹点数',
+    `first_point_time` DATETIME DEFAULT NULL COMMENT '第一个轨迹点时间',
+    `last_point_time` DATETIME DEFAULT NULL COMMENT '最后一个轨迹点时间',
+    `is_final` TINYINT NOT NULL DEFAULT 0 COMMENT '是否已定稿（活动已结束）：0否 1是',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE INDEX `idx_activity_user` (`activity_id`, `user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='轨迹统计汇总表';
+
+-- =============================================
+-- 17. 轨迹热力瓦片表 (heat_tile)
+-- =============================================
+DROP TABLE IF EXISTS `heat_tile`;
+CREATE TABLE `heat_tile` (
+    `z` TINYINT NOT NULL COMMENT '缩放级别',
+    `x` INT NOT NULL COMMENT '瓦片列号',
+    `y` INT NOT NULL COMMENT '瓦片行号',
+    `cells` MEDIUMBLOB NOT NULL COMMENT '稀疏网格计数（变长整数编码：非零单元数，再依次为单元序号增量、计数）',
+    `total_count` BIGINT NOT NULL DEFAULT 0 COMMENT '单元计数总和',
+    `max_count` INT NOT NULL DEFAULT 0 COMMENT '单元最大计数',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`z`, `x`, `y`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='轨迹热力瓦片表';
+
+-- =============================================
+-- 18. 热力图已合并活动表 (heat_merged_activity)
+-- =============================================
+DROP TABLE IF EXISTS `heat_merged_activity`;
+CREATE TABLE `heat_merged_activity` (
+    `activity_id` BIGINT NOT NULL COMMENT '活动ID',
+    `track_count` INT NOT NULL DEFAULT 0 COMMENT '合并的轨迹数（参与者数）',
+    `point_count` INT NOT NULL DEFAULT 0 COMMENT '合并的轨迹点数',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '合并时间',
+    PRIMARY KEY (`activity_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='热力图已合并活动表';
+
+-- =============================================
+-- 19. 路线海拔剖面表 (route_elevation_profile)
+-- =============================================
+DROP TABLE IF EXISTS `route_elevation_profile`;
+CREATE TABLE `route_elevation_profile` (
+    `route_id` BIGINT NOT NULL COMMENT '路线ID',
+    `resolution` INT NOT NULL COMMENT '分辨率（按里程等分的桶数）',
+    `point_count` INT NOT NULL DEFAULT 0 COMMENT '剖面点数',
+    `data` MEDIUMBLOB NOT NULL COMMENT '剖面数据（变长整数编码：点数，再依次为里程增量、海拔增量）',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '生成时间',
+    PRIMARY KEY (`route_id`, `resolution`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='路线海拔剖面表';
+
+-- =============================================
+-- 20. 相似路线表 (route_similarity)
+-- =============================================
+DROP TABLE IF EXISTS `route_similarity`;
+CREATE TABLE `route_similarity` (
+    `route_id` BIGINT NOT NULL COMMENT '路线ID',
+    `similar_route_id` BIGINT NOT NULL COMMENT '相似路线ID',
+    `frechet_distance` INT NOT NULL COMMENT '离散Fréchet距离（米）',
+    `reversed` TINYINT NOT NULL DEFAULT 0 COMMENT '是否反向相似：0否 1是',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '检测时间',
+    PRIMARY KEY (`route_id`, `similar_route_id`),
+    INDEX `idx_similar_route_id` (`similar_route_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='相似路线表（两个方向各存一行）';
+
+-- =============================================
+-- 21. 未读消息数变更表 (message_unread_change)
+-- =============================================
+DROP TABLE IF EXISTS `message_unread_change`;
+CREATE TABLE `message_unread_change` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `user_id` BIGINT NOT NULL COMMENT '未读数发生变化的用户ID',
+    `node_id` VARCHAR(64) NOT NULL COMMENT '产生变更的应用节点ID',
+    `create_time` DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '变更时间',
+    PRIMARY KEY (`id`),
+    INDEX `idx_create_time` (`create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='未读消息数变更表（多节点计数失效，定期清理）';
+
+-- =============================================
+-- 22. 消息归档表 (message_archive)
+-- =============================================
+DROP TABLE IF EXISTS `message_archive`;
+CREATE TABLE `message_archive` (
+    `id` BIGINT NOT NULL COMMENT '原消息ID',
+    `user_id` BIGINT NOT NULL COMMENT '接收用户ID',
+    `title` VARCHAR(128) NOT NULL COMMENT '消息标题',
+    `content` VARCHAR(512) NOT NULL COMMENT '消息内容',
+    `message_type` TINYINT NOT NULL DEFAULT 1 COMMENT '消息类型：1系统通知 2报名通知 3活动通知 4预警通知',
+    `related_id` BIGINT DEFAULT NULL COMMENT '关联业务ID（如活动ID）',
+    `related_type` VARCHAR(32) DEFAULT NULL COMMENT '关联业务类型（如activity）',
+    `is_read` TINYINT NOT NULL DEFAULT 1 COMMENT '是否已读：0否 1是',
+    `read_time` DATETIME DEFAULT NULL COMMENT '阅读时间',
+    `create_by` BIGINT DEFAULT NULL COMMENT '创建者ID',
+    `update_by` BIGINT DEFAULT NULL COMMENT '更新者ID',
+    `create_time` DATETIME NOT NULL COMMENT '创建时间',
+    `update_time` DATETIME NOT NULL COMMENT '更新时间',
+    `archive_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+    PRIMARY KEY (`id`),
+    INDEX `idx_user_time` (`user_id`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='消息归档表（已读且超过保留期的消息）';
+
 
 -- =============================================
 -- 初始数据：管理员账号
@@ -506,7 +633,8 @@ INSERT INTO `dict_data` (`dict_type_id`, `dict_code`, `label`, `value`, `sequenc
 (10, 'alert_type', '严重偏离', '2', 2),
 (10, 'alert_type', '长时间静止', '3', 3),
 (10, 'alert_type', '超时未签到', '4', 4),
-(10, 'alert_type', '失联', '5', 5);
+(10, 'alert_type', '失联', '5', 5),
+(10, 'alert_type', 'SOS求助', '6', 6);
 
 -- 预警级别
 INSERT INTO `dict_data` (`dict_type_id`, `dict_code`, `label`, `value`, `sequence`) VALUES